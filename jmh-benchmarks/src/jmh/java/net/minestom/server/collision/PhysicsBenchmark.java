@@ -0,0 +1,92 @@
+package net.minestom.server.collision;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityType;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Physics step of the entities of a chunk, to be run with {@code -prof gc} to compare the allocation rate.
+ */
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class PhysicsBenchmark {
+    private static final int FLOOR = 40;
+
+    @Param({"falling_items", "walking_mobs"})
+    public String scenario;
+
+    @Param({"1000"})
+    public int entityCount;
+
+    private Instance instance;
+    private List<Entity> entities;
+    private double[] velocities;
+    private PhysicsResult[] lastResults;
+    private PhysicsResult[] results;
+
+    @Setup
+    public void setup() {
+        MinecraftServer.init();
+        this.instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+        instance.setGenerator(unit -> unit.modifier().fillHeight(0, FLOOR, Block.STONE));
+        for (int x = -1; x <= 1; x++) {
+            for (int z = -1; z <= 1; z++) {
+                instance.loadChunk(x, z).join();
+            }
+        }
+
+        final boolean falling = scenario.equals("falling_items");
+        final Random random = new Random(0);
+        this.entities = new ArrayList<>(entityCount);
+        this.velocities = new double[entityCount * 3];
+        this.lastResults = new PhysicsResult[entityCount];
+        this.results = new PhysicsResult[entityCount];
+        for (int i = 0; i < entityCount; i++) {
+            final Entity entity = new Entity(falling ? EntityType.ITEM : EntityType.ZOMBIE);
+            // All in the same chunk, some falling items are close enough to the floor to land
+            final Pos position = new Pos(random.nextDouble(16), falling ? FLOOR + random.nextDouble(8) : FLOOR, random.nextDouble(16));
+            entity.setInstance(instance, position).join();
+            this.entities.add(entity);
+            if (falling) {
+                velocities[i * 3 + 1] = -0.5;
+            } else {
+                final double angle = random.nextDouble(Math.PI * 2);
+                velocities[i * 3] = Math.cos(angle) * 0.1;
+                velocities[i * 3 + 1] = -0.0784;
+                velocities[i * 3 + 2] = Math.sin(angle) * 0.1;
+            }
+        }
+        // Mobs are walking on the floor, start from the result of a first step
+        if (!falling) CollisionUtils.handlePhysics(instance, entities, velocities, lastResults, lastResults);
+    }
+
+    @Benchmark
+    public void single(Blackhole blackhole) {
+        final List<Entity> entities = this.entities;
+        for (int i = 0; i < entities.size(); i++) {
+            final Vec velocity = new Vec(velocities[i * 3], velocities[i * 3 + 1], velocities[i * 3 + 2]);
+            blackhole.consume(CollisionUtils.handlePhysics(entities.get(i), velocity, lastResults[i]));
+        }
+    }
+
+    @Benchmark
+    public void batch(Blackhole blackhole) {
+        CollisionUtils.handlePhysics(instance, entities, velocities, lastResults, results);
+        blackhole.consume(results);
+    }
+}
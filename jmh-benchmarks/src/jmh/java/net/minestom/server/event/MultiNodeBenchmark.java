@@ -12,10 +12,11 @@ import java.util.concurrent.TimeUnit;
 @State(Scope.Benchmark)
 public class MultiNodeBenchmark {
 
-    @Param({"0", "1", "3", "10"})
+    @Param({"0", "1", "3", "10", "1000"})
     public int children;
 
     private EventNode<Event> node;
+    private ListenerHandle<TestEvent> handle;
 
     record TestEvent() implements Event {
     }
@@ -40,10 +41,22 @@ public class MultiNodeBenchmark {
                 // Empty
             }).call(new TestEvent2());
         }
+        this.handle = node.getHandle(TestEvent.class);
     }
 
     @Benchmark
     public void call() {
         node.call(new TestEvent());
     }
+
+    @Benchmark
+    public void handleCall() {
+        handle.call(new TestEvent());
+    }
+
+    @Benchmark
+    public void handleCheckedCall() {
+        // Event only allocated when listened to
+        if (handle.hasListener()) handle.call(new TestEvent());
+    }
 }
@@ -0,0 +1,76 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entities crossing a chunk border, to be run with {@code -prof gc} to compare the allocation rate.
+ */
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class EntityBucketBenchmark {
+
+    @Param({"10", "100", "500"})
+    public int entityCount;
+
+    private Entity[] entities;
+    private List<Entity> copyOnWriteFrom, copyOnWriteTo;
+    private EntityBucket<Entity> bucketFrom, bucketTo;
+    private int index;
+
+    @Setup
+    public void setup() {
+        MinecraftServer.init();
+        this.entities = new Entity[entityCount];
+        this.copyOnWriteFrom = new CopyOnWriteArrayList<>();
+        this.copyOnWriteTo = new CopyOnWriteArrayList<>();
+        this.bucketFrom = new EntityBucket<>();
+        this.bucketTo = new EntityBucket<>();
+        for (int i = 0; i < entityCount; i++) {
+            final Entity entity = new Entity(EntityType.ITEM);
+            this.entities[i] = entity;
+            this.copyOnWriteFrom.add(entity);
+            this.bucketFrom.addEntity(entity);
+        }
+    }
+
+    @Benchmark
+    public void copyOnWriteMove() {
+        // Move an entity to the other chunk and back
+        final Entity entity = entities[index++ % entityCount];
+        copyOnWriteTo.add(entity);
+        copyOnWriteFrom.remove(entity);
+        copyOnWriteFrom.add(entity);
+        copyOnWriteTo.remove(entity);
+    }
+
+    @Benchmark
+    public void bucketMove() {
+        final Entity entity = entities[index++ % entityCount];
+        bucketTo.addEntity(entity);
+        bucketFrom.removeEntity(entity);
+        bucketFrom.addEntity(entity);
+        bucketTo.removeEntity(entity);
+    }
+
+    @Benchmark
+    public void copyOnWriteIterate(Blackhole blackhole) {
+        copyOnWriteFrom.forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void bucketIterate(Blackhole blackhole) {
+        bucketFrom.forEach(blackhole::consume);
+    }
+}
@@ -0,0 +1,87 @@
+package net.minestom.server.instance;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class EntityTrackerBenchmark {
+    private static final Point CENTER = new Vec(0, 40, 0);
+
+    @Param({"1000", "5000"})
+    public int entityCount;
+
+    @Param({"8", "32"})
+    public double range;
+
+    private EntityTracker tracker;
+    private Entity[] entities;
+    private Point[] positions;
+    private final Int2ObjectOpenHashMap<Point> positionMap = new Int2ObjectOpenHashMap<>();
+    private int moveIndex;
+
+    @Setup
+    public void setup() {
+        MinecraftServer.init();
+        this.tracker = EntityTracker.newTracker();
+        this.entities = new Entity[entityCount];
+        this.positions = new Point[entityCount];
+        var random = ThreadLocalRandom.current();
+        for (int i = 0; i < entityCount; i++) {
+            final Entity entity = new Entity(EntityType.ZOMBIE);
+            final Point point = new Vec(random.nextDouble(-128, 128), random.nextDouble(0, 80), random.nextDouble(-128, 128));
+            this.entities[i] = entity;
+            this.positions[i] = point;
+            this.positionMap.put(entity.getEntityId(), point);
+            this.tracker.register(entity, point, EntityTracker.Target.ENTITIES, null);
+        }
+    }
+
+    @Benchmark
+    public void chunkRangeScan(Blackhole blackhole) {
+        // Previous implementation, filtering every entity in the surrounding chunks
+        final double squaredRange = range * range;
+        final int chunkRange = (int) (range / Chunk.CHUNK_SECTION_SIZE) + 1;
+        tracker.nearbyEntitiesByChunkRange(CENTER, chunkRange, EntityTracker.Target.ENTITIES, entity -> {
+            if (positionMap.get(entity.getEntityId()).distanceSquared(CENTER) <= squaredRange) blackhole.consume(entity);
+        });
+    }
+
+    @Benchmark
+    public void sphere(Blackhole blackhole) {
+        tracker.nearbyEntities(CENTER, range, EntityTracker.Target.ENTITIES, blackhole::consume);
+    }
+
+    @Benchmark
+    public void box(Blackhole blackhole) {
+        tracker.intersectingEntities(CENTER.sub(range), CENTER.add(range),
+                EntityTracker.Target.ENTITIES, blackhole::consume);
+    }
+
+    @Benchmark
+    public void ray(Blackhole blackhole) {
+        tracker.raycastEntities(CENTER, new Vec(1, -0.25, 0.5), range,
+                EntityTracker.Target.ENTITIES, blackhole::consume);
+    }
+
+    @Benchmark
+    public void move() {
+        final int index = moveIndex++ % entityCount;
+        final Point point = positions[index].add(0.2, 0, 0.2);
+        this.positions[index] = point;
+        this.tracker.move(entities[index], point, EntityTracker.Target.ENTITIES, null);
+    }
+}
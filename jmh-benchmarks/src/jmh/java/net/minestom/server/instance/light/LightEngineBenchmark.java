@@ -0,0 +1,58 @@
+package net.minestom.server.instance.light;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.InstanceContainer;
+import net.minestom.server.instance.block.Block;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class LightEngineBenchmark {
+
+    private InstanceContainer instance;
+    private LightEngine lightEngine;
+    private Chunk chunk;
+    private boolean placed;
+
+    @Setup
+    public void setup() {
+        MinecraftServer.init();
+        this.instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+        this.instance.setGenerator(unit -> unit.modifier().fillHeight(-64, 40, Block.STONE));
+        for (int x = -1; x <= 1; x++) {
+            for (int z = -1; z <= 1; z++) {
+                this.instance.loadChunk(x, z).join();
+            }
+        }
+        this.chunk = instance.getChunk(0, 0);
+        // Batches are processed in the calling thread
+        this.lightEngine = new LightEngine(instance, Runnable::run);
+        this.instance.setLightEngine(lightEngine);
+        this.lightEngine.relight(chunk).join();
+    }
+
+    @Benchmark
+    public void fullChunkRelight() {
+        this.lightEngine.relight(chunk).join();
+    }
+
+    @Benchmark
+    public void singleBlockChange() {
+        // Alternate between opening and closing a hole in the surface
+        this.placed = !placed;
+        this.instance.setBlock(8, 39, 8, placed ? Block.AIR : Block.STONE);
+    }
+
+    @Benchmark
+    public void singleLightSource() {
+        this.placed = !placed;
+        this.instance.setBlock(8, 45, 8, placed ? Block.GLOWSTONE : Block.AIR);
+    }
+}
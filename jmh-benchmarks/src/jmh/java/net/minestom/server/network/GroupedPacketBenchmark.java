@@ -0,0 +1,70 @@
+package net.minestom.server.network;
+
+import net.minestom.server.network.packet.server.CachedPacket;
+import net.minestom.server.network.packet.server.FramedPacket;
+import net.minestom.server.network.packet.server.play.PluginMessagePacket;
+import net.minestom.server.utils.PacketUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of sending a compressed packet to every viewer, each viewer buffer standing for a connection.
+ */
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class GroupedPacketBenchmark {
+
+    @Param({"100", "250", "500"})
+    public int viewers;
+
+    @Param({"512", "8192"})
+    public int packetSize;
+
+    private PluginMessagePacket packet;
+    private ByteBuffer connectionBuffer;
+
+    @Setup
+    public void setup() {
+        // Partially compressible payload
+        byte[] data = new byte[packetSize];
+        var random = ThreadLocalRandom.current();
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i % 4 == 0 ? random.nextInt() : i / 64);
+        }
+        this.packet = new PluginMessagePacket("minestom:benchmark", data);
+        this.connectionBuffer = ByteBuffer.allocateDirect(packetSize * 2);
+    }
+
+    @Benchmark
+    public void perConnection() {
+        for (int i = 0; i < viewers; i++) {
+            final ByteBuffer frame = PacketUtils.createFramedPacket(packet, true);
+            connectionBuffer.clear().put(0, frame, 0, frame.limit());
+        }
+    }
+
+    @Benchmark
+    public void cachedPacket() {
+        final CachedPacket cachedPacket = new CachedPacket(packet);
+        for (int i = 0; i < viewers; i++) {
+            final ByteBuffer frame = cachedPacket.body(true);
+            connectionBuffer.clear().put(0, frame, 0, frame.limit());
+        }
+    }
+
+    @Benchmark
+    public void compressOnce() {
+        final FramedPacket framedPacket = PacketUtils.allocateGroupedPacket(packet);
+        for (int i = 0; i < viewers; i++) {
+            final ByteBuffer frame = framedPacket.body(true);
+            connectionBuffer.clear().put(0, frame, 0, frame.limit());
+        }
+    }
+}
@@ -12,9 +12,13 @@ import java.util.concurrent.TimeUnit;
 @State(Scope.Benchmark)
 public class SchedulerTickBenchmark {
 
-    @Param({"0", "1", "5"})
+    @Param({"0", "1", "5", "10000", "100000"})
     public int tickTasks;
 
+    // Repeat period in ticks, initial delays are spread over it
+    @Param({"1", "20", "6000"})
+    public int period;
+
     Scheduler scheduler;
 
     @Setup
@@ -22,7 +26,7 @@ public class SchedulerTickBenchmark {
         this.scheduler = Scheduler.newScheduler();
         for (int i = 0; i < this.tickTasks; i++) {
             this.scheduler.scheduleTask(() -> {
-            }, TaskSchedule.nextTick(), TaskSchedule.nextTick());
+            }, TaskSchedule.tick(1 + i % period), TaskSchedule.tick(period));
         }
     }
 
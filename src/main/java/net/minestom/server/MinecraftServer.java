@@ -48,12 +48,14 @@ public final class MinecraftServer {
 
     public static final String VERSION_NAME = "1.18.2";
     public static final int PROTOCOL_VERSION = 758;
+    public static final int DATA_VERSION = 2975;
 
     // Threads
     public static final String THREAD_NAME_BENCHMARK = "Ms-Benchmark";
 
     public static final String THREAD_NAME_TICK_SCHEDULER = "Ms-TickScheduler";
     public static final String THREAD_NAME_TICK = "Ms-Tick";
+    public static final String THREAD_NAME_BLOCKING = "Ms-Blocking";
 
     // Config
     // Can be modified at performance cost when increased
@@ -309,6 +309,7 @@ final class ServerProcessImpl implements ServerProcess {
 
             // Flush all waiting packets
             PacketUtils.flush();
+            server().tickEnd();
 
             // Monitoring
             {
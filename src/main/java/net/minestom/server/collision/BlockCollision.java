@@ -15,51 +15,54 @@ final class BlockCollision {
     // Minimum move amount, minimum final velocity
     private static final double MIN_DELTA = 0.001;
 
-    private static Vec[] calculateFaces(Vec queryVec, BoundingBox boundingBox) {
+    private static void calculateFaces(double queryX, double queryY, double queryZ,
+                                       BoundingBox boundingBox, PhysicsCache cache) {
         // Add 1 because we start at point 0
         int ceilX = (int) Math.ceil(boundingBox.width()) + 1;
         int ceilY = (int) Math.ceil(boundingBox.height()) + 1;
         int ceilZ = (int) Math.ceil(boundingBox.depth()) + 1;
 
         int pointCount = 0;
-        if (queryVec.x() != 0) pointCount += ceilY * ceilZ;
-        if (queryVec.y() != 0) pointCount += ceilX * ceilZ;
-        if (queryVec.z() != 0) pointCount += ceilX * ceilY;
+        if (queryX != 0) pointCount += ceilY * ceilZ;
+        if (queryY != 0) pointCount += ceilX * ceilZ;
+        if (queryZ != 0) pointCount += ceilX * ceilY;
 
         // Three edge reduction
-        if (queryVec.x() != 0 && queryVec.y() != 0 && queryVec.z() != 0) {
+        if (queryX != 0 && queryY != 0 && queryZ != 0) {
             pointCount -= ceilX + ceilY + ceilZ;
 
             // inclusion exclusion principle
             pointCount++;
-        } else if (queryVec.x() != 0 && queryVec.y() != 0) { // Two edge reduction
+        } else if (queryX != 0 && queryY != 0) { // Two edge reduction
             pointCount -= ceilZ;
-        } else if (queryVec.y() != 0 && queryVec.z() != 0) { // Two edge reduction
+        } else if (queryY != 0 && queryZ != 0) { // Two edge reduction
             pointCount -= ceilX;
-        } else if (queryVec.x() != 0 && queryVec.z() != 0) { // Two edge reduction
+        } else if (queryX != 0 && queryZ != 0) { // Two edge reduction
             pointCount -= ceilY;
         }
 
-        Vec[] facePoints = new Vec[pointCount];
+        double[] facePoints = cache.faces;
+        if (facePoints.length < pointCount * 3) cache.faces = facePoints = new double[pointCount * 3];
+        cache.faceCount = pointCount;
         int insertIndex = 0;
 
         // X -> Y x Z
-        if (queryVec.x() != 0) {
+        if (queryX != 0) {
             int startIOffset = 0, endIOffset = 0, startJOffset = 0, endJOffset = 0;
 
             // Y handles XY edge
-            if (queryVec.y() < 0) startJOffset = 1;
-            if (queryVec.y() > 0) endJOffset = 1;
+            if (queryY < 0) startJOffset = 1;
+            if (queryY > 0) endJOffset = 1;
 
             // Z handles XZ edge
-            if (queryVec.z() < 0) startIOffset = 1;
-            if (queryVec.z() > 0) endIOffset = 1;
+            if (queryZ < 0) startIOffset = 1;
+            if (queryZ > 0) endIOffset = 1;
 
             for (int i = startIOffset; i <= Math.ceil(boundingBox.depth()) - endIOffset; ++i)
                 for (int j = startJOffset; j <= Math.ceil(boundingBox.height()) - endJOffset; ++j) {
                     double cellI = i;
                     double cellJ = j;
-                    double cellK = queryVec.x() < 0 ? 0 : boundingBox.width();
+                    double cellK = queryX < 0 ? 0 : boundingBox.width();
 
                     if (i >= boundingBox.depth()) cellI = boundingBox.depth();
                     if (j >= boundingBox.height()) cellJ = boundingBox.height();
@@ -68,24 +71,25 @@ final class BlockCollision {
                     cellJ += boundingBox.minY();
                     cellK += boundingBox.minX();
 
-                    Vec p = new Vec(cellK, cellJ, cellI);
-                    facePoints[insertIndex++] = p;
+                    facePoints[insertIndex++] = cellK;
+                    facePoints[insertIndex++] = cellJ;
+                    facePoints[insertIndex++] = cellI;
                 }
         }
 
         // Y -> X x Z
-        if (queryVec.y() != 0) {
+        if (queryY != 0) {
             int startJOffset = 0, endJOffset = 0;
 
             // Z handles YZ edge
-            if (queryVec.z() < 0) startJOffset = 1;
-            if (queryVec.z() > 0) endJOffset = 1;
+            if (queryZ < 0) startJOffset = 1;
+            if (queryZ > 0) endJOffset = 1;
 
             for (int i = startJOffset; i <= Math.ceil(boundingBox.depth()) - endJOffset; ++i)
                 for (int j = 0; j <= Math.ceil(boundingBox.width()); ++j) {
                     double cellI = i;
                     double cellJ = j;
-                    double cellK = queryVec.y() < 0 ? 0 : boundingBox.height();
+                    double cellK = queryY < 0 ? 0 : boundingBox.height();
 
                     if (i >= boundingBox.depth()) cellI = boundingBox.depth();
                     if (j >= boundingBox.width()) cellJ = boundingBox.width();
@@ -94,18 +98,19 @@ final class BlockCollision {
                     cellJ += boundingBox.minX();
                     cellK += boundingBox.minY();
 
-                    Vec p = new Vec(cellJ, cellK, cellI);
-                    facePoints[insertIndex++] = p;
+                    facePoints[insertIndex++] = cellJ;
+                    facePoints[insertIndex++] = cellK;
+                    facePoints[insertIndex++] = cellI;
                 }
         }
 
         // Z -> X x Y
-        if (queryVec.z() != 0) {
+        if (queryZ != 0) {
             for (int i = 0; i <= Math.ceil(boundingBox.height()); ++i)
                 for (int j = 0; j <= Math.ceil(boundingBox.width()); ++j) {
                     double cellI = i;
                     double cellJ = j;
-                    double cellK = queryVec.z() < 0 ? 0 : boundingBox.depth();
+                    double cellK = queryZ < 0 ? 0 : boundingBox.depth();
 
                     if (i >= boundingBox.height()) cellI = boundingBox.height();
                     if (j >= boundingBox.width()) cellJ = boundingBox.width();
@@ -114,12 +119,11 @@ final class BlockCollision {
                     cellJ += boundingBox.minX();
                     cellK += boundingBox.minZ();
 
-                    Vec p = new Vec(cellJ, cellI, cellK);
-                    facePoints[insertIndex++] = p;
+                    facePoints[insertIndex++] = cellJ;
+                    facePoints[insertIndex++] = cellI;
+                    facePoints[insertIndex++] = cellK;
                 }
         }
-
-        return facePoints;
     }
 
     /**
@@ -132,10 +136,17 @@ final class BlockCollision {
                                        @NotNull Vec entityVelocity, @NotNull Pos entityPosition,
                                        @NotNull Block.Getter getter,
                                        @Nullable PhysicsResult lastPhysicsResult) {
-        Vec remainingMove = entityVelocity;
+        return handlePhysics(boundingBox, entityVelocity, entityPosition, getter, lastPhysicsResult, PhysicsCache.local());
+    }
 
-        // Allocate once and update values
-        final SweepResult finalResult = new SweepResult(1, 0, 0, 0, null);
+    static PhysicsResult handlePhysics(@NotNull BoundingBox boundingBox,
+                                       @NotNull Vec entityVelocity, @NotNull Pos entityPosition,
+                                       @NotNull Block.Getter getter,
+                                       @Nullable PhysicsResult lastPhysicsResult,
+                                       @NotNull PhysicsCache cache) {
+        double remainingX = entityVelocity.x();
+        double remainingY = entityVelocity.y();
+        double remainingZ = entityVelocity.z();
 
         boolean foundCollisionX = false, foundCollisionY = false, foundCollisionZ = false;
 
@@ -146,13 +157,13 @@ final class BlockCollision {
         // If the entity isn't moving and the block below hasn't changed, return
         if (lastPhysicsResult != null) {
             if (lastPhysicsResult.collisionY()
-                    && Math.signum(remainingMove.y()) == Math.signum(lastPhysicsResult.originalDelta().y())
+                    && Math.signum(remainingY) == Math.signum(lastPhysicsResult.originalDelta().y())
                     && lastPhysicsResult.collidedBlockY() != null
                     && getter.getBlock(lastPhysicsResult.collidedBlockY(), Block.Getter.Condition.TYPE) == lastPhysicsResult.blockTypeY()
-                    && remainingMove.x() == 0 && remainingMove.z() == 0
+                    && remainingX == 0 && remainingZ == 0
                     && entityPosition.samePoint(lastPhysicsResult.newPosition())
                     && lastPhysicsResult.blockTypeY() != Block.AIR) {
-                remainingMove = remainingMove.withY(0);
+                remainingY = 0;
                 foundCollisionY = true;
                 collisionYBlock = lastPhysicsResult.collidedBlockY();
                 blockYType = lastPhysicsResult.blockTypeY();
@@ -161,13 +172,11 @@ final class BlockCollision {
 
         // If we're moving less than the MIN_DELTA value, set the velocity in that axis to 0.
         // This prevents tiny moves from wasting cpu time
-        final double deltaX = Math.abs(remainingMove.x()) < MIN_DELTA ? 0 : remainingMove.x();
-        final double deltaY = Math.abs(remainingMove.y()) < MIN_DELTA ? 0 : remainingMove.y();
-        final double deltaZ = Math.abs(remainingMove.z()) < MIN_DELTA ? 0 : remainingMove.z();
-
-        remainingMove = new Vec(deltaX, deltaY, deltaZ);
+        final double deltaX = Math.abs(remainingX) < MIN_DELTA ? 0 : remainingX;
+        final double deltaY = Math.abs(remainingY) < MIN_DELTA ? 0 : remainingY;
+        final double deltaZ = Math.abs(remainingZ) < MIN_DELTA ? 0 : remainingZ;
 
-        if (remainingMove.isZero())
+        if (deltaX == 0 && deltaY == 0 && deltaZ == 0)
             if (lastPhysicsResult != null)
                 return new PhysicsResult(entityPosition, Vec.ZERO, lastPhysicsResult.isOnGround(),
                         lastPhysicsResult.collisionX(), lastPhysicsResult.collisionY(), lastPhysicsResult.collisionZ(),
@@ -175,31 +184,37 @@ final class BlockCollision {
             else
                 return new PhysicsResult(entityPosition, Vec.ZERO, false, false, false, false, entityVelocity, null, Block.AIR);
 
+        // Reuse the same result and update values
+        final SweepResult finalResult = cache.sweep;
+        finalResult.reset();
+
         // Query faces to get the points needed for collision
-        Vec[] allFaces = calculateFaces(new Vec(Math.signum(remainingMove.x()), Math.signum(remainingMove.y()), Math.signum(remainingMove.z())), boundingBox);
+        // The movement direction does not change between steps, neither do the faces
+        calculateFaces(Math.signum(deltaX), Math.signum(deltaY), Math.signum(deltaZ), boundingBox, cache);
 
-        PhysicsResult res = handlePhysics(boundingBox, remainingMove, entityPosition, getter, allFaces, finalResult);
+        step(boundingBox, deltaX, deltaY, deltaZ,
+                entityPosition.x(), entityPosition.y(), entityPosition.z(), getter, cache);
 
         // Loop until no collisions are found.
         // When collisions are found, the collision axis is set to 0
         // Looping until there are no collisions will allow the entity to move in axis other than the collision axis after a collision.
-        while (res.collisionX() || res.collisionY() || res.collisionZ()) {
+        while (cache.collisionX || cache.collisionY || cache.collisionZ) {
             // Reset final result
             finalResult.res = 1;
             finalResult.normalX = 0;
             finalResult.normalY = 0;
             finalResult.normalZ = 0;
 
-            if (res.collisionX()) foundCollisionX = true;
-            if (res.collisionZ()) foundCollisionZ = true;
+            if (cache.collisionX) foundCollisionX = true;
+            if (cache.collisionZ) foundCollisionZ = true;
 
-            if (res.collisionY()) {
+            if (cache.collisionY) {
                 foundCollisionY = true;
 
                 // If we are only moving in the y-axis
-                if (!res.collisionX() && !res.collisionZ() && entityVelocity.x() == 0 && entityVelocity.z() == 0) {
-                    collisionYBlock = res.collidedBlockY();
-                    blockYType = res.blockTypeY();
+                if (!cache.collisionX && !cache.collisionZ && entityVelocity.x() == 0 && entityVelocity.z() == 0) {
+                    collisionYBlock = finalResult.collidedShapePosition();
+                    blockYType = finalResult.blockType;
                 }
             }
 
@@ -207,38 +222,50 @@ final class BlockCollision {
             if (foundCollisionX && foundCollisionY && foundCollisionZ) break;
 
             // If the entity isn't moving, break
-            if (res.newVelocity().isZero()) break;
+            if (cache.remainingX == 0 && cache.remainingY == 0 && cache.remainingZ == 0) break;
 
-            allFaces = calculateFaces(new Vec(Math.signum(remainingMove.x()), Math.signum(remainingMove.y()), Math.signum(remainingMove.z())), boundingBox);
-
-            res = handlePhysics(boundingBox, res.newVelocity(), res.newPosition(), getter, allFaces, finalResult);
+            step(boundingBox, cache.remainingX, cache.remainingY, cache.remainingZ,
+                    cache.positionX, cache.positionY, cache.positionZ, getter, cache);
         }
 
         final double newDeltaX = foundCollisionX ? 0 : entityVelocity.x();
         final double newDeltaY = foundCollisionY ? 0 : entityVelocity.y();
         final double newDeltaZ = foundCollisionZ ? 0 : entityVelocity.z();
 
-        return new PhysicsResult(res.newPosition(), new Vec(newDeltaX, newDeltaY, newDeltaZ),
+        return new PhysicsResult(new Pos(cache.positionX, cache.positionY, cache.positionZ),
+                new Vec(newDeltaX, newDeltaY, newDeltaZ),
                 newDeltaY == 0 && entityVelocity.y() < 0,
                 foundCollisionX, foundCollisionY, foundCollisionZ, entityVelocity, collisionYBlock, blockYType);
     }
 
-    private static PhysicsResult handlePhysics(@NotNull BoundingBox boundingBox,
-                                               @NotNull Vec deltaPosition, Pos entityPosition,
-                                               @NotNull Block.Getter getter,
-                                               @NotNull Vec[] allFaces,
-                                               @NotNull SweepResult finalResult) {
-
-        double remainingX = deltaPosition.x();
-        double remainingY = deltaPosition.y();
-        double remainingZ = deltaPosition.z();
+    /**
+     * Moves the bounding box until the first collision, the new position and remaining movement are stored in the cache.
+     */
+    private static void step(@NotNull BoundingBox boundingBox,
+                             double deltaX, double deltaY, double deltaZ,
+                             double positionX, double positionY, double positionZ,
+                             @NotNull Block.Getter getter, @NotNull PhysicsCache cache) {
+        final SweepResult finalResult = cache.sweep;
+        final double[] faces = cache.faces;
+        final int faceCount = cache.faceCount;
+
+        double remainingX = deltaX;
+        double remainingY = deltaY;
+        double remainingZ = deltaZ;
 
         // If the movement is small we don't need to run the expensive ray casting.
         // Positions of move less than one can have hardcoded blocks to check for every direction
-        if (deltaPosition.length() < 1) {
-            for (Vec point : allFaces) {
-                Vec pointBefore = point.add(entityPosition);
-                Vec pointAfter = point.add(entityPosition).add(deltaPosition);
+        if (Math.sqrt(deltaX * deltaX + deltaY * deltaY + deltaZ * deltaZ) < 1) {
+            for (int i = 0; i < faceCount * 3; i += 3) {
+                final double pointX = faces[i] + positionX;
+                final double pointY = faces[i + 1] + positionY;
+                final double pointZ = faces[i + 2] + positionZ;
+                final int beforeX = (int) Math.floor(pointX);
+                final int beforeY = (int) Math.floor(pointY);
+                final int beforeZ = (int) Math.floor(pointZ);
+                final int afterX = (int) Math.floor(pointX + deltaX);
+                final int afterY = (int) Math.floor(pointY + deltaY);
+                final int afterZ = (int) Math.floor(pointZ + deltaZ);
 
                 // Entity can pass through up to 4 blocks. Starting block, Two intermediate blocks, and a final block.
                 // This means we must check every combination of block movements when an entity moves over an axis.
@@ -247,53 +274,53 @@ final class BlockCollision {
                 // Checks can be limited by checking if we moved across an axis line
 
                 // Pass through (0, 0, 0)
-                checkBoundingBox(pointBefore.blockX(), pointBefore.blockY(), pointBefore.blockZ(), deltaPosition, entityPosition, boundingBox, getter, finalResult);
+                checkBoundingBox(beforeX, beforeY, beforeZ, deltaX, deltaY, deltaZ, positionX, positionY, positionZ, boundingBox, getter, finalResult);
 
-                if (pointBefore.blockX() != pointAfter.blockX()) {
+                if (beforeX != afterX) {
                     // Pass through (+1, 0, 0)
-                    checkBoundingBox(pointAfter.blockX(), pointBefore.blockY(), pointBefore.blockZ(), deltaPosition, entityPosition, boundingBox, getter, finalResult);
+                    checkBoundingBox(afterX, beforeY, beforeZ, deltaX, deltaY, deltaZ, positionX, positionY, positionZ, boundingBox, getter, finalResult);
 
                     // Checks for moving through 4 blocks
-                    if (pointBefore.blockY() != pointAfter.blockY())
+                    if (beforeY != afterY)
                         // Pass through (+1, +1, 0)
-                        checkBoundingBox(pointAfter.blockX(), pointAfter.blockY(), pointBefore.blockZ(), deltaPosition, entityPosition, boundingBox, getter, finalResult);
+                        checkBoundingBox(afterX, afterY, beforeZ, deltaX, deltaY, deltaZ, positionX, positionY, positionZ, boundingBox, getter, finalResult);
 
-                    if (pointBefore.blockZ() != pointAfter.blockZ())
+                    if (beforeZ != afterZ)
                         // Pass through (+1, 0, +1)
-                        checkBoundingBox(pointAfter.blockX(), pointBefore.blockY(), pointAfter.blockZ(), deltaPosition, entityPosition, boundingBox, getter, finalResult);
+                        checkBoundingBox(afterX, beforeY, afterZ, deltaX, deltaY, deltaZ, positionX, positionY, positionZ, boundingBox, getter, finalResult);
                 }
 
-                if (pointBefore.blockY() != pointAfter.blockY()) {
+                if (beforeY != afterY) {
                     // Pass through (0, +1, 0)
-                    checkBoundingBox(pointBefore.blockX(), pointAfter.blockY(), pointBefore.blockZ(), deltaPosition, entityPosition, boundingBox, getter, finalResult);
+                    checkBoundingBox(beforeX, afterY, beforeZ, deltaX, deltaY, deltaZ, positionX, positionY, positionZ, boundingBox, getter, finalResult);
 
                     // Checks for moving through 4 blocks
-                    if (pointBefore.blockZ() != pointAfter.blockZ())
+                    if (beforeZ != afterZ)
                         // Pass through (0, +1, +1)
-                        checkBoundingBox(pointBefore.blockX(), pointAfter.blockY(), pointAfter.blockZ(), deltaPosition, entityPosition, boundingBox, getter, finalResult);
+                        checkBoundingBox(beforeX, afterY, afterZ, deltaX, deltaY, deltaZ, positionX, positionY, positionZ, boundingBox, getter, finalResult);
                 }
 
-                if (pointBefore.blockZ() != pointAfter.blockZ()) {
+                if (beforeZ != afterZ) {
                     // Pass through (0, 0, +1)
-                    checkBoundingBox(pointBefore.blockX(), pointBefore.blockY(), pointAfter.blockZ(), deltaPosition, entityPosition, boundingBox, getter, finalResult);
+                    checkBoundingBox(beforeX, beforeY, afterZ, deltaX, deltaY, deltaZ, positionX, positionY, positionZ, boundingBox, getter, finalResult);
                 }
 
                 // Pass through (+1, +1, +1)
-                if (pointBefore.blockX() != pointAfter.blockX()
-                        && pointBefore.blockY() != pointAfter.blockY()
-                        && pointBefore.blockZ() != pointAfter.blockZ())
-                    checkBoundingBox(pointAfter.blockX(), pointAfter.blockY(), pointAfter.blockZ(), deltaPosition, entityPosition, boundingBox, getter, finalResult);
+                if (beforeX != afterX && beforeY != afterY && beforeZ != afterZ)
+                    checkBoundingBox(afterX, afterY, afterZ, deltaX, deltaY, deltaZ, positionX, positionY, positionZ, boundingBox, getter, finalResult);
             }
         } else {
             // When large moves are done we need to ray-cast to find all blocks that could intersect with the movement
-            for (Vec point : allFaces) {
-                RayUtils.RaycastCollision(deltaPosition, point.add(entityPosition), getter, boundingBox, entityPosition, finalResult);
+            for (int i = 0; i < faceCount * 3; i += 3) {
+                RayUtils.RaycastCollision(deltaX, deltaY, deltaZ,
+                        faces[i] + positionX, faces[i + 1] + positionY, faces[i + 2] + positionZ,
+                        getter, boundingBox, positionX, positionY, positionZ, finalResult);
             }
         }
 
-        double finalX = entityPosition.x() + finalResult.res * remainingX;
-        double finalY = entityPosition.y() + finalResult.res * remainingY;
-        double finalZ = entityPosition.z() + finalResult.res * remainingZ;
+        double finalX = positionX + finalResult.res * remainingX;
+        double finalY = positionY + finalResult.res * remainingY;
+        double finalZ = positionZ + finalResult.res * remainingZ;
 
         boolean collisionX = false, collisionY = false, collisionZ = false;
 
@@ -315,18 +342,17 @@ final class BlockCollision {
             remainingZ = 0;
         }
 
-        remainingX = Math.abs(remainingX) < MIN_DELTA ? 0 : remainingX;
-        remainingY = Math.abs(remainingY) < MIN_DELTA ? 0 : remainingY;
-        remainingZ = Math.abs(remainingZ) < MIN_DELTA ? 0 : remainingZ;
+        cache.remainingX = Math.abs(remainingX) < MIN_DELTA ? 0 : remainingX;
+        cache.remainingY = Math.abs(remainingY) < MIN_DELTA ? 0 : remainingY;
+        cache.remainingZ = Math.abs(remainingZ) < MIN_DELTA ? 0 : remainingZ;
 
-        finalX = Math.abs(finalX - entityPosition.x()) < MIN_DELTA ? entityPosition.x() : finalX;
-        finalY = Math.abs(finalY - entityPosition.y()) < MIN_DELTA ? entityPosition.y() : finalY;
-        finalZ = Math.abs(finalZ - entityPosition.z()) < MIN_DELTA ? entityPosition.z() : finalZ;
+        cache.positionX = Math.abs(finalX - positionX) < MIN_DELTA ? positionX : finalX;
+        cache.positionY = Math.abs(finalY - positionY) < MIN_DELTA ? positionY : finalY;
+        cache.positionZ = Math.abs(finalZ - positionZ) < MIN_DELTA ? positionZ : finalZ;
 
-        return new PhysicsResult(new Pos(finalX, finalY, finalZ),
-                new Vec(remainingX, remainingY, remainingZ), collisionY,
-                collisionX, collisionY, collisionZ,
-                Vec.ZERO, finalResult.collidedShapePosition, finalResult.blockType);
+        cache.collisionX = collisionX;
+        cache.collisionY = collisionY;
+        cache.collisionZ = collisionZ;
     }
 
     static Entity canPlaceBlockAt(Instance instance, Point blockPos, Block b) {
@@ -356,25 +382,37 @@ final class BlockCollision {
     /**
      * Check if a moving entity will collide with a block. Updates finalResult
      *
-     * @param blockX         block x position
-     * @param blockY         block y position
-     * @param blockZ         block z position
-     * @param entityVelocity entity movement vector
-     * @param entityPosition entity position
-     * @param boundingBox    entity bounding box
-     * @param getter         block getter
-     * @param finalResult    place to store final result of collision
+     * @param blockX      block x position
+     * @param blockY      block y position
+     * @param blockZ      block z position
+     * @param velocityX   entity movement x
+     * @param velocityY   entity movement y
+     * @param velocityZ   entity movement z
+     * @param positionX   entity position x
+     * @param positionY   entity position y
+     * @param positionZ   entity position z
+     * @param boundingBox entity bounding box
+     * @param getter      block getter
+     * @param finalResult place to store final result of collision
      * @return true if entity finds collision, other false
      */
     static boolean checkBoundingBox(int blockX, int blockY, int blockZ,
-                                    Vec entityVelocity, Pos entityPosition, BoundingBox boundingBox,
-                                    Block.Getter getter, SweepResult finalResult) {
+                                    double velocityX, double velocityY, double velocityZ,
+                                    double positionX, double positionY, double positionZ,
+                                    BoundingBox boundingBox, Block.Getter getter, SweepResult finalResult) {
         // Don't step if chunk isn't loaded yet
         final Block checkBlock = getter.getBlock(blockX, blockY, blockZ, Block.Getter.Condition.TYPE);
+        final int stateId = checkBlock.stateId();
         boolean hitBlock = false;
-        if (checkBlock.isSolid()) {
-            final Vec blockPos = new Vec(blockX, blockY, blockZ);
-            hitBlock = checkBlock.registry().collisionShape().intersectBoxSwept(entityPosition, entityVelocity, blockPos, boundingBox, finalResult);
+        if (BlockShapes.isCollidable(stateId)) {
+            final Shape shape = BlockShapes.shape(stateId);
+            if (shape instanceof ShapeImpl shapeImpl) {
+                hitBlock = shapeImpl.intersectBoxSwept(positionX, positionY, positionZ,
+                        velocityX, velocityY, velocityZ, blockX, blockY, blockZ, null, boundingBox, finalResult);
+            } else {
+                hitBlock = shape.intersectBoxSwept(new Vec(positionX, positionY, positionZ), new Vec(velocityX, velocityY, velocityZ),
+                        new Vec(blockX, blockY, blockZ), boundingBox, finalResult);
+            }
         }
         return hitBlock;
     }
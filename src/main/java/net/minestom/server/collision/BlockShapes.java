@@ -0,0 +1,109 @@
+package net.minestom.server.collision;
+
+import net.minestom.server.instance.block.Block;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Collision shapes of every block state, indexed by state id.
+ * <p>
+ * Allows collision and touch checks to skip blocks without going through {@link Block#registry()}.
+ */
+@ApiStatus.Internal
+public final class BlockShapes {
+    /**
+     * The shape does not contain any box, nothing can touch or collide with it.
+     */
+    public static final int EMPTY = 1;
+    /**
+     * The shape is a single box filling the whole block.
+     */
+    public static final int FULL_CUBE = 1 << 1;
+    /**
+     * The block is solid, entities moving with physics collide with its shape.
+     */
+    public static final int SOLID = 1 << 2;
+
+    private static final Shape[] SHAPES;
+    private static final byte[] FLAGS;
+
+    static {
+        int maxStateId = 0;
+        for (Block block : Block.values()) {
+            for (Block state : block.possibleStates()) maxStateId = Math.max(maxStateId, state.stateId());
+        }
+        SHAPES = new Shape[maxStateId + 1];
+        FLAGS = new byte[maxStateId + 1];
+        for (Block block : Block.values()) {
+            for (Block state : block.possibleStates()) {
+                final Shape shape = state.registry().collisionShape();
+                SHAPES[state.stateId()] = shape;
+                FLAGS[state.stateId()] = (byte) computeFlags(shape, state.isSolid());
+            }
+        }
+    }
+
+    private BlockShapes() {
+    }
+
+    /**
+     * Gets the collision shape of a block state, equivalent to {@code block.registry().collisionShape()}.
+     *
+     * @param stateId the block state id
+     * @return the collision shape
+     */
+    public static @NotNull Shape shape(int stateId) {
+        final Shape[] shapes = SHAPES;
+        if (stateId >= 0 && stateId < shapes.length) {
+            final Shape shape = shapes[stateId];
+            if (shape != null) return shape;
+        }
+        return stateBlock(stateId).registry().collisionShape();
+    }
+
+    /**
+     * Gets the flags of a block state.
+     *
+     * @param stateId the block state id
+     * @return a combination of {@link #EMPTY}, {@link #FULL_CUBE} and {@link #SOLID}
+     */
+    public static int flags(int stateId) {
+        final byte[] flags = FLAGS;
+        if (stateId >= 0 && stateId < flags.length && SHAPES[stateId] != null) return flags[stateId];
+        final Block block = stateBlock(stateId);
+        return computeFlags(block.registry().collisionShape(), block.isSolid());
+    }
+
+    public static boolean isEmpty(int stateId) {
+        return (flags(stateId) & EMPTY) != 0;
+    }
+
+    public static boolean isFullCube(int stateId) {
+        return (flags(stateId) & FULL_CUBE) != 0;
+    }
+
+    /**
+     * Gets if entities moving with physics can collide with the block state.
+     *
+     * @param stateId the block state id
+     * @return true if the block is solid and its shape is not empty
+     */
+    public static boolean isCollidable(int stateId) {
+        return (flags(stateId) & (SOLID | EMPTY)) == SOLID;
+    }
+
+    private static Block stateBlock(int stateId) {
+        final Block block = Block.fromStateId((short) stateId);
+        if (block == null) throw new IllegalArgumentException("Unknown block state id: " + stateId);
+        return block;
+    }
+
+    private static int computeFlags(Shape shape, boolean solid) {
+        int flags = solid ? SOLID : 0;
+        if (shape instanceof ShapeImpl shapeImpl) {
+            if (shapeImpl.isEmpty()) flags |= EMPTY;
+            else if (shapeImpl.isFullCube()) flags |= FULL_CUBE;
+        }
+        return flags;
+    }
+}
@@ -6,6 +6,7 @@ import net.minestom.server.coordinate.Vec;
 import net.minestom.server.entity.Entity;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * See https://wiki.vg/Entity_metadata#Mobs_2
@@ -40,16 +41,22 @@ public final class BoundingBox implements Shape {
     @Override
     @ApiStatus.Experimental
     public boolean intersectBoxSwept(@NotNull Point rayStart, @NotNull Point rayDirection, @NotNull Point shapePos, @NotNull BoundingBox moving, @NotNull SweepResult finalResult) {
-        final boolean isHit = RayUtils.BoundingBoxIntersectionCheck(
-                moving, rayStart, rayDirection,
-                this,
-                shapePos
-        );
+        return intersectBoxSwept(rayStart.x(), rayStart.y(), rayStart.z(),
+                rayDirection.x(), rayDirection.y(), rayDirection.z(),
+                shapePos.x(), shapePos.y(), shapePos.z(), shapePos, moving, finalResult);
+    }
+
+    boolean intersectBoxSwept(double rayStartX, double rayStartY, double rayStartZ,
+                              double rayDirectionX, double rayDirectionY, double rayDirectionZ,
+                              double shapeX, double shapeY, double shapeZ, @Nullable Point shapePos,
+                              @NotNull BoundingBox moving, @NotNull SweepResult finalResult) {
+        final boolean isHit = RayUtils.BoundingBoxIntersectionCheck(moving,
+                rayStartX, rayStartY, rayStartZ, rayDirectionX, rayDirectionY, rayDirectionZ,
+                this, shapeX, shapeY, shapeZ);
         if (!isHit) return false;
-        if (RayUtils.SweptAABB(moving, rayStart, rayDirection, this, shapePos, finalResult)) {
-            finalResult.collidedShapePosition = shapePos;
-            finalResult.collidedShape = this;
-            finalResult.blockType = null;
+        if (RayUtils.SweptAABB(moving, rayStartX, rayStartY, rayStartZ, rayDirectionX, rayDirectionY, rayDirectionZ,
+                this, shapeX, shapeY, shapeZ, finalResult)) {
+            finalResult.collided(shapeX, shapeY, shapeZ, shapePos, this, null);
         }
         return true;
     }
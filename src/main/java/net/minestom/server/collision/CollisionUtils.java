@@ -9,11 +9,13 @@ import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.WorldBorder;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.registry.Registry;
-import net.minestom.server.utils.chunk.ChunkCache;
+import net.minestom.server.utils.validate.Check;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
+
 @ApiStatus.Internal
 @ApiStatus.Experimental
 public final class CollisionUtils {
@@ -49,10 +51,50 @@ public final class CollisionUtils {
                                               @NotNull BoundingBox boundingBox,
                                               @NotNull Pos position, @NotNull Vec velocity,
                                               @Nullable PhysicsResult lastPhysicsResult) {
-        final Block.Getter getter = new ChunkCache(instance, chunk != null ? chunk : instance.getChunkAt(position), Block.STONE);
-        return BlockCollision.handlePhysics(boundingBox,
-                velocity, position,
-                getter, lastPhysicsResult);
+        final PhysicsCache cache = PhysicsCache.local();
+        cache.prepare(instance, chunk, Block.STONE);
+        try {
+            return BlockCollision.handlePhysics(boundingBox,
+                    velocity, position,
+                    cache, lastPhysicsResult, cache);
+        } finally {
+            cache.release();
+        }
+    }
+
+    /**
+     * Moves multiple entities with physics applied, such as the entities of a chunk.
+     * <p>
+     * Gives the same results as calling {@link #handlePhysics(Entity, Vec, PhysicsResult)} for each entity,
+     * but the chunks retrieved for the block lookups are shared by all the entities.
+     *
+     * @param instance    the instance of the entities
+     * @param entities    the entities to move
+     * @param velocities  the velocity of each entity, as x/y/z triples
+     * @param lastResults the previous result of each entity, elements can be null
+     * @param results     the array receiving the result of each entity
+     */
+    public static void handlePhysics(@NotNull Instance instance, @NotNull List<? extends Entity> entities,
+                                     double @NotNull [] velocities,
+                                     @Nullable PhysicsResult @NotNull [] lastResults,
+                                     @NotNull PhysicsResult @NotNull [] results) {
+        final int size = entities.size();
+        Check.argCondition(velocities.length < size * 3, "Missing velocities");
+        Check.argCondition(lastResults.length < size || results.length < size, "Result arrays are too small");
+        final PhysicsCache cache = PhysicsCache.local();
+        cache.prepare(instance, null, Block.STONE);
+        try {
+            for (int i = 0; i < size; i++) {
+                final Entity entity = entities.get(i);
+                assert entity.getInstance() == instance;
+                final Vec velocity = new Vec(velocities[i * 3], velocities[i * 3 + 1], velocities[i * 3 + 2]);
+                results[i] = BlockCollision.handlePhysics(entity.getBoundingBox(),
+                        velocity, entity.getPosition(),
+                        cache, lastResults[i], cache);
+            }
+        } finally {
+            cache.release();
+        }
     }
 
     /**
@@ -0,0 +1,83 @@
+package net.minestom.server.collision;
+
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.utils.cache.LocalCache;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnknownNullability;
+
+import java.util.Arrays;
+
+import static net.minestom.server.utils.chunk.ChunkUtils.getChunkCoordinate;
+
+/**
+ * Reusable state of the physics simulation, avoiding allocations for every moved entity.
+ * <p>
+ * Also acts as the block getter of the simulation, remembering the chunks of a 4x4 area
+ * so that entities moving in the same region (e.g. the entities of a chunk) do not look them up again.
+ * Must be {@link #release() released} once done, to not retain chunks that may be unloaded.
+ */
+final class PhysicsCache implements Block.Getter {
+    private static final LocalCache<PhysicsCache> LOCAL = LocalCache.of(PhysicsCache::new);
+
+    // Sweep of the current movement
+    final SweepResult sweep = new SweepResult(1, 0, 0, 0, null);
+    // Points of the bounding box faces, x/y/z interleaved
+    double[] faces = new double[3 * 32];
+    int faceCount;
+    // Result of the last step
+    double positionX, positionY, positionZ;
+    double remainingX, remainingY, remainingZ;
+    boolean collisionX, collisionY, collisionZ;
+
+    private final Chunk[] chunks = new Chunk[16];
+    private Instance instance;
+    private Block defaultBlock;
+
+    static @NotNull PhysicsCache local() {
+        return LOCAL.get();
+    }
+
+    /**
+     * Prepares the cache to retrieve the blocks of an instance.
+     *
+     * @param instance     the instance to retrieve blocks from
+     * @param chunk        optional chunk likely to be used, cached immediately
+     * @param defaultBlock the block returned for unloaded chunks
+     */
+    void prepare(@NotNull Instance instance, @Nullable Chunk chunk, @NotNull Block defaultBlock) {
+        this.instance = instance;
+        this.defaultBlock = defaultBlock;
+        if (chunk != null) this.chunks[slot(chunk.getChunkX(), chunk.getChunkZ())] = chunk;
+    }
+
+    void release() {
+        this.instance = null;
+        Arrays.fill(chunks, null);
+    }
+
+    @Override
+    public @UnknownNullability Block getBlock(int x, int y, int z, @NotNull Condition condition) {
+        final Chunk chunk = chunk(getChunkCoordinate(x), getChunkCoordinate(z));
+        if (chunk == null) return defaultBlock;
+        synchronized (chunk) {
+            return chunk.getBlock(x, y, z, condition);
+        }
+    }
+
+    private @Nullable Chunk chunk(int chunkX, int chunkZ) {
+        final int slot = slot(chunkX, chunkZ);
+        Chunk chunk = chunks[slot];
+        if (chunk == null || chunk.getChunkX() != chunkX || chunk.getChunkZ() != chunkZ ||
+                chunk.getInstance() != instance || !chunk.isLoaded()) {
+            this.chunks[slot] = chunk = instance.getChunk(chunkX, chunkZ);
+        }
+        return chunk;
+    }
+
+    private static int slot(int chunkX, int chunkZ) {
+        return (chunkX & 3) | (chunkZ & 3) << 2;
+    }
+}
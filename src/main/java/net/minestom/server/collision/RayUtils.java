@@ -6,96 +6,108 @@ import net.minestom.server.coordinate.Vec;
 import net.minestom.server.instance.block.Block;
 
 final class RayUtils {
-    public static void RaycastCollision(Vec rayDirection, Point rayStart, Block.Getter getter, BoundingBox boundingBox, Pos entityCentre, SweepResult finalResult) {
+    public static void RaycastCollision(double rayDirectionX, double rayDirectionY, double rayDirectionZ,
+                                        double rayStartX, double rayStartY, double rayStartZ,
+                                        Block.Getter getter, BoundingBox boundingBox,
+                                        double entityX, double entityY, double entityZ, SweepResult finalResult) {
         // This works by finding all the x, y and z grid line intersections and calculating the value of the point at that intersection
         // Finding all the intersections will give us all the full blocks that are traversed by the ray
 
-        if (rayDirection.x() != 0) {
+        if (rayDirectionX != 0) {
             // Which direction we're stepping the block boundary in
-            double xStep = rayDirection.x() < 0 ? -1 : 1;
+            double xStep = rayDirectionX < 0 ? -1 : 1;
 
             // If we are going in the positive direction, the block that we stepped over is the one we want
-            int xFix = rayDirection.x() > 0 ? 1 : 0;
+            int xFix = rayDirectionX > 0 ? 1 : 0;
 
             // Total number of axis block boundaries that will be passed
-            int xStepCount = (int) Math.ceil((rayDirection.x()) / xStep) + xFix;
+            int xStepCount = (int) Math.ceil((rayDirectionX) / xStep) + xFix;
 
             int xStepsCompleted = xFix;
+            final int xStart = (int) Math.floor(rayStartX);
 
             while (xStepsCompleted <= xStepCount) {
                 // Get the axis value
-                int xi = (int) (xStepsCompleted * xStep + rayStart.blockX());
-                double factor = (xi - rayStart.x()) / rayDirection.x();
+                int xi = (int) (xStepsCompleted * xStep + xStart);
+                double factor = (xi - rayStartX) / rayDirectionX;
 
-                if (Math.abs(rayDirection.x() * finalResult.res) - Math.abs(rayStart.x() - (xi)) < -2) break;
+                if (Math.abs(rayDirectionX * finalResult.res) - Math.abs(rayStartX - (xi)) < -2) break;
 
                 // Solve for y and z
-                int yi = (int) Math.floor(rayDirection.y() * factor + rayStart.y());
+                int yi = (int) Math.floor(rayDirectionY * factor + rayStartY);
 
                 // If the y distance is much greater than the collision point that is currently being used, break
-                if (Math.abs(rayDirection.y() * finalResult.res) - Math.abs(rayStart.y() - (yi)) < -2) break;
+                if (Math.abs(rayDirectionY * finalResult.res) - Math.abs(rayStartY - (yi)) < -2) break;
 
-                int zi = (int) Math.floor(rayDirection.z() * factor + rayStart.z());
-                if (Math.abs(rayDirection.z() * finalResult.res) - Math.abs(rayStart.z() - (zi)) < -2) break;
+                int zi = (int) Math.floor(rayDirectionZ * factor + rayStartZ);
+                if (Math.abs(rayDirectionZ * finalResult.res) - Math.abs(rayStartZ - (zi)) < -2) break;
 
                 xi -= xFix;
                 xStepsCompleted++;
 
                 // Check for collisions with the found block
                 // If a collision was found, break
-                if (BlockCollision.checkBoundingBox(xi, yi, zi, rayDirection, entityCentre, boundingBox, getter, finalResult))
+                if (BlockCollision.checkBoundingBox(xi, yi, zi,
+                        rayDirectionX, rayDirectionY, rayDirectionZ, entityX, entityY, entityZ,
+                        boundingBox, getter, finalResult))
                     break;
             }
         }
 
-        if (rayDirection.z() != 0) {
-            double zStep = rayDirection.z() < 0 ? -1 : 1;
-            int zFix = rayDirection.z() > 0 ? 1 : 0;
+        if (rayDirectionZ != 0) {
+            double zStep = rayDirectionZ < 0 ? -1 : 1;
+            int zFix = rayDirectionZ > 0 ? 1 : 0;
             int zStepsCompleted = zFix;
-            int zStepCount = (int) Math.ceil((rayDirection.z()) / zStep) + zFix;
+            final int zStart = (int) Math.floor(rayStartZ);
+            int zStepCount = (int) Math.ceil((rayDirectionZ) / zStep) + zFix;
 
             while (zStepsCompleted <= zStepCount) {
-                int zi = (int) (zStepsCompleted * zStep + rayStart.blockZ());
-                double factor = (zi - rayStart.z()) / rayDirection.z();
+                int zi = (int) (zStepsCompleted * zStep + zStart);
+                double factor = (zi - rayStartZ) / rayDirectionZ;
 
-                if (Math.abs(rayDirection.z() * finalResult.res) - Math.abs(rayStart.z() - (zi)) < -2) break;
+                if (Math.abs(rayDirectionZ * finalResult.res) - Math.abs(rayStartZ - (zi)) < -2) break;
 
-                int xi = (int) Math.floor(rayDirection.x() * factor + rayStart.x());
-                if (Math.abs(rayDirection.x() * finalResult.res) - Math.abs(rayStart.x() - (xi)) < -2) break;
+                int xi = (int) Math.floor(rayDirectionX * factor + rayStartX);
+                if (Math.abs(rayDirectionX * finalResult.res) - Math.abs(rayStartX - (xi)) < -2) break;
 
-                int yi = (int) Math.floor(rayDirection.y() * factor + rayStart.y());
-                if (Math.abs(rayDirection.y() * finalResult.res) - Math.abs(rayStart.y() - (yi)) < -2) break;
+                int yi = (int) Math.floor(rayDirectionY * factor + rayStartY);
+                if (Math.abs(rayDirectionY * finalResult.res) - Math.abs(rayStartY - (yi)) < -2) break;
 
                 zi -= zFix;
                 zStepsCompleted++;
 
-                if (BlockCollision.checkBoundingBox(xi, yi, zi, rayDirection, entityCentre, boundingBox, getter, finalResult))
+                if (BlockCollision.checkBoundingBox(xi, yi, zi,
+                        rayDirectionX, rayDirectionY, rayDirectionZ, entityX, entityY, entityZ,
+                        boundingBox, getter, finalResult))
                     break;
             }
         }
 
-        if (rayDirection.y() != 0) {
-            int yFix = rayDirection.y() > 0 ? 1 : 0;
-            double yStep = rayDirection.y() < 0 ? -1 : 1;
+        if (rayDirectionY != 0) {
+            int yFix = rayDirectionY > 0 ? 1 : 0;
+            double yStep = rayDirectionY < 0 ? -1 : 1;
             int yStepsCompleted = yFix;
-            int yStepCount = (int) Math.ceil((rayDirection.y()) / yStep) + yFix;
+            final int yStart = (int) Math.floor(rayStartY);
+            int yStepCount = (int) Math.ceil((rayDirectionY) / yStep) + yFix;
 
             while (yStepsCompleted <= yStepCount) {
-                int yi = (int) (yStepsCompleted * yStep + rayStart.blockY());
-                double factor = (yi - rayStart.y()) / rayDirection.y();
+                int yi = (int) (yStepsCompleted * yStep + yStart);
+                double factor = (yi - rayStartY) / rayDirectionY;
 
-                if (Math.abs(rayDirection.y() * finalResult.res) - Math.abs(rayStart.y() - (yi)) < -2) break;
+                if (Math.abs(rayDirectionY * finalResult.res) - Math.abs(rayStartY - (yi)) < -2) break;
 
-                int xi = (int) Math.floor(rayDirection.x() * factor + rayStart.x());
-                if (Math.abs(rayDirection.x() * finalResult.res) - Math.abs(rayStart.x() - (xi)) < -2) break;
+                int xi = (int) Math.floor(rayDirectionX * factor + rayStartX);
+                if (Math.abs(rayDirectionX * finalResult.res) - Math.abs(rayStartX - (xi)) < -2) break;
 
-                int zi = (int) Math.floor(rayDirection.z() * factor + rayStart.z());
-                if (Math.abs(rayDirection.z() * finalResult.res) - Math.abs(rayStart.z() - (zi)) < -2) break;
+                int zi = (int) Math.floor(rayDirectionZ * factor + rayStartZ);
+                if (Math.abs(rayDirectionZ * finalResult.res) - Math.abs(rayStartZ - (zi)) < -2) break;
 
                 yi -= yFix;
                 yStepsCompleted++;
 
-                if (BlockCollision.checkBoundingBox(xi, yi, zi, rayDirection, entityCentre, boundingBox, getter, finalResult))
+                if (BlockCollision.checkBoundingBox(xi, yi, zi,
+                        rayDirectionX, rayDirectionY, rayDirectionZ, entityX, entityY, entityZ,
+                        boundingBox, getter, finalResult))
                     break;
             }
         }
@@ -110,120 +122,135 @@ final class RayUtils {
      * @return true if an intersection between the ray and the bounding box was found
      */
     public static boolean BoundingBoxIntersectionCheck(BoundingBox moving, Point rayStart, Point rayDirection, BoundingBox collidableStatic, Point staticCollidableOffset) {
-        Point bbCentre = new Pos(moving.minX() + moving.width() / 2, moving.minY() + moving.height() / 2, moving.minZ() + moving.depth() / 2);
-        Point rayCentre = rayStart.add(bbCentre);
+        return BoundingBoxIntersectionCheck(moving, rayStart.x(), rayStart.y(), rayStart.z(),
+                rayDirection.x(), rayDirection.y(), rayDirection.z(),
+                collidableStatic, staticCollidableOffset.x(), staticCollidableOffset.y(), staticCollidableOffset.z());
+    }
+
+    static boolean BoundingBoxIntersectionCheck(BoundingBox moving,
+                                                double rayStartX, double rayStartY, double rayStartZ,
+                                                double rayDirectionX, double rayDirectionY, double rayDirectionZ,
+                                                BoundingBox collidableStatic,
+                                                double offsetX, double offsetY, double offsetZ) {
+        final double rayCentreX = rayStartX + (moving.minX() + moving.width() / 2);
+        final double rayCentreY = rayStartY + (moving.minY() + moving.height() / 2);
+        final double rayCentreZ = rayStartZ + (moving.minZ() + moving.depth() / 2);
 
         // Translate bounding box
-        Vec bbOffMin = new Vec(collidableStatic.minX() - rayCentre.x() + staticCollidableOffset.x() - moving.width() / 2, collidableStatic.minY() - rayCentre.y() + staticCollidableOffset.y() - moving.height() / 2, collidableStatic.minZ() - rayCentre.z() + staticCollidableOffset.z() - moving.depth() / 2);
-        Vec bbOffMax = new Vec(collidableStatic.maxX() - rayCentre.x() + staticCollidableOffset.x() + moving.width() / 2, collidableStatic.maxY() - rayCentre.y() + staticCollidableOffset.y() + moving.height() / 2, collidableStatic.maxZ() - rayCentre.z() + staticCollidableOffset.z() + moving.depth() / 2);
+        final double bbOffMinX = collidableStatic.minX() - rayCentreX + offsetX - moving.width() / 2;
+        final double bbOffMinY = collidableStatic.minY() - rayCentreY + offsetY - moving.height() / 2;
+        final double bbOffMinZ = collidableStatic.minZ() - rayCentreZ + offsetZ - moving.depth() / 2;
+        final double bbOffMaxX = collidableStatic.maxX() - rayCentreX + offsetX + moving.width() / 2;
+        final double bbOffMaxY = collidableStatic.maxY() - rayCentreY + offsetY + moving.height() / 2;
+        final double bbOffMaxZ = collidableStatic.maxZ() - rayCentreZ + offsetZ + moving.depth() / 2;
 
         // This check is done in 2d. it can be visualised as a rectangle (the face we are checking), and a point.
         // If the point is within the rectangle, we know the vector intersects the face.
 
-        double signumRayX = Math.signum(rayDirection.x());
-        double signumRayY = Math.signum(rayDirection.y());
-        double signumRayZ = Math.signum(rayDirection.z());
+        double signumRayX = Math.signum(rayDirectionX);
+        double signumRayY = Math.signum(rayDirectionY);
+        double signumRayZ = Math.signum(rayDirectionZ);
 
         // Intersect X
-        if (rayDirection.x() != 0) {
+        if (rayDirectionX != 0) {
             // Left side of bounding box
             {
-                double xFac = bbOffMin.x() / rayDirection.x();
-                double yix = rayDirection.y() * xFac + rayCentre.y();
-                double zix = rayDirection.z() * xFac + rayCentre.z();
+                double xFac = bbOffMinX / rayDirectionX;
+                double yix = rayDirectionY * xFac + rayCentreY;
+                double zix = rayDirectionZ * xFac + rayCentreZ;
 
                 // Check if ray passes through y/z plane
-                if (rayDirection.x() > 0
-                        && ((yix - rayCentre.y()) * signumRayY) >= 0
-                        && ((zix - rayCentre.z()) * signumRayZ) >= 0
-                        && yix >= collidableStatic.minY() + staticCollidableOffset.y() - moving.height() / 2
-                        && yix <= collidableStatic.maxY() + staticCollidableOffset.y() + moving.height() / 2
-                        && zix >= collidableStatic.minZ() + staticCollidableOffset.z() - moving.depth() / 2
-                        && zix <= collidableStatic.maxZ() + staticCollidableOffset.z() + moving.depth() / 2) {
+                if (rayDirectionX > 0
+                        && ((yix - rayCentreY) * signumRayY) >= 0
+                        && ((zix - rayCentreZ) * signumRayZ) >= 0
+                        && yix >= collidableStatic.minY() + offsetY - moving.height() / 2
+                        && yix <= collidableStatic.maxY() + offsetY + moving.height() / 2
+                        && zix >= collidableStatic.minZ() + offsetZ - moving.depth() / 2
+                        && zix <= collidableStatic.maxZ() + offsetZ + moving.depth() / 2) {
                     return true;
                 }
             }
             // Right side of bounding box
             {
-                double xFac = bbOffMax.x() / rayDirection.x();
-                double yix = rayDirection.y() * xFac + rayCentre.y();
-                double zix = rayDirection.z() * xFac + rayCentre.z();
-
-                if (rayDirection.x() < 0
-                        && ((yix - rayCentre.y()) * signumRayY) >= 0
-                        && ((zix - rayCentre.z()) * signumRayZ) >= 0
-                        && yix >= collidableStatic.minY() + staticCollidableOffset.y() - moving.height() / 2
-                        && yix <= collidableStatic.maxY() + staticCollidableOffset.y() + moving.height() / 2
-                        && zix >= collidableStatic.minZ() + staticCollidableOffset.z() - moving.depth() / 2
-                        && zix <= collidableStatic.maxZ() + staticCollidableOffset.z() + moving.depth() / 2) {
+                double xFac = bbOffMaxX / rayDirectionX;
+                double yix = rayDirectionY * xFac + rayCentreY;
+                double zix = rayDirectionZ * xFac + rayCentreZ;
+
+                if (rayDirectionX < 0
+                        && ((yix - rayCentreY) * signumRayY) >= 0
+                        && ((zix - rayCentreZ) * signumRayZ) >= 0
+                        && yix >= collidableStatic.minY() + offsetY - moving.height() / 2
+                        && yix <= collidableStatic.maxY() + offsetY + moving.height() / 2
+                        && zix >= collidableStatic.minZ() + offsetZ - moving.depth() / 2
+                        && zix <= collidableStatic.maxZ() + offsetZ + moving.depth() / 2) {
                     return true;
                 }
             }
         }
 
         // Intersect Z
-        if (rayDirection.z() != 0) {
+        if (rayDirectionZ != 0) {
             {
-                double zFac = bbOffMin.z() / rayDirection.z();
-                double xiz = rayDirection.x() * zFac + rayCentre.x();
-                double yiz = rayDirection.y() * zFac + rayCentre.y();
-
-                if (rayDirection.z() > 0
-                        && ((yiz - rayCentre.y()) * signumRayY) >= 0
-                        && ((xiz - rayCentre.x()) * signumRayX) >= 0
-                        && xiz >= collidableStatic.minX() + staticCollidableOffset.x() - moving.width() / 2
-                        && xiz <= collidableStatic.maxX() + staticCollidableOffset.x() + moving.width() / 2
-                        && yiz >= collidableStatic.minY() + staticCollidableOffset.y() - moving.height() / 2
-                        && yiz <= collidableStatic.maxY() + staticCollidableOffset.y() + moving.height() / 2) {
+                double zFac = bbOffMinZ / rayDirectionZ;
+                double xiz = rayDirectionX * zFac + rayCentreX;
+                double yiz = rayDirectionY * zFac + rayCentreY;
+
+                if (rayDirectionZ > 0
+                        && ((yiz - rayCentreY) * signumRayY) >= 0
+                        && ((xiz - rayCentreX) * signumRayX) >= 0
+                        && xiz >= collidableStatic.minX() + offsetX - moving.width() / 2
+                        && xiz <= collidableStatic.maxX() + offsetX + moving.width() / 2
+                        && yiz >= collidableStatic.minY() + offsetY - moving.height() / 2
+                        && yiz <= collidableStatic.maxY() + offsetY + moving.height() / 2) {
                     return true;
                 }
             }
             {
-                double zFac = bbOffMax.z() / rayDirection.z();
-                double xiz = rayDirection.x() * zFac + rayCentre.x();
-                double yiz = rayDirection.y() * zFac + rayCentre.y();
-
-                if (rayDirection.z() < 0
-                        && ((yiz - rayCentre.y()) * signumRayY) >= 0
-                        && ((xiz - rayCentre.x()) * signumRayX) >= 0
-                        && xiz >= collidableStatic.minX() + staticCollidableOffset.x() - moving.width() / 2
-                        && xiz <= collidableStatic.maxX() + staticCollidableOffset.x() + moving.width() / 2
-                        && yiz >= collidableStatic.minY() + staticCollidableOffset.y() - moving.height() / 2
-                        && yiz <= collidableStatic.maxY() + staticCollidableOffset.y() + moving.height() / 2) {
+                double zFac = bbOffMaxZ / rayDirectionZ;
+                double xiz = rayDirectionX * zFac + rayCentreX;
+                double yiz = rayDirectionY * zFac + rayCentreY;
+
+                if (rayDirectionZ < 0
+                        && ((yiz - rayCentreY) * signumRayY) >= 0
+                        && ((xiz - rayCentreX) * signumRayX) >= 0
+                        && xiz >= collidableStatic.minX() + offsetX - moving.width() / 2
+                        && xiz <= collidableStatic.maxX() + offsetX + moving.width() / 2
+                        && yiz >= collidableStatic.minY() + offsetY - moving.height() / 2
+                        && yiz <= collidableStatic.maxY() + offsetY + moving.height() / 2) {
                     return true;
                 }
             }
         }
 
         // Intersect Y
-        if (rayDirection.y() != 0) {
+        if (rayDirectionY != 0) {
             {
-                double yFac = bbOffMin.y() / rayDirection.y();
-                double xiy = rayDirection.x() * yFac + rayCentre.x();
-                double ziy = rayDirection.z() * yFac + rayCentre.z();
-
-                if (rayDirection.y() > 0
-                        && ((ziy - rayCentre.z()) * signumRayZ) >= 0
-                        && ((xiy - rayCentre.x()) * signumRayX) >= 0
-                        && xiy >= collidableStatic.minX() + staticCollidableOffset.x() - moving.width() / 2
-                        && xiy <= collidableStatic.maxX() + staticCollidableOffset.x() + moving.width() / 2
-                        && ziy >= collidableStatic.minZ() + staticCollidableOffset.z() - moving.depth() / 2
-                        && ziy <= collidableStatic.maxZ() + staticCollidableOffset.z() + moving.depth() / 2) {
+                double yFac = bbOffMinY / rayDirectionY;
+                double xiy = rayDirectionX * yFac + rayCentreX;
+                double ziy = rayDirectionZ * yFac + rayCentreZ;
+
+                if (rayDirectionY > 0
+                        && ((ziy - rayCentreZ) * signumRayZ) >= 0
+                        && ((xiy - rayCentreX) * signumRayX) >= 0
+                        && xiy >= collidableStatic.minX() + offsetX - moving.width() / 2
+                        && xiy <= collidableStatic.maxX() + offsetX + moving.width() / 2
+                        && ziy >= collidableStatic.minZ() + offsetZ - moving.depth() / 2
+                        && ziy <= collidableStatic.maxZ() + offsetZ + moving.depth() / 2) {
                     return true;
                 }
             }
             {
-                double yFac = bbOffMax.y() / rayDirection.y();
-                double xiy = rayDirection.x() * yFac + rayCentre.x();
-                double ziy = rayDirection.z() * yFac + rayCentre.z();
-
-                if (rayDirection.y() < 0
-                        && ((ziy - rayCentre.z()) * signumRayZ) >= 0
-                        && ((xiy - rayCentre.x()) * signumRayX) >= 0
-                        && xiy >= collidableStatic.minX() + staticCollidableOffset.x() - moving.width() / 2
-                        && xiy <= collidableStatic.maxX() + staticCollidableOffset.x() + moving.width() / 2
-                        && ziy >= collidableStatic.minZ() + staticCollidableOffset.z() - moving.depth() / 2
-                        && ziy <= collidableStatic.maxZ() + staticCollidableOffset.z() + moving.depth() / 2) {
+                double yFac = bbOffMaxY / rayDirectionY;
+                double xiy = rayDirectionX * yFac + rayCentreX;
+                double ziy = rayDirectionZ * yFac + rayCentreZ;
+
+                if (rayDirectionY < 0
+                        && ((ziy - rayCentreZ) * signumRayZ) >= 0
+                        && ((xiy - rayCentreX) * signumRayX) >= 0
+                        && xiy >= collidableStatic.minX() + offsetX - moving.width() / 2
+                        && xiy <= collidableStatic.maxX() + offsetX + moving.width() / 2
+                        && ziy >= collidableStatic.minZ() + offsetZ - moving.depth() / 2
+                        && ziy <= collidableStatic.maxZ() + offsetZ + moving.depth() / 2) {
                     return true;
                 }
             }
@@ -234,62 +261,73 @@ final class RayUtils {
 
     // Extended from 2d implementation found here https://www.gamedev.net/tutorials/programming/general-and-gameplay-programming/swept-aabb-collision-detection-and-response-r3084/
     public static boolean SweptAABB(BoundingBox collidableMoving, Point rayStart, Point rayDirection, BoundingBox collidableStatic, Point staticCollidableOffset, SweepResult finalResult) {
+        return SweptAABB(collidableMoving, rayStart.x(), rayStart.y(), rayStart.z(),
+                rayDirection.x(), rayDirection.y(), rayDirection.z(),
+                collidableStatic, staticCollidableOffset.x(), staticCollidableOffset.y(), staticCollidableOffset.z(), finalResult);
+    }
+
+    static boolean SweptAABB(BoundingBox collidableMoving,
+                             double rayStartX, double rayStartY, double rayStartZ,
+                             double rayDirectionX, double rayDirectionY, double rayDirectionZ,
+                             BoundingBox collidableStatic,
+                             double offsetX, double offsetY, double offsetZ,
+                             SweepResult finalResult) {
         double normalx, normaly, normalz;
 
         double xInvEntry, yInvEntry, zInvEntry;
         double xInvExit, yInvExit, zInvExit;
 
         // find the distance between the objects on the near and far sides for x, y, z
-        if (rayDirection.x() > 0.0f) {
-            xInvEntry = (staticCollidableOffset.x() + collidableStatic.minX()) - (rayStart.x() + collidableMoving.maxX());
-            xInvExit = (staticCollidableOffset.x() + collidableStatic.maxX()) - (rayStart.x() + collidableMoving.minX());
+        if (rayDirectionX > 0.0f) {
+            xInvEntry = (offsetX + collidableStatic.minX()) - (rayStartX + collidableMoving.maxX());
+            xInvExit = (offsetX + collidableStatic.maxX()) - (rayStartX + collidableMoving.minX());
         } else {
-            xInvEntry = (staticCollidableOffset.x() + collidableStatic.maxX()) - (rayStart.x() + collidableMoving.minX());
-            xInvExit = (staticCollidableOffset.x() + collidableStatic.minX()) - (rayStart.x() + collidableMoving.maxX());
+            xInvEntry = (offsetX + collidableStatic.maxX()) - (rayStartX + collidableMoving.minX());
+            xInvExit = (offsetX + collidableStatic.minX()) - (rayStartX + collidableMoving.maxX());
         }
 
-        if (rayDirection.y() > 0.0f) {
-            yInvEntry = (staticCollidableOffset.y() + collidableStatic.minY()) - (rayStart.y() + collidableMoving.maxY());
-            yInvExit = (staticCollidableOffset.y() + collidableStatic.maxY()) - (rayStart.y() + collidableMoving.minY());
+        if (rayDirectionY > 0.0f) {
+            yInvEntry = (offsetY + collidableStatic.minY()) - (rayStartY + collidableMoving.maxY());
+            yInvExit = (offsetY + collidableStatic.maxY()) - (rayStartY + collidableMoving.minY());
         } else {
-            yInvEntry = (staticCollidableOffset.y() + collidableStatic.maxY()) - (rayStart.y() + collidableMoving.minY());
-            yInvExit = (staticCollidableOffset.y() + collidableStatic.minY()) - (rayStart.y() + collidableMoving.maxY());
+            yInvEntry = (offsetY + collidableStatic.maxY()) - (rayStartY + collidableMoving.minY());
+            yInvExit = (offsetY + collidableStatic.minY()) - (rayStartY + collidableMoving.maxY());
         }
 
-        if (rayDirection.z() > 0.0f) {
-            zInvEntry = (staticCollidableOffset.z() + collidableStatic.minZ()) - (rayStart.z() + collidableMoving.maxZ());
-            zInvExit = (staticCollidableOffset.z() + collidableStatic.maxZ()) - (rayStart.z() + collidableMoving.minZ());
+        if (rayDirectionZ > 0.0f) {
+            zInvEntry = (offsetZ + collidableStatic.minZ()) - (rayStartZ + collidableMoving.maxZ());
+            zInvExit = (offsetZ + collidableStatic.maxZ()) - (rayStartZ + collidableMoving.minZ());
         } else {
-            zInvEntry = (staticCollidableOffset.z() + collidableStatic.maxZ()) - (rayStart.z() + collidableMoving.minZ());
-            zInvExit = (staticCollidableOffset.z() + collidableStatic.minZ()) - (rayStart.z() + collidableMoving.maxZ());
+            zInvEntry = (offsetZ + collidableStatic.maxZ()) - (rayStartZ + collidableMoving.minZ());
+            zInvExit = (offsetZ + collidableStatic.minZ()) - (rayStartZ + collidableMoving.maxZ());
         }
 
         // find time of collision and time of leaving for each axis (if statement is to prevent divide by zero)
         double xEntry, yEntry, zEntry;
         double xExit, yExit, zExit;
 
-        if (rayDirection.x() == 0.0f) {
+        if (rayDirectionX == 0.0f) {
             xEntry = -Double.MAX_VALUE;
             xExit = Double.MAX_VALUE;
         } else {
-            xEntry = xInvEntry / rayDirection.x();
-            xExit = xInvExit / rayDirection.x();
+            xEntry = xInvEntry / rayDirectionX;
+            xExit = xInvExit / rayDirectionX;
         }
 
-        if (rayDirection.y() == 0.0f) {
+        if (rayDirectionY == 0.0f) {
             yEntry = -Double.MAX_VALUE;
             yExit = Double.MAX_VALUE;
         } else {
-            yEntry = yInvEntry / rayDirection.y();
-            yExit = yInvExit / rayDirection.y();
+            yEntry = yInvEntry / rayDirectionY;
+            yExit = yInvExit / rayDirectionY;
         }
 
-        if (rayDirection.z() == 0.0f) {
+        if (rayDirectionZ == 0.0f) {
             zEntry = -Double.MAX_VALUE;
             zExit = Double.MAX_VALUE;
         } else {
-            zEntry = zInvEntry / rayDirection.z();
-            zExit = zInvExit / rayDirection.z();
+            zEntry = zInvEntry / rayDirectionZ;
+            zExit = zInvExit / rayDirectionZ;
         }
 
         // find the earliest/latest times of collision
@@ -7,6 +7,7 @@ import net.minestom.server.coordinate.Vec;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.registry.Registry;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -69,6 +70,17 @@ final class ShapeImpl implements Shape {
         return new ShapeImpl(boundingBoxes, blockEntry);
     }
 
+    boolean isEmpty() {
+        return blockSections.length == 0;
+    }
+
+    boolean isFullCube() {
+        if (blockSections.length != 1) return false;
+        final BoundingBox box = blockSections[0];
+        return box.minX() == 0 && box.minY() == 0 && box.minZ() == 0 &&
+                box.maxX() == 1 && box.maxY() == 1 && box.maxZ() == 1;
+    }
+
     @Override
     public @NotNull Point relativeStart() {
         return relativeStart;
@@ -90,17 +102,26 @@ final class ShapeImpl implements Shape {
     @Override
     public boolean intersectBoxSwept(@NotNull Point rayStart, @NotNull Point rayDirection,
                                      @NotNull Point shapePos, @NotNull BoundingBox moving, @NotNull SweepResult finalResult) {
+        return intersectBoxSwept(rayStart.x(), rayStart.y(), rayStart.z(),
+                rayDirection.x(), rayDirection.y(), rayDirection.z(),
+                shapePos.x(), shapePos.y(), shapePos.z(), shapePos, moving, finalResult);
+    }
+
+    boolean intersectBoxSwept(double rayStartX, double rayStartY, double rayStartZ,
+                              double rayDirectionX, double rayDirectionY, double rayDirectionZ,
+                              double shapeX, double shapeY, double shapeZ, @Nullable Point shapePos,
+                              @NotNull BoundingBox moving, @NotNull SweepResult finalResult) {
         boolean hitBlock = false;
         for (BoundingBox blockSection : blockSections) {
             // Fast check to see if a collision happens
             // Uses minkowski sum
-            if (!RayUtils.BoundingBoxIntersectionCheck(moving, rayStart, rayDirection, blockSection, shapePos))
+            if (!RayUtils.BoundingBoxIntersectionCheck(moving, rayStartX, rayStartY, rayStartZ,
+                    rayDirectionX, rayDirectionY, rayDirectionZ, blockSection, shapeX, shapeY, shapeZ))
                 continue;
             // Update final result if the temp result collision is sooner than the current final result
-            if (RayUtils.SweptAABB(moving, rayStart, rayDirection, blockSection, shapePos, finalResult)) {
-                finalResult.collidedShapePosition = shapePos;
-                finalResult.collidedShape = this;
-                finalResult.blockType = block();
+            if (RayUtils.SweptAABB(moving, rayStartX, rayStartY, rayStartZ,
+                    rayDirectionX, rayDirectionY, rayDirectionZ, blockSection, shapeX, shapeY, shapeZ, finalResult)) {
+                finalResult.collided(shapeX, shapeY, shapeZ, shapePos, this, block());
             }
             hitBlock = true;
         }
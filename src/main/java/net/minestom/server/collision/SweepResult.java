@@ -1,12 +1,15 @@
 package net.minestom.server.collision;
 
 import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Vec;
 import net.minestom.server.instance.block.Block;
+import org.jetbrains.annotations.Nullable;
 
 final class SweepResult {
     double res;
     double normalX, normalY, normalZ;
     Point collidedShapePosition;
+    double collidedShapeX, collidedShapeY, collidedShapeZ;
     Block blockType;
     Shape collidedShape;
 
@@ -25,4 +28,42 @@ final class SweepResult {
         this.normalZ = normalZ;
         this.collidedShape = collidedShape;
     }
+
+    /**
+     * Resets the result to be reused for a new movement.
+     */
+    void reset() {
+        this.res = 1;
+        this.normalX = 0;
+        this.normalY = 0;
+        this.normalZ = 0;
+        this.collidedShapePosition = null;
+        this.blockType = null;
+        this.collidedShape = null;
+    }
+
+    /**
+     * Records the shape hit by the movement.
+     *
+     * @param position the position of the shape, or null to only keep the coordinates
+     */
+    void collided(double x, double y, double z, @Nullable Point position, Shape shape, Block blockType) {
+        this.collidedShapeX = x;
+        this.collidedShapeY = y;
+        this.collidedShapeZ = z;
+        this.collidedShapePosition = position;
+        this.collidedShape = shape;
+        this.blockType = blockType;
+    }
+
+    /**
+     * Gets the position of the last collided shape, only allocated when the collision was found using coordinates.
+     */
+    @Nullable Point collidedShapePosition() {
+        Point position = this.collidedShapePosition;
+        if (position == null && collidedShape != null) {
+            this.collidedShapePosition = position = new Vec(collidedShapeX, collidedShapeY, collidedShapeZ);
+        }
+        return position;
+    }
 }
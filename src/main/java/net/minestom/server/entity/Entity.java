@@ -9,6 +9,7 @@ import net.minestom.server.MinecraftServer;
 import net.minestom.server.ServerProcess;
 import net.minestom.server.Tickable;
 import net.minestom.server.Viewable;
+import net.minestom.server.collision.BlockShapes;
 import net.minestom.server.collision.BoundingBox;
 import net.minestom.server.collision.CollisionUtils;
 import net.minestom.server.collision.PhysicsResult;
@@ -20,6 +21,7 @@ import net.minestom.server.event.EventDispatcher;
 import net.minestom.server.event.EventFilter;
 import net.minestom.server.event.EventHandler;
 import net.minestom.server.event.EventNode;
+import net.minestom.server.event.ListenerHandle;
 import net.minestom.server.event.entity.*;
 import net.minestom.server.event.instance.AddEntityToInstanceEvent;
 import net.minestom.server.event.instance.RemoveEntityFromInstanceEvent;
@@ -554,7 +556,9 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
             update(time);
 
             ticks++;
-            EventDispatcher.call(new EntityTickEvent(this));
+            // Skip the event allocation when nobody listens
+            final ListenerHandle<EntityTickEvent> tickHandle = EventDispatcher.getHandle(EntityTickEvent.class);
+            if (tickHandle.hasListener()) tickHandle.call(new EntityTickEvent(this));
 
             // remove expired effects
             effectTick(time);
@@ -662,10 +666,8 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
     }
 
     private void touchTick() {
-        // TODO do not call every tick (it is pretty expensive)
         final Pos position = this.position;
         final BoundingBox boundingBox = this.boundingBox;
-        ChunkCache cache = new ChunkCache(instance, currentChunk);
 
         final int minX = (int) Math.floor(boundingBox.minX() + position.x());
         final int maxX = (int) Math.ceil(boundingBox.maxX() + position.x());
@@ -674,25 +676,55 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
         final int minZ = (int) Math.floor(boundingBox.minZ() + position.z());
         final int maxZ = (int) Math.ceil(boundingBox.maxZ() + position.z());
 
+        // Most chunks do not contain any block reacting to touches
+        if (!hasTouchHandlers(minX, maxX, minZ, maxZ)) return;
+
+        ChunkCache cache = new ChunkCache(instance, currentChunk);
         for (int y = minY; y <= maxY; y++) {
             for (int x = minX; x <= maxX; x++) {
                 for (int z = minZ; z <= maxZ; z++) {
                     final Block block = cache.getBlock(x, y, z, Block.Getter.Condition.CACHED);
                     if (block == null) continue;
                     final BlockHandler handler = block.handler();
-                    if (handler != null) {
-                        // Move a small amount towards the entity. If the entity is within 0.01 blocks of the block, touch will trigger
-                        Vec blockPos = new Vec(x, y, z);
-                        Point blockEntityVector = (blockPos.sub(position)).normalize().mul(0.01);
-                        if (block.registry().collisionShape().intersectBox(position.sub(blockPos).add(blockEntityVector), boundingBox)) {
-                            handler.onTouch(new BlockHandler.Touch(block, instance, new Vec(x, y, z), this));
-                        }
+                    if (handler == null) continue;
+                    final int stateId = block.stateId();
+                    final int shapeFlags = BlockShapes.flags(stateId);
+                    if ((shapeFlags & BlockShapes.EMPTY) != 0) continue;
+                    // Move a small amount towards the entity. If the entity is within 0.01 blocks of the block, touch will trigger
+                    final double toBlockX = x - position.x(), toBlockY = y - position.y(), toBlockZ = z - position.z();
+                    final double length = Math.sqrt(toBlockX * toBlockX + toBlockY * toBlockY + toBlockZ * toBlockZ);
+                    final double relativeX = -toBlockX + toBlockX / length * 0.01;
+                    final double relativeY = -toBlockY + toBlockY / length * 0.01;
+                    final double relativeZ = -toBlockZ + toBlockZ / length * 0.01;
+                    final boolean touched;
+                    if ((shapeFlags & BlockShapes.FULL_CUBE) != 0) {
+                        touched = boundingBox.minX() + relativeX <= 1 && boundingBox.maxX() + relativeX >= 0 &&
+                                boundingBox.minY() + relativeY <= 1 && boundingBox.maxY() + relativeY >= 0 &&
+                                boundingBox.minZ() + relativeZ <= 1 && boundingBox.maxZ() + relativeZ >= 0;
+                    } else {
+                        touched = BlockShapes.shape(stateId).intersectBox(new Vec(relativeX, relativeY, relativeZ), boundingBox);
+                    }
+                    if (touched) {
+                        handler.onTouch(new BlockHandler.Touch(block, instance, new Vec(x, y, z), this));
                     }
                 }
             }
         }
     }
 
+    private boolean hasTouchHandlers(int minX, int maxX, int minZ, int maxZ) {
+        final int minChunkX = ChunkUtils.getChunkCoordinate(minX), maxChunkX = ChunkUtils.getChunkCoordinate(maxX);
+        final int minChunkZ = ChunkUtils.getChunkCoordinate(minZ), maxChunkZ = ChunkUtils.getChunkCoordinate(maxZ);
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                final Chunk chunk = currentChunk.getChunkX() == chunkX && currentChunk.getChunkZ() == chunkZ ?
+                        currentChunk : instance.getChunk(chunkX, chunkZ);
+                if (chunk != null && chunk.hasTouchHandlers()) return true;
+            }
+        }
+        return false;
+    }
+
     private void effectTick(long time) {
         final List<TimedPotion> effects = this.effects;
         if (effects.isEmpty()) return;
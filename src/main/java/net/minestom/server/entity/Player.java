@@ -31,6 +31,7 @@ import net.minestom.server.entity.fakeplayer.FakePlayer;
 import net.minestom.server.entity.metadata.PlayerMeta;
 import net.minestom.server.entity.vehicle.PlayerVehicleInformation;
 import net.minestom.server.event.EventDispatcher;
+import net.minestom.server.event.ListenerHandle;
 import net.minestom.server.event.inventory.InventoryOpenEvent;
 import net.minestom.server.event.item.ItemDropEvent;
 import net.minestom.server.event.item.ItemUpdateStateEvent;
@@ -367,7 +368,8 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
         }
 
         // Tick event
-        EventDispatcher.call(new PlayerTickEvent(this));
+        final ListenerHandle<PlayerTickEvent> tickHandle = EventDispatcher.getHandle(PlayerTickEvent.class);
+        if (tickHandle.hasListener()) tickHandle.call(new PlayerTickEvent(this));
     }
 
     @Override
@@ -337,6 +337,10 @@ public sealed interface EventNode<T extends Event> permits EventNodeImpl {
      * <p>
      * Be aware that such structure have huge performance penalty as they will
      * always require a map lookup. Use only at last resort.
+     * <p>
+     * Values are compared by identity, not {@link Object#equals(Object)}: a node mapped to an
+     * {@link net.minestom.server.item.ItemStack} does not receive the events of another equal item stack.
+     * The value is weakly referenced, the mapping is removed once it is garbage collected.
      *
      * @param value  the mapped value
      * @param filter the filter to use
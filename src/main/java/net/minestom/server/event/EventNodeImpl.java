@@ -1,5 +1,6 @@
 package net.minestom.server.event;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.event.trait.RecursiveEvent;
 import net.minestom.server.utils.validate.Check;
@@ -7,6 +8,9 @@ import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.ref.WeakReference;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -15,8 +19,26 @@ import java.util.function.BiConsumer;
 import java.util.function.BiPredicate;
 import java.util.function.Consumer;
 
+/**
+ * Mutations of the node graph do not lock, readers always see a consistent snapshot:
+ * children and listeners are stored in copy-on-write collections, and each {@link Handle}
+ * compiles its listeners from the current graph and only keeps the result if the graph did not change meanwhile.
+ */
 non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
-    static final Object GLOBAL_CHILD_LOCK = new Object();
+    private static final VarHandle PARENT;
+    private static final VarHandle MAPPED_NODE_CACHE;
+    private static final VarHandle REGISTERED_MAPPED_NODE;
+
+    static {
+        try {
+            var lookup = MethodHandles.lookup();
+            PARENT = lookup.findVarHandle(EventNodeImpl.class, "parent", EventNodeImpl.class);
+            MAPPED_NODE_CACHE = lookup.findVarHandle(EventNodeImpl.class, "mappedNodeCache", Map.class);
+            REGISTERED_MAPPED_NODE = lookup.findVarHandle(EventNodeImpl.class, "registeredMappedNode", Map.class);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 
     private final ClassValue<Handle<T>> handleMap = new ClassValue<>() {
         @Override
@@ -27,8 +49,9 @@ non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
     };
     final Map<Class<? extends T>, ListenerEntry<T>> listenerMap = new ConcurrentHashMap<>();
     final Set<EventNodeImpl<T>> children = new CopyOnWriteArraySet<>();
-    final Map<Object, EventNodeImpl<T>> mappedNodeCache = new WeakHashMap<>();
-    final Map<Object, EventNodeImpl<T>> registeredMappedNode = new WeakHashMap<>();
+    // Created on first use, most nodes are never mapped
+    volatile Map<Object, EventNodeImpl<T>> mappedNodeCache;
+    volatile Map<Object, EventNodeImpl<T>> registeredMappedNode;
 
     final String name;
     final EventFilter<T, ?> filter;
@@ -54,17 +77,15 @@ non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
 
     @Override
     public <E extends T> @NotNull List<EventNode<E>> findChildren(@NotNull String name, Class<E> eventType) {
-        synchronized (GLOBAL_CHILD_LOCK) {
-            if (children.isEmpty()) return Collections.emptyList();
-            List<EventNode<E>> result = new ArrayList<>();
-            for (EventNode<T> child : children) {
-                if (equals(child, name, eventType)) {
-                    result.add((EventNode<E>) child);
-                }
-                result.addAll(child.findChildren(name, eventType));
+        if (children.isEmpty()) return Collections.emptyList();
+        List<EventNode<E>> result = new ArrayList<>();
+        for (EventNode<T> child : children) {
+            if (equals(child, name, eventType)) {
+                result.add((EventNode<E>) child);
             }
-            return result;
+            result.addAll(child.findChildren(name, eventType));
         }
+        return result;
     }
 
     @Contract(pure = true)
@@ -74,122 +95,102 @@ non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
 
     @Override
     public <E extends T> void replaceChildren(@NotNull String name, @NotNull Class<E> eventType, @NotNull EventNode<E> eventNode) {
-        synchronized (GLOBAL_CHILD_LOCK) {
-            if (children.isEmpty()) return;
-            for (EventNode<T> child : children) {
-                if (equals(child, name, eventType)) {
-                    removeChild(child);
-                    addChild(eventNode);
-                    break;
-                }
-                child.replaceChildren(name, eventType, eventNode);
+        if (children.isEmpty()) return;
+        for (EventNode<T> child : children) {
+            if (equals(child, name, eventType)) {
+                removeChild(child);
+                addChild(eventNode);
+                break;
             }
+            child.replaceChildren(name, eventType, eventNode);
         }
     }
 
     @Override
     public void removeChildren(@NotNull String name, @NotNull Class<? extends T> eventType) {
-        synchronized (GLOBAL_CHILD_LOCK) {
-            if (children.isEmpty()) return;
-            for (EventNode<T> child : children) {
-                if (equals(child, name, eventType)) {
-                    removeChild(child);
-                    continue;
-                }
-                child.removeChildren(name, eventType);
+        if (children.isEmpty()) return;
+        for (EventNode<T> child : children) {
+            if (equals(child, name, eventType)) {
+                removeChild(child);
+                continue;
             }
+            child.removeChildren(name, eventType);
         }
     }
 
     @Override
     public @NotNull EventNode<T> addChild(@NotNull EventNode<? extends T> child) {
-        synchronized (GLOBAL_CHILD_LOCK) {
-            final var childImpl = (EventNodeImpl<? extends T>) child;
-            Check.stateCondition(childImpl.parent != null, "Node already has a parent");
-            Check.stateCondition(Objects.equals(parent, child), "Cannot have a child as parent");
-            if (!children.add((EventNodeImpl<T>) childImpl)) return this; // Couldn't add the child (already present?)
-            childImpl.parent = this;
-            childImpl.invalidateEventsFor(this);
-        }
+        final var childImpl = (EventNodeImpl<? extends T>) child;
+        Check.stateCondition(Objects.equals(parent, child), "Cannot have a child as parent");
+        // Claim the child first, concurrent additions to another parent fail
+        Check.stateCondition(!PARENT.compareAndSet(childImpl, null, this), "Node already has a parent");
+        if (!children.add((EventNodeImpl<T>) childImpl)) return this; // Couldn't add the child (already present?)
+        childImpl.invalidateEventsFor(this);
         return this;
     }
 
     @Override
     public @NotNull EventNode<T> removeChild(@NotNull EventNode<? extends T> child) {
-        synchronized (GLOBAL_CHILD_LOCK) {
-            final var childImpl = (EventNodeImpl<? extends T>) child;
-            final boolean result = this.children.remove(childImpl);
-            if (!result) return this; // Child not found
-            childImpl.parent = null;
-            childImpl.invalidateEventsFor(this);
-        }
+        final var childImpl = (EventNodeImpl<? extends T>) child;
+        final boolean result = this.children.remove(childImpl);
+        if (!result) return this; // Child not found
+        childImpl.parent = null;
+        childImpl.invalidateEventsFor(this);
         return this;
     }
 
     @Override
     public @NotNull EventNode<T> addListener(@NotNull EventListener<? extends T> listener) {
-        synchronized (GLOBAL_CHILD_LOCK) {
-            final var eventType = listener.eventType();
-            ListenerEntry<T> entry = getEntry(eventType);
-            entry.listeners.add((EventListener<T>) listener);
-            invalidateEvent(eventType);
-        }
+        final var eventType = listener.eventType();
+        ListenerEntry<T> entry = getEntry(eventType);
+        entry.listeners.add((EventListener<T>) listener);
+        invalidateEvent(eventType);
         return this;
     }
 
     @Override
     public @NotNull EventNode<T> removeListener(@NotNull EventListener<? extends T> listener) {
-        synchronized (GLOBAL_CHILD_LOCK) {
-            final var eventType = listener.eventType();
-            ListenerEntry<T> entry = listenerMap.get(eventType);
-            if (entry == null) return this; // There is no listener with such type
-            if (entry.listeners.remove(listener)) invalidateEvent(eventType);
-        }
+        final var eventType = listener.eventType();
+        ListenerEntry<T> entry = listenerMap.get(eventType);
+        if (entry == null) return this; // There is no listener with such type
+        if (entry.listeners.remove(listener)) invalidateEvent(eventType);
         return this;
     }
 
     @Override
     public @NotNull <E extends T, H> EventNode<E> map(@NotNull H value, @NotNull EventFilter<E, H> filter) {
-        EventNodeImpl<E> node;
-        synchronized (GLOBAL_CHILD_LOCK) {
-            node = new EventNodeLazyImpl<>(this, value, filter);
-            Check.stateCondition(node.parent != null, "Node already has a parent");
-            Check.stateCondition(Objects.equals(parent, node), "Cannot map to self");
-            EventNodeImpl<T> previous = this.mappedNodeCache.putIfAbsent(value, (EventNodeImpl<T>) node);
-            if (previous != null) return (EventNode<E>) previous;
-            node.parent = this;
-        }
+        final EventNodeImpl<E> node = new EventNodeLazyImpl<>(this, value, filter);
+        // Set before publication, concurrent callers may retrieve the node from the cache
+        node.parent = this;
+        EventNodeImpl<T> previous = mappedNodeCache().putIfAbsent(value, (EventNodeImpl<T>) node);
+        if (previous != null) return (EventNode<E>) previous;
         return node;
     }
 
     @Override
     public void unmap(@NotNull Object value) {
-        synchronized (GLOBAL_CHILD_LOCK) {
-            final var mappedNode = this.registeredMappedNode.remove(value);
-            if (mappedNode != null) mappedNode.invalidateEventsFor(this);
-        }
+        final var registeredMappedNode = this.registeredMappedNode;
+        if (registeredMappedNode == null) return;
+        final var mappedNode = registeredMappedNode.remove(value);
+        if (mappedNode != null) mappedNode.invalidateEventsFor(this);
     }
 
     @Override
     public void register(@NotNull EventBinding<? extends T> binding) {
-        synchronized (GLOBAL_CHILD_LOCK) {
-            for (var eventType : binding.eventTypes()) {
-                ListenerEntry<T> entry = getEntry((Class<? extends T>) eventType);
-                final boolean added = entry.bindingConsumers.add((Consumer<T>) binding.consumer(eventType));
-                if (added) invalidateEvent((Class<? extends T>) eventType);
-            }
+        for (var eventType : binding.eventTypes()) {
+            ListenerEntry<T> entry = getEntry((Class<? extends T>) eventType);
+            final boolean added = entry.bindingConsumers.add((Consumer<T>) binding.consumer(eventType));
+            if (added) invalidateEvent((Class<? extends T>) eventType);
         }
     }
 
     @Override
     public void unregister(@NotNull EventBinding<? extends T> binding) {
-        synchronized (GLOBAL_CHILD_LOCK) {
-            for (var eventType : binding.eventTypes()) {
-                ListenerEntry<T> entry = listenerMap.get(eventType);
-                if (entry == null) return;
-                final boolean removed = entry.bindingConsumers.remove(binding.consumer(eventType));
-                if (removed) invalidateEvent((Class<? extends T>) eventType);
-            }
+        for (var eventType : binding.eventTypes()) {
+            ListenerEntry<T> entry = listenerMap.get(eventType);
+            if (entry == null) return;
+            final boolean removed = entry.bindingConsumers.remove(binding.consumer(eventType));
+            if (removed) invalidateEvent((Class<? extends T>) eventType);
         }
     }
 
@@ -225,10 +226,8 @@ non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
     }
 
     Graph createGraph() {
-        synchronized (GLOBAL_CHILD_LOCK) {
-            List<Graph> children = this.children.stream().map(EventNodeImpl::createGraph).toList();
-            return new Graph(getName(), getEventType().getSimpleName(), getPriority(), children);
-        }
+        List<Graph> children = this.children.stream().map(EventNodeImpl::createGraph).toList();
+        return new Graph(getName(), getEventType().getSimpleName(), getPriority(), children);
     }
 
     static String createStringGraph(Graph graph) {
@@ -260,7 +259,6 @@ non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
     }
 
     void invalidateEventsFor(EventNodeImpl<? super T> node) {
-        assert Thread.holdsLock(GLOBAL_CHILD_LOCK);
         for (Class<? extends T> eventType : listenerMap.keySet()) {
             node.invalidateEvent(eventType);
         }
@@ -283,6 +281,32 @@ non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
         return listenerMap.computeIfAbsent(type, aClass -> new ListenerEntry<>());
     }
 
+    private @NotNull Map<Object, EventNodeImpl<T>> mappedNodeCache() {
+        final Map<Object, EventNodeImpl<T>> map = this.mappedNodeCache;
+        if (map != null) return map;
+        return lazyMap(MAPPED_NODE_CACHE);
+    }
+
+    @NotNull Map<Object, EventNodeImpl<T>> registeredMappedNode() {
+        final Map<Object, EventNodeImpl<T>> map = this.registeredMappedNode;
+        if (map != null) return map;
+        return lazyMap(REGISTERED_MAPPED_NODE);
+    }
+
+    private <K, V> @NotNull Map<K, V> lazyMap(VarHandle handle) {
+        final Map<K, V> map = weakIdentityMap();
+        final Map<K, V> witness = (Map<K, V>) handle.compareAndExchange(this, null, map);
+        return witness != null ? witness : map;
+    }
+
+    /**
+     * Map used to retrieve mapped nodes, thread-safe and comparing keys by identity
+     * to not retain nor mix the objects of different nodes.
+     */
+    static <K, V> @NotNull Map<K, V> weakIdentityMap() {
+        return Caffeine.newBuilder().weakKeys().<K, V>build().asMap();
+    }
+
     private static boolean equals(EventNode<?> node, String name, Class<?> eventType) {
         return node.getName().equals(name) && eventType.isAssignableFrom((node.getEventType()));
     }
@@ -303,11 +327,71 @@ non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
         final Set<Consumer<T>> bindingConsumers = new CopyOnWriteArraySet<>();
     }
 
+    /**
+     * Compiled listeners of a handle, a new instance is set every time the handle is invalidated.
+     *
+     * @param chain the flattened listeners of the node and its children, null if invalidated
+     */
+    private record Snapshot<E>(Consumer<E> @Nullable [] chain) {
+    }
+
+    /**
+     * Immutable open-addressing table of the mapped handles, compiled with the chain.
+     * <p>
+     * Keys are compared by identity and weakly referenced to not retain the mapped objects,
+     * lookups do not allocate.
+     */
+    private static final class MappedHandles<H> {
+        private final WeakReference<Object>[] keys;
+        private final Object[] values;
+        private final int mask;
+
+        MappedHandles(Map<Object, H> entries) {
+            final int capacity = Integer.highestOneBit(Math.max(entries.size(), 1) * 2) << 1;
+            this.keys = new WeakReference[capacity];
+            this.values = new Object[capacity];
+            this.mask = capacity - 1;
+            for (var entry : entries.entrySet()) {
+                final Object key = entry.getKey();
+                int index = index(key);
+                while (keys[index] != null) index = (index + 1) & mask;
+                this.keys[index] = new WeakReference<>(key);
+                this.values[index] = entry.getValue();
+            }
+        }
+
+        @Nullable H get(@Nullable Object key) {
+            if (key == null) return null; // Cleared references would match
+            int index = index(key);
+            WeakReference<Object> reference;
+            while ((reference = keys[index]) != null) {
+                if (reference.get() == key) return (H) values[index];
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        private int index(Object key) {
+            final int hash = System.identityHashCode(key);
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+    }
+
     @SuppressWarnings("unchecked")
     final class Handle<E extends Event> implements ListenerHandle<E> {
+        private static final Consumer<?>[] EMPTY_CHAIN = new Consumer[0];
+        private static final VarHandle SNAPSHOT;
+
+        static {
+            try {
+                SNAPSHOT = MethodHandles.lookup().findVarHandle(EventNodeImpl.Handle.class, "snapshot", Snapshot.class);
+            } catch (NoSuchFieldException | IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
         private final Class<E> eventType;
-        private Consumer<E> listener = null;
-        private volatile boolean updated;
+        private volatile Snapshot<E> snapshot = new Snapshot<>(null);
 
         Handle(Class<E> eventType) {
             this.eventType = eventType;
@@ -315,10 +399,12 @@ non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
 
         @Override
         public void call(@NotNull E event) {
-            final Consumer<E> listener = updatedListener();
-            if (listener == null) return;
+            final Consumer<E>[] chain = updatedChain();
+            if (chain.length == 0) return;
             try {
-                listener.accept(event);
+                for (Consumer<E> listener : chain) {
+                    listener.accept(event);
+                }
             } catch (Throwable e) {
                 MinecraftServer.getExceptionManager().handleException(e);
             }
@@ -326,109 +412,76 @@ non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
 
         @Override
         public boolean hasListener() {
-            return updatedListener() != null;
+            return updatedChain().length != 0;
         }
 
         void invalidate() {
-            this.updated = false;
+            // Always a new instance, compilations started before this point cannot be published
+            this.snapshot = new Snapshot<>(null);
         }
 
-        @Nullable Consumer<E> updatedListener() {
-            if (updated) return listener;
-            synchronized (GLOBAL_CHILD_LOCK) {
-                if (updated) return listener;
-                final Consumer<E> listener = createConsumer();
-                this.listener = listener;
-                this.updated = true;
-                return listener;
-            }
+        /**
+         * Gets the listeners to run for the event type, compiled again after a change in the node graph.
+         * <p>
+         * Never blocks, concurrent callers may compile the same chain.
+         * The result is only cached if the graph was not modified during the compilation,
+         * otherwise it is still used for the current call.
+         */
+        @NotNull Consumer<E>[] updatedChain() {
+            final Snapshot<E> snapshot = this.snapshot;
+            Consumer<E>[] chain = snapshot.chain();
+            if (chain != null) return chain;
+            chain = createChain();
+            SNAPSHOT.compareAndSet(this, snapshot, new Snapshot<>(chain));
+            return chain;
         }
 
-        private @Nullable Consumer<E> createConsumer() {
+        private @NotNull Consumer<E>[] createChain() {
             var node = (EventNodeImpl<E>) EventNodeImpl.this;
+            List<Consumer<E>> body = new ArrayList<>();
             // Standalone listeners
-            List<Consumer<E>> listeners = new ArrayList<>();
             forTargetEvents(eventType, type -> {
                 final ListenerEntry<E> entry = node.listenerMap.get(type);
-                if (entry != null) {
-                    final Consumer<E> result = listenersConsumer(entry);
-                    if (result != null) listeners.add(result);
-                }
+                if (entry != null) appendListeners(entry, body);
             });
-            final Consumer<E>[] listenersArray = listeners.toArray(Consumer[]::new);
             // Mapped
             final Consumer<E> mappedListener = mappedConsumer();
-            // Children
-            final Consumer<E>[] childrenListeners = node.children.stream()
+            if (mappedListener != null) body.add(mappedListener);
+            // Children, without filter they can be inlined in the chain
+            node.children.stream()
                     .filter(child -> child.eventType.isAssignableFrom(eventType)) // Invalid event type
                     .sorted(Comparator.comparing(EventNode::getPriority))
-                    .map(child -> ((Handle<E>) child.getHandle(eventType)).updatedListener())
-                    .filter(Objects::nonNull)
-                    .toArray(Consumer[]::new);
+                    .forEach(child -> Collections.addAll(body, ((Handle<E>) child.getHandle(eventType)).updatedChain()));
             // Empty check
+            if (body.isEmpty()) return (Consumer<E>[]) EMPTY_CHAIN;
+            final Consumer<E>[] bodyArray = body.toArray(Consumer[]::new);
             final BiPredicate<E, Object> predicate = node.predicate;
+            if (predicate == null) return bodyArray;
+            // Filtering
             final EventFilter<E, ?> filter = node.filter;
-            final boolean hasPredicate = predicate != null;
-            final boolean hasListeners = listenersArray.length > 0;
-            final boolean hasMap = mappedListener != null;
-            final boolean hasChildren = childrenListeners.length > 0;
-            if (!hasListeners && !hasMap && !hasChildren) {
-                // No listener
-                return null;
-            }
-            return e -> {
-                // Filtering
-                if (hasPredicate) {
-                    final Object value = filter.getHandler(e);
-                    if (!predicate.test(e, value)) return;
-                }
-                // Normal listeners
-                if (hasListeners) {
-                    for (Consumer<E> listener : listenersArray) {
-                        listener.accept(e);
-                    }
-                }
-                // Mapped nodes
-                if (hasMap) mappedListener.accept(e);
-                // Children
-                if (hasChildren) {
-                    for (Consumer<E> childHandle : childrenListeners) {
-                        childHandle.accept(e);
-                    }
+            final Consumer<E> filtered = e -> {
+                final Object value = filter.getHandler(e);
+                if (!predicate.test(e, value)) return;
+                for (Consumer<E> listener : bodyArray) {
+                    listener.accept(e);
                 }
             };
+            return new Consumer[]{filtered};
         }
 
         /**
-         * Create a consumer calling all listeners from {@link EventNode#addListener(EventListener)} and
-         * {@link EventNode#register(EventBinding)}.
+         * Appends the listeners from {@link EventNode#addListener(EventListener)} and
+         * {@link EventNode#register(EventBinding)} to the chain.
          * <p>
          * Most computation should ideally be done outside the consumers as a one-time cost.
          */
-        private @Nullable Consumer<E> listenersConsumer(@NotNull ListenerEntry<E> entry) {
-            final EventListener<E>[] listenersCopy = entry.listeners.toArray(EventListener[]::new);
-            final Consumer<E>[] bindingsCopy = entry.bindingConsumers.toArray(Consumer[]::new);
-            final boolean listenersEmpty = listenersCopy.length == 0;
-            final boolean bindingsEmpty = bindingsCopy.length == 0;
-            if (listenersEmpty && bindingsEmpty) return null;
-            if (bindingsEmpty && listenersCopy.length == 1) {
-                // Only one normal listener
-                final EventListener<E> listener = listenersCopy[0];
-                return e -> callListener(listener, e);
+        private void appendListeners(@NotNull ListenerEntry<E> entry, @NotNull List<Consumer<E>> chain) {
+            for (EventListener<E> listener : entry.listeners) {
+                chain.add(e -> callListener(listener, e));
+            }
+            for (Consumer<E> binding : entry.bindingConsumers) {
+                chain.add(binding);
             }
-            // Worse case scenario, try to run everything
-            return e -> {
-                if (!listenersEmpty) {
-                    for (EventListener<E> listener : listenersCopy) {
-                        callListener(listener, e);
-                    }
-                }
-                if (!bindingsEmpty) {
-                    for (Consumer<E> eConsumer : bindingsCopy) {
-                        eConsumer.accept(e);
-                    }
-                }
-            };
         }
 
         /**
@@ -438,20 +491,21 @@ non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
         private @Nullable Consumer<E> mappedConsumer() {
             var node = (EventNodeImpl<E>) EventNodeImpl.this;
             final var mappedNodeCache = node.registeredMappedNode;
-            if (mappedNodeCache.isEmpty()) return null;
+            if (mappedNodeCache == null || mappedNodeCache.isEmpty()) return null;
             Set<EventFilter<E, ?>> filters = new HashSet<>(mappedNodeCache.size());
-            Map<Object, Handle<E>> handlers = new WeakHashMap<>(mappedNodeCache.size());
+            Map<Object, Handle<E>> entries = new IdentityHashMap<>(mappedNodeCache.size());
             // Retrieve all filters used to retrieve potential handlers
             for (var mappedEntry : mappedNodeCache.entrySet()) {
                 final EventNodeImpl<E> mappedNode = mappedEntry.getValue();
                 final Handle<E> handle = (Handle<E>) mappedNode.getHandle(eventType);
                 if (!handle.hasListener()) continue; // Implicit update
                 filters.add(mappedNode.filter);
-                handlers.put(mappedEntry.getKey(), handle);
+                entries.put(mappedEntry.getKey(), handle);
             }
             // If at least one mapped node listen to this handle type,
             // loop through them and forward to mapped node if there is a match
             if (filters.isEmpty()) return null;
+            final MappedHandles<Handle<E>> handlers = new MappedHandles<>(entries);
             final EventFilter<E, ?>[] filterList = filters.toArray(EventFilter[]::new);
             final BiConsumer<EventFilter<E, ?>, E> mapper = (filter, event) -> {
                 final Object handler = filter.castHandler(event);
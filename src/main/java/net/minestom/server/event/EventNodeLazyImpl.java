@@ -65,10 +65,8 @@ final class EventNodeLazyImpl<E extends Event> extends EventNodeImpl<E> {
 
     private void ensureMap() {
         if (MAPPED.compareAndSet(this, false, true)) {
-            synchronized (GLOBAL_CHILD_LOCK) {
-                var previous = this.holder.registeredMappedNode.putIfAbsent(retrieveOwner(), EventNodeImpl.class.cast(this));
-                if (previous == null) invalidateEventsFor(holder);
-            }
+            var previous = this.holder.registeredMappedNode().putIfAbsent(retrieveOwner(), EventNodeImpl.class.cast(this));
+            if (previous == null) invalidateEventsFor(holder);
         }
     }
 
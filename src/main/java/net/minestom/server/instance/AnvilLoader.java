@@ -1,42 +1,70 @@
 package net.minestom.server.instance;
 
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockHandler;
+import net.minestom.server.instance.heightmap.Heightmap;
+import net.minestom.server.instance.palette.Palette;
+import net.minestom.server.instance.storage.RegionFile;
+import net.minestom.server.instance.storage.RegionFileCache;
+import net.minestom.server.utils.MathUtils;
 import net.minestom.server.utils.NamespaceID;
 import net.minestom.server.utils.async.AsyncUtils;
+import net.minestom.server.utils.async.BlockingExecutor;
+import net.minestom.server.utils.chunk.ChunkUtils;
 import net.minestom.server.world.biomes.Biome;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jglrxavpok.hephaistos.collections.ImmutableByteArray;
+import org.jglrxavpok.hephaistos.collections.ImmutableLongArray;
 import org.jglrxavpok.hephaistos.mca.*;
 import org.jglrxavpok.hephaistos.nbt.*;
 import org.jglrxavpok.hephaistos.nbt.mutable.MutableNBTCompound;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.RandomAccessFile;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 public class AnvilLoader implements IChunkLoader {
     private final static Logger LOGGER = LoggerFactory.getLogger(AnvilLoader.class);
     private static final Biome BIOME = Biome.PLAINS;
+    // First version storing sections as palettes, which can be loaded without conversion
+    private static final int PALETTE_DATA_VERSION = SupportedVersion.MC_1_18_PRE_4.getLowestDataVersion();
+    // Chunk tags written by #save(Chunk), any other tag is unknown to Minestom
+    private static final String[] SAVED_TAGS = {"DataVersion", "xPos", "zPos", "yPos", "Status",
+            "sections", "block_entities", "Heightmaps"};
+
+    private static final int MAX_OPEN_REGIONS = Integer.getInteger("minestom.anvil.max-open-regions", 256);
 
-    private final Map<String, RegionFile> alreadyLoaded = new ConcurrentHashMap<>();
     private final Path path;
     private final Path levelPath;
-    private final Path regionPath;
+    private final RegionFileCache regions;
+    // Tags of the loaded chunks unknown to Minestom (structures, ticks, ...), written back when saving them
+    private final Map<Chunk, NBTCompound> unknownTags = Collections.synchronizedMap(new WeakHashMap<>());
 
-    public AnvilLoader(@NotNull Path path) {
+    /**
+     * @param path           the world folder
+     * @param maxOpenRegions the maximum number of region files kept open
+     */
+    public AnvilLoader(@NotNull Path path, int maxOpenRegions) {
         this.path = path;
         this.levelPath = path.resolve("level.dat");
-        this.regionPath = path.resolve("region");
+        this.regions = new RegionFileCache(path.resolve("region"), "mca", maxOpenRegions);
+    }
+
+    public AnvilLoader(@NotNull Path path) {
+        this(path, MAX_OPEN_REGIONS);
     }
 
     public AnvilLoader(@NotNull String path) {
@@ -72,13 +100,30 @@ public class AnvilLoader implements IChunkLoader {
         return CompletableFuture.completedFuture(null);
     }
 
-    private @NotNull CompletableFuture<@Nullable Chunk> loadMCA(Instance instance, int chunkX, int chunkZ) throws IOException, AnvilException {
-        final RegionFile mcaFile = getMCAFile(instance, chunkX, chunkZ);
+    private @NotNull CompletableFuture<@Nullable Chunk> loadMCA(Instance instance, int chunkX, int chunkZ) throws IOException, AnvilException, NBTException {
+        final RegionFile mcaFile = regions.acquire(CoordinatesKt.chunkToRegion(chunkX), CoordinatesKt.chunkToRegion(chunkZ), false);
         if (mcaFile == null)
             return CompletableFuture.completedFuture(null);
-        final ChunkColumn fileChunk = mcaFile.getChunk(chunkX, chunkZ);
-        if (fileChunk == null)
+        final NBTCompound chunkData;
+        try {
+            chunkData = readChunkData(mcaFile, chunkX, chunkZ);
+        } finally {
+            regions.release(mcaFile);
+        }
+        if (chunkData == null)
             return CompletableFuture.completedFuture(null);
+        final Integer dataVersion = chunkData.getInt("DataVersion");
+        if (dataVersion != null && dataVersion >= PALETTE_DATA_VERSION && chunkData.getList("sections") != null) {
+            final Chunk chunk = loadPalettes(instance, chunkX, chunkZ, chunkData);
+            // Data written by a newer version may not be valid anymore once the chunk is modified
+            if (dataVersion <= MinecraftServer.DATA_VERSION) {
+                final NBTCompound unknown = chunkData.withRemovedKeys(SAVED_TAGS);
+                if (!unknown.isEmpty()) this.unknownTags.put(chunk, unknown);
+            }
+            return CompletableFuture.completedFuture(chunk);
+        }
+        // Older formats, converted by hephaistos
+        final ChunkColumn fileChunk = new ChunkColumn(chunkData);
 
         Chunk chunk = new DynamicChunk(instance, chunkX, chunkZ);
         if(fileChunk.getMinY() < instance.getDimensionType().getMinY()) {
@@ -112,8 +157,7 @@ public class AnvilLoader implements IChunkLoader {
                             int finalZ = fileChunk.getZ() * Chunk.CHUNK_SIZE_Z + z;
                             int finalY = section.getY() * Chunk.CHUNK_SECTION_SIZE + y;
                             String biomeName = section.getBiome(x, y, z);
-                            Biome biome = biomeCache.computeIfAbsent(biomeName, n ->
-                                    Objects.requireNonNullElse(MinecraftServer.getBiomeManager().getByName(NamespaceID.from(n)), BIOME));
+                            Biome biome = biomeCache.computeIfAbsent(biomeName, AnvilLoader::getBiome);
                             chunk.setBiome(finalX, finalY, finalZ, biome);
                         }
                     }
@@ -122,7 +166,7 @@ public class AnvilLoader implements IChunkLoader {
         }
         // Blocks
         loadBlocks(chunk, fileChunk);
-        loadTileEntities(chunk, fileChunk);
+        loadTileEntities(chunk, fileChunk.getTileEntities());
         // Lights
         for (int sectionY = chunk.getMinSection(); sectionY < chunk.getMaxSection(); sectionY++) {
             var section = chunk.getSection(sectionY);
@@ -130,25 +174,97 @@ public class AnvilLoader implements IChunkLoader {
             section.setSkyLight(chunkSection.getSkyLights());
             section.setBlockLight(chunkSection.getBlockLights());
         }
-        mcaFile.forget(fileChunk);
         return CompletableFuture.completedFuture(chunk);
     }
 
-    private @Nullable RegionFile getMCAFile(Instance instance, int chunkX, int chunkZ) {
-        final int regionX = CoordinatesKt.chunkToRegion(chunkX);
-        final int regionZ = CoordinatesKt.chunkToRegion(chunkZ);
-        return alreadyLoaded.computeIfAbsent(RegionFile.Companion.createFileName(regionX, regionZ), n -> {
-            try {
-                final Path regionPath = this.regionPath.resolve(n);
-                if (!Files.exists(regionPath)) {
-                    return null;
+    /**
+     * Loads a chunk stored in the 1.18+ format, where the sections already are palettes.
+     * <p>
+     * The palette entries are only converted once per chunk, and the packed indices are given as is to
+     * {@link Palette#setPacked(int[], long[], int)} instead of setting every block.
+     */
+    private @NotNull Chunk loadPalettes(Instance instance, int chunkX, int chunkZ, NBTCompound chunkData) throws AnvilException {
+        Chunk chunk = new DynamicChunk(instance, chunkX, chunkZ);
+        final Integer yPos = chunkData.getInt("yPos");
+        if (yPos != null && yPos < chunk.getMinSection()) {
+            throw new AnvilException(
+                    String.format("Trying to load chunk with minY = %d, but instance dimension type (%s) has a minY of %d",
+                            yPos * Chunk.CHUNK_SECTION_SIZE,
+                            instance.getDimensionType().getName().asString(),
+                            instance.getDimensionType().getMinY()));
+        }
+        final boolean loadBiomes = hasBiomes(chunkData.getString("Status"));
+        final Map<NBTCompound, Block> blockCache = new HashMap<>();
+        final Map<String, Biome> biomeCache = new HashMap<>();
+        // Blocks which cannot be represented by their state id only
+        final List<Block> blocks = new ArrayList<>();
+        final int[] handlerPositions = new int[Chunk.CHUNK_SIZE_X * Chunk.CHUNK_SECTION_SIZE * Chunk.CHUNK_SIZE_Z];
+        synchronized (chunk) {
+            for (NBTCompound sectionData : chunkData.<NBTCompound>getList("sections")) {
+                final Byte sectionY = sectionData.getByte("Y");
+                if (sectionY == null) continue;
+                final NBTCompound blockStates = sectionData.getCompound("block_states");
+                if (sectionY < chunk.getMinSection() || sectionY >= chunk.getMaxSection()) {
+                    // Sections outside the world only contain light
+                    if (blockStates == null) continue;
+                    throw new AnvilException(
+                            String.format("Trying to load chunk with maxY = %d, but instance dimension type (%s) has a maxY of %d",
+                                    (sectionY + 1) * Chunk.CHUNK_SECTION_SIZE - 1,
+                                    instance.getDimensionType().getName().asString(),
+                                    instance.getDimensionType().getMaxY()));
+                }
+                final Section section = chunk.getSection(sectionY);
+                // Blocks
+                if (blockStates != null) {
+                    final NBTList<NBTCompound> palette = blockStates.getList("palette");
+                    if (palette != null && palette.getSize() > 0) {
+                        final int[] stateIds = new int[palette.getSize()];
+                        blocks.clear();
+                        for (int i = 0; i < stateIds.length; i++) {
+                            final Block block = blockCache.computeIfAbsent(palette.get(i), AnvilLoader::getBlock);
+                            stateIds[i] = block.stateId();
+                            if (block.handler() != null) blocks.add(block);
+                        }
+                        final int bitsPerEntry = Math.max(4, MathUtils.bitsToRepresent(Math.max(1, stateIds.length - 1)));
+                        section.blockPalette().setPacked(stateIds, packedData(blockStates), bitsPerEntry);
+                        // Handlers are stored in the chunk, not the palette
+                        if (!blocks.isEmpty()) {
+                            final int yOffset = sectionY * Chunk.CHUNK_SECTION_SIZE;
+                            for (Block block : blocks) {
+                                final int count = positions(section.blockPalette(), block.stateId(), handlerPositions);
+                                for (int i = 0; i < count; i++) {
+                                    final int position = handlerPositions[i];
+                                    chunk.setBlock(position & 0xF, (position >> 8) + yOffset, position >> 4 & 0xF, block);
+                                }
+                            }
+                        }
+                    }
+                }
+                // Biomes
+                final NBTCompound biomes = sectionData.getCompound("biomes");
+                if (loadBiomes && biomes != null) {
+                    final NBTList<NBTString> palette = biomes.getList("palette");
+                    if (palette != null && palette.getSize() > 0) {
+                        final int[] biomeIds = new int[palette.getSize()];
+                        for (int i = 0; i < biomeIds.length; i++) {
+                            biomeIds[i] = biomeCache.computeIfAbsent(palette.get(i).getValue(), AnvilLoader::getBiome).id();
+                        }
+                        final int bitsPerEntry = MathUtils.bitsToRepresent(Math.max(1, biomeIds.length - 1));
+                        section.biomePalette().setPacked(biomeIds, packedData(biomes), bitsPerEntry);
+                    }
                 }
-                return new RegionFile(new RandomAccessFile(regionPath.toFile(), "rw"), regionX, regionZ, instance.getDimensionType().getMinY(), instance.getDimensionType().getMaxY()-1);
-            } catch (IOException | AnvilException e) {
-                MinecraftServer.getExceptionManager().handleException(e);
-                return null;
+                // Lights
+                final ImmutableByteArray skyLight = sectionData.getByteArray("SkyLight");
+                final ImmutableByteArray blockLight = sectionData.getByteArray("BlockLight");
+                if (skyLight != null) section.setSkyLight(skyLight.copyArray());
+                if (blockLight != null) section.setBlockLight(blockLight.copyArray());
             }
-        });
+            // Refresh the heightmaps from the new palettes
+            chunk.invalidate();
+            final NBTList<NBTCompound> blockEntities = chunkData.getList("block_entities");
+            if (blockEntities != null) loadTileEntities(chunk, blockEntities);
+        }
+        return chunk;
     }
 
     private void loadBlocks(Chunk chunk, ChunkColumn fileChunk) {
@@ -180,8 +296,8 @@ public class AnvilLoader implements IChunkLoader {
         }
     }
 
-    private void loadTileEntities(Chunk loadedChunk, ChunkColumn fileChunk) {
-        for (NBTCompound te : fileChunk.getTileEntities()) {
+    private void loadTileEntities(Chunk loadedChunk, NBTList<NBTCompound> tileEntities) {
+        for (NBTCompound te : tileEntities) {
             final var x = te.getInt("x");
             final var y = te.getInt("y");
             final var z = te.getInt("z");
@@ -210,6 +326,63 @@ public class AnvilLoader implements IChunkLoader {
         }
     }
 
+    private static @NotNull Block getBlock(@NotNull NBTCompound paletteEntry) {
+        final String blockName = paletteEntry.getString("Name");
+        try {
+            Block block = Objects.requireNonNull(Block.fromNamespaceId(Objects.requireNonNull(blockName)), blockName);
+            // Properties
+            final NBTCompound properties = paletteEntry.getCompound("Properties");
+            if (properties != null && properties.getSize() > 0) {
+                Map<String, String> propertyMap = new HashMap<>(properties.getSize());
+                for (var entry : properties) {
+                    if (entry.getValue() instanceof NBTString value) propertyMap.put(entry.getKey(), value.getValue());
+                }
+                block = block.withProperties(propertyMap);
+            }
+            // Handler
+            final BlockHandler handler = MinecraftServer.getBlockManager().getHandler(block.name());
+            if (handler != null) block = block.withHandler(handler);
+            return block;
+        } catch (Exception e) {
+            MinecraftServer.getExceptionManager().handleException(e);
+            return Block.AIR;
+        }
+    }
+
+    private static @NotNull Biome getBiome(@NotNull String name) {
+        return Objects.requireNonNullElse(MinecraftServer.getBiomeManager().getByName(NamespaceID.from(name)), BIOME);
+    }
+
+    private static long @NotNull [] packedData(@NotNull NBTCompound container) {
+        final ImmutableLongArray data = container.getLongArray("data");
+        return data != null ? data.copyArray() : new long[0];
+    }
+
+    /**
+     * Retrieves the positions of a value in a section palette, as {@code y << 8 | z << 4 | x}.
+     *
+     * @return the number of positions written
+     */
+    private static int positions(Palette palette, int value, int[] positions) {
+        final int[] count = new int[1];
+        palette.getAllPresent((x, y, z, v) -> {
+            if (v == value) positions[count[0]++] = y << 8 | z << 4 | x;
+        });
+        return count[0];
+    }
+
+    private static boolean hasBiomes(@Nullable String status) {
+        if (status == null) return true;
+        final int separator = status.indexOf(':');
+        try {
+            final var generationStatus = ChunkColumn.GenerationStatus.fromID(status.substring(separator + 1));
+            return generationStatus.compareTo(ChunkColumn.GenerationStatus.Biomes) > 0;
+        } catch (IllegalArgumentException e) {
+            // Unknown status, consider the chunk as generated
+            return true;
+        }
+    }
+
     @Override
     public @NotNull CompletableFuture<Void> saveInstance(@NotNull Instance instance) {
         final var nbt = instance.tagHandler().asCompound();
@@ -227,86 +400,200 @@ public class AnvilLoader implements IChunkLoader {
 
     @Override
     public @NotNull CompletableFuture<Void> saveChunk(@NotNull Chunk chunk) {
-        final int chunkX = chunk.getChunkX();
-        final int chunkZ = chunk.getChunkZ();
-        RegionFile mcaFile;
-        synchronized (alreadyLoaded) {
-            mcaFile = getMCAFile(chunk.instance, chunkX, chunkZ);
-            if (mcaFile == null) {
-                final int regionX = CoordinatesKt.chunkToRegion(chunkX);
-                final int regionZ = CoordinatesKt.chunkToRegion(chunkZ);
-                final String n = RegionFile.Companion.createFileName(regionX, regionZ);
-                File regionFile = new File(regionPath.toFile(), n);
-                try {
-                    if (!regionFile.exists()) {
-                        if (!regionFile.getParentFile().exists()) {
-                            regionFile.getParentFile().mkdirs();
-                        }
-                        regionFile.createNewFile();
-                    }
-                    mcaFile = new RegionFile(new RandomAccessFile(regionFile, "rw"), regionX, regionZ);
-                    alreadyLoaded.put(n, mcaFile);
-                } catch (AnvilException | IOException e) {
-                    LOGGER.error("Failed to save chunk " + chunkX + ", " + chunkZ, e);
-                    MinecraftServer.getExceptionManager().handleException(e);
-                    return AsyncUtils.VOID_FUTURE;
-                }
-            }
+        return saveRegion(CoordinatesKt.chunkToRegion(chunk.getChunkX()), CoordinatesKt.chunkToRegion(chunk.getChunkZ()), List.of(chunk));
+    }
+
+    /**
+     * Saves the chunks of each region in a single write, and the regions in parallel.
+     */
+    @Override
+    public @NotNull CompletableFuture<Void> saveChunks(@NotNull Collection<Chunk> chunks) {
+        Map<Long, List<Chunk>> regions = new HashMap<>();
+        for (Chunk chunk : chunks) {
+            final long regionIndex = ChunkUtils.getChunkIndex(CoordinatesKt.chunkToRegion(chunk.getChunkX()),
+                    CoordinatesKt.chunkToRegion(chunk.getChunkZ()));
+            regions.computeIfAbsent(regionIndex, index -> new ArrayList<>()).add(chunk);
         }
-        ChunkColumn column;
+        final Executor executor = BlockingExecutor.get();
+        CompletableFuture<?>[] futures = regions.entrySet().stream()
+                .map(entry -> CompletableFuture.supplyAsync(() -> saveRegion(ChunkUtils.getChunkCoordX(entry.getKey()),
+                        ChunkUtils.getChunkCoordZ(entry.getKey()), entry.getValue()), executor).thenCompose(future -> future))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(futures);
+    }
+
+    private @NotNull CompletableFuture<Void> saveRegion(int regionX, int regionZ, @NotNull List<Chunk> chunks) {
+        RegionFile mcaFile = null;
         try {
-            column = mcaFile.getOrCreateChunk(chunkX, chunkZ);
-        } catch (AnvilException | IOException e) {
-            LOGGER.error("Failed to save chunk " + chunkX + ", " + chunkZ, e);
+            mcaFile = regions.acquire(regionX, regionZ, true);
+            assert mcaFile != null;
+            List<RegionFile.Entry> entries = new ArrayList<>(chunks.size());
+            for (Chunk chunk : chunks) {
+                final int chunkX = chunk.getChunkX();
+                final int chunkZ = chunk.getChunkZ();
+                LOGGER.debug("Attempt saving at {} {}", chunkX, chunkZ);
+                MutableNBTCompound chunkData;
+                synchronized (chunk) {
+                    chunkData = save(chunk);
+                }
+                final NBTCompound unknown = unknownTags.get(chunk);
+                if (unknown != null) {
+                    final MutableNBTCompound merged = unknown.toMutableCompound();
+                    merged.setAll(chunkData);
+                    chunkData = merged;
+                }
+                ByteArrayOutputStream output = new ByteArrayOutputStream();
+                try (NBTWriter writer = new NBTWriter(output, CompressedProcesser.ZLIB)) {
+                    writer.writeNamed("", chunkData.toCompound());
+                }
+                entries.add(new RegionFile.Entry(chunkX, chunkZ, RegionFile.COMPRESSION_ZLIB, output.toByteArray()));
+            }
+            mcaFile.write(entries);
+        } catch (IOException e) {
+            LOGGER.error("Failed to save chunks of region " + regionX + ", " + regionZ, e);
             MinecraftServer.getExceptionManager().handleException(e);
-            return AsyncUtils.VOID_FUTURE;
+            return CompletableFuture.failedFuture(e);
+        } finally {
+            if (mcaFile != null) release(mcaFile);
         }
-        save(chunk, column);
+        return AsyncUtils.VOID_FUTURE;
+    }
+
+    private void release(RegionFile mcaFile) {
         try {
-            LOGGER.debug("Attempt saving at {} {}", chunk.getChunkX(), chunk.getChunkZ());
-            mcaFile.writeColumn(column);
-            mcaFile.forget(column);
+            regions.release(mcaFile);
         } catch (IOException e) {
-            LOGGER.error("Failed to save chunk " + chunkX + ", " + chunkZ, e);
             MinecraftServer.getExceptionManager().handleException(e);
-            return AsyncUtils.VOID_FUTURE;
         }
-        return AsyncUtils.VOID_FUTURE;
     }
 
-    private void save(Chunk chunk, ChunkColumn chunkColumn) {
-        chunkColumn.changeVersion(SupportedVersion.Companion.getLatest());
-        chunkColumn.setYRange(chunk.getMinSection()*16, chunk.getMaxSection()*16-1);
+    private static @Nullable NBTCompound readChunkData(RegionFile mcaFile, int chunkX, int chunkZ) throws IOException, NBTException {
+        final RegionFile.Entry entry = mcaFile.read(chunkX, chunkZ);
+        if (entry == null) return null;
+        final CompressedProcesser<?, ?> compression = switch (entry.compression()) {
+            case RegionFile.COMPRESSION_GZIP -> CompressedProcesser.GZIP;
+            case RegionFile.COMPRESSION_ZLIB -> CompressedProcesser.ZLIB;
+            case RegionFile.COMPRESSION_NONE -> CompressedProcesser.NONE;
+            default -> throw new IOException("Unknown compression type " + entry.compression() + " of chunk " + chunkX + ", " + chunkZ);
+        };
+        try (NBTReader reader = new NBTReader(entry.data(), compression)) {
+            return (NBTCompound) reader.read();
+        }
+    }
+
+    /**
+     * Serializes a chunk in the 1.18+ format, palettes are written as is using {@link Palette#getPacked(IntList, int)}.
+     * <p>
+     * The chunk must be locked.
+     */
+    private MutableNBTCompound save(Chunk chunk) {
+        MutableNBTCompound chunkData = new MutableNBTCompound();
+        chunkData.setInt("DataVersion", MinecraftServer.DATA_VERSION);
+        chunkData.setInt("xPos", chunk.getChunkX());
+        chunkData.setInt("zPos", chunk.getChunkZ());
+        chunkData.setInt("yPos", chunk.getMinSection());
+        chunkData.setString("Status", ChunkColumn.GenerationStatus.Full.getId());
+        // Sections
+        final Int2ObjectMap<NBTCompound> blockCache = new Int2ObjectOpenHashMap<>();
+        final Int2ObjectMap<NBTString> biomeCache = new Int2ObjectOpenHashMap<>();
+        final IntList paletteValues = new IntArrayList();
+        final List<Section> sections = chunk.getSections();
+        List<NBTCompound> sectionsData = new ArrayList<>(sections.size());
+        for (int i = 0; i < sections.size(); i++) {
+            final Section section = sections.get(i);
+            MutableNBTCompound sectionData = new MutableNBTCompound();
+            sectionData.setByte("Y", (byte) (chunk.getMinSection() + i));
+            // Blocks
+            final long[] blockIndices = section.blockPalette().getPacked(paletteValues, 4);
+            List<NBTCompound> blockPalette = new ArrayList<>(paletteValues.size());
+            for (int stateId : paletteValues) {
+                blockPalette.add(blockCache.computeIfAbsent(stateId, AnvilLoader::blockPaletteEntry));
+            }
+            sectionData.set("block_states", paletteContainer(NBT.List(NBTType.TAG_Compound, blockPalette), blockIndices));
+            // Biomes
+            final long[] biomeIndices = section.biomePalette().getPacked(paletteValues, 1);
+            List<NBTString> biomePalette = new ArrayList<>(paletteValues.size());
+            for (int biomeId : paletteValues) {
+                biomePalette.add(biomeCache.computeIfAbsent(biomeId, AnvilLoader::biomePaletteEntry));
+            }
+            sectionData.set("biomes", paletteContainer(NBT.List(NBTType.TAG_String, biomePalette), biomeIndices));
+            // Lights
+            final byte[] skyLight = section.getSkyLight();
+            final byte[] blockLight = section.getBlockLight();
+            if (skyLight.length != 0) sectionData.setByteArray("SkyLight", skyLight);
+            if (blockLight.length != 0) sectionData.setByteArray("BlockLight", blockLight);
+            sectionsData.add(sectionData.toCompound());
+        }
+        chunkData.set("sections", NBT.List(NBTType.TAG_Compound, sectionsData));
+        // Block entities, only blocks with a handler or nbt need to be checked
         List<NBTCompound> tileEntities = new ArrayList<>();
-        chunkColumn.setGenerationStatus(ChunkColumn.GenerationStatus.Full);
-        for (int x = 0; x < Chunk.CHUNK_SIZE_X; x++) {
-            for (int z = 0; z < Chunk.CHUNK_SIZE_Z; z++) {
-                for (int y = chunkColumn.getMinY(); y < chunkColumn.getMaxY(); y++) {
-                    final Block block = chunk.getBlock(x, y, z);
-                    // Block
-                    chunkColumn.setBlockState(x, y, z, new BlockState(block.name(), block.properties()));
-                    chunkColumn.setBiome(x, y, z, chunk.getBiome(x, y, z).name().asString());
-
-                    // Tile entity
-                    final BlockHandler handler = block.handler();
-                    var originalNBT = block.nbt();
-                    if (originalNBT != null || handler != null) {
-                        MutableNBTCompound nbt = originalNBT != null ?
-                                originalNBT.toMutableCompound() : new MutableNBTCompound();
-
-                        if (handler != null) {
-                            nbt.setString("id", handler.getNamespaceId().asString());
-                        }
-                        nbt.setInt("x", x + Chunk.CHUNK_SIZE_X * chunk.getChunkX());
-                        nbt.setInt("y", y);
-                        nbt.setInt("z", z + Chunk.CHUNK_SIZE_Z * chunk.getChunkZ());
-                        nbt.setByte("keepPacked", (byte) 0);
-                        tileEntities.add(nbt.toCompound());
+        if (chunk instanceof DynamicChunk dynamicChunk) {
+            for (Int2ObjectMap.Entry<Block> entry : dynamicChunk.entries.int2ObjectEntrySet()) {
+                final int index = entry.getIntKey();
+                final NBTCompound tileEntity = tileEntity(chunk, entry.getValue(), ChunkUtils.blockIndexToChunkPositionX(index),
+                        ChunkUtils.blockIndexToChunkPositionY(index), ChunkUtils.blockIndexToChunkPositionZ(index));
+                if (tileEntity != null) tileEntities.add(tileEntity);
+            }
+        } else {
+            final int minY = chunk.getMinSection() * Chunk.CHUNK_SECTION_SIZE;
+            final int maxY = chunk.getMaxSection() * Chunk.CHUNK_SECTION_SIZE;
+            for (int x = 0; x < Chunk.CHUNK_SIZE_X; x++) {
+                for (int z = 0; z < Chunk.CHUNK_SIZE_Z; z++) {
+                    for (int y = minY; y < maxY; y++) {
+                        final Block block = chunk.getBlock(x, y, z, Block.Getter.Condition.CACHED);
+                        if (block == null) continue;
+                        final NBTCompound tileEntity = tileEntity(chunk, block, x, y, z);
+                        if (tileEntity != null) tileEntities.add(tileEntity);
                     }
                 }
             }
         }
-        chunkColumn.setTileEntities(NBT.List(NBTType.TAG_Compound, tileEntities));
+        chunkData.set("block_entities", NBT.List(NBTType.TAG_Compound, tileEntities));
+        // Heightmaps
+        if (chunk instanceof DynamicChunk dynamicChunk) {
+            final Heightmap motionBlocking = dynamicChunk.motionBlockingHeightmap();
+            final Heightmap worldSurface = dynamicChunk.worldSurfaceHeightmap();
+            chunkData.set("Heightmaps", NBT.Compound(Map.of(
+                    motionBlocking.NBTName(), NBT.LongArray(motionBlocking.getNBT()),
+                    worldSurface.NBTName(), NBT.LongArray(worldSurface.getNBT()))));
+        }
+        return chunkData;
+    }
+
+    private static @Nullable NBTCompound tileEntity(Chunk chunk, Block block, int x, int y, int z) {
+        final BlockHandler handler = block.handler();
+        var originalNBT = block.nbt();
+        if (originalNBT == null && handler == null) return null;
+        MutableNBTCompound nbt = originalNBT != null ?
+                originalNBT.toMutableCompound() : new MutableNBTCompound();
+        if (handler != null) {
+            nbt.setString("id", handler.getNamespaceId().asString());
+        }
+        nbt.setInt("x", x + Chunk.CHUNK_SIZE_X * chunk.getChunkX());
+        nbt.setInt("y", y);
+        nbt.setInt("z", z + Chunk.CHUNK_SIZE_Z * chunk.getChunkZ());
+        nbt.setByte("keepPacked", (byte) 0);
+        return nbt.toCompound();
+    }
+
+    private static @NotNull NBTCompound paletteContainer(@NotNull NBTList<?> palette, long @NotNull [] indices) {
+        return indices.length != 0 ?
+                NBT.Compound(Map.of("palette", palette, "data", NBT.LongArray(indices))) :
+                NBT.Compound(Map.of("palette", palette));
+    }
+
+    private static @NotNull NBTCompound blockPaletteEntry(int stateId) {
+        final Block block = Objects.requireNonNullElse(Block.fromStateId((short) stateId), Block.AIR);
+        final Map<String, String> properties = block.properties();
+        if (properties.isEmpty()) return NBT.Compound(Map.of("Name", NBT.String(block.name())));
+        Map<String, NBT> propertiesNBT = new HashMap<>(properties.size());
+        properties.forEach((key, value) -> propertiesNBT.put(key, NBT.String(value)));
+        return NBT.Compound(Map.of("Name", NBT.String(block.name()), "Properties", NBT.Compound(propertiesNBT)));
+    }
+
+    private static @NotNull NBTString biomePaletteEntry(int biomeId) {
+        final Biome biome = Objects.requireNonNullElse(MinecraftServer.getBiomeManager().getById(biomeId), BIOME);
+        return NBT.String(biome.name().asString());
     }
 
     @Override
@@ -7,6 +7,7 @@ import net.minestom.server.coordinate.Vec;
 import net.minestom.server.entity.Player;
 import net.minestom.server.entity.pathfinding.PFColumnarSpace;
 import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.block.BlockHandler;
 import net.minestom.server.network.packet.server.play.ChunkDataPacket;
 import net.minestom.server.snapshot.Snapshotable;
 import net.minestom.server.tag.TagHandler;
@@ -14,6 +15,7 @@ import net.minestom.server.tag.Taggable;
 import net.minestom.server.utils.chunk.ChunkSupplier;
 import net.minestom.server.utils.chunk.ChunkUtils;
 import net.minestom.server.world.biomes.Biome;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
@@ -49,6 +51,8 @@ public abstract class Chunk implements Block.Getter, Block.Setter, Biome.Getter,
     private boolean readOnly;
 
     protected volatile boolean loaded = true;
+    // Last time the chunk was in sync with its storage, 0 if unknown
+    private volatile long storageTime;
     private final ChunkView viewers;
 
     // Path finding
@@ -142,6 +146,26 @@ public abstract class Chunk implements Block.Getter, Block.Setter, Biome.Getter,
      */
     public abstract void reset();
 
+    /**
+     * Invalidates the data derived from the sections (heightmaps, cached packets).
+     * <p>
+     * Must be called after the sections have been modified without {@link #setBlock(int, int, int, Block)},
+     * for example by a {@link net.minestom.server.instance.generator.Generator}.
+     */
+    public abstract void invalidate();
+
+    /**
+     * Gets if this chunk may contain blocks whose handler reacts to {@link BlockHandler#onTouch(BlockHandler.Touch)}.
+     * <p>
+     * Used by entities to skip their touch checks, implementations not keeping track of their handlers must return true.
+     *
+     * @return true if an entity inside this chunk may touch a block handler
+     */
+    @ApiStatus.Internal
+    public boolean hasTouchHandlers() {
+        return true;
+    }
+
     /**
      * Gets the unique identifier of this chunk.
      * <p>
@@ -260,6 +284,23 @@ public abstract class Chunk implements Block.Getter, Block.Setter, Biome.Getter,
         return loaded;
     }
 
+    /**
+     * Gets the last time this chunk was loaded from or saved to the {@link IChunkLoader} of its instance.
+     * <p>
+     * Used to skip the chunks which have not changed since then.
+     *
+     * @return the storage time in milliseconds, 0 if the chunk is not known to be stored
+     */
+    @ApiStatus.Internal
+    public long getStorageTime() {
+        return storageTime;
+    }
+
+    @ApiStatus.Internal
+    public void setStorageTime(long storageTime) {
+        this.storageTime = storageTime;
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName() + "[" + chunkX + ":" + chunkZ + "]";
@@ -9,6 +9,11 @@ import net.minestom.server.entity.Player;
 import net.minestom.server.entity.pathfinding.PFBlock;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockHandler;
+import net.minestom.server.instance.heightmap.Heightmap;
+import net.minestom.server.instance.heightmap.MotionBlockingHeightmap;
+import net.minestom.server.instance.heightmap.WorldSurfaceHeightmap;
+import net.minestom.server.instance.light.LightEngine;
+import net.minestom.server.instance.palette.Palette;
 import net.minestom.server.network.packet.server.CachedPacket;
 import net.minestom.server.network.packet.server.play.ChunkDataPacket;
 import net.minestom.server.network.packet.server.play.UpdateLightPacket;
@@ -17,8 +22,6 @@ import net.minestom.server.network.packet.server.play.data.LightData;
 import net.minestom.server.snapshot.ChunkSnapshot;
 import net.minestom.server.snapshot.SnapshotUpdater;
 import net.minestom.server.utils.ArrayUtils;
-import net.minestom.server.utils.MathUtils;
-import net.minestom.server.utils.Utils;
 import net.minestom.server.utils.binary.BinaryWriter;
 import net.minestom.server.utils.binary.PooledBuffers;
 import net.minestom.server.utils.chunk.ChunkUtils;
@@ -38,16 +41,35 @@ import static net.minestom.server.utils.chunk.ChunkUtils.toSectionRelativeCoordi
  * WARNING: not thread-safe.
  */
 public class DynamicChunk extends Chunk {
+    private static final ClassValue<Boolean> TOUCH_HANDLERS = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(@NotNull Class<?> type) {
+            // Handlers keeping the default no-op implementation never need to be touched
+            try {
+                return type.getMethod("onTouch", BlockHandler.Touch.class).getDeclaringClass() != BlockHandler.class;
+            } catch (NoSuchMethodException e) {
+                return true;
+            }
+        }
+    };
 
     private List<Section> sections;
 
     // Key = ChunkUtils#getBlockIndex
     protected final Int2ObjectOpenHashMap<Block> entries = new Int2ObjectOpenHashMap<>(0);
     protected final Int2ObjectOpenHashMap<Block> tickableMap = new Int2ObjectOpenHashMap<>(0);
+    // Number of entries with a handler reacting to entity touches
+    private int touchableCount;
+
+    private final Heightmap motionBlocking = new MotionBlockingHeightmap(this);
+    private final Heightmap worldSurface = new WorldSurfaceHeightmap(this);
+    private NBTCompound heightmapsNBT;
 
     private long lastChange;
     private final CachedPacket chunkCache = new CachedPacket(this::createChunkPacket);
     private final CachedPacket lightCache = new CachedPacket(this::createLightPacket);
+    // Shared by both packets, so that a block-only change does not rebuild the light masks
+    private LightData lightData;
 
     public DynamicChunk(@NotNull Instance instance, int chunkX, int chunkZ) {
         super(instance, chunkX, chunkZ, true);
@@ -61,7 +83,6 @@ public class DynamicChunk extends Chunk {
         assertLock();
         this.lastChange = System.currentTimeMillis();
         this.chunkCache.invalidate();
-        this.lightCache.invalidate();
         // Update pathfinder
         if (columnarSpace != null) {
             final ColumnarOcclusionFieldList columnarOcclusionFieldList = columnarSpace.occlusionFields();
@@ -69,17 +90,34 @@ public class DynamicChunk extends Chunk {
             columnarOcclusionFieldList.onBlockChanged(x, y, z, blockDescription, 0);
         }
         Section section = getSectionAt(y);
-        section.blockPalette()
-                .set(toSectionRelativeCoordinate(x), toSectionRelativeCoordinate(y), toSectionRelativeCoordinate(z), block.stateId());
+        final Palette blockPalette = section.blockPalette();
+        final int sectionX = toSectionRelativeCoordinate(x);
+        final int sectionY = toSectionRelativeCoordinate(y);
+        final int sectionZ = toSectionRelativeCoordinate(z);
+        final LightEngine lightEngine = instance.getLightEngine();
+        final boolean changed = lightEngine != null && blockPalette.get(sectionX, sectionY, sectionZ) != block.stateId();
+        blockPalette.set(sectionX, sectionY, sectionZ, block.stateId());
+        // Lighting
+        if (changed) {
+            lightEngine.blockChanged(chunkX * CHUNK_SIZE_X + sectionX, y, chunkZ * CHUNK_SIZE_Z + sectionZ);
+        }
+        // Heightmaps
+        if (motionBlocking.refresh(x, y, z, block) | worldSurface.refresh(x, y, z, block)) {
+            this.heightmapsNBT = null;
+        }
 
         final int index = ChunkUtils.getBlockIndex(x, y, z);
         // Handler
         final BlockHandler handler = block.handler();
+        final Block previous;
         if (handler != null || block.hasNbt() || block.registry().isBlockEntity()) {
-            this.entries.put(index, block);
+            previous = this.entries.put(index, block);
         } else {
-            this.entries.remove(index);
+            previous = this.entries.remove(index);
         }
+        // Block touch
+        if (previous != null && isTouchable(previous)) this.touchableCount--;
+        if (isTouchable(block)) this.touchableCount++;
         // Block tick
         if (handler != null && handler.isTickable()) {
             this.tickableMap.put(index, block);
@@ -91,6 +129,7 @@ public class DynamicChunk extends Chunk {
     @Override
     public void setBiome(int x, int y, int z, @NotNull Biome biome) {
         assertLock();
+        this.lastChange = System.currentTimeMillis();
         this.chunkCache.invalidate();
         Section section = getSectionAt(y);
         section.biomePalette().set(
@@ -122,6 +161,11 @@ public class DynamicChunk extends Chunk {
         });
     }
 
+    @Override
+    public boolean hasTouchHandlers() {
+        return touchableCount > 0;
+    }
+
     @Override
     public @Nullable Block getBlock(int x, int y, int z, @NotNull Condition condition) {
         assertLock();
@@ -172,8 +216,21 @@ public class DynamicChunk extends Chunk {
     @Override
     public @NotNull Chunk copy(@NotNull Instance instance, int chunkX, int chunkZ) {
         DynamicChunk dynamicChunk = new DynamicChunk(instance, chunkX, chunkZ);
-        dynamicChunk.sections = sections.stream().map(Section::clone).toList();
-        dynamicChunk.entries.putAll(entries);
+        synchronized (this) {
+            // Sections share their palettes and light until either chunk modifies them
+            dynamicChunk.sections = sections.stream().map(Section::clone).toList();
+            dynamicChunk.entries.putAll(entries);
+            dynamicChunk.touchableCount = touchableCount;
+            dynamicChunk.motionBlocking.copyFrom(motionBlocking);
+            dynamicChunk.worldSurface.copyFrom(worldSurface);
+            if (chunkX == this.chunkX && chunkZ == this.chunkZ) {
+                // Identical packets, encoded once for all the copies
+                dynamicChunk.heightmapsNBT = heightmapsNBT;
+                dynamicChunk.lightData = lightData;
+                dynamicChunk.chunkCache.share(chunkCache);
+                dynamicChunk.lightCache.share(lightCache);
+            }
+        }
         return dynamicChunk;
     }
 
@@ -181,28 +238,67 @@ public class DynamicChunk extends Chunk {
     public void reset() {
         for (Section section : sections) section.clear();
         this.entries.clear();
+        this.touchableCount = 0;
+        invalidate();
+    }
+
+    @Override
+    public void invalidate() {
+        this.lastChange = System.currentTimeMillis();
+        this.motionBlocking.refresh();
+        this.worldSurface.refresh();
+        this.heightmapsNBT = null;
+        this.chunkCache.invalidate();
+        this.lightCache.invalidate();
+        this.lightData = null;
+    }
+
+    /**
+     * Invalidates the cached light data.
+     * <p>
+     * Must be called after replacing the light arrays of the sections.
+     */
+    public void invalidateLight() {
+        this.chunkCache.invalidate();
+        this.lightCache.invalidate();
+        this.lightData = null;
+    }
+
+    /**
+     * Sends the light data to the chunk viewers.
+     */
+    public void sendLight() {
+        if (!isLoaded()) return;
+        sendPacketToViewers(lightCache);
+    }
+
+    /**
+     * Gets the heightmap of the highest blocks blocking motion or containing fluid.
+     *
+     * @return the motion blocking heightmap
+     */
+    public @NotNull Heightmap motionBlockingHeightmap() {
+        return motionBlocking;
+    }
+
+    /**
+     * Gets the heightmap of the highest non-air blocks.
+     *
+     * @return the world surface heightmap
+     */
+    public @NotNull Heightmap worldSurfaceHeightmap() {
+        return worldSurface;
     }
 
     private synchronized @NotNull ChunkDataPacket createChunkPacket() {
-        final NBTCompound heightmapsNBT;
-        // TODO: don't hardcode heightmaps
-        // Heightmap
-        {
-            int dimensionHeight = getInstance().getDimensionType().getHeight();
-            int[] motionBlocking = new int[16 * 16];
-            int[] worldSurface = new int[16 * 16];
-            for (int x = 0; x < 16; x++) {
-                for (int z = 0; z < 16; z++) {
-                    motionBlocking[x + z * 16] = 0;
-                    worldSurface[x + z * 16] = dimensionHeight - 1;
-                }
-            }
-            final int bitsForHeight = MathUtils.bitsToRepresent(dimensionHeight);
+        NBTCompound heightmapsNBT = this.heightmapsNBT;
+        if (heightmapsNBT == null) {
             heightmapsNBT = NBT.Compound(Map.of(
-                    "MOTION_BLOCKING", NBT.LongArray(Utils.encodeBlocks(motionBlocking, bitsForHeight)),
-                    "WORLD_SURFACE", NBT.LongArray(Utils.encodeBlocks(worldSurface, bitsForHeight))));
+                    motionBlocking.NBTName(), NBT.LongArray(motionBlocking.getNBT()),
+                    worldSurface.NBTName(), NBT.LongArray(worldSurface.getNBT())));
+            this.heightmapsNBT = heightmapsNBT;
         }
-        // Data
+        // Data, only the modified sections are re-encoded
         final BinaryWriter writer = new BinaryWriter(PooledBuffers.tempBuffer());
         for (Section section : sections) writer.write(section);
         return new ChunkDataPacket(chunkX, chunkZ,
@@ -215,6 +311,8 @@ public class DynamicChunk extends Chunk {
     }
 
     private LightData createLightData() {
+        LightData lightData = this.lightData;
+        if (lightData != null) return lightData;
         BitSet skyMask = new BitSet();
         BitSet blockMask = new BitSet();
         BitSet emptySkyMask = new BitSet();
@@ -240,10 +338,12 @@ public class DynamicChunk extends Chunk {
                 emptyBlockMask.set(index);
             }
         }
-        return new LightData(true,
+        lightData = new LightData(true,
                 skyMask, blockMask,
                 emptySkyMask, emptyBlockMask,
                 skyLights, blockLights);
+        this.lightData = lightData;
+        return lightData;
     }
 
     @Override
@@ -261,4 +361,9 @@ public class DynamicChunk extends Chunk {
     private void assertLock() {
         assert Thread.holdsLock(this) : "Chunk must be locked before access";
     }
+
+    private static boolean isTouchable(Block block) {
+        final BlockHandler handler = block.handler();
+        return handler != null && TOUCH_HANDLERS.get(handler.getClass());
+    }
 }
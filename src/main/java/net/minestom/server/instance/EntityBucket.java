@@ -0,0 +1,129 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.entity.Entity;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractCollection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Entities inside a single chunk.
+ * <p>
+ * Removed entities leave an empty slot which is reused by the next addition, entries therefore never move
+ * inside an array and iterating concurrently with a modification will never skip or repeat an unmodified entity.
+ * A new array is only allocated when full, or to compact it once mostly empty; iterations already started
+ * continue over the previous one.
+ */
+final class EntityBucket<T extends Entity> extends AbstractCollection<T> {
+    private static final VarHandle ENTRIES = MethodHandles.arrayElementVarHandle(Entity[].class);
+    private static final int INITIAL_CAPACITY = 4;
+
+    private volatile Entity[] entries = new Entity[INITIAL_CAPACITY];
+    private volatile int size;
+    // Lowest index which may be empty
+    private int freeIndex;
+
+    synchronized void addEntity(@NotNull T entity) {
+        Entity[] entries = this.entries;
+        final int length = entries.length;
+        for (int i = freeIndex; i < length; i++) {
+            if (entries[i] == null) {
+                ENTRIES.setRelease(entries, i, entity);
+                this.freeIndex = i + 1;
+                this.size++;
+                return;
+            }
+        }
+        // Full, the new array is published after the entity is written
+        final int size = this.size;
+        entries = copy(entries, size, length * 2);
+        entries[size] = entity;
+        this.freeIndex = size + 1;
+        this.entries = entries;
+        this.size = size + 1;
+    }
+
+    synchronized boolean removeEntity(@NotNull T entity) {
+        Entity[] entries = this.entries;
+        for (int i = 0; i < entries.length; i++) {
+            if (entries[i] != entity) continue;
+            ENTRIES.setRelease(entries, i, null);
+            final int size = this.size - 1;
+            this.size = size;
+            if (entries.length > INITIAL_CAPACITY && size <= entries.length / 4) {
+                // Mostly empty, compact
+                this.entries = copy(entries, size, Math.max(INITIAL_CAPACITY, size * 2));
+                this.freeIndex = size;
+            } else if (i < freeIndex) {
+                this.freeIndex = i;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        final Entity[] entries = this.entries;
+        for (int i = 0; i < entries.length; i++) {
+            final Entity entity = (Entity) ENTRIES.getAcquire(entries, i);
+            if (entity != null) action.accept((T) entity);
+        }
+    }
+
+    @Override
+    public @NotNull Iterator<T> iterator() {
+        final Entity[] entries = this.entries;
+        return new Iterator<>() {
+            private int index;
+            private Entity next = advance();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                final Entity entity = this.next;
+                if (entity == null) throw new NoSuchElementException();
+                this.next = advance();
+                return (T) entity;
+            }
+
+            private Entity advance() {
+                while (index < entries.length) {
+                    final Entity entity = (Entity) ENTRIES.getAcquire(entries, index++);
+                    if (entity != null) return entity;
+                }
+                return null;
+            }
+        };
+    }
+
+    private static Entity[] copy(Entity[] entries, int size, int capacity) {
+        Entity[] result = new Entity[capacity];
+        int index = 0;
+        for (Entity entity : entries) {
+            if (entity != null) result[index++] = entity;
+        }
+        assert index == size;
+        return result;
+    }
+}
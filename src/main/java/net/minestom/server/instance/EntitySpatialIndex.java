@@ -0,0 +1,289 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.collision.BoundingBox;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.entity.Entity;
+import org.jetbrains.annotations.NotNull;
+import space.vectrix.flare.fastutil.Long2ObjectSyncMap;
+
+import java.util.function.Consumer;
+
+/**
+ * Entities grouped in 4x4x4 cells, keyed by the packed cell coordinates.
+ * <p>
+ * Positions and bounding boxes are stored inline in each cell so that queries do not need any lookup per entity.
+ * Modifications are synchronized per cell, queries are lock-free and weakly consistent:
+ * an entity moving concurrently may or may not be returned.
+ */
+final class EntitySpatialIndex {
+    private static final int CELL_SHIFT = 2;
+    private static final int CELL_SIZE = 1 << CELL_SHIFT;
+    // x, y, z, minX, minY, minZ, maxX, maxY, maxZ
+    private static final int STRIDE = 9;
+
+    private final Long2ObjectSyncMap<Cell> cells = Long2ObjectSyncMap.hashmap();
+    // Largest bounding box offsets, used to widen the cells lookup of box queries
+    private volatile double maxHorizontalExtent, maxVerticalExtent;
+
+    void add(@NotNull Entity entity, @NotNull Point point) {
+        final BoundingBox boundingBox = entity.getBoundingBox();
+        updateExtents(boundingBox);
+        while (true) {
+            final Cell cell = cells.computeIfAbsent(cellIndex(point), Cell::new);
+            synchronized (cell) {
+                if (cell.removed) continue;
+                cell.add(entity, point, boundingBox);
+                return;
+            }
+        }
+    }
+
+    void remove(@NotNull Entity entity, @NotNull Point point) {
+        final long index = cellIndex(point);
+        final Cell cell = cells.get(index);
+        if (cell == null) return;
+        synchronized (cell) {
+            if (cell.remove(entity) && cell.size == 0) {
+                cell.removed = true;
+                this.cells.remove(index, cell);
+            }
+        }
+    }
+
+    void move(@NotNull Entity entity, @NotNull Point oldPoint, @NotNull Point newPoint) {
+        final long oldIndex = cellIndex(oldPoint);
+        if (oldIndex == cellIndex(newPoint)) {
+            final Cell cell = cells.get(oldIndex);
+            if (cell != null) {
+                final BoundingBox boundingBox = entity.getBoundingBox();
+                updateExtents(boundingBox);
+                synchronized (cell) {
+                    if (!cell.removed && cell.update(entity, newPoint, boundingBox)) return;
+                }
+            }
+            add(entity, newPoint);
+            return;
+        }
+        remove(entity, oldPoint);
+        add(entity, newPoint);
+    }
+
+    /**
+     * Finds the entities whose position is within {@code range} of a point.
+     */
+    @SuppressWarnings("unchecked")
+    <T extends Entity> void sphere(double x, double y, double z, double range,
+                                   @NotNull Class<T> type, @NotNull Consumer<T> query) {
+        final double squaredRange = range * range;
+        forCells(x - range, y - range, z - range, x + range, y + range, z + range, cell -> {
+            final Entity[] entities = cell.entities;
+            final double[] data = cell.data;
+            final int size = cell.readableSize(entities, data);
+            for (int i = 0; i < size; i++) {
+                final Entity entity = entities[i];
+                if (entity == null || !type.isInstance(entity)) continue;
+                final int offset = i * STRIDE;
+                final double dx = data[offset] - x, dy = data[offset + 1] - y, dz = data[offset + 2] - z;
+                if (dx * dx + dy * dy + dz * dz <= squaredRange) query.accept((T) entity);
+            }
+        });
+    }
+
+    /**
+     * Finds the entities whose bounding box intersects an area.
+     */
+    @SuppressWarnings("unchecked")
+    <T extends Entity> void box(double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+                                @NotNull Class<T> type, @NotNull Consumer<T> query) {
+        final double horizontal = maxHorizontalExtent, vertical = maxVerticalExtent;
+        forCells(minX - horizontal, minY - vertical, minZ - horizontal,
+                maxX + horizontal, maxY + vertical, maxZ + horizontal, cell -> {
+                    final Entity[] entities = cell.entities;
+                    final double[] data = cell.data;
+                    final int size = cell.readableSize(entities, data);
+                    for (int i = 0; i < size; i++) {
+                        final Entity entity = entities[i];
+                        if (entity == null || !type.isInstance(entity)) continue;
+                        final int offset = i * STRIDE;
+                        if (data[offset + 3] <= maxX && data[offset + 6] >= minX &&
+                                data[offset + 4] <= maxY && data[offset + 7] >= minY &&
+                                data[offset + 5] <= maxZ && data[offset + 8] >= minZ) {
+                            query.accept((T) entity);
+                        }
+                    }
+                });
+    }
+
+    /**
+     * Finds the entities whose bounding box is crossed by a ray.
+     * <p>
+     * The direction does not need to be normalized.
+     */
+    @SuppressWarnings("unchecked")
+    <T extends Entity> void ray(double originX, double originY, double originZ,
+                                double directionX, double directionY, double directionZ, double maxDistance,
+                                @NotNull Class<T> type, @NotNull Consumer<T> query) {
+        final double length = Math.sqrt(directionX * directionX + directionY * directionY + directionZ * directionZ);
+        if (length == 0) return;
+        final double dx = directionX / length, dy = directionY / length, dz = directionZ / length;
+        final double endX = originX + dx * maxDistance, endY = originY + dy * maxDistance, endZ = originZ + dz * maxDistance;
+        final double horizontal = maxHorizontalExtent, vertical = maxVerticalExtent;
+        // Cells further than this from the ray cannot contain a crossed entity
+        final double halfDiagonal = Math.sqrt(3) * CELL_SIZE / 2;
+        final double maxCellDistance = halfDiagonal + Math.sqrt(2 * horizontal * horizontal + vertical * vertical);
+        final double inverseX = 1 / dx, inverseY = 1 / dy, inverseZ = 1 / dz;
+        forCells(Math.min(originX, endX) - horizontal, Math.min(originY, endY) - vertical, Math.min(originZ, endZ) - horizontal,
+                Math.max(originX, endX) + horizontal, Math.max(originY, endY) + vertical, Math.max(originZ, endZ) + horizontal, cell -> {
+                    // Skip the cells far from the ray
+                    final double centerX = (cell.x << CELL_SHIFT) + CELL_SIZE / 2d - originX;
+                    final double centerY = (cell.y << CELL_SHIFT) + CELL_SIZE / 2d - originY;
+                    final double centerZ = (cell.z << CELL_SHIFT) + CELL_SIZE / 2d - originZ;
+                    final double projection = Math.max(0, Math.min(maxDistance, centerX * dx + centerY * dy + centerZ * dz));
+                    final double offX = centerX - dx * projection, offY = centerY - dy * projection, offZ = centerZ - dz * projection;
+                    if (offX * offX + offY * offY + offZ * offZ > maxCellDistance * maxCellDistance) return;
+
+                    final Entity[] entities = cell.entities;
+                    final double[] data = cell.data;
+                    final int size = cell.readableSize(entities, data);
+                    for (int i = 0; i < size; i++) {
+                        final Entity entity = entities[i];
+                        if (entity == null || !type.isInstance(entity)) continue;
+                        final int offset = i * STRIDE;
+                        // Slab intersection
+                        final double tx1 = (data[offset + 3] - originX) * inverseX, tx2 = (data[offset + 6] - originX) * inverseX;
+                        final double ty1 = (data[offset + 4] - originY) * inverseY, ty2 = (data[offset + 7] - originY) * inverseY;
+                        final double tz1 = (data[offset + 5] - originZ) * inverseZ, tz2 = (data[offset + 8] - originZ) * inverseZ;
+                        final double tMin = Math.max(Math.max(Math.min(tx1, tx2), Math.min(ty1, ty2)), Math.min(tz1, tz2));
+                        final double tMax = Math.min(Math.min(Math.max(tx1, tx2), Math.max(ty1, ty2)), Math.max(tz1, tz2));
+                        if (tMax >= Math.max(0, tMin) && tMin <= maxDistance) query.accept((T) entity);
+                    }
+                });
+    }
+
+    private void forCells(double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+                          Consumer<Cell> consumer) {
+        final int minCellX = cellCoordinate(minX), minCellY = cellCoordinate(minY), minCellZ = cellCoordinate(minZ);
+        final int maxCellX = cellCoordinate(maxX), maxCellY = cellCoordinate(maxY), maxCellZ = cellCoordinate(maxZ);
+        final long volume = (long) (maxCellX - minCellX + 1) * (maxCellY - minCellY + 1) * (maxCellZ - minCellZ + 1);
+        if (volume > cells.size()) {
+            // Fewer occupied cells than cells in the area
+            for (Cell cell : cells.values()) {
+                if (cell.x < minCellX || cell.x > maxCellX ||
+                        cell.y < minCellY || cell.y > maxCellY ||
+                        cell.z < minCellZ || cell.z > maxCellZ) continue;
+                consumer.accept(cell);
+            }
+            return;
+        }
+        for (int x = minCellX; x <= maxCellX; x++) {
+            for (int z = minCellZ; z <= maxCellZ; z++) {
+                for (int y = minCellY; y <= maxCellY; y++) {
+                    final Cell cell = cells.get(cellIndex(x, y, z));
+                    if (cell != null) consumer.accept(cell);
+                }
+            }
+        }
+    }
+
+    private void updateExtents(BoundingBox boundingBox) {
+        final double horizontal = Math.max(Math.max(-boundingBox.minX(), boundingBox.maxX()),
+                Math.max(-boundingBox.minZ(), boundingBox.maxZ()));
+        final double vertical = Math.max(-boundingBox.minY(), boundingBox.maxY());
+        if (horizontal > maxHorizontalExtent || vertical > maxVerticalExtent) {
+            synchronized (this) {
+                this.maxHorizontalExtent = Math.max(maxHorizontalExtent, horizontal);
+                this.maxVerticalExtent = Math.max(maxVerticalExtent, vertical);
+            }
+        }
+    }
+
+    private static int cellCoordinate(double xyz) {
+        return (int) Math.floor(xyz) >> CELL_SHIFT;
+    }
+
+    private static long cellIndex(Point point) {
+        return cellIndex(cellCoordinate(point.x()), cellCoordinate(point.y()), cellCoordinate(point.z()));
+    }
+
+    private static long cellIndex(int x, int y, int z) {
+        return ((long) x & 0x3FFFFFF) << 38 | ((long) z & 0x3FFFFFF) << 12 | (long) y & 0xFFF;
+    }
+
+    private static final class Cell {
+        final int x, y, z;
+        Entity[] entities = new Entity[2];
+        double[] data = new double[2 * STRIDE];
+        volatile int size;
+        boolean removed;
+
+        Cell(long index) {
+            this.x = (int) (index >> 38);
+            this.y = (int) (index << 52 >> 52);
+            this.z = (int) (index << 26 >> 38);
+        }
+
+        int readableSize(Entity[] entities, double[] data) {
+            return Math.min(size, Math.min(entities.length, data.length / STRIDE));
+        }
+
+        void add(Entity entity, Point point, BoundingBox boundingBox) {
+            final int size = this.size;
+            if (size == entities.length) {
+                final int newLength = size * 2;
+                double[] newData = new double[newLength * STRIDE];
+                System.arraycopy(data, 0, newData, 0, size * STRIDE);
+                Entity[] newEntities = new Entity[newLength];
+                System.arraycopy(entities, 0, newEntities, 0, size);
+                this.data = newData;
+                this.entities = newEntities;
+            }
+            write(size, point, boundingBox);
+            this.entities[size] = entity;
+            this.size = size + 1;
+        }
+
+        boolean update(Entity entity, Point point, BoundingBox boundingBox) {
+            final int index = indexOf(entity);
+            if (index == -1) return false;
+            write(index, point, boundingBox);
+            return true;
+        }
+
+        boolean remove(Entity entity) {
+            final int index = indexOf(entity);
+            if (index == -1) return false;
+            final int last = size - 1;
+            if (index != last) {
+                System.arraycopy(data, last * STRIDE, data, index * STRIDE, STRIDE);
+                this.entities[index] = entities[last];
+            }
+            this.entities[last] = null;
+            this.size = last;
+            return true;
+        }
+
+        private int indexOf(Entity entity) {
+            final Entity[] entities = this.entities;
+            final int size = this.size;
+            for (int i = 0; i < size; i++) {
+                if (entities[i] == entity) return i;
+            }
+            return -1;
+        }
+
+        private void write(int index, Point point, BoundingBox boundingBox) {
+            final double x = point.x(), y = point.y(), z = point.z();
+            final double[] data = this.data;
+            final int offset = index * STRIDE;
+            data[offset] = x;
+            data[offset + 1] = y;
+            data[offset + 2] = z;
+            data[offset + 3] = x + boundingBox.minX();
+            data[offset + 4] = y + boundingBox.minY();
+            data[offset + 5] = z + boundingBox.minZ();
+            data[offset + 6] = x + boundingBox.maxX();
+            data[offset + 7] = y + boundingBox.maxY();
+            data[offset + 8] = z + boundingBox.maxZ();
+        }
+    }
+}
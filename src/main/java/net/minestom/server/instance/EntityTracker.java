@@ -63,6 +63,21 @@ public sealed interface EntityTracker permits EntityTrackerImpl {
     <T extends Entity> void nearbyEntities(@NotNull Point point, double range,
                                            @NotNull Target<T> target, @NotNull Consumer<T> query);
 
+    /**
+     * Gets the entities whose bounding box intersects the area between two corners.
+     */
+    <T extends Entity> void intersectingEntities(@NotNull Point start, @NotNull Point end,
+                                                 @NotNull Target<T> target, @NotNull Consumer<T> query);
+
+    /**
+     * Gets the entities whose bounding box is crossed by a ray, in no particular order.
+     *
+     * @param direction   the ray direction, does not need to be normalized
+     * @param maxDistance the ray length
+     */
+    <T extends Entity> void raycastEntities(@NotNull Point origin, @NotNull Point direction, double maxDistance,
+                                            @NotNull Target<T> target, @NotNull Consumer<T> query);
+
     /**
      * Gets all the entities tracked by this class.
      */
@@ -3,7 +3,6 @@ package net.minestom.server.instance;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.entity.Entity;
-import net.minestom.server.utils.chunk.ChunkUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
@@ -13,10 +12,8 @@ import space.vectrix.flare.fastutil.Long2ObjectSyncMap;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -30,12 +27,15 @@ final class EntityTrackerImpl implements EntityTracker {
     // The array index is the Target enum ordinal
     final TargetEntry<Entity>[] entries = EntityTracker.Target.TARGETS.stream().map((Function<Target<?>, TargetEntry>) TargetEntry::new).toArray(TargetEntry[]::new);
     private final Int2ObjectSyncMap<Point> entityPositions = Int2ObjectSyncMap.hashmap();
+    // Exact positions and bounding boxes, used by the range queries
+    private final EntitySpatialIndex spatialIndex = new EntitySpatialIndex();
 
     @Override
     public <T extends Entity> void register(@NotNull Entity entity, @NotNull Point point,
                                             @NotNull Target<T> target, @Nullable Update<T> update) {
         var prevPoint = entityPositions.putIfAbsent(entity.getEntityId(), point);
         if (prevPoint != null) return;
+        spatialIndex.add(entity, point);
         final long index = getChunkIndex(point);
         for (TargetEntry<Entity> entry : entries) {
             if (entry.target.type().isInstance(entity)) {
@@ -57,6 +57,7 @@ final class EntityTrackerImpl implements EntityTracker {
                                               @NotNull Target<T> target, @Nullable Update<T> update) {
         final Point point = entityPositions.remove(entity.getEntityId());
         if (point == null) return;
+        spatialIndex.remove(entity, point);
         final long index = getChunkIndex(point);
         for (TargetEntry<Entity> entry : entries) {
             if (entry.target.type().isInstance(entity)) {
@@ -77,7 +78,9 @@ final class EntityTrackerImpl implements EntityTracker {
     public <T extends Entity> void move(@NotNull Entity entity, @NotNull Point newPoint,
                                         @NotNull Target<T> target, @Nullable Update<T> update) {
         Point oldPoint = entityPositions.put(entity.getEntityId(), newPoint);
-        if (oldPoint == null || oldPoint.sameChunk(newPoint)) return;
+        if (oldPoint == null) return;
+        spatialIndex.move(entity, oldPoint, newPoint);
+        if (oldPoint.sameChunk(newPoint)) return;
         final long oldIndex = getChunkIndex(oldPoint);
         final long newIndex = getChunkIndex(newPoint);
         for (TargetEntry<Entity> entry : entries) {
@@ -106,23 +109,23 @@ final class EntityTrackerImpl implements EntityTracker {
     public @Unmodifiable <T extends Entity> Collection<T> chunkEntities(int chunkX, int chunkZ, @NotNull Target<T> target) {
         final TargetEntry<Entity> entry = entries[target.ordinal()];
         //noinspection unchecked
-        var chunkEntities = (List<T>) entry.chunkEntities(getChunkIndex(chunkX, chunkZ));
-        return Collections.unmodifiableList(chunkEntities);
+        var chunkEntities = (Collection<T>) entry.chunkEntities(getChunkIndex(chunkX, chunkZ));
+        return Collections.unmodifiableCollection(chunkEntities);
     }
 
     @Override
     public <T extends Entity> void nearbyEntitiesByChunkRange(@NotNull Point point, int chunkRange, @NotNull Target<T> target, @NotNull Consumer<T> query) {
-        final Long2ObjectSyncMap<List<Entity>> entities = entries[target.ordinal()].chunkEntities;
+        final Long2ObjectSyncMap<EntityBucket<Entity>> entities = entries[target.ordinal()].chunkEntities;
         if (chunkRange == 0) {
             // Single chunk
-            final var chunkEntities = (List<T>) entities.get(getChunkIndex(point));
+            final var chunkEntities = (EntityBucket<T>) entities.get(getChunkIndex(point));
             if (chunkEntities != null && !chunkEntities.isEmpty()) {
                 chunkEntities.forEach(query);
             }
         } else {
             // Multiple chunks
             forChunksInRange(point, chunkRange, (chunkX, chunkZ) -> {
-                final var chunkEntities = (List<T>) entities.get(getChunkIndex(chunkX, chunkZ));
+                final var chunkEntities = (EntityBucket<T>) entities.get(getChunkIndex(chunkX, chunkZ));
                 if (chunkEntities == null || chunkEntities.isEmpty()) return;
                 chunkEntities.forEach(query);
             });
@@ -131,35 +134,22 @@ final class EntityTrackerImpl implements EntityTracker {
 
     @Override
     public <T extends Entity> void nearbyEntities(@NotNull Point point, double range, @NotNull Target<T> target, @NotNull Consumer<T> query) {
-        final Long2ObjectSyncMap<List<Entity>> entities = entries[target.ordinal()].chunkEntities;
-        final int minChunkX = ChunkUtils.getChunkCoordinate(point.x() - range);
-        final int minChunkZ = ChunkUtils.getChunkCoordinate(point.z() - range);
-        final int maxChunkX = ChunkUtils.getChunkCoordinate(point.x() + range);
-        final int maxChunkZ = ChunkUtils.getChunkCoordinate(point.z() + range);
-        final double squaredRange = range * range;
-        if (minChunkX == maxChunkX && minChunkZ == maxChunkZ) {
-            // Single chunk
-            final var chunkEntities = (List<T>) entities.get(getChunkIndex(point));
-            if (chunkEntities != null && !chunkEntities.isEmpty()) {
-                chunkEntities.forEach(entity -> {
-                    final Point position = entityPositions.get(entity.getEntityId());
-                    if (point.distanceSquared(position) <= squaredRange) query.accept(entity);
-                });
-            }
-        } else {
-            // Multiple chunks
-            final int chunkRange = (int) (range / Chunk.CHUNK_SECTION_SIZE) + 1;
-            forChunksInRange(point, chunkRange, (chunkX, chunkZ) -> {
-                final var chunkEntities = (List<T>) entities.get(getChunkIndex(chunkX, chunkZ));
-                if (chunkEntities == null || chunkEntities.isEmpty()) return;
-                chunkEntities.forEach(entity -> {
-                    final Point position = entityPositions.get(entity.getEntityId());
-                    if (point.distanceSquared(position) <= squaredRange) {
-                        query.accept(entity);
-                    }
-                });
-            });
-        }
+        spatialIndex.sphere(point.x(), point.y(), point.z(), range, target.type(), query);
+    }
+
+    @Override
+    public <T extends Entity> void intersectingEntities(@NotNull Point start, @NotNull Point end,
+                                                        @NotNull Target<T> target, @NotNull Consumer<T> query) {
+        spatialIndex.box(Math.min(start.x(), end.x()), Math.min(start.y(), end.y()), Math.min(start.z(), end.z()),
+                Math.max(start.x(), end.x()), Math.max(start.y(), end.y()), Math.max(start.z(), end.z()),
+                target.type(), query);
+    }
+
+    @Override
+    public <T extends Entity> void raycastEntities(@NotNull Point origin, @NotNull Point direction, double maxDistance,
+                                                   @NotNull Target<T> target, @NotNull Consumer<T> query) {
+        spatialIndex.ray(origin.x(), origin.y(), origin.z(), direction.x(), direction.y(), direction.z(), maxDistance,
+                target.type(), query);
     }
 
     @Override
@@ -174,14 +164,14 @@ final class EntityTrackerImpl implements EntityTracker {
         forDifferingChunksInRange(newPoint.chunkX(), newPoint.chunkZ(), oldPoint.chunkX(), oldPoint.chunkZ(),
                 MinecraftServer.getEntityViewDistance(), (chunkX, chunkZ) -> {
                     // Add
-                    final List<Entity> entities = entry.chunkEntities.get(getChunkIndex(chunkX, chunkZ));
+                    final EntityBucket<Entity> entities = entry.chunkEntities.get(getChunkIndex(chunkX, chunkZ));
                     if (entities == null || entities.isEmpty()) return;
-                    for (Entity entity : entities) update.add((T) entity);
+                    entities.forEach(entity -> update.add((T) entity));
                 }, (chunkX, chunkZ) -> {
                     // Remove
-                    final List<Entity> entities = entry.chunkEntities.get(getChunkIndex(chunkX, chunkZ));
+                    final EntityBucket<Entity> entities = entry.chunkEntities.get(getChunkIndex(chunkX, chunkZ));
                     if (entities == null || entities.isEmpty()) return;
-                    for (Entity entity : entities) update.remove((T) entity);
+                    entities.forEach(entity -> update.remove((T) entity));
                 });
     }
 
@@ -190,23 +180,23 @@ final class EntityTrackerImpl implements EntityTracker {
         private final Set<T> entities = ConcurrentHashMap.newKeySet(); // Thread-safe since exposed
         private final Set<T> entitiesView = Collections.unmodifiableSet(entities);
         // Chunk index -> entities inside it
-        final Long2ObjectSyncMap<List<T>> chunkEntities = Long2ObjectSyncMap.hashmap();
+        final Long2ObjectSyncMap<EntityBucket<T>> chunkEntities = Long2ObjectSyncMap.hashmap();
 
         TargetEntry(Target<T> target) {
             this.target = target;
         }
 
-        List<T> chunkEntities(long index) {
-            return chunkEntities.computeIfAbsent(index, i -> (List<T>) new CopyOnWriteArrayList());
+        EntityBucket<T> chunkEntities(long index) {
+            return chunkEntities.computeIfAbsent(index, i -> new EntityBucket<>());
         }
 
         void addToChunk(long index, T entity) {
-            chunkEntities(index).add(entity);
+            chunkEntities(index).addEntity(entity);
         }
 
         void removeFromChunk(long index, T entity) {
-            List<T> entities = chunkEntities.get(index);
-            if (entities != null) entities.remove(entity);
+            EntityBucket<T> entities = chunkEntities.get(index);
+            if (entities != null) entities.removeEntity(entity);
         }
     }
 }
@@ -1,14 +1,13 @@
 package net.minestom.server.instance;
 
-import net.minestom.server.MinecraftServer;
 import net.minestom.server.utils.async.AsyncUtils;
+import net.minestom.server.utils.async.BlockingExecutor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -60,15 +59,11 @@ public interface IChunkLoader {
      */
     default @NotNull CompletableFuture<Void> saveChunks(@NotNull Collection<Chunk> chunks) {
         if (supportsParallelSaving()) {
-            ExecutorService parallelSavingThreadPool = ForkJoinPool.commonPool();
-            chunks.forEach(c -> parallelSavingThreadPool.execute(() -> saveChunk(c)));
-            try {
-                parallelSavingThreadPool.shutdown();
-                parallelSavingThreadPool.awaitTermination(1L, java.util.concurrent.TimeUnit.DAYS);
-            } catch (InterruptedException e) {
-                MinecraftServer.getExceptionManager().handleException(e);
-            }
-            return AsyncUtils.VOID_FUTURE;
+            final Executor executor = BlockingExecutor.get();
+            CompletableFuture<?>[] futures = chunks.stream()
+                    .map(chunk -> CompletableFuture.supplyAsync(() -> saveChunk(chunk), executor).thenCompose(future -> future))
+                    .toArray(CompletableFuture[]::new);
+            return CompletableFuture.allOf(futures);
         } else {
             CompletableFuture<Void> completableFuture = new CompletableFuture<>();
             AtomicInteger counter = new AtomicInteger();
@@ -22,6 +22,7 @@ import net.minestom.server.event.trait.InstanceEvent;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockHandler;
 import net.minestom.server.instance.generator.Generator;
+import net.minestom.server.instance.light.LightEngine;
 import net.minestom.server.network.packet.server.play.BlockActionPacket;
 import net.minestom.server.network.packet.server.play.TimeUpdatePacket;
 import net.minestom.server.snapshot.ChunkSnapshot;
@@ -99,6 +100,9 @@ public abstract class Instance implements Block.Getter, Block.Setter,
     // the explosion supplier
     private ExplosionSupplier explosionSupplier;
 
+    // Lighting, null if disabled
+    private volatile LightEngine lightEngine;
+
     // Pathfinder
     private final PFInstanceSpace instanceSpace = new PFInstanceSpace(this);
 
@@ -696,6 +700,27 @@ public abstract class Instance implements Block.Getter, Block.Setter,
         this.explosionSupplier = supplier;
     }
 
+    /**
+     * Gets the light engine computing the light of this instance's chunks.
+     *
+     * @return the light engine, null if lighting is disabled
+     */
+    public @Nullable LightEngine getLightEngine() {
+        return lightEngine;
+    }
+
+    /**
+     * Changes the light engine of this instance.
+     * <p>
+     * Chunks loaded afterward are fully lit, and block changes update the light incrementally.
+     * Disabled by default, in which case chunks keep the light provided by their loader.
+     *
+     * @param lightEngine the new light engine, null to disable lighting
+     */
+    public void setLightEngine(@Nullable LightEngine lightEngine) {
+        this.lightEngine = lightEngine;
+    }
+
     /**
      * Gets the instance space.
      * <p>
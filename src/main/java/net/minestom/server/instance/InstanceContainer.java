@@ -14,6 +14,7 @@ import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockHandler;
 import net.minestom.server.instance.block.rule.BlockPlacementRule;
 import net.minestom.server.instance.generator.Generator;
+import net.minestom.server.instance.light.LightEngine;
 import net.minestom.server.instance.palette.Palette;
 import net.minestom.server.network.packet.server.play.BlockChangePacket;
 import net.minestom.server.network.packet.server.play.BlockEntityDataPacket;
@@ -21,6 +22,7 @@ import net.minestom.server.network.packet.server.play.EffectPacket;
 import net.minestom.server.network.packet.server.play.UnloadChunkPacket;
 import net.minestom.server.utils.PacketUtils;
 import net.minestom.server.utils.async.AsyncUtils;
+import net.minestom.server.utils.async.BlockingExecutor;
 import net.minestom.server.utils.block.BlockUtils;
 import net.minestom.server.utils.chunk.ChunkCache;
 import net.minestom.server.utils.chunk.ChunkSupplier;
@@ -244,12 +246,27 @@ public class InstanceContainer extends Instance {
 
     @Override
     public @NotNull CompletableFuture<Void> saveChunkToStorage(@NotNull Chunk chunk) {
-        return chunkLoader.saveChunk(chunk);
+        final long time = System.currentTimeMillis();
+        return chunkLoader.saveChunk(chunk).thenRun(() -> chunk.setStorageTime(time));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Chunks which have not changed since they were loaded from or saved to the storage are skipped.
+     */
     @Override
     public @NotNull CompletableFuture<Void> saveChunksToStorage() {
-        return chunkLoader.saveChunks(getChunks());
+        final long time = System.currentTimeMillis();
+        List<Chunk> modifiedChunks = new ArrayList<>();
+        for (Chunk chunk : getChunks()) {
+            // Changes made in the same millisecond as the last save are not guaranteed to be part of it
+            if (chunk.getLastChangeTime() >= chunk.getStorageTime()) modifiedChunks.add(chunk);
+        }
+        if (modifiedChunks.isEmpty()) return AsyncUtils.VOID_FUTURE;
+        return chunkLoader.saveChunks(modifiedChunks).thenRun(() -> {
+            for (Chunk chunk : modifiedChunks) chunk.setStorageTime(time);
+        });
     }
 
     protected @NotNull CompletableFuture<@NotNull Chunk> retrieveChunk(int chunkX, int chunkZ) {
@@ -262,6 +279,7 @@ public class InstanceContainer extends Instance {
                 .thenCompose(chunk -> {
                     if (chunk != null) {
                         // Chunk has been loaded from storage
+                        chunk.setStorageTime(System.currentTimeMillis());
                         return CompletableFuture.completedFuture(chunk);
                     } else {
                         // Loader couldn't load the chunk, generate it
@@ -272,6 +290,8 @@ public class InstanceContainer extends Instance {
                 .thenAccept(chunk -> {
                     // TODO run in the instance thread?
                     cacheChunk(chunk);
+                    final LightEngine lightEngine = getLightEngine();
+                    if (lightEngine != null) lightEngine.relight(chunk);
                     EventDispatcher.call(new InstanceChunkLoadEvent(this, chunk));
                     final CompletableFuture<Chunk> future = this.loadingChunks.remove(index);
                     assert future == completableFuture : "Invalid future: " + future;
@@ -279,10 +299,13 @@ public class InstanceContainer extends Instance {
                 })
                 .exceptionally(throwable -> {
                     MinecraftServer.getExceptionManager().handleException(throwable);
+                    // Never generate over a chunk which could not be loaded, it would be overwritten on save
+                    this.loadingChunks.remove(index, completableFuture);
+                    completableFuture.completeExceptionally(throwable);
                     return null;
                 });
         if (loader.supportsParallelLoading()) {
-            CompletableFuture.runAsync(retriever);
+            CompletableFuture.runAsync(retriever, BlockingExecutor.get());
         } else {
             retriever.run();
         }
@@ -339,6 +362,9 @@ public class InstanceContainer extends Instance {
                     MinecraftServer.getExceptionManager().handleException(e);
                 } finally {
                     // End generation
+                    synchronized (chunk) {
+                        chunk.invalidate();
+                    }
                     chunk.sendChunk();
                     refreshLastBlockChangeTime();
                     resultFuture.complete(chunk);
@@ -370,6 +396,7 @@ public class InstanceContainer extends Instance {
             // -1 is necessary because forked units handle explicit changes by changing AIR 0 to 1
             sectionModifier.blockPalette().getAllPresent((x, y, z, value) -> currentBlocks.set(x, y, z, value - 1));
             applyGenerationData(chunk, sectionModifier);
+            chunk.invalidate();
         }
     }
 
@@ -549,6 +576,7 @@ public class InstanceContainer extends Instance {
      */
     public void setChunkLoader(IChunkLoader chunkLoader) {
         this.chunkLoader = chunkLoader;
+        for (Chunk chunk : getChunks()) chunk.setStorageTime(0);
     }
 
     @Override
@@ -0,0 +1,325 @@
+package net.minestom.server.instance;
+
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.block.BlockHandler;
+import net.minestom.server.instance.palette.Palette;
+import net.minestom.server.instance.storage.CompressionCodec;
+import net.minestom.server.instance.storage.RegionFile;
+import net.minestom.server.instance.storage.RegionFileCache;
+import net.minestom.server.utils.MathUtils;
+import net.minestom.server.utils.NamespaceID;
+import net.minestom.server.utils.async.AsyncUtils;
+import net.minestom.server.utils.async.BlockingExecutor;
+import net.minestom.server.utils.binary.BinaryReader;
+import net.minestom.server.utils.binary.BinaryWriter;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import net.minestom.server.utils.validate.Check;
+import net.minestom.server.world.biomes.Biome;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jglrxavpok.hephaistos.nbt.NBTCompound;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * A chunk loader storing chunks in a Minestom-specific format, close to the network protocol.
+ * <p>
+ * Sections are stored as their palette values and packed indices, loaded back with
+ * {@link Palette#setPacked(int[], long[], int)} without going through NBT or block names.
+ * Light arrays and block entity NBT are stored as is, and the heightmaps are computed on load.
+ * <p>
+ * Chunks are stored in {@link RegionFile region files}, optionally compressed by a {@link CompressionCodec}.
+ * Block states are stored by id, a world can only be loaded by the Minecraft version which saved it.
+ */
+@ApiStatus.Experimental
+public class NativeChunkLoader implements IChunkLoader {
+    private final static Logger LOGGER = LoggerFactory.getLogger(NativeChunkLoader.class);
+    public static final String EXTENSION = "msr";
+    private static final int FORMAT_VERSION = 1;
+    private static final int MAX_OPEN_REGIONS = Integer.getInteger("minestom.native-loader.max-open-regions", 256);
+
+    private final RegionFileCache regions;
+    private final CompressionCodec codec;
+
+    /**
+     * @param directory the directory of the region files
+     * @param codec     the compression of the saved chunks
+     * @throws IllegalArgumentException if a custom codec uses an id reserved to the built-in compressions
+     */
+    public NativeChunkLoader(@NotNull Path directory, @NotNull CompressionCodec codec) {
+        final byte id = codec.id();
+        final boolean builtin = codec instanceof CompressionCodec.NoneCodec || codec instanceof CompressionCodec.DeflateCodec;
+        Check.argCondition(id < 0 || !builtin && id >= RegionFile.COMPRESSION_GZIP && id <= RegionFile.COMPRESSION_NONE,
+                "Invalid compression codec id: {0}", id);
+        this.regions = new RegionFileCache(directory, EXTENSION, MAX_OPEN_REGIONS);
+        this.codec = codec;
+    }
+
+    /**
+     * Creates a loader storing uncompressed chunks.
+     *
+     * @param directory the directory of the region files
+     */
+    public NativeChunkLoader(@NotNull Path directory) {
+        this(directory, CompressionCodec.none());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Fails if the chunk is stored but cannot be read, for example if it has been saved by another Minecraft version.
+     */
+    @Override
+    public @NotNull CompletableFuture<@Nullable Chunk> loadChunk(@NotNull Instance instance, int chunkX, int chunkZ) {
+        try {
+            final RegionFile region = regions.acquire(RegionFile.chunkToRegion(chunkX), RegionFile.chunkToRegion(chunkZ), false);
+            if (region == null) return CompletableFuture.completedFuture(null);
+            final RegionFile.Entry entry;
+            try {
+                entry = region.read(chunkX, chunkZ);
+            } finally {
+                regions.release(region);
+            }
+            if (entry == null) return CompletableFuture.completedFuture(null);
+            final byte[] data = codec(entry.compression()).decompress(entry.data());
+            return CompletableFuture.completedFuture(read(instance, chunkX, chunkZ, data));
+        } catch (IOException e) {
+            // Not reported as missing, the chunk would be generated again and overwrite the stored one
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> saveChunk(@NotNull Chunk chunk) {
+        return saveRegion(RegionFile.chunkToRegion(chunk.getChunkX()), RegionFile.chunkToRegion(chunk.getChunkZ()), List.of(chunk));
+    }
+
+    /**
+     * Saves the chunks of each region in a single write, and the regions in parallel.
+     */
+    @Override
+    public @NotNull CompletableFuture<Void> saveChunks(@NotNull Collection<Chunk> chunks) {
+        Map<Long, List<Chunk>> regions = new HashMap<>();
+        for (Chunk chunk : chunks) {
+            final long regionIndex = ChunkUtils.getChunkIndex(RegionFile.chunkToRegion(chunk.getChunkX()),
+                    RegionFile.chunkToRegion(chunk.getChunkZ()));
+            regions.computeIfAbsent(regionIndex, index -> new ArrayList<>()).add(chunk);
+        }
+        final Executor executor = BlockingExecutor.get();
+        CompletableFuture<?>[] futures = regions.entrySet().stream()
+                .map(entry -> CompletableFuture.supplyAsync(() -> saveRegion(ChunkUtils.getChunkCoordX(entry.getKey()),
+                        ChunkUtils.getChunkCoordZ(entry.getKey()), entry.getValue()), executor).thenCompose(future -> future))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(futures);
+    }
+
+    @Override
+    public boolean supportsParallelLoading() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsParallelSaving() {
+        return true;
+    }
+
+    private @NotNull CompletableFuture<Void> saveRegion(int regionX, int regionZ, @NotNull List<Chunk> chunks) {
+        RegionFile region = null;
+        try {
+            region = regions.acquire(regionX, regionZ, true);
+            assert region != null;
+            List<RegionFile.Entry> entries = new ArrayList<>(chunks.size());
+            for (Chunk chunk : chunks) {
+                final byte[] data;
+                synchronized (chunk) {
+                    data = write(chunk);
+                }
+                entries.add(new RegionFile.Entry(chunk.getChunkX(), chunk.getChunkZ(), codec.id(), codec.compress(data)));
+            }
+            region.write(entries);
+        } catch (IOException e) {
+            LOGGER.error("Failed to save chunks of region " + regionX + ", " + regionZ, e);
+            MinecraftServer.getExceptionManager().handleException(e);
+            return CompletableFuture.failedFuture(e);
+        } finally {
+            if (region != null) {
+                try {
+                    regions.release(region);
+                } catch (IOException e) {
+                    MinecraftServer.getExceptionManager().handleException(e);
+                }
+            }
+        }
+        return AsyncUtils.VOID_FUTURE;
+    }
+
+    private @NotNull CompressionCodec codec(byte id) throws IOException {
+        if (id == codec.id()) return codec;
+        if (id == RegionFile.COMPRESSION_NONE) return CompressionCodec.none();
+        if (id == RegionFile.COMPRESSION_ZLIB) return CompressionCodec.deflate(6);
+        throw new IOException("Unknown compression codec: " + id);
+    }
+
+    private static @NotNull Chunk read(Instance instance, int chunkX, int chunkZ, byte[] data) throws IOException {
+        BinaryReader reader = new BinaryReader(data);
+        final int formatVersion = reader.readVarInt();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IOException("Unsupported format version " + formatVersion + " of chunk " + chunkX + ", " + chunkZ);
+        }
+        final int protocolVersion = reader.readVarInt();
+        if (protocolVersion != MinecraftServer.PROTOCOL_VERSION) {
+            throw new IOException("Chunk " + chunkX + ", " + chunkZ + " has been saved with protocol version " + protocolVersion +
+                    ", its block states cannot be loaded by protocol version " + MinecraftServer.PROTOCOL_VERSION);
+        }
+        Chunk chunk = new DynamicChunk(instance, chunkX, chunkZ);
+        final int minSection = reader.readVarInt();
+        final int sectionCount = reader.readVarInt();
+        if (minSection < chunk.getMinSection() || minSection + sectionCount > chunk.getMaxSection()) {
+            throw new IOException("Chunk " + chunkX + ", " + chunkZ + " has sections from " + minSection + " to " + (minSection + sectionCount) +
+                    ", but instance dimension type (" + instance.getDimensionType().getName().asString() + ") has sections from " +
+                    chunk.getMinSection() + " to " + chunk.getMaxSection());
+        }
+        // Biome ids depend on the registration order, they are stored by name
+        final int[] biomeIds = new int[reader.readVarInt()];
+        for (int i = 0; i < biomeIds.length; i++) {
+            final Biome biome = MinecraftServer.getBiomeManager().getByName(NamespaceID.from(reader.readSizedString()));
+            biomeIds[i] = Objects.requireNonNullElse(biome, Biome.PLAINS).id();
+        }
+        synchronized (chunk) {
+            for (int sectionY = minSection; sectionY < minSection + sectionCount; sectionY++) {
+                final Section section = chunk.getSection(sectionY);
+                readPalette(reader, section.blockPalette(), null);
+                readPalette(reader, section.biomePalette(), biomeIds);
+                final byte[] skyLight = reader.readByteArray();
+                final byte[] blockLight = reader.readByteArray();
+                if (skyLight.length != 0) section.setSkyLight(skyLight);
+                if (blockLight.length != 0) section.setBlockLight(blockLight);
+            }
+            // Refresh the heightmaps from the new palettes
+            chunk.invalidate();
+            // Block entities
+            final int blockEntityCount = reader.readVarInt();
+            for (int i = 0; i < blockEntityCount; i++) {
+                final int index = reader.readInt();
+                final String handlerId = reader.readSizedString();
+                final NBTCompound nbt = reader.readBoolean() ? (NBTCompound) reader.readTag() : null;
+                final int x = ChunkUtils.blockIndexToChunkPositionX(index);
+                final int y = ChunkUtils.blockIndexToChunkPositionY(index);
+                final int z = ChunkUtils.blockIndexToChunkPositionZ(index);
+                Block block = chunk.getBlock(x, y, z);
+                if (!handlerId.isEmpty()) block = block.withHandler(MinecraftServer.getBlockManager().getHandlerOrDummy(handlerId));
+                if (nbt != null) block = block.withNbt(nbt);
+                chunk.setBlock(x, y, z, block);
+            }
+        }
+        return chunk;
+    }
+
+    private static void readPalette(BinaryReader reader, Palette palette, int @Nullable [] valueMapping) throws IOException {
+        final int bitsPerEntry = reader.readByte();
+        final int[] values = reader.readVarIntArray();
+        final long[] indices = reader.readLongArray();
+        if (values.length == 0) return;
+        if (valueMapping != null) {
+            for (int i = 0; i < values.length; i++) {
+                final int value = values[i];
+                if (value < 0 || value >= valueMapping.length) throw new IOException("Invalid palette value: " + value);
+                values[i] = valueMapping[value];
+            }
+        }
+        palette.setPacked(values, indices, bitsPerEntry);
+    }
+
+    private static byte @NotNull [] write(Chunk chunk) {
+        final List<Section> sections = chunk.getSections();
+        final IntList values = new IntArrayList();
+        // Biomes used by the chunk, mapped to their index in the written names
+        final Int2IntMap biomeIndices = new Int2IntOpenHashMap();
+        final List<String> biomeNames = new ArrayList<>();
+        BinaryWriter sectionsWriter = new BinaryWriter(sections.size() * 512);
+        for (Section section : sections) {
+            writePalette(sectionsWriter, section.blockPalette().getPacked(values, 4), values, 4);
+            final long[] biomes = section.biomePalette().getPacked(values, 1);
+            for (int i = 0; i < values.size(); i++) {
+                final int biomeId = values.getInt(i);
+                int index = biomeIndices.getOrDefault(biomeId, -1);
+                if (index == -1) {
+                    final Biome biome = MinecraftServer.getBiomeManager().getById(biomeId);
+                    index = biomeNames.size();
+                    biomeIndices.put(biomeId, index);
+                    biomeNames.add(Objects.requireNonNullElse(biome, Biome.PLAINS).name().asString());
+                }
+                values.set(i, index);
+            }
+            writePalette(sectionsWriter, biomes, values, 1);
+            sectionsWriter.writeByteArray(section.getSkyLight());
+            sectionsWriter.writeByteArray(section.getBlockLight());
+        }
+
+        final byte[] sectionsData = sectionsWriter.toByteArray();
+        BinaryWriter writer = new BinaryWriter(sectionsData.length + 256);
+        writer.writeVarInt(FORMAT_VERSION);
+        writer.writeVarInt(MinecraftServer.PROTOCOL_VERSION);
+        writer.writeVarInt(chunk.getMinSection());
+        writer.writeVarInt(sections.size());
+        writer.writeVarInt(biomeNames.size());
+        for (String name : biomeNames) writer.writeSizedString(name);
+        writer.writeBytes(sectionsData);
+        // Block entities, only blocks with a handler or nbt need to be stored
+        BinaryWriter blockEntitiesWriter = new BinaryWriter();
+        int blockEntityCount = 0;
+        if (chunk instanceof DynamicChunk dynamicChunk) {
+            for (Int2ObjectMap.Entry<Block> entry : dynamicChunk.entries.int2ObjectEntrySet()) {
+                if (writeBlockEntity(blockEntitiesWriter, entry.getIntKey(), entry.getValue())) blockEntityCount++;
+            }
+        } else {
+            final int minY = chunk.getMinSection() * Chunk.CHUNK_SECTION_SIZE;
+            final int maxY = chunk.getMaxSection() * Chunk.CHUNK_SECTION_SIZE;
+            for (int x = 0; x < Chunk.CHUNK_SIZE_X; x++) {
+                for (int z = 0; z < Chunk.CHUNK_SIZE_Z; z++) {
+                    for (int y = minY; y < maxY; y++) {
+                        final Block block = chunk.getBlock(x, y, z, Block.Getter.Condition.CACHED);
+                        if (block != null && writeBlockEntity(blockEntitiesWriter, ChunkUtils.getBlockIndex(x, y, z), block)) {
+                            blockEntityCount++;
+                        }
+                    }
+                }
+            }
+        }
+        writer.writeVarInt(blockEntityCount);
+        writer.writeBytes(blockEntitiesWriter.toByteArray());
+        return writer.toByteArray();
+    }
+
+    private static void writePalette(BinaryWriter writer, long[] indices, IntList values, int minBitsPerEntry) {
+        // Bits used by Palette#getPacked
+        final int bitsPerEntry = indices.length != 0 ? Math.max(minBitsPerEntry, MathUtils.bitsToRepresent(values.size() - 1)) : 0;
+        writer.writeByte((byte) bitsPerEntry);
+        writer.writeVarIntArray(values.toIntArray());
+        writer.writeLongArray(indices);
+    }
+
+    private static boolean writeBlockEntity(BinaryWriter writer, int index, Block block) {
+        final BlockHandler handler = block.handler();
+        final NBTCompound nbt = block.nbt();
+        if (handler == null && nbt == null) return false;
+        writer.writeInt(index);
+        writer.writeSizedString(handler != null ? handler.getNamespaceId().asString() : "");
+        writer.writeBoolean(nbt != null);
+        if (nbt != null) writer.writeNBT("", nbt);
+        return true;
+    }
+}
@@ -11,6 +11,10 @@ public final class Section implements Writeable {
     private byte[] skyLight;
     private byte[] blockLight;
 
+    // Serialized palettes, valid as long as the palettes modification counters did not change
+    private byte[] paletteCache;
+    private int blockModifications, biomeModifications;
+
     private Section(Palette blockPalette, Palette biomePalette,
                     byte[] skyLight, byte[] blockLight) {
         this.blockPalette = blockPalette;
@@ -32,6 +36,10 @@ public final class Section implements Writeable {
         return biomePalette;
     }
 
+    /**
+     * The array may be shared with copies of the section, and must be replaced using {@link #setSkyLight(byte[])}
+     * instead of being modified.
+     */
     public byte[] getSkyLight() {
         return skyLight;
     }
@@ -40,6 +48,10 @@ public final class Section implements Writeable {
         this.skyLight = skyLight;
     }
 
+    /**
+     * The array may be shared with copies of the section, and must be replaced using {@link #setBlockLight(byte[])}
+     * instead of being modified.
+     */
     public byte[] getBlockLight() {
         return blockLight;
     }
@@ -55,16 +67,36 @@ public final class Section implements Writeable {
         this.blockLight = new byte[0];
     }
 
+    /**
+     * Copies the section.
+     * <p>
+     * The palettes are copied on write, and the light arrays are shared as they are only ever replaced.
+     */
     @Override
     public @NotNull Section clone() {
-        return new Section(blockPalette.clone(), biomePalette.clone(),
-                skyLight.clone(), blockLight.clone());
+        Section section = new Section(blockPalette.clone(), biomePalette.clone(),
+                skyLight, blockLight);
+        section.paletteCache = paletteCache;
+        section.blockModifications = blockModifications;
+        section.biomeModifications = biomeModifications;
+        return section;
     }
 
     @Override
     public void write(@NotNull BinaryWriter writer) {
-        writer.writeShort((short) blockPalette.count());
-        writer.write(blockPalette);
-        writer.write(biomePalette);
+        final int blockModifications = blockPalette.modifications();
+        final int biomeModifications = biomePalette.modifications();
+        byte[] cache = this.paletteCache;
+        if (cache == null || blockModifications != this.blockModifications ||
+                biomeModifications != this.biomeModifications) {
+            BinaryWriter paletteWriter = new BinaryWriter(512);
+            paletteWriter.writeShort((short) blockPalette.count());
+            paletteWriter.write(blockPalette);
+            paletteWriter.write(biomePalette);
+            this.paletteCache = cache = paletteWriter.toByteArray();
+            this.blockModifications = blockModifications;
+            this.biomeModifications = biomeModifications;
+        }
+        writer.writeBytes(cache);
     }
 }
@@ -0,0 +1,202 @@
+package net.minestom.server.instance.heightmap;
+
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Section;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.palette.Palette;
+import net.minestom.server.utils.MathUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Objects;
+
+import static net.minestom.server.instance.Chunk.CHUNK_SECTION_SIZE;
+import static net.minestom.server.instance.Chunk.CHUNK_SIZE_X;
+import static net.minestom.server.instance.Chunk.CHUNK_SIZE_Z;
+import static net.minestom.server.utils.chunk.ChunkUtils.toSectionRelativeCoordinate;
+
+/**
+ * Per-column height of the highest block matching {@link #checkBlock(Block)}.
+ * <p>
+ * Heights are stored relative to the chunk min Y plus one (0 meaning that the column is empty),
+ * directly packed in the long array format expected by the client.
+ * <p>
+ * WARNING: not thread-safe, the owning chunk must be locked.
+ */
+public abstract class Heightmap {
+    private final Chunk chunk;
+    private final int minY;
+    private final int bitsPerEntry;
+    private final int valuesPerLong;
+    private final long mask;
+    private final long[] data;
+
+    protected Heightmap(@NotNull Chunk chunk) {
+        this.chunk = chunk;
+        this.minY = chunk.getMinSection() * CHUNK_SECTION_SIZE;
+        final int height = (chunk.getMaxSection() - chunk.getMinSection()) * CHUNK_SECTION_SIZE;
+        this.bitsPerEntry = MathUtils.bitsToRepresent(height);
+        this.valuesPerLong = Long.SIZE / bitsPerEntry;
+        this.mask = (1L << bitsPerEntry) - 1;
+        final int size = CHUNK_SIZE_X * CHUNK_SIZE_Z;
+        this.data = new long[(size + valuesPerLong - 1) / valuesPerLong];
+    }
+
+    /**
+     * Gets if a block should be considered by this heightmap.
+     *
+     * @param block the block to check
+     * @return true if the block counts towards the column height
+     */
+    protected abstract boolean checkBlock(@NotNull Block block);
+
+    /**
+     * Gets the name of this heightmap in the chunk packet and the anvil format.
+     *
+     * @return the heightmap name
+     */
+    public abstract @NotNull String NBTName();
+
+    /**
+     * Updates the column after a block change.
+     * <p>
+     * Must be called once the block is present in the section palette,
+     * only the column below {@code y} may be scanned when the top block is removed.
+     *
+     * @param x     the chunk-relative x
+     * @param y     the absolute y
+     * @param z     the chunk-relative z
+     * @param block the new block
+     * @return true if the heightmap changed
+     */
+    public boolean refresh(int x, int y, int z, @NotNull Block block) {
+        x = toSectionRelativeCoordinate(x);
+        z = toSectionRelativeCoordinate(z);
+        final int current = get(x, z);
+        final int height = y - minY + 1;
+        if (checkBlock(block)) {
+            if (height <= current) return false;
+            set(x, z, height);
+            return true;
+        }
+        if (height != current) return false;
+        // The top block has been removed, find the next one below
+        final int newHeight = findHeight(x, y - 1, z);
+        set(x, z, newHeight);
+        return newHeight != current;
+    }
+
+    /**
+     * Recomputes every column from the chunk sections.
+     * <p>
+     * Used when the palettes have been modified without going through {@link Chunk#setBlock(int, int, int, Block)},
+     * for example during generation or loading.
+     */
+    public void refresh() {
+        final List<Section> sections = chunk.getSections();
+        final int columnCount = CHUNK_SIZE_X * CHUNK_SIZE_Z;
+        int[] heights = new int[columnCount];
+        int remaining = columnCount;
+        for (int sectionIndex = sections.size() - 1; sectionIndex >= 0 && remaining > 0; sectionIndex--) {
+            final Palette palette = sections.get(sectionIndex).blockPalette();
+            if (palette.count() == 0) continue;
+            final int sectionMinY = sectionIndex * CHUNK_SECTION_SIZE;
+            for (int z = 0; z < CHUNK_SIZE_Z; z++) {
+                for (int x = 0; x < CHUNK_SIZE_X; x++) {
+                    final int index = x + z * CHUNK_SIZE_X;
+                    if (heights[index] != 0) continue;
+                    for (int y = CHUNK_SECTION_SIZE - 1; y >= 0; y--) {
+                        if (check(palette.get(x, y, z))) {
+                            heights[index] = sectionMinY + y + 1;
+                            remaining--;
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < columnCount; i++) set(i, heights[i]);
+    }
+
+    /**
+     * Gets the height of a column.
+     *
+     * @param x the chunk-relative x
+     * @param z the chunk-relative z
+     * @return the y of the highest matching block relative to the chunk min Y plus one, 0 if none
+     */
+    public int getHeight(int x, int z) {
+        return get(toSectionRelativeCoordinate(x), toSectionRelativeCoordinate(z));
+    }
+
+    /**
+     * Gets the packed heights, in the format expected by the client.
+     * <p>
+     * The array is not copied and should not be modified.
+     *
+     * @return the packed heights
+     */
+    public long @NotNull [] getNBT() {
+        return data;
+    }
+
+    /**
+     * Replaces the heights with already packed data, for example from a loaded chunk.
+     *
+     * @param data the packed heights
+     * @throws IllegalArgumentException if {@code data} does not match this heightmap size
+     */
+    public void loadFrom(long @NotNull [] data) {
+        if (data.length != this.data.length) {
+            throw new IllegalArgumentException("Invalid heightmap length: " + data.length + ", expected " + this.data.length);
+        }
+        System.arraycopy(data, 0, this.data, 0, data.length);
+    }
+
+    /**
+     * Copies the heights of another heightmap of the same type and dimension.
+     *
+     * @param heightmap the heightmap to copy
+     */
+    public void copyFrom(@NotNull Heightmap heightmap) {
+        loadFrom(heightmap.data);
+    }
+
+    private int findHeight(int x, int startY, int z) {
+        final List<Section> sections = chunk.getSections();
+        int y = startY - minY;
+        while (y >= 0) {
+            final int sectionIndex = y / CHUNK_SECTION_SIZE;
+            final Palette palette = sections.get(sectionIndex).blockPalette();
+            if (palette.count() == 0) {
+                // Empty section, skip to the one below
+                y = sectionIndex * CHUNK_SECTION_SIZE - 1;
+                continue;
+            }
+            if (check(palette.get(x, y % CHUNK_SECTION_SIZE, z))) return y + 1;
+            y--;
+        }
+        return 0;
+    }
+
+    private boolean check(int stateId) {
+        return checkBlock(Objects.requireNonNullElse(Block.fromStateId((short) stateId), Block.AIR));
+    }
+
+    private int get(int x, int z) {
+        final int index = x + z * CHUNK_SIZE_X;
+        final int cellIndex = index / valuesPerLong;
+        final int bitIndex = (index % valuesPerLong) * bitsPerEntry;
+        return (int) (data[cellIndex] >> bitIndex & mask);
+    }
+
+    private void set(int x, int z, int height) {
+        set(x + z * CHUNK_SIZE_X, height);
+    }
+
+    private void set(int index, int height) {
+        final int cellIndex = index / valuesPerLong;
+        final int bitIndex = (index % valuesPerLong) * bitsPerEntry;
+        data[cellIndex] = data[cellIndex] & ~(mask << bitIndex) | ((long) height & mask) << bitIndex;
+    }
+}
@@ -0,0 +1,25 @@
+package net.minestom.server.instance.heightmap;
+
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.block.Block;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Highest block that blocks motion or contains a fluid.
+ */
+public final class MotionBlockingHeightmap extends Heightmap {
+    public MotionBlockingHeightmap(@NotNull Chunk chunk) {
+        super(chunk);
+    }
+
+    @Override
+    protected boolean checkBlock(@NotNull Block block) {
+        if (block.isSolid() || block.isLiquid()) return true;
+        return "true".equals(block.getProperty("waterlogged"));
+    }
+
+    @Override
+    public @NotNull String NBTName() {
+        return "MOTION_BLOCKING";
+    }
+}
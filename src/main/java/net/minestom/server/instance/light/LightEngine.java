@@ -0,0 +1,423 @@
+package net.minestom.server.instance.light;
+
+import it.unimi.dsi.fastutil.ints.IntArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.DynamicChunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.Section;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Computes the sky and block light of an {@link Instance} using breadth-first propagation.
+ * <p>
+ * Block changes are queued and applied in batches on the engine executor, outside of the instance tick.
+ * Each batch works on copies of the section light arrays which are swapped in once the batch is done,
+ * only the chunks whose light changed (including neighbours reached across borders) are invalidated and resent.
+ * <p>
+ * Enable it using {@link Instance#setLightEngine(LightEngine)}.
+ */
+public final class LightEngine {
+    private static final int[] DX = {0, 0, -1, 1, 0, 0};
+    private static final int[] DY = {1, -1, 0, 0, 0, 0};
+    private static final int[] DZ = {0, 0, 0, 0, -1, 1};
+    private static final int DOWN = 1;
+
+    private final Instance instance;
+    private final Executor executor;
+    private final int minY, maxY;
+    private final boolean[] lightTypes;
+
+    private final Object pendingLock = new Object();
+    private final LongArrayList pendingBlocks = new LongArrayList();
+    private final List<PendingRelight> pendingRelights = new ArrayList<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    public LightEngine(@NotNull Instance instance, @NotNull Executor executor) {
+        this.instance = instance;
+        this.executor = executor;
+        this.minY = instance.getDimensionType().getMinY();
+        this.maxY = minY + instance.getDimensionType().getHeight();
+        this.lightTypes = instance.getDimensionType().isSkylightEnabled() ?
+                new boolean[]{true, false} : new boolean[]{false};
+    }
+
+    public LightEngine(@NotNull Instance instance) {
+        this(instance, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Queues a light update following a block change.
+     *
+     * @param x the absolute block x
+     * @param y the absolute block y
+     * @param z the absolute block z
+     */
+    public void blockChanged(int x, int y, int z) {
+        synchronized (pendingLock) {
+            this.pendingBlocks.add(pack(x, y, z));
+        }
+        schedule();
+    }
+
+    /**
+     * Queues a full light computation of a chunk, pulling the light of its loaded neighbours.
+     *
+     * @param chunk the chunk to relight
+     * @return a future completed once the new light has been applied
+     */
+    public @NotNull CompletableFuture<Void> relight(@NotNull Chunk chunk) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        synchronized (pendingLock) {
+            this.pendingRelights.add(new PendingRelight(chunk, future));
+        }
+        schedule();
+        return future;
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            this.executor.execute(this::process);
+        }
+    }
+
+    private synchronized void process() {
+        this.scheduled.set(false);
+        final long[] blocks;
+        final List<PendingRelight> relights;
+        synchronized (pendingLock) {
+            blocks = pendingBlocks.toLongArray();
+            relights = List.copyOf(pendingRelights);
+            this.pendingBlocks.clear();
+            this.pendingRelights.clear();
+        }
+        if (blocks.length == 0 && relights.isEmpty()) return;
+        try {
+            Batch batch = new Batch();
+            for (PendingRelight relight : relights) batch.relight(relight.chunk());
+            if (blocks.length != 0) batch.blocksChanged(blocks);
+            batch.publish();
+            for (PendingRelight relight : relights) relight.future().complete(null);
+        } catch (Throwable e) {
+            MinecraftServer.getExceptionManager().handleException(e);
+            for (PendingRelight relight : relights) relight.future().completeExceptionally(e);
+        }
+    }
+
+    static int opacity(int stateId) {
+        final Block block = Block.fromStateId((short) stateId);
+        if (block == null || block.isAir()) return 0;
+        if (block.registry().occludes()) return 15;
+        return block.isLiquid() ? 1 : 0;
+    }
+
+    static int emission(int stateId) {
+        final Block block = Block.fromStateId((short) stateId);
+        return block != null ? block.registry().lightEmission() : 0;
+    }
+
+    private static long pack(int x, int y, int z) {
+        return ((long) x & 0x3FFFFFF) << 38 | ((long) z & 0x3FFFFFF) << 12 | (long) y & 0xFFF;
+    }
+
+    private static int unpackX(long packed) {
+        return (int) (packed >> 38);
+    }
+
+    private static int unpackY(long packed) {
+        return (int) (packed << 52 >> 52);
+    }
+
+    private static int unpackZ(long packed) {
+        return (int) (packed << 26 >> 38);
+    }
+
+    private record PendingRelight(Chunk chunk, CompletableFuture<Void> future) {
+    }
+
+    /**
+     * Light of a single section during a batch.
+     */
+    private static final class SectionLight {
+        static final SectionLight UNLOADED = new SectionLight(null, null);
+
+        final Chunk chunk;
+        final Section section;
+        private int[] states;
+        byte[] sky, block;
+        boolean skyChanged, blockChanged;
+
+        SectionLight(Chunk chunk, Section section) {
+            this.chunk = chunk;
+            this.section = section;
+            if (section != null) {
+                synchronized (chunk) {
+                    this.sky = copy(section.getSkyLight());
+                    this.block = copy(section.getBlockLight());
+                }
+            }
+        }
+
+        int state(int index) {
+            int[] states = this.states;
+            if (states == null) {
+                final int[] copy = new int[4096];
+                synchronized (chunk) {
+                    section.blockPalette().getAll((x, y, z, value) -> copy[index(x, y, z)] = value);
+                }
+                this.states = states = copy;
+            }
+            return states[index];
+        }
+
+        int get(boolean sky, int index) {
+            final byte[] array = sky ? this.sky : this.block;
+            return array[index >> 1] >> ((index & 1) << 2) & 0xF;
+        }
+
+        void set(boolean sky, int index, int level) {
+            final byte[] array = sky ? this.sky : this.block;
+            final int shift = (index & 1) << 2;
+            final int current = array[index >> 1] & 0xFF;
+            final int updated = current & ~(0xF << shift) | level << shift;
+            if (current == updated) return;
+            array[index >> 1] = (byte) updated;
+            if (sky) this.skyChanged = true;
+            else this.blockChanged = true;
+        }
+
+        void reset() {
+            Arrays.fill(sky, (byte) 0);
+            Arrays.fill(block, (byte) 0);
+            this.skyChanged = true;
+            this.blockChanged = true;
+        }
+
+        private static byte[] copy(byte[] light) {
+            return light.length == 0 ? new byte[2048] : light.clone();
+        }
+    }
+
+    private final class Batch {
+        private final Long2ObjectOpenHashMap<SectionLight> sections = new Long2ObjectOpenHashMap<>();
+        private final IntArrayFIFOQueue increaseQueue = new IntArrayFIFOQueue();
+        private final IntArrayFIFOQueue decreaseQueue = new IntArrayFIFOQueue();
+        private long lastKey = Long.MIN_VALUE;
+        private SectionLight lastSection;
+
+        void relight(Chunk chunk) {
+            final int startX = chunk.getChunkX() * Chunk.CHUNK_SIZE_X;
+            final int startZ = chunk.getChunkZ() * Chunk.CHUNK_SIZE_Z;
+            List<SectionLight> chunkSections = new ArrayList<>();
+            for (int y = minY; y < maxY; y += Chunk.CHUNK_SECTION_SIZE) {
+                final SectionLight section = section(startX, y, startZ);
+                if (section == SectionLight.UNLOADED) return; // Chunk has been unloaded
+                section.reset();
+                chunkSections.add(section);
+            }
+            for (boolean sky : lightTypes) {
+                if (sky) {
+                    // Direct sky light, propagated down from above the world
+                    for (int x = 0; x < Chunk.CHUNK_SIZE_X; x++) {
+                        for (int z = 0; z < Chunk.CHUNK_SIZE_Z; z++) {
+                            enqueue(increaseQueue, startX + x, maxY, startZ + z, 15);
+                        }
+                    }
+                } else {
+                    // Light sources
+                    int sectionY = minY;
+                    for (SectionLight section : chunkSections) {
+                        for (int index = 0; index < 4096; index++) {
+                            final int emission = emission(section.state(index));
+                            if (emission == 0) continue;
+                            section.set(false, index, emission);
+                            enqueue(increaseQueue, startX + (index & 0xF), sectionY + (index >> 8), startZ + (index >> 4 & 0xF), emission);
+                        }
+                        sectionY += Chunk.CHUNK_SECTION_SIZE;
+                    }
+                }
+                // Light coming from the neighbour chunks
+                for (int i = 0; i < Chunk.CHUNK_SIZE_X; i++) {
+                    for (int y = minY; y < maxY; y++) {
+                        enqueueLit(sky, startX - 1, y, startZ + i);
+                        enqueueLit(sky, startX + Chunk.CHUNK_SIZE_X, y, startZ + i);
+                        enqueueLit(sky, startX + i, y, startZ - 1);
+                        enqueueLit(sky, startX + i, y, startZ + Chunk.CHUNK_SIZE_Z);
+                    }
+                }
+                propagate(sky);
+            }
+        }
+
+        void blocksChanged(long[] blocks) {
+            for (boolean sky : lightTypes) {
+                // Remove the light depending on the previous blocks
+                for (long packed : blocks) {
+                    final int x = unpackX(packed), y = unpackY(packed), z = unpackZ(packed);
+                    if (y < minY || y >= maxY) continue;
+                    final SectionLight section = section(x, y, z);
+                    if (section == SectionLight.UNLOADED) continue;
+                    final int index = index(x, y, z);
+                    final int level = section.get(sky, index);
+                    if (level == 0) continue;
+                    section.set(sky, index, 0);
+                    enqueue(decreaseQueue, x, y, z, level);
+                }
+                remove(sky);
+                // Spread the surrounding light and the new sources
+                for (long packed : blocks) {
+                    final int x = unpackX(packed), y = unpackY(packed), z = unpackZ(packed);
+                    if (y < minY || y >= maxY) continue;
+                    final SectionLight section = section(x, y, z);
+                    if (section == SectionLight.UNLOADED) continue;
+                    if (!sky) {
+                        final int index = index(x, y, z);
+                        final int emission = emission(section.state(index));
+                        if (emission > section.get(false, index)) {
+                            section.set(false, index, emission);
+                            enqueue(increaseQueue, x, y, z, emission);
+                        }
+                    }
+                    for (int direction = 0; direction < 6; direction++) {
+                        final int nx = x + DX[direction], ny = y + DY[direction], nz = z + DZ[direction];
+                        final int level = level(sky, nx, ny, nz);
+                        if (level > 0) enqueue(increaseQueue, nx, ny, nz, level);
+                    }
+                }
+                propagate(sky);
+            }
+        }
+
+        void publish() {
+            Set<Chunk> changedChunks = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (SectionLight section : sections.values()) {
+                if (section == SectionLight.UNLOADED) continue;
+                if (!section.skyChanged && !section.blockChanged) continue;
+                final Chunk chunk = section.chunk;
+                synchronized (chunk) {
+                    if (section.skyChanged) section.section.setSkyLight(section.sky);
+                    if (section.blockChanged) section.section.setBlockLight(section.block);
+                }
+                changedChunks.add(chunk);
+            }
+            for (Chunk chunk : changedChunks) {
+                if (chunk instanceof DynamicChunk dynamicChunk) {
+                    synchronized (chunk) {
+                        dynamicChunk.invalidateLight();
+                    }
+                    dynamicChunk.sendLight();
+                }
+            }
+        }
+
+        private void propagate(boolean sky) {
+            final IntArrayFIFOQueue queue = this.increaseQueue;
+            while (!queue.isEmpty()) {
+                final int x = queue.dequeueInt(), y = queue.dequeueInt(), z = queue.dequeueInt();
+                final int level = queue.dequeueInt();
+                if (y < maxY && level(sky, x, y, z) != level) continue; // Outdated entry
+                for (int direction = 0; direction < 6; direction++) {
+                    final int nx = x + DX[direction], ny = y + DY[direction], nz = z + DZ[direction];
+                    if (ny < minY || ny >= maxY) continue;
+                    final SectionLight section = section(nx, ny, nz);
+                    if (section == SectionLight.UNLOADED) continue;
+                    final int index = index(nx, ny, nz);
+                    final int opacity = opacity(section.state(index));
+                    final int newLevel = sky && direction == DOWN && level == 15 && opacity == 0 ?
+                            15 : level - Math.max(1, opacity);
+                    if (newLevel <= section.get(sky, index)) continue;
+                    section.set(sky, index, newLevel);
+                    enqueue(queue, nx, ny, nz, newLevel);
+                }
+            }
+        }
+
+        private void remove(boolean sky) {
+            final IntArrayFIFOQueue queue = this.decreaseQueue;
+            while (!queue.isEmpty()) {
+                final int x = queue.dequeueInt(), y = queue.dequeueInt(), z = queue.dequeueInt();
+                final int level = queue.dequeueInt();
+                for (int direction = 0; direction < 6; direction++) {
+                    final int nx = x + DX[direction], ny = y + DY[direction], nz = z + DZ[direction];
+                    if (ny >= maxY) {
+                        // Sky above the world is constant
+                        if (sky) enqueue(increaseQueue, nx, ny, nz, 15);
+                        continue;
+                    }
+                    if (ny < minY) continue;
+                    final SectionLight section = section(nx, ny, nz);
+                    if (section == SectionLight.UNLOADED) continue;
+                    final int index = index(nx, ny, nz);
+                    final int neighbourLevel = section.get(sky, index);
+                    if (neighbourLevel == 0) continue;
+                    if (neighbourLevel < level || (sky && direction == DOWN && level == 15 && neighbourLevel == 15)) {
+                        // Light was coming from the removed cell
+                        section.set(sky, index, 0);
+                        enqueue(queue, nx, ny, nz, neighbourLevel);
+                        if (!sky) {
+                            final int emission = emission(section.state(index));
+                            if (emission > 0) {
+                                section.set(false, index, emission);
+                                enqueue(increaseQueue, nx, ny, nz, emission);
+                            }
+                        }
+                    } else {
+                        // Independent light, spread it again over the removed area
+                        enqueue(increaseQueue, nx, ny, nz, neighbourLevel);
+                    }
+                }
+            }
+        }
+
+        private void enqueueLit(boolean sky, int x, int y, int z) {
+            final int level = level(sky, x, y, z);
+            if (level > 1) enqueue(increaseQueue, x, y, z, level);
+        }
+
+        private int level(boolean sky, int x, int y, int z) {
+            if (y >= maxY) return sky ? 15 : 0;
+            if (y < minY) return 0;
+            final SectionLight section = section(x, y, z);
+            if (section == SectionLight.UNLOADED) return 0;
+            return section.get(sky, index(x, y, z));
+        }
+
+        private SectionLight section(int x, int y, int z) {
+            final int chunkX = x >> 4, sectionY = y >> 4, chunkZ = z >> 4;
+            final long key = (long) chunkX << 38 | ((long) chunkZ & 0x3FFFFFF) << 12 | (long) sectionY & 0xFFF;
+            if (key == lastKey) return lastSection;
+            SectionLight section = sections.get(key);
+            if (section == null) {
+                final Chunk chunk = instance.getChunk(chunkX, chunkZ);
+                section = chunk != null && chunk.isLoaded() ?
+                        new SectionLight(chunk, chunk.getSection(sectionY)) : SectionLight.UNLOADED;
+                this.sections.put(key, section);
+            }
+            this.lastKey = key;
+            this.lastSection = section;
+            return section;
+        }
+    }
+
+    private static void enqueue(IntArrayFIFOQueue queue, int x, int y, int z, int level) {
+        queue.enqueue(x);
+        queue.enqueue(y);
+        queue.enqueue(z);
+        queue.enqueue(level);
+    }
+
+    private static int index(int x, int y, int z) {
+        return ChunkUtils.toSectionRelativeCoordinate(y) << 8 | ChunkUtils.toSectionRelativeCoordinate(z) << 4 |
+                ChunkUtils.toSectionRelativeCoordinate(x);
+    }
+}
@@ -1,5 +1,6 @@
 package net.minestom.server.instance.palette;
 
+import it.unimi.dsi.fastutil.ints.IntList;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
 import net.minestom.server.utils.MathUtils;
@@ -10,10 +11,17 @@ import java.util.function.IntUnaryOperator;
 
 /**
  * Palette that switches between its backend based on the use case.
+ * <p>
+ * Clones share their backend until either of them is modified (copy-on-write),
+ * so that copying many chunks only costs memory for the modified sections.
  */
 final class AdaptivePalette implements Palette, Cloneable {
     final byte dimension, defaultBitsPerEntry, maxBitsPerEntry;
     SpecializedPalette palette;
+    // The backend is shared with a clone, and must be copied before being modified
+    boolean shared;
+    // Incremented by every write, copied by clones
+    int modifications;
 
     AdaptivePalette(byte dimension, byte maxBitsPerEntry, byte bitsPerEntry) {
         validateDimension(dimension);
@@ -47,11 +55,14 @@ final class AdaptivePalette implements Palette, Cloneable {
             throw new IllegalArgumentException("Coordinates must be positive");
         }
         flexiblePalette().set(x, y, z, value);
+        this.modifications++;
     }
 
     @Override
     public void fill(int value) {
         this.palette = new FilledPalette(dimension, value);
+        this.shared = false;
+        this.modifications++;
     }
 
     @Override
@@ -59,6 +70,30 @@ final class AdaptivePalette implements Palette, Cloneable {
         SpecializedPalette newPalette = new FlexiblePalette(this);
         newPalette.setAll(supplier);
         this.palette = newPalette;
+        this.shared = false;
+        this.modifications++;
+    }
+
+    @Override
+    public void setPacked(int @NotNull [] paletteValues, long @NotNull [] indices, int bitsPerEntry) {
+        if (paletteValues.length == 0) throw new IllegalArgumentException("Palette cannot be empty");
+        if (paletteValues.length == 1) {
+            fill(paletteValues[0]);
+            return;
+        }
+        // Size the palette for all the values upfront, to never resize while mapping them
+        final int requiredBits = MathUtils.bitsToRepresent(paletteValues.length - 1);
+        final byte newBitsPerEntry = (byte) (requiredBits > maxBitsPerEntry ? 15 : Math.max(defaultBitsPerEntry, requiredBits));
+        FlexiblePalette newPalette = new FlexiblePalette(this, newBitsPerEntry);
+        newPalette.setPacked(paletteValues, indices, bitsPerEntry);
+        this.palette = newPalette;
+        this.shared = false;
+        this.modifications++;
+    }
+
+    @Override
+    public long @NotNull [] getPacked(@NotNull IntList paletteValues, int minBitsPerEntry) {
+        return palette.getPacked(paletteValues, minBitsPerEntry);
     }
 
     @Override
@@ -67,11 +102,13 @@ final class AdaptivePalette implements Palette, Cloneable {
             throw new IllegalArgumentException("Coordinates must be positive");
         }
         flexiblePalette().replace(x, y, z, operator);
+        this.modifications++;
     }
 
     @Override
     public void replaceAll(@NotNull EntryFunction function) {
         flexiblePalette().replaceAll(function);
+        this.modifications++;
     }
 
     @Override
@@ -94,11 +131,18 @@ final class AdaptivePalette implements Palette, Cloneable {
         return dimension;
     }
 
+    @Override
+    public int modifications() {
+        return modifications;
+    }
+
     @Override
     public @NotNull Palette clone() {
         try {
+            // The backend is copied lazily by the first of the two palettes to be modified
             AdaptivePalette adaptivePalette = (AdaptivePalette) super.clone();
-            adaptivePalette.palette = palette.clone();
+            this.shared = true;
+            adaptivePalette.shared = true;
             return adaptivePalette;
         } catch (CloneNotSupportedException e) {
             throw new RuntimeException(e);
@@ -108,7 +152,10 @@ final class AdaptivePalette implements Palette, Cloneable {
     @Override
     public void write(@NotNull BinaryWriter writer) {
         final SpecializedPalette optimized = optimizedPalette();
-        this.palette = optimized;
+        if (optimized != palette) {
+            this.palette = optimized;
+            this.shared = false;
+        }
         optimized.write(writer);
     }
 
@@ -128,8 +175,9 @@ final class AdaptivePalette implements Palette, Cloneable {
                     return new FilledPalette(dimension, entries.iterator().nextInt());
                 } else if (currentBitsPerEntry > defaultBitsPerEntry &&
                         (bitsPerEntry = MathUtils.bitsToRepresent(entries.size() - 1)) < currentBitsPerEntry) {
-                    flexiblePalette.resize((byte) bitsPerEntry);
-                    return flexiblePalette;
+                    final FlexiblePalette resized = (FlexiblePalette) ownedPalette();
+                    resized.resize((byte) bitsPerEntry);
+                    return resized;
                 }
             }
         }
@@ -142,6 +190,20 @@ final class AdaptivePalette implements Palette, Cloneable {
             currentPalette = new FlexiblePalette(this);
             currentPalette.fill(filledPalette.value());
             this.palette = currentPalette;
+            this.shared = false;
+            return currentPalette;
+        }
+        return ownedPalette();
+    }
+
+    /**
+     * Gets the backend, copied first if shared with a clone.
+     */
+    SpecializedPalette ownedPalette() {
+        SpecializedPalette currentPalette = this.palette;
+        if (shared) {
+            this.palette = currentPalette = currentPalette.clone();
+            this.shared = false;
         }
         return currentPalette;
     }
@@ -1,5 +1,6 @@
 package net.minestom.server.instance.palette;
 
+import it.unimi.dsi.fastutil.ints.IntList;
 import net.minestom.server.utils.binary.BinaryWriter;
 import org.jetbrains.annotations.NotNull;
 
@@ -27,6 +28,13 @@ record FilledPalette(byte dim, int value) implements SpecializedPalette.Immutabl
         if (value != 0) getAll(consumer);
     }
 
+    @Override
+    public long @NotNull [] getPacked(@NotNull IntList paletteValues, int minBitsPerEntry) {
+        paletteValues.clear();
+        paletteValues.add(value);
+        return new long[0];
+    }
+
     @Override
     public int count() {
         return value != 0 ? maxSize() : 0;
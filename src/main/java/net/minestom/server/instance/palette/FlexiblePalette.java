@@ -2,6 +2,7 @@ package net.minestom.server.instance.palette;
 
 import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.utils.MathUtils;
 import net.minestom.server.utils.binary.BinaryWriter;
@@ -150,6 +151,91 @@ final class FlexiblePalette implements SpecializedPalette, Cloneable {
         }
     }
 
+    @Override
+    public void setPacked(int @NotNull [] paletteValues, long @NotNull [] indices, int bitsPerEntry) {
+        if (bitsPerEntry < 1 || bitsPerEntry > 32)
+            throw new IllegalArgumentException("Invalid bits per entry: " + bitsPerEntry);
+        final int size = maxSize();
+        final int valuesPerLong = 64 / bitsPerEntry;
+        if (indices.length != (size + valuesPerLong - 1) / valuesPerLong) {
+            throw new IllegalArgumentException("Invalid packed length (" + indices.length + ") for " +
+                    bitsPerEntry + " bits per entry");
+        }
+        // Map every value once
+        final int[] mapping = new int[paletteValues.length];
+        boolean identity = true;
+        for (int i = 0; i < paletteValues.length; i++) {
+            final int paletteIndex = getPaletteIndex(paletteValues[i]);
+            mapping[i] = paletteIndex;
+            identity &= paletteIndex == i;
+        }
+        // Decode the indices, keeping track of the air count
+        final int[] cache = WRITE_CACHE.get();
+        final long mask = (1L << bitsPerEntry) - 1;
+        int count = 0;
+        int index = 0;
+        for (long block : indices) {
+            final int maxIndex = Math.min(index + valuesPerLong, size);
+            for (; index < maxIndex; index++) {
+                final int paletteIndex = (int) (block & mask);
+                block >>>= bitsPerEntry;
+                if (paletteIndex >= mapping.length)
+                    throw new IllegalArgumentException("Palette index out of bounds: " + paletteIndex);
+                final int value = mapping[paletteIndex];
+                if (value != 0) count++;
+                cache[index] = value;
+            }
+        }
+        // Same layout, the indices can be copied as is
+        if (identity && bitsPerEntry == this.bitsPerEntry) {
+            System.arraycopy(indices, 0, values, 0, indices.length);
+        } else {
+            updateAll(cache);
+        }
+        this.count = count;
+    }
+
+    @Override
+    public long @NotNull [] getPacked(@NotNull IntList paletteValues, int minBitsPerEntry) {
+        paletteValues.clear();
+        final int[] cache = WRITE_CACHE.get();
+        final int size = maxSize();
+        final long[] values = this.values;
+        final int bitsPerEntry = this.bitsPerEntry;
+        final int magicMask = (1 << bitsPerEntry) - 1;
+        final int valuesPerLong = 64 / bitsPerEntry;
+        // Only keep the values in use, in order of appearance
+        final int[] ids = hasPalette() ? paletteToValueList.elements() : null;
+        final int[] mapping = ids != null ? new int[paletteToValueList.size()] : null;
+        final Int2IntOpenHashMap directMapping = ids == null ? new Int2IntOpenHashMap() : null;
+        if (mapping != null) Arrays.fill(mapping, -1);
+        else directMapping.defaultReturnValue(-1);
+        int index = 0;
+        for (long block : values) {
+            final int maxIndex = Math.min(index + valuesPerLong, size);
+            for (; index < maxIndex; index++) {
+                final int value = (int) (block & magicMask);
+                block >>>= bitsPerEntry;
+                int result = mapping != null ? mapping[value] : directMapping.get(value);
+                if (result == -1) {
+                    result = paletteValues.size();
+                    paletteValues.add(ids != null ? ids[value] : value);
+                    if (mapping != null) mapping[value] = result;
+                    else directMapping.put(value, result);
+                }
+                cache[index] = result;
+            }
+        }
+        if (paletteValues.size() == 1) return new long[0];
+        final int packedBitsPerEntry = Math.max(minBitsPerEntry, MathUtils.bitsToRepresent(paletteValues.size() - 1));
+        final int packedValuesPerLong = 64 / packedBitsPerEntry;
+        long[] packed = new long[(size + packedValuesPerLong - 1) / packedValuesPerLong];
+        for (int i = 0; i < size; i++) {
+            packed[i / packedValuesPerLong] |= (long) cache[i] << (i % packedValuesPerLong) * packedBitsPerEntry;
+        }
+        return packed;
+    }
+
     @Override
     public void replace(int x, int y, int z, @NotNull IntUnaryOperator operator) {
         final int oldValue = get(x, y, z);
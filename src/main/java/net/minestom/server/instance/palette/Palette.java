@@ -1,6 +1,8 @@
 package net.minestom.server.instance.palette;
 
+import it.unimi.dsi.fastutil.ints.IntList;
 import net.minestom.server.utils.binary.Writeable;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.function.IntUnaryOperator;
@@ -35,6 +37,29 @@ public interface Palette extends Writeable {
 
     void setAll(@NotNull EntrySupplier supplier);
 
+    /**
+     * Replaces the whole content with indices into {@code paletteValues}, packed the same way as the network
+     * and anvil formats ({@code bitsPerEntry} bits per entry, without spanning over two longs).
+     * <p>
+     * Each palette value is only mapped once, making it much faster than {@link #setAll(EntrySupplier)}.
+     *
+     * @param paletteValues the values referenced by the indices
+     * @param indices       the packed indices, ignored if {@code paletteValues} contains a single value
+     * @param bitsPerEntry  the number of bits of each index
+     * @throws IllegalArgumentException if the indices do not match the palette size or the values
+     */
+    void setPacked(int @NotNull [] paletteValues, long @NotNull [] indices, int bitsPerEntry);
+
+    /**
+     * Gets the whole content as indices into its distinct values, the reverse of {@link #setPacked(int[], long[], int)}.
+     *
+     * @param paletteValues   the list receiving the distinct values, cleared first
+     * @param minBitsPerEntry the minimum number of bits of each index
+     * @return the indices packed with {@code max(minBitsPerEntry, bitsToRepresent(paletteValues.size() - 1))}
+     * bits per entry, empty if the palette contains a single value
+     */
+    long @NotNull [] getPacked(@NotNull IntList paletteValues, int minBitsPerEntry);
+
     void replace(int x, int y, int z, @NotNull IntUnaryOperator operator);
 
     void replaceAll(@NotNull EntryFunction function);
@@ -53,6 +78,14 @@ public interface Palette extends Writeable {
 
     int dimension();
 
+    /**
+     * Returns a counter incremented by every write to this palette, used to detect changes since a previous read.
+     * <p>
+     * Clones start with the counter of the palette they were copied from.
+     */
+    @ApiStatus.Internal
+    int modifications();
+
     /**
      * Returns the maximum number of entries in this palette.
      */
@@ -15,6 +15,11 @@ interface SpecializedPalette extends Palette {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    default int modifications() {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     @NotNull SpecializedPalette clone();
 
@@ -34,6 +39,11 @@ interface SpecializedPalette extends Palette {
             throw new UnsupportedOperationException();
         }
 
+        @Override
+        default void setPacked(int @NotNull [] paletteValues, long @NotNull [] indices, int bitsPerEntry) {
+            throw new UnsupportedOperationException();
+        }
+
         @Override
         default void replace(int x, int y, int z, @NotNull IntUnaryOperator operator) {
             throw new UnsupportedOperationException();
@@ -0,0 +1,119 @@
+package net.minestom.server.instance.storage;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compression of the chunks stored in a {@link RegionFile}.
+ * <p>
+ * The {@link #id()} of the codec is stored with every chunk so that regions can be read back
+ * even if the codec used to write them has changed.
+ * Implementations backed by LZ4 or zstd can be plugged in with their own id.
+ */
+@ApiStatus.Experimental
+public interface CompressionCodec {
+    /**
+     * Stores the chunks as is, the fastest to load.
+     */
+    static @NotNull CompressionCodec none() {
+        return NoneCodec.INSTANCE;
+    }
+
+    /**
+     * Compresses the chunks using zlib, like anvil.
+     *
+     * @param level the compression level, from 0 to 9
+     */
+    static @NotNull CompressionCodec deflate(int level) {
+        return new DeflateCodec(level);
+    }
+
+    /**
+     * Gets the id identifying the codec in region files.
+     * <p>
+     * Ids 1 to 3 are reserved to {@link RegionFile#COMPRESSION_GZIP}, {@link RegionFile#COMPRESSION_ZLIB}
+     * and {@link RegionFile#COMPRESSION_NONE}, custom codecs must use 0 or 4 to 127.
+     *
+     * @return the codec id, from 0 to 127
+     */
+    byte id();
+
+    byte @NotNull [] compress(byte @NotNull [] data) throws IOException;
+
+    byte @NotNull [] decompress(byte @NotNull [] data) throws IOException;
+
+    enum NoneCodec implements CompressionCodec {
+        INSTANCE;
+
+        @Override
+        public byte id() {
+            return RegionFile.COMPRESSION_NONE;
+        }
+
+        @Override
+        public byte @NotNull [] compress(byte @NotNull [] data) {
+            return data;
+        }
+
+        @Override
+        public byte @NotNull [] decompress(byte @NotNull [] data) {
+            return data;
+        }
+    }
+
+    record DeflateCodec(int level) implements CompressionCodec {
+        public DeflateCodec {
+            if (level < 0 || level > 9) throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+
+        @Override
+        public byte id() {
+            return RegionFile.COMPRESSION_ZLIB;
+        }
+
+        @Override
+        public byte @NotNull [] compress(byte @NotNull [] data) {
+            Deflater deflater = new Deflater(level);
+            try {
+                deflater.setInput(data);
+                deflater.finish();
+                ByteArrayOutputStream output = new ByteArrayOutputStream(data.length / 2);
+                byte[] buffer = new byte[8192];
+                while (!deflater.finished()) {
+                    output.write(buffer, 0, deflater.deflate(buffer));
+                }
+                return output.toByteArray();
+            } finally {
+                deflater.end();
+            }
+        }
+
+        @Override
+        public byte @NotNull [] decompress(byte @NotNull [] data) throws IOException {
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(data);
+                ByteArrayOutputStream output = new ByteArrayOutputStream(data.length * 4);
+                byte[] buffer = new byte[8192];
+                while (!inflater.finished()) {
+                    final int count = inflater.inflate(buffer);
+                    if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        throw new IOException("Truncated compressed data");
+                    }
+                    output.write(buffer, 0, count);
+                }
+                return output.toByteArray();
+            } catch (DataFormatException e) {
+                throw new IOException(e);
+            } finally {
+                inflater.end();
+            }
+        }
+    }
+}
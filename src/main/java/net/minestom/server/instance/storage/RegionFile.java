@@ -0,0 +1,307 @@
+package net.minestom.server.instance.storage;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A region file, storing the data of 32x32 chunks in 4KiB sectors using the anvil layout.
+ * <p>
+ * The file is memory-mapped: reads are positional copies from the mapping and do not lock or issue syscalls.
+ * Instead, every chunk entry carries a stamp incremented by each write, a read is retried if the chunk has been
+ * rewritten while being copied (sectors are only reused once the chunk pointing to them moved).
+ * <p>
+ * Writes are synchronized, {@link #write(Collection)} allocates the sectors of all its entries at once,
+ * growing and remapping the file at most once.
+ * Entries too large for the 1MiB limit of a chunk are stored next to the region in {@code c.x.z.mcc} files,
+ * like vanilla.
+ */
+@ApiStatus.Experimental
+public final class RegionFile implements AutoCloseable {
+    public static final int SECTOR_SIZE = 4096;
+
+    public static final byte COMPRESSION_GZIP = 1;
+    public static final byte COMPRESSION_ZLIB = 2;
+    public static final byte COMPRESSION_NONE = 3;
+
+    private static final int CHUNK_COUNT = 32 * 32;
+    private static final int HEADER_SECTORS = 2;
+    private static final int MAX_CHUNK_SECTORS = 255;
+    private static final byte EXTERNAL_FLAG = (byte) 0x80;
+    // Number of sectors the file is grown by at least, to limit remapping
+    private static final int GROWTH_SECTORS = 32;
+
+    private final Path path;
+    private final int regionX, regionZ;
+    private final FileChannel channel;
+    // (stamp << 32 | location) of every chunk, the location being (sector offset << 8 | sector count)
+    private final AtomicLongArray entries = new AtomicLongArray(CHUNK_COUNT);
+    private volatile MappedByteBuffer mapping;
+
+    // Guarded by this
+    private final BitSet usedSectors = new BitSet();
+    private int sectorCount;
+
+    /**
+     * Opens a region file, creating it if absent.
+     *
+     * @param path    the path of the file
+     * @param regionX the region x, used to name oversized chunk files
+     * @param regionZ the region z, used to name oversized chunk files
+     * @throws IOException if the file cannot be opened or its header is invalid
+     */
+    public RegionFile(@NotNull Path path, int regionX, int regionZ) throws IOException {
+        this.path = path;
+        this.regionX = regionX;
+        this.regionZ = regionZ;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            final long size = channel.size();
+            if (size > (long) Integer.MAX_VALUE) throw new IOException("Region file too large: " + path);
+            this.sectorCount = Math.max(HEADER_SECTORS, (int) ((size + SECTOR_SIZE - 1) / SECTOR_SIZE));
+            if (size < (long) sectorCount * SECTOR_SIZE) {
+                // New file or missing padding
+                channel.write(ByteBuffer.allocate(1), (long) sectorCount * SECTOR_SIZE - 1);
+            }
+            this.mapping = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) sectorCount * SECTOR_SIZE);
+            this.usedSectors.set(0, HEADER_SECTORS);
+            for (int i = 0; i < CHUNK_COUNT; i++) {
+                final int location = mapping.getInt(i * 4);
+                if (location == 0) continue;
+                final int offset = location >>> 8;
+                final int count = location & 0xFF;
+                if (offset < HEADER_SECTORS || count == 0 || offset + count > sectorCount) {
+                    throw new IOException("Invalid location of chunk " + i + " in " + path);
+                }
+                this.usedSectors.set(offset, offset + count);
+                this.entries.set(i, location & 0xFFFFFFFFL);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Converts a chunk coordinate to the coordinate of its region.
+     */
+    public static int chunkToRegion(int chunkCoordinate) {
+        return chunkCoordinate >> 5;
+    }
+
+    public int getRegionX() {
+        return regionX;
+    }
+
+    public int getRegionZ() {
+        return regionZ;
+    }
+
+    /**
+     * Gets if the region has data for a chunk.
+     *
+     * @param chunkX the chunk x, in world coordinates
+     * @param chunkZ the chunk z, in world coordinates
+     */
+    public boolean hasChunk(int chunkX, int chunkZ) {
+        return (int) entries.get(index(chunkX, chunkZ)) != 0;
+    }
+
+    /**
+     * Reads the data of a chunk.
+     *
+     * @param chunkX the chunk x, in world coordinates
+     * @param chunkZ the chunk z, in world coordinates
+     * @return the chunk data, null if the chunk is not present
+     * @throws IOException if the stored data is invalid
+     */
+    public @Nullable Entry read(int chunkX, int chunkZ) throws IOException {
+        final int index = index(chunkX, chunkZ);
+        while (true) {
+            final long entry = entries.get(index);
+            final int location = (int) entry;
+            if (location == 0) return null;
+            // The mapping is always updated before the locations using it are published
+            final MappedByteBuffer mapping = this.mapping;
+            final int offset = (location >>> 8) * SECTOR_SIZE;
+            final int length = mapping.getInt(offset);
+            final byte compression = mapping.get(offset + 4);
+            final byte[] data = length > 0 && length <= (location & 0xFF) * SECTOR_SIZE - 4 ? new byte[length - 1] : null;
+            if (data != null) mapping.get(offset + 5, data);
+            VarHandle.acquireFence();
+            if (entries.get(index) != entry) continue; // Rewritten during the copy
+            if (data == null) throw new IOException("Invalid length of chunk " + chunkX + ", " + chunkZ + " in " + path);
+            if ((compression & EXTERNAL_FLAG) != 0) {
+                final byte[] externalData;
+                try {
+                    externalData = Files.readAllBytes(externalPath(chunkX, chunkZ));
+                } catch (NoSuchFileException e) {
+                    if (entries.get(index) != entry) continue; // Moved back into the region
+                    throw e;
+                }
+                // The file is replaced atomically, but may belong to a newer write
+                if (entries.get(index) != entry) continue;
+                return new Entry(chunkX, chunkZ, (byte) (compression & ~EXTERNAL_FLAG), externalData);
+            }
+            return new Entry(chunkX, chunkZ, compression, data);
+        }
+    }
+
+    /**
+     * Writes the data of a chunk.
+     *
+     * @param entry the chunk data
+     * @throws IOException if the file cannot be written
+     */
+    public void write(@NotNull Entry entry) throws IOException {
+        write(List.of(entry));
+    }
+
+    /**
+     * Writes the data of multiple chunks, allocating all their sectors at once.
+     * <p>
+     * The sectors of the previous data are freed once the new data is published, and only reused by later writes.
+     *
+     * @param entries the chunks data, all of them must be in this region
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized void write(@NotNull Collection<@NotNull Entry> entries) throws IOException {
+        final int size = entries.size();
+        final Entry[] writes = entries.toArray(Entry[]::new);
+        final int[] locations = new int[size];
+        // Allocate
+        int end = sectorCount;
+        for (int i = 0; i < size; i++) {
+            final Entry entry = writes[i];
+            if (chunkToRegion(entry.chunkX()) != regionX || chunkToRegion(entry.chunkZ()) != regionZ) {
+                throw new IllegalArgumentException("Chunk " + entry.chunkX() + ", " + entry.chunkZ() + " is not in region " + regionX + ", " + regionZ);
+            }
+            final int count = external(entry) ? 1 : sectorsFor(entry.data().length);
+            int offset = findFreeSectors(count, end);
+            if (offset == -1) {
+                offset = end;
+                end += count;
+            }
+            this.usedSectors.set(offset, offset + count);
+            locations[i] = offset << 8 | count;
+        }
+        if (end > sectorCount) grow(end);
+        // Write data then publish the new locations
+        final MappedByteBuffer mapping = this.mapping;
+        final int timestamp = (int) (System.currentTimeMillis() / 1000);
+        for (int i = 0; i < size; i++) {
+            final Entry entry = writes[i];
+            final int offset = (locations[i] >>> 8) * SECTOR_SIZE;
+            final boolean external = external(entry);
+            if (external) {
+                writeExternal(externalPath(entry.chunkX(), entry.chunkZ()), entry.data());
+                mapping.putInt(offset, 1);
+                mapping.put(offset + 4, (byte) (entry.compression() | EXTERNAL_FLAG));
+            } else {
+                mapping.putInt(offset, entry.data().length + 1);
+                mapping.put(offset + 4, entry.compression());
+                mapping.put(offset + 5, entry.data());
+            }
+            final int index = index(entry.chunkX(), entry.chunkZ());
+            mapping.putInt(index * 4, locations[i]);
+            mapping.putInt(SECTOR_SIZE + index * 4, timestamp);
+            final long previous = this.entries.get(index);
+            this.entries.set(index, ((previous >>> 32) + 1) << 32 | (locations[i] & 0xFFFFFFFFL));
+            if (!external) Files.deleteIfExists(externalPath(entry.chunkX(), entry.chunkZ()));
+            // Free the previous sectors, only now that no reader can get their location
+            final int previousLocation = (int) previous;
+            if (previousLocation != 0) {
+                final int previousOffset = previousLocation >>> 8;
+                this.usedSectors.clear(previousOffset, previousOffset + (previousLocation & 0xFF));
+            }
+        }
+    }
+
+    /**
+     * Forces the written data to the storage device.
+     */
+    public void flush() {
+        this.mapping.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RegionFile{" + path + '}';
+    }
+
+    private int findFreeSectors(int count, int end) {
+        int start = usedSectors.nextClearBit(HEADER_SECTORS);
+        while (start + count <= end) {
+            final int used = usedSectors.nextSetBit(start);
+            if (used == -1 || used >= start + count) return start;
+            start = usedSectors.nextClearBit(used);
+        }
+        return -1;
+    }
+
+    private void grow(int requiredSectors) throws IOException {
+        final int sectors = Math.max(requiredSectors, sectorCount + GROWTH_SECTORS);
+        this.channel.write(ByteBuffer.allocate(1), (long) sectors * SECTOR_SIZE - 1);
+        this.mapping = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) sectors * SECTOR_SIZE);
+        this.sectorCount = sectors;
+    }
+
+    private static void writeExternal(Path path, byte[] data) throws IOException {
+        // Never truncated in place, concurrent reads get either the previous or the new file
+        final Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(temporary, data);
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Path externalPath(int chunkX, int chunkZ) {
+        return path.resolveSibling("c." + chunkX + "." + chunkZ + ".mcc");
+    }
+
+    private static boolean external(Entry entry) {
+        return sectorsFor(entry.data().length) > MAX_CHUNK_SECTORS;
+    }
+
+    private static int sectorsFor(int dataLength) {
+        // Length and compression type header
+        return (dataLength + 5 + SECTOR_SIZE - 1) / SECTOR_SIZE;
+    }
+
+    private static int index(int chunkX, int chunkZ) {
+        return (chunkX & 31) | (chunkZ & 31) << 5;
+    }
+
+    /**
+     * The data of a chunk.
+     *
+     * @param chunkX      the chunk x, in world coordinates
+     * @param chunkZ      the chunk z, in world coordinates
+     * @param compression the compression type of the data, {@link #COMPRESSION_ZLIB} for vanilla chunks
+     * @param data        the chunk data
+     */
+    public record Entry(int chunkX, int chunkZ, byte compression, byte @NotNull [] data) {
+    }
+}
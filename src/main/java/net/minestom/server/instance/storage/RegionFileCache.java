@@ -0,0 +1,231 @@
+package net.minestom.server.instance.storage;
+
+import net.minestom.server.utils.chunk.ChunkUtils;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The open {@link RegionFile region files} of a directory, bounding the number of file handles.
+ * <p>
+ * Regions are evicted in least-recently-used order once more than {@code maxOpenFiles} are open.
+ * A region in use while evicted is only closed once released, and is given back if acquired again in the meantime
+ * so that a file is never open twice.
+ * <pre>{@code
+ * RegionFile region = cache.acquire(regionX, regionZ, false);
+ * if (region == null) return null;
+ * try {
+ *     return region.read(chunkX, chunkZ);
+ * } finally {
+ *     cache.release(region);
+ * }
+ * }</pre>
+ */
+@ApiStatus.Experimental
+public final class RegionFileCache implements AutoCloseable {
+    private final Path directory;
+    private final String extension;
+    private final int maxOpenFiles;
+
+    // Guarded by this, in access order
+    private final LinkedHashMap<Long, Handle> handles = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Long, Handle> evicted = new HashMap<>();
+    private final Map<RegionFile, Handle> files = new HashMap<>();
+
+    /**
+     * @param directory    the directory of the region files
+     * @param extension    the extension of the region files, e.g. {@code mca} for {@code r.x.z.mca}
+     * @param maxOpenFiles the maximum number of region files kept open when not in use
+     */
+    public RegionFileCache(@NotNull Path directory, @NotNull String extension, int maxOpenFiles) {
+        if (maxOpenFiles <= 0) throw new IllegalArgumentException("The maximum number of open files must be positive");
+        this.directory = directory;
+        this.extension = extension;
+        this.maxOpenFiles = maxOpenFiles;
+    }
+
+    /**
+     * Gets the path of a region file.
+     */
+    public @NotNull Path path(int regionX, int regionZ) {
+        return directory.resolve("r." + regionX + "." + regionZ + "." + extension);
+    }
+
+    /**
+     * Gets a region file, opening it if needed. Must be followed by {@link #release(RegionFile)}.
+     * <p>
+     * Files are opened and closed without holding the cache, only the threads acquiring the same region wait.
+     *
+     * @param regionX the region x
+     * @param regionZ the region z
+     * @param create  true to create the file if it does not exist
+     * @return the region file, null if it does not exist and {@code create} is false
+     * @throws IOException if the file cannot be opened
+     */
+    public @Nullable RegionFile acquire(int regionX, int regionZ, boolean create) throws IOException {
+        final long index = ChunkUtils.getChunkIndex(regionX, regionZ);
+        Handle handle = retain(index, regionX, regionZ, false);
+        if (handle == null) {
+            final Path path = path(regionX, regionZ);
+            if (!Files.exists(path)) {
+                if (!create) return null;
+                Files.createDirectories(directory);
+            }
+            handle = retain(index, regionX, regionZ, true);
+            assert handle != null;
+        }
+        try {
+            return handle.open();
+        } catch (IOException e) {
+            synchronized (this) {
+                // Forget the handle if nobody else is opening it
+                if (--handle.users == 0) {
+                    this.handles.remove(index, handle);
+                    this.evicted.remove(index, handle);
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Releases a region file retrieved from {@link #acquire(int, int, boolean)}.
+     *
+     * @param file the region file
+     * @throws IOException if the file has been evicted and cannot be closed
+     */
+    public void release(@NotNull RegionFile file) throws IOException {
+        synchronized (this) {
+            final Handle handle = files.get(file);
+            if (handle == null || handle.users == 0) throw new IllegalStateException("Region file not acquired: " + file);
+            if (--handle.users != 0 || !evicted.remove(handle.index, handle)) return;
+            this.files.remove(file);
+        }
+        file.close();
+    }
+
+    /**
+     * Gets the number of open region files.
+     */
+    public synchronized int openFiles() {
+        return files.size();
+    }
+
+    /**
+     * Forces the data of all open region files to the storage device.
+     */
+    public void flush() {
+        final List<RegionFile> files;
+        synchronized (this) {
+            files = new ArrayList<>(this.files.keySet());
+        }
+        for (RegionFile file : files) file.flush();
+    }
+
+    /**
+     * Closes the regions not in use, and those in use once released.
+     */
+    @Override
+    public void close() throws IOException {
+        final List<RegionFile> closed = new ArrayList<>();
+        synchronized (this) {
+            for (Handle handle : handles.values()) {
+                if (handle.users != 0) {
+                    this.evicted.put(handle.index, handle);
+                } else if (handle.file != null) {
+                    this.files.remove(handle.file);
+                    closed.add(handle.file);
+                }
+            }
+            this.handles.clear();
+        }
+        close(closed);
+    }
+
+    private @Nullable Handle retain(long index, int regionX, int regionZ, boolean create) throws IOException {
+        final List<RegionFile> closed = new ArrayList<>();
+        final Handle handle;
+        synchronized (this) {
+            Handle current = handles.get(index);
+            if (current == null) {
+                current = evicted.remove(index);
+                if (current == null) {
+                    if (!create) return null;
+                    current = new Handle(index, regionX, regionZ);
+                }
+                this.handles.put(index, current);
+                current.users++;
+                evict(closed);
+            } else {
+                current.users++;
+            }
+            handle = current;
+        }
+        close(closed);
+        return handle;
+    }
+
+    private void evict(List<RegionFile> closed) {
+        final Iterator<Handle> iterator = handles.values().iterator();
+        while (handles.size() > maxOpenFiles && iterator.hasNext()) {
+            final Handle handle = iterator.next();
+            iterator.remove();
+            if (handle.users != 0) {
+                this.evicted.put(handle.index, handle);
+            } else if (handle.file != null) {
+                this.files.remove(handle.file);
+                closed.add(handle.file);
+            }
+        }
+    }
+
+    private static void close(List<RegionFile> files) throws IOException {
+        // Flushes the whole file, never done while holding the cache
+        IOException exception = null;
+        for (RegionFile file : files) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                if (exception == null) exception = e;
+                else exception.addSuppressed(e);
+            }
+        }
+        if (exception != null) throw exception;
+    }
+
+    private final class Handle {
+        final long index;
+        final int regionX, regionZ;
+        // Guarded by the cache
+        int users;
+        volatile RegionFile file;
+
+        Handle(long index, int regionX, int regionZ) {
+            this.index = index;
+            this.regionX = regionX;
+            this.regionZ = regionZ;
+        }
+
+        synchronized RegionFile open() throws IOException {
+            RegionFile file = this.file;
+            if (file == null) {
+                file = new RegionFile(path(regionX, regionZ), regionX, regionZ);
+                synchronized (RegionFileCache.this) {
+                    RegionFileCache.this.files.put(file, this);
+                }
+                this.file = file;
+            }
+            return file;
+        }
+    }
+}
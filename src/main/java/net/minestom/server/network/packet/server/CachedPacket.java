@@ -33,6 +33,15 @@ public final class CachedPacket implements SendablePacket {
         this.packet = null;
     }
 
+    /**
+     * Shares the cache of a packet known to be identical, until either of them is invalidated.
+     *
+     * @param other the packet to share the cache of, computed if absent
+     */
+    public void share(@NotNull CachedPacket other) {
+        if (other.updatedCache() != null) this.packet = other.packet;
+    }
+
     public @NotNull ServerPacket packet() {
         FramedPacket cache = updatedCache();
         return cache != null ? cache.packet() : packetSupplier.get();
@@ -43,6 +52,14 @@ public final class CachedPacket implements SendablePacket {
         return cache != null ? cache.body() : PacketUtils.createFramedPacket(packetSupplier.get());
     }
 
+    /**
+     * Gets the frame matching the compression state of a connection.
+     */
+    public @NotNull ByteBuffer body(boolean compressed) {
+        FramedPacket cache = updatedCache();
+        return cache != null ? cache.body(compressed) : PacketUtils.createFramedPacket(packetSupplier.get(), compressed);
+    }
+
     private @Nullable FramedPacket updatedCache() {
         if (!PacketUtils.CACHED_PACKET)
             return null;
@@ -1,7 +1,10 @@
 package net.minestom.server.network.packet.server;
 
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.utils.PacketUtils;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.nio.ByteBuffer;
 
@@ -10,11 +13,33 @@ import java.nio.ByteBuffer;
  * Can be used if you want to send the exact same buffer to multiple clients without processing it more than once.
  * <p>
  * The {@link ByteBuffer} will ultimately become a MemorySegment once out of incubation.
+ *
+ * @param body             the frame using the server compression settings
+ * @param uncompressedBody the frame without compression, for connections where compression is not enabled yet,
+ *                         null to frame the packet again for them
  */
 @ApiStatus.Internal
 public record FramedPacket(@NotNull ServerPacket packet,
-                           @NotNull ByteBuffer body) implements SendablePacket {
+                           @NotNull ByteBuffer body,
+                           @Nullable ByteBuffer uncompressedBody) implements SendablePacket {
     public FramedPacket {
         body = body.position(0).asReadOnlyBuffer();
+        if (uncompressedBody != null) uncompressedBody = uncompressedBody.position(0).asReadOnlyBuffer();
+    }
+
+    public FramedPacket(@NotNull ServerPacket packet, @NotNull ByteBuffer body) {
+        this(packet, body, null);
+    }
+
+    /**
+     * Gets the frame matching the compression state of a connection.
+     * <p>
+     * Connections are only uncompressed until compression is enabled during login. Without {@link #uncompressedBody()},
+     * their frame is not kept and must be consumed before framing another packet in the same thread.
+     */
+    public @NotNull ByteBuffer body(boolean compressed) {
+        if (compressed || MinecraftServer.getCompressionThreshold() <= 0) return body;
+        final ByteBuffer uncompressedBody = this.uncompressedBody;
+        return uncompressedBody != null ? uncompressedBody : PacketUtils.createFramedPacket(packet, false);
     }
 }
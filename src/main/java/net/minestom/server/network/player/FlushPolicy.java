@@ -0,0 +1,65 @@
+package net.minestom.server.network.player;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+
+/**
+ * Defines when the data written to a {@link PlayerSocketConnection} is flushed to its socket.
+ * <p>
+ * Delaying flushes trades latency for fewer and larger writes,
+ * which may be worth it for low-priority connections (spectators, AFK players, ...).
+ */
+@ApiStatus.Experimental
+public sealed interface FlushPolicy {
+    /**
+     * Flushes as soon as the connection worker is free, the default.
+     */
+    static @NotNull FlushPolicy immediate() {
+        return Immediate.INSTANCE;
+    }
+
+    /**
+     * Flushes once all the packets of the current server tick have been written.
+     */
+    static @NotNull FlushPolicy endOfTick() {
+        return EndOfTick.INSTANCE;
+    }
+
+    /**
+     * Flushes once {@code threshold} bytes are pending, or at the end of the tick.
+     */
+    static @NotNull FlushPolicy bytes(int threshold) {
+        return new Bytes(threshold);
+    }
+
+    /**
+     * Flushes once the oldest pending data has waited for {@code interval}.
+     * <p>
+     * Precision is limited to a millisecond.
+     */
+    static @NotNull FlushPolicy interval(@NotNull Duration interval) {
+        return new Interval(interval.toNanos());
+    }
+
+    enum Immediate implements FlushPolicy {
+        INSTANCE
+    }
+
+    enum EndOfTick implements FlushPolicy {
+        INSTANCE
+    }
+
+    record Bytes(int threshold) implements FlushPolicy {
+        public Bytes {
+            if (threshold <= 0) throw new IllegalArgumentException("Threshold must be positive");
+        }
+    }
+
+    record Interval(long nanos) implements FlushPolicy {
+        public Interval {
+            if (nanos < 0) throw new IllegalArgumentException("Interval cannot be negative");
+        }
+    }
+}
@@ -17,8 +17,8 @@ import net.minestom.server.network.socket.Worker;
 import net.minestom.server.utils.PacketUtils;
 import net.minestom.server.utils.binary.BinaryBuffer;
 import net.minestom.server.utils.binary.PooledBuffers;
+import net.minestom.server.utils.binary.SharedBuffer;
 import net.minestom.server.utils.validate.Check;
-import org.jctools.queues.MessagePassingQueue;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -46,9 +46,9 @@ import java.util.zip.DataFormatException;
 @ApiStatus.Internal
 public class PlayerSocketConnection extends PlayerConnection {
     private final static Logger LOGGER = LoggerFactory.getLogger(PlayerSocketConnection.class);
+    private static final int MAX_GATHER_BUFFERS = 64;
 
     private final Worker worker;
-    private final MessagePassingQueue<Runnable> workerQueue;
     private final SocketChannel channel;
     private SocketAddress remoteAddress;
 
@@ -72,8 +72,19 @@ public class PlayerSocketConnection extends PlayerConnection {
     private UUID bungeeUuid;
     private PlayerSkin bungeeSkin;
 
-    private final List<BinaryBuffer> waitingBuffers = new ArrayList<>();
+    // Buffers waiting to be written, in order, followed by the unqueued part of the tick buffer
+    private final Deque<WaitingBuffer> waitingBuffers = new ArrayDeque<>();
     private final AtomicReference<BinaryBuffer> tickBuffer = new AtomicReference<>(PooledBuffers.get());
+    private final ByteBuffer[] gatherBuffers = new ByteBuffer[MAX_GATHER_BUFFERS];
+    // Whether the worker has been notified of data to write, only accessed by the worker thread
+    private boolean flushPending;
+    private long pendingSince;
+    private volatile FlushPolicy flushPolicy = FlushPolicy.immediate();
+
+    // Write statistics, only modified by the worker thread
+    private volatile long writeCount, writtenBytes;
+    private volatile int writesPerSecond;
+    private volatile long secondStart, secondWrites;
     private BinaryBuffer cacheBuffer;
 
     private final ListenerHandle<PlayerPacketOutEvent> outgoing = EventDispatcher.getHandle(PlayerPacketOutEvent.class);
@@ -81,11 +92,10 @@ public class PlayerSocketConnection extends PlayerConnection {
     public PlayerSocketConnection(@NotNull Worker worker, @NotNull SocketChannel channel, SocketAddress remoteAddress) {
         super();
         this.worker = worker;
-        this.workerQueue = worker.queue();
         this.channel = channel;
         this.remoteAddress = remoteAddress;
         PooledBuffers.registerBuffer(this, tickBuffer);
-        PooledBuffers.registerBuffers(this, waitingBuffers);
+        PooledBuffers.registerCleaner(this, new WaitingBuffersCleaner(waitingBuffers));
     }
 
     public void processPackets(BinaryBuffer readBuffer, PacketProcessor packetProcessor) {
@@ -160,21 +170,32 @@ public class PlayerSocketConnection extends PlayerConnection {
     @Override
     public void sendPacket(@NotNull SendablePacket packet) {
         final boolean compressed = this.compressed;
-        this.workerQueue.relaxedOffer(() -> writePacketSync(packet, compressed));
+        this.worker.execute(() -> writePacketSync(packet, compressed));
     }
 
     @Override
     public void sendPackets(@NotNull Collection<SendablePacket> packets) {
         final List<SendablePacket> packetsCopy = List.copyOf(packets);
         final boolean compressed = this.compressed;
-        this.workerQueue.relaxedOffer(() -> {
+        this.worker.execute(() -> {
             for (SendablePacket packet : packetsCopy) writePacketSync(packet, compressed);
         });
     }
 
     @ApiStatus.Internal
     public void write(@NotNull ByteBuffer buffer, int index, int length) {
-        this.workerQueue.relaxedOffer(() -> writeBufferSync(buffer, index, length));
+        this.worker.execute(() -> writeBufferSync(buffer, index, length));
+    }
+
+    /**
+     * Writes part of a shared buffer without copying it, unless the connection is encrypted.
+     * <p>
+     * The buffer is retained until written to the socket.
+     */
+    @ApiStatus.Internal
+    public void write(@NotNull SharedBuffer buffer, int index, int length) {
+        buffer.retain();
+        this.worker.execute(() -> writeSharedSync(buffer, index, length));
     }
 
     @ApiStatus.Internal
@@ -202,7 +223,7 @@ public class PlayerSocketConnection extends PlayerConnection {
     @Override
     public void disconnect() {
         super.disconnect();
-        this.workerQueue.relaxedOffer(() -> this.worker.disconnect(this, channel));
+        this.worker.execute(() -> this.worker.disconnect(this, channel));
     }
 
     public @NotNull SocketChannel getChannel() {
@@ -350,10 +371,10 @@ public class PlayerSocketConnection extends PlayerConnection {
         if (packet instanceof ServerPacket serverPacket) {
             writeServerPacketSync(serverPacket, compressed);
         } else if (packet instanceof FramedPacket framedPacket) {
-            var buffer = framedPacket.body();
+            var buffer = framedPacket.body(compressed);
             writeBufferSync0(buffer, 0, buffer.limit());
         } else if (packet instanceof CachedPacket cachedPacket) {
-            var buffer = cachedPacket.body();
+            var buffer = cachedPacket.body(compressed);
             writeBufferSync0(buffer, buffer.position(), buffer.remaining());
         } else if (packet instanceof LazyPacket lazyPacket) {
             writeServerPacketSync(lazyPacket.packet(), compressed);
@@ -396,6 +417,7 @@ public class PlayerSocketConnection extends PlayerConnection {
             }
         }
         // Write data
+        markDirty();
         BinaryBuffer localBuffer = tickBuffer.getPlain();
         final int capacity = localBuffer.capacity();
         if (length <= capacity) {
@@ -412,31 +434,230 @@ public class PlayerSocketConnection extends PlayerConnection {
         }
     }
 
-    public void flushSync() throws IOException {
+    private void writeSharedSync(@NotNull SharedBuffer buffer, int index, int length) {
+        if (!channel.isConnected() || encryptionContext != null) {
+            // Encrypted data is specific to the connection
+            if (channel.isConnected()) writeBufferSync0(buffer.slice(index, length), 0, length);
+            buffer.release();
+            return;
+        }
+        // Keep the order with the data already in the tick buffer
+        markDirty();
+        queueTickBuffer(null);
+        this.waitingBuffers.add(new WaitingBuffer(buffer.slice(index, length), null, buffer));
+    }
+
+    /**
+     * Writes as much pending data as possible, called from the worker thread.
+     *
+     * @return true if all the data has been written, false if the socket is back-pressured
+     */
+    @ApiStatus.Internal
+    public boolean flushSync() throws IOException {
+        final boolean flushed = flushSync0();
+        // Stay pending until flushed, the worker will retry once the socket is writable
+        this.flushPending = !flushed;
+        return flushed;
+    }
+
+    private boolean flushSync0() throws IOException {
         final SocketChannel channel = this.channel;
-        final List<BinaryBuffer> waitingBuffers = this.waitingBuffers;
+        final Deque<WaitingBuffer> waitingBuffers = this.waitingBuffers;
         if (!channel.isConnected()) throw new ClosedChannelException();
+        final BinaryBuffer localBuffer = tickBuffer.getPlain();
         if (waitingBuffers.isEmpty()) {
-            tickBuffer.getPlain().writeChannel(channel);
-        } else {
-            // Write as much as possible from the waiting list
-            Iterator<BinaryBuffer> iterator = waitingBuffers.iterator();
-            while (iterator.hasNext()) {
-                BinaryBuffer waitingBuffer = iterator.next();
-                if (!waitingBuffer.writeChannel(channel)) break;
-                iterator.remove();
-                PooledBuffers.add(waitingBuffer);
-            }
+            final int readerOffset = localBuffer.readerOffset();
+            final boolean written = localBuffer.writeChannel(channel);
+            if (localBuffer.readerOffset() != readerOffset) countWrite(localBuffer.readerOffset() - readerOffset);
+            if (!written) return false;
+            localBuffer.clear();
+            return true;
+        }
+        // Write as much as possible from the waiting list in a single call
+        final ByteBuffer[] gatherBuffers = this.gatherBuffers;
+        int count = 0;
+        for (WaitingBuffer waitingBuffer : waitingBuffers) {
+            if (count == gatherBuffers.length - 1) break;
+            gatherBuffers[count++] = waitingBuffer.buffer();
+        }
+        ByteBuffer tickSlice = null;
+        if (count == waitingBuffers.size() && localBuffer.readableBytes() > 0) {
+            tickSlice = localBuffer.asByteBuffer(localBuffer.readerOffset(), localBuffer.readableBytes());
+            gatherBuffers[count++] = tickSlice;
+        }
+        try {
+            countWrite(channel.write(gatherBuffers, 0, count));
+        } finally {
+            Arrays.fill(gatherBuffers, 0, count, null);
         }
+        // Release the buffers fully written
+        WaitingBuffer waitingBuffer;
+        while ((waitingBuffer = waitingBuffers.peekFirst()) != null && !waitingBuffer.buffer().hasRemaining()) {
+            waitingBuffers.pollFirst();
+            waitingBuffer.release();
+        }
+        if (tickSlice != null) {
+            localBuffer.readerOffset(localBuffer.readerOffset() + tickSlice.position());
+        }
+        if (!waitingBuffers.isEmpty() || localBuffer.readableBytes() > 0) return false;
+        localBuffer.clear();
+        return true;
+    }
+
+    /**
+     * Gets if the pending data should be flushed according to the {@link FlushPolicy}, called from the worker thread.
+     *
+     * @param now     the current {@link System#nanoTime()}
+     * @param tickEnd whether all the packets of the last tick have been written
+     */
+    @ApiStatus.Internal
+    public boolean flushDue(long now, boolean tickEnd) {
+        final FlushPolicy policy = this.flushPolicy;
+        if (policy instanceof FlushPolicy.Immediate) return true;
+        if (policy instanceof FlushPolicy.EndOfTick) return tickEnd;
+        if (policy instanceof FlushPolicy.Bytes bytes) return tickEnd || pendingBytes() >= bytes.threshold();
+        if (policy instanceof FlushPolicy.Interval interval) return now - pendingSince >= interval.nanos();
+        throw new IllegalStateException("Unknown policy: " + policy);
+    }
+
+    /**
+     * Gets the time at which the pending data has to be flushed, independently of the tick.
+     *
+     * @return the {@link System#nanoTime()} deadline, {@link Long#MAX_VALUE} if none
+     */
+    @ApiStatus.Internal
+    public long flushDeadline() {
+        return flushPolicy instanceof FlushPolicy.Interval interval ? pendingSince + interval.nanos() : Long.MAX_VALUE;
+    }
+
+    public @NotNull FlushPolicy getFlushPolicy() {
+        return flushPolicy;
+    }
+
+    /**
+     * Changes when the data written to this connection is flushed to the socket.
+     *
+     * @param flushPolicy the new flush policy
+     */
+    public void setFlushPolicy(@NotNull FlushPolicy flushPolicy) {
+        this.flushPolicy = flushPolicy;
+    }
+
+    /**
+     * Gets the number of socket writes since the connection started.
+     */
+    public long getWriteCount() {
+        return writeCount;
+    }
+
+    /**
+     * Gets the number of bytes written to the socket since the connection started.
+     */
+    public long getWrittenBytes() {
+        return writtenBytes;
+    }
+
+    /**
+     * Gets the number of socket writes during the last second.
+     */
+    public int getWritesPerSecond() {
+        return getWritesPerSecond(System.nanoTime());
+    }
+
+    /**
+     * Gets the number of socket writes during the second before {@code now}.
+     * <p>
+     * The windows are only rolled by writes, the ones which ended without being rolled are accounted for here
+     * so that an idle connection does not keep its last rate.
+     *
+     * @param now the current {@link System#nanoTime()}
+     */
+    @ApiStatus.Internal
+    public int getWritesPerSecond(long now) {
+        final long elapsed = now - secondStart;
+        if (elapsed < 1_000_000_000L) return writesPerSecond;
+        // The current window ended without a write to roll it
+        if (elapsed < 2_000_000_000L) return (int) secondWrites;
+        return 0;
+    }
+
+    /**
+     * Gets the average number of bytes per socket write.
+     */
+    public double getBytesPerWrite() {
+        final long count = writeCount;
+        return count != 0 ? (double) writtenBytes / count : 0;
+    }
+
+    private int pendingBytes() {
+        int bytes = tickBuffer.getPlain().readableBytes();
+        for (WaitingBuffer waitingBuffer : waitingBuffers) bytes += waitingBuffer.buffer().remaining();
+        return bytes;
+    }
+
+    private void countWrite(long bytes) {
+        final long now = System.nanoTime();
+        final long elapsed = now - secondStart;
+        if (elapsed >= 1_000_000_000L) {
+            // No write during the last second if the window ended before it
+            this.writesPerSecond = elapsed < 2_000_000_000L ? (int) secondWrites : 0;
+            this.secondStart = now;
+            this.secondWrites = 0;
+        }
+        this.secondWrites++;
+        this.writeCount++;
+        this.writtenBytes += bytes;
+    }
+
+    private void markDirty() {
+        if (flushPending) return;
+        this.flushPending = true;
+        this.pendingSince = System.nanoTime();
+        this.worker.queueFlush(this);
+    }
+
+    /**
+     * Moves the data of the tick buffer not yet queued to the waiting list.
+     *
+     * @param pooled the tick buffer if it is being replaced, to return to the pool once written
+     */
+    private void queueTickBuffer(@Nullable BinaryBuffer pooled) {
+        final BinaryBuffer localBuffer = tickBuffer.getPlain();
+        final int readable = localBuffer.readableBytes();
+        if (readable == 0 && pooled == null) return;
+        final ByteBuffer slice = localBuffer.asByteBuffer(localBuffer.readerOffset(), readable);
+        localBuffer.readerOffset(localBuffer.writerOffset());
+        this.waitingBuffers.add(new WaitingBuffer(slice, pooled, null));
     }
 
     private BinaryBuffer updateLocalBuffer() {
+        queueTickBuffer(tickBuffer.getPlain());
         BinaryBuffer newBuffer = PooledBuffers.get();
-        this.waitingBuffers.add(tickBuffer.getPlain());
         this.tickBuffer.setPlain(newBuffer);
         return newBuffer;
     }
 
+    /**
+     * Data waiting to be written to the socket.
+     *
+     * @param buffer the data, its position is updated as it gets written
+     * @param pooled the pooled buffer to return once written
+     * @param shared the shared buffer to release once written
+     */
+    private record WaitingBuffer(ByteBuffer buffer, @Nullable BinaryBuffer pooled, @Nullable SharedBuffer shared) {
+        void release() {
+            if (pooled != null) PooledBuffers.add(pooled);
+            if (shared != null) shared.release();
+        }
+    }
+
+    private record WaitingBuffersCleaner(Collection<WaitingBuffer> waitingBuffers) implements Runnable {
+        @Override
+        public void run() {
+            for (WaitingBuffer waitingBuffer : waitingBuffers) waitingBuffer.release();
+        }
+    }
+
     record EncryptionContext(Cipher encrypt, Cipher decrypt) {
     }
 }
@@ -2,6 +2,7 @@ package net.minestom.server.network.socket;
 
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.network.PacketProcessor;
+import net.minestom.server.utils.PropertyUtils;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
@@ -21,7 +22,7 @@ public final class Server {
     public static final int SOCKET_SEND_BUFFER_SIZE = Integer.getInteger("minestom.send-buffer-size", 262_143);
     public static final int SOCKET_RECEIVE_BUFFER_SIZE = Integer.getInteger("minestom.receive-buffer-size", 32_767);
 
-    public static final boolean NO_DELAY = true;
+    public static final boolean NO_DELAY = PropertyUtils.getBoolean("minestom.tcp-no-delay", true);
 
     private volatile boolean stop;
 
@@ -90,6 +91,15 @@ public final class Server {
         }, "Ms-entrypoint").start();
     }
 
+    /**
+     * Notifies the workers that all the packets of the current tick have been written,
+     * for the connections using {@link net.minestom.server.network.player.FlushPolicy#endOfTick()}.
+     */
+    @ApiStatus.Internal
+    public void tickEnd() {
+        this.workers.forEach(Worker::tickEnd);
+    }
+
     public boolean isOpen() {
         return !stop;
     }
@@ -5,7 +5,6 @@ import net.minestom.server.network.player.PlayerSocketConnection;
 import net.minestom.server.thread.MinestomThread;
 import net.minestom.server.utils.binary.BinaryBuffer;
 import net.minestom.server.utils.binary.PooledBuffers;
-import org.jctools.queues.MessagePassingQueue;
 import org.jctools.queues.MpscUnboundedXaddArrayQueue;
 import org.jetbrains.annotations.ApiStatus;
 
@@ -14,8 +13,10 @@ import java.net.Socket;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 @ApiStatus.Internal
@@ -26,6 +27,11 @@ public final class Worker extends MinestomThread {
     private final Map<SocketChannel, PlayerSocketConnection> connectionMap = new ConcurrentHashMap<>();
     private final Server server;
     private final MpscUnboundedXaddArrayQueue<Runnable> queue = new MpscUnboundedXaddArrayQueue<>(1024);
+    // Connections with data to write, only accessed by this thread
+    private final ArrayList<PlayerSocketConnection> dirtyConnections = new ArrayList<>();
+    private boolean tickEnd;
+    // Whether the selector may be blocking and has to be woken up for new tasks
+    private final AtomicBoolean sleeping = new AtomicBoolean();
 
     Worker(Server server) {
         super("Ms-worker-" + COUNTER.getAndIncrement());
@@ -46,49 +52,126 @@ public final class Worker extends MinestomThread {
                 } catch (Exception e) {
                     MinecraftServer.getExceptionManager().handleException(e);
                 }
-                // Flush all connections if needed
-                for (PlayerSocketConnection connection : connectionMap.values()) {
-                    try {
-                        connection.flushSync();
-                    } catch (Exception e) {
-                        connection.disconnect();
-                    }
+                // Flush the connections written to, if required by their policy
+                final long deadline = flushDirtyConnections();
+                // Wait for an event, a new task, or the next flush
+                this.sleeping.set(true);
+                if (!queue.isEmpty()) {
+                    this.selector.selectNow(this::processKey);
+                } else if (deadline != Long.MAX_VALUE) {
+                    final long timeout = Math.max(1, (deadline - System.nanoTime() + 999_999) / 1_000_000);
+                    this.selector.select(this::processKey, timeout);
+                } else {
+                    this.selector.select(this::processKey);
                 }
-                // Wait for an event
-                this.selector.select(key -> {
-                    final SocketChannel channel = (SocketChannel) key.channel();
-                    if (!channel.isOpen()) return;
-                    if (!key.isReadable()) return;
-                    final PlayerSocketConnection connection = connectionMap.get(channel);
-                    if (connection == null) {
-                        try {
-                            channel.close();
-                        } catch (IOException e) {
-                           // Empty
-                        }
-                        return;
-                    }
-                    try {
-                        BinaryBuffer readBuffer = BinaryBuffer.wrap(PooledBuffers.packetBuffer());
-                        // Consume last incomplete packet
-                        connection.consumeCache(readBuffer);
-                        // Read & process
-                        readBuffer.readChannel(channel);
-                        connection.processPackets(readBuffer, server.packetProcessor());
-                    } catch (IOException e) {
-                        // TODO print exception? (should ignore disconnection)
-                        connection.disconnect();
-                    } catch (IllegalArgumentException e) {
-                        MinecraftServer.getExceptionManager().handleException(e);
-                        connection.disconnect();
-                    }
-                }, MinecraftServer.TICK_MS);
+                this.sleeping.set(false);
             } catch (Exception e) {
                 MinecraftServer.getExceptionManager().handleException(e);
             }
         }
     }
 
+    private void processKey(SelectionKey key) {
+        final SocketChannel channel = (SocketChannel) key.channel();
+        if (!channel.isOpen()) return;
+        final PlayerSocketConnection connection = connectionMap.get(channel);
+        if (connection == null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Empty
+            }
+            return;
+        }
+        if (key.isWritable()) {
+            // Socket is not back-pressured anymore
+            flush(connection);
+        }
+        if (!key.isReadable()) return;
+        try {
+            BinaryBuffer readBuffer = BinaryBuffer.wrap(PooledBuffers.packetBuffer());
+            // Consume last incomplete packet
+            connection.consumeCache(readBuffer);
+            // Read & process
+            readBuffer.readChannel(channel);
+            connection.processPackets(readBuffer, server.packetProcessor());
+        } catch (IOException e) {
+            // TODO print exception? (should ignore disconnection)
+            connection.disconnect();
+        } catch (IllegalArgumentException e) {
+            MinecraftServer.getExceptionManager().handleException(e);
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * Flushes the dirty connections due according to their flush policy.
+     *
+     * @return the earliest deadline of the connections still waiting, {@link Long#MAX_VALUE} if none
+     */
+    private long flushDirtyConnections() {
+        final ArrayList<PlayerSocketConnection> connections = this.dirtyConnections;
+        final boolean tickEnd = this.tickEnd;
+        this.tickEnd = false;
+        if (connections.isEmpty()) return Long.MAX_VALUE;
+        final long now = System.nanoTime();
+        long deadline = Long.MAX_VALUE;
+        int index = 0;
+        while (index < connections.size()) {
+            final PlayerSocketConnection connection = connections.get(index);
+            if (!connection.flushDue(now, tickEnd)) {
+                deadline = Math.min(deadline, connection.flushDeadline());
+                index++;
+                continue;
+            }
+            // Swap remove
+            final int last = connections.size() - 1;
+            connections.set(index, connections.get(last));
+            connections.remove(last);
+            flush(connection);
+        }
+        return deadline;
+    }
+
+    private void flush(PlayerSocketConnection connection) {
+        if (!connection.isOnline()) return;
+        try {
+            final boolean flushed = connection.flushSync();
+            // Wait for the socket to be writable again instead of retrying every iteration
+            final SelectionKey key = connection.getChannel().keyFor(selector);
+            if (key != null && key.isValid()) {
+                key.interestOps(flushed ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            }
+        } catch (Exception e) {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * Executes a task in the worker thread.
+     */
+    public void execute(Runnable task) {
+        this.queue.offer(task);
+        if (sleeping.get() && sleeping.compareAndSet(true, false)) {
+            this.selector.wakeup();
+        }
+    }
+
+    /**
+     * Notifies that all the packets of the current tick have been sent to the worker.
+     */
+    void tickEnd() {
+        execute(() -> this.tickEnd = true);
+    }
+
+    /**
+     * Schedules a connection to be flushed, must be called from the worker thread.
+     */
+    public void queueFlush(PlayerSocketConnection connection) {
+        assert Thread.currentThread() == this;
+        this.dirtyConnections.add(connection);
+    }
+
     public void disconnect(PlayerSocketConnection connection, SocketChannel channel) {
         assert !connection.isOnline();
         assert Thread.currentThread() == this;
@@ -114,8 +197,4 @@ public final class Worker extends MinestomThread {
         socket.setSoTimeout(30 * 1000); // 30 seconds
         this.selector.wakeup();
     }
-
-    public MessagePassingQueue<Runnable> queue() {
-        return queue;
-    }
 }
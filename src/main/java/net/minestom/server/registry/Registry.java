@@ -167,6 +167,8 @@ public final class Registry {
         private final boolean air;
         private final boolean solid;
         private final boolean liquid;
+        private final boolean occludes;
+        private final int lightEmission;
         private final String blockEntity;
         private final int blockEntityId;
         private final Supplier<Material> materialSupplier;
@@ -188,6 +190,8 @@ public final class Registry {
             this.air = main.getBoolean("air", false);
             this.solid = main.getBoolean("solid");
             this.liquid = main.getBoolean("liquid", false);
+            this.occludes = main.getBoolean("occludes", solid);
+            this.lightEmission = main.getInt("lightEmission", 0);
             this.soundType = SoundType.fromNamespaceId("minecraft:" + main.getString("soundType").toLowerCase());
             {
                 Properties blockEntity = main.section("blockEntity");
@@ -257,6 +261,14 @@ public final class Registry {
             return liquid;
         }
 
+        public boolean occludes() {
+            return occludes;
+        }
+
+        public int lightEmission() {
+            return lightEmission;
+        }
+
         public boolean isBlockEntity() {
             return blockEntity != null;
         }
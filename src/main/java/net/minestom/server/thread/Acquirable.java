@@ -5,6 +5,7 @@ import net.minestom.server.utils.async.AsyncUtils;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
@@ -40,6 +41,16 @@ public sealed interface Acquirable<T> permits AcquirableImpl {
         return AcquirableImpl.WAIT_COUNTER_NANO.getAndSet(0);
     }
 
+    /**
+     * Retrieve and reset the contended acquiring time of each thread pair.
+     * <p>
+     * Pairs without any wait since the last call are omitted.
+     */
+    @ApiStatus.Internal
+    static @NotNull Map<@NotNull ThreadPair, @NotNull Long> resetPairAcquiringTime() {
+        return AcquirableImpl.resetPairWaitTime();
+    }
+
     /**
      * Creates a new {@link Acquirable} object.
      * <p>
@@ -60,12 +71,16 @@ public sealed interface Acquirable<T> permits AcquirableImpl {
      * <p>
      * Useful when your code cannot be done inside a callback and need to be sync.
      * Do not forget to call {@link Acquired#unlock()} once you are done with it.
+     * <p>
+     * Acquiring while already holding an element of another thread should preferably be done
+     * in increasing {@link TickThread#index()} order: other nested acquisitions may have to release
+     * the threads already held while waiting, allowing their elements to be modified meanwhile.
      *
      * @return an acquired object
      * @see #sync(Consumer) for auto-closeable capability
      */
     default @NotNull Acquired<T> lock() {
-        return new Acquired<>(unwrap(), assignedThread());
+        return new Acquired<>((AcquirableImpl<T>) this);
     }
 
     /**
@@ -128,4 +143,16 @@ public sealed interface Acquirable<T> permits AcquirableImpl {
 
     @ApiStatus.Internal
     @NotNull TickThread assignedThread();
+
+    /**
+     * A thread acquiring an element of a {@link TickThread}.
+     * <p>
+     * Threads other than tick threads are reported together as {@link #OTHER}.
+     *
+     * @param acquirer the {@link TickThread#index()} of the acquiring thread
+     * @param target   the {@link TickThread#index()} of the acquired thread
+     */
+    record ThreadPair(int acquirer, int target) {
+        public static final int OTHER = -1;
+    }
 }
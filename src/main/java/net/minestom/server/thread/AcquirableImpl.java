@@ -4,16 +4,37 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.lang.invoke.VarHandle;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
+/**
+ * Acquisitions lock the {@link TickThread} of the element, without any global lock,
+ * so that disjoint pairs of threads never wait for each other.
+ * <p>
+ * A tick thread acquiring another one releases its own lock while waiting,
+ * allowing the target thread to acquire it in the meantime.
+ * Deadlocks are avoided by only blocking in increasing {@link TickThread#index()} order:
+ * a nested acquisition in decreasing order releases the threads already held,
+ * and acquires them back with the target in index order.
+ */
 final class AcquirableImpl<T> implements Acquirable<T> {
     static final AtomicLong WAIT_COUNTER_NANO = new AtomicLong();
 
+    // Wait time of each (acquirer, target) pair, keyed by the TickThread#index() of both threads
+    // Pairs without wait are removed on reset, the map only contains the recently contended pairs
+    private static final Map<ThreadPair, LongAdder> PAIR_WAIT_NANO = new ConcurrentHashMap<>();
+
+    private static final long SPIN_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
     /**
-     * Global lock used for synchronization.
+     * Tick threads acquired by the current thread, in acquisition order.
      */
-    private static final ReentrantLock GLOBAL_LOCK = new ReentrantLock();
+    private static final ThreadLocal<Held> HELD = ThreadLocal.withInitial(Held::new);
 
     private final T value;
     private TickThread assignedThread;
@@ -38,37 +59,154 @@ final class AcquirableImpl<T> implements Acquirable<T> {
         VarHandle.releaseFence();
     }
 
-    static @Nullable ReentrantLock enter(@NotNull Thread currentThread, @Nullable TickThread elementThread) {
+    static @Nullable TickThread enter(@NotNull Thread currentThread, @Nullable TickThread elementThread) {
         if (elementThread == null) return null;
         if (currentThread == elementThread) return null;
-        final ReentrantLock currentLock = currentThread instanceof TickThread ? ((TickThread) currentThread).lock() : null;
         final ReentrantLock targetLock = elementThread.lock();
         if (targetLock.isHeldByCurrentThread()) return null;
+        final Held held = HELD.get();
+        if (targetLock.tryLock()) {
+            // Uncontended
+            held.push(elementThread);
+            return elementThread;
+        }
+
+        final TickThread currentTickThread = currentThread instanceof TickThread tickThread &&
+                tickThread.lock().isHeldByCurrentThread() ? tickThread : null;
 
         // Monitoring
         final long time = System.nanoTime();
 
-        // Enter the target thread
-        // TODO reduce global lock scope
-        if (currentLock != null) {
-            while (!GLOBAL_LOCK.tryLock()) {
-                currentLock.unlock();
-                currentLock.lock();
+        if (held.isEmpty()) {
+            if (currentTickThread != null) {
+                // Let other threads acquire us while waiting
+                final ReentrantLock currentLock = currentTickThread.lock();
+                while (!tryLock(targetLock)) yieldLock(currentLock);
+            } else {
+                targetLock.lock();
             }
         } else {
-            GLOBAL_LOCK.lock();
+            // Nested acquisition, the current thread cannot be released anymore
+            int maxIndex = held.maxIndex();
+            if (currentTickThread != null) maxIndex = Math.max(maxIndex, currentTickThread.index());
+            if (maxIndex < elementThread.index()) {
+                targetLock.lock();
+            } else if (!tryLock(targetLock)) {
+                // Out of order, the holder of the target may be waiting for one of our threads
+                reacquireInOrder(held, currentTickThread, elementThread);
+            }
         }
-        targetLock.lock();
+        held.push(elementThread);
 
         // Monitoring
-        WAIT_COUNTER_NANO.addAndGet(System.nanoTime() - time);
-        return targetLock;
+        final long waited = System.nanoTime() - time;
+        WAIT_COUNTER_NANO.addAndGet(waited);
+        final ThreadPair pair = new ThreadPair(currentThread instanceof TickThread tickThread ?
+                tickThread.index() : ThreadPair.OTHER, elementThread.index());
+        PAIR_WAIT_NANO.computeIfAbsent(pair, p -> new LongAdder()).add(waited);
+        return elementThread;
     }
 
-    static void leave(@Nullable ReentrantLock lock) {
-        if (lock != null) {
-            lock.unlock();
-            GLOBAL_LOCK.unlock();
+    /**
+     * Releases the held threads and acquires them back along with the target, in index order.
+     * <p>
+     * Elements of the released threads may be modified by their holders meanwhile.
+     */
+    private static void reacquireInOrder(Held held, @Nullable TickThread currentTickThread, TickThread target) {
+        List<TickThread> threads = new ArrayList<>(held.size() + 2);
+        held.forEach(threads::add);
+        if (currentTickThread != null && !threads.contains(currentTickThread)) threads.add(currentTickThread);
+        final int[] holdCounts = new int[threads.size()];
+        for (int i = 0; i < threads.size(); i++) {
+            final ReentrantLock lock = threads.get(i).lock();
+            holdCounts[i] = lock.getHoldCount();
+            for (int j = 0; j < holdCounts[i]; j++) lock.unlock();
+        }
+        // Always nothing held while blocking, or only lower indexes
+        List<TickThread> ordered = new ArrayList<>(threads);
+        ordered.add(target);
+        ordered.sort(Comparator.comparingInt(TickThread::index));
+        for (TickThread thread : ordered) {
+            final int index = threads.indexOf(thread);
+            final int count = index != -1 ? holdCounts[index] : 1;
+            for (int j = 0; j < count; j++) thread.lock().lock();
+        }
+    }
+
+    static void leave(@Nullable TickThread thread) {
+        if (thread != null) {
+            HELD.get().remove(thread);
+            thread.lock().unlock();
+        }
+    }
+
+    static @NotNull Map<ThreadPair, Long> resetPairWaitTime() {
+        Map<ThreadPair, Long> result = new HashMap<>();
+        for (var iterator = PAIR_WAIT_NANO.entrySet().iterator(); iterator.hasNext(); ) {
+            final var entry = iterator.next();
+            final long time = entry.getValue().sumThenReset();
+            if (time > 0) {
+                result.put(entry.getKey(), time);
+            } else {
+                // Not contended since the last reset, concurrent waits may be lost
+                iterator.remove();
+            }
+        }
+        return result;
+    }
+
+    private static boolean tryLock(ReentrantLock lock) {
+        try {
+            return lock.tryLock(SPIN_NANOS, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Releases a lock and takes it back once the queued threads had a chance to acquire it.
+     */
+    static void yieldLock(ReentrantLock lock) {
+        lock.unlock();
+        while (lock.hasQueuedThreads() && !lock.isLocked()) Thread.onSpinWait();
+        lock.lock();
+    }
+
+    private static final class Held {
+        private TickThread[] threads = new TickThread[4];
+        private int size;
+
+        void push(TickThread thread) {
+            if (size == threads.length) threads = Arrays.copyOf(threads, size * 2);
+            threads[size++] = thread;
+        }
+
+        void remove(TickThread thread) {
+            for (int i = size - 1; i >= 0; i--) {
+                if (threads[i] != thread) continue;
+                System.arraycopy(threads, i + 1, threads, i, size - i - 1);
+                threads[--size] = null;
+                return;
+            }
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void forEach(Consumer<TickThread> consumer) {
+            for (int i = 0; i < size; i++) consumer.accept(threads[i]);
+        }
+
+        int maxIndex() {
+            int max = -1;
+            for (int i = 0; i < size; i++) max = Math.max(max, threads[i].index());
+            return max;
         }
     }
 }
@@ -3,8 +3,6 @@ package net.minestom.server.thread;
 import net.minestom.server.utils.validate.Check;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.concurrent.locks.ReentrantLock;
-
 /**
  * Represents an object that has been safely acquired and can be freed again.
  * <p>
@@ -16,13 +14,22 @@ import java.util.concurrent.locks.ReentrantLock;
 public final class Acquired<T> {
     private final T value;
     private final Thread owner;
-    private final ReentrantLock lock;
+    private final TickThread acquiredThread;
     private boolean unlocked;
 
-    Acquired(T value, TickThread tickThread) {
-        this.value = value;
+    Acquired(AcquirableImpl<T> acquirable) {
+        this.value = acquirable.unwrap();
         this.owner = Thread.currentThread();
-        this.lock = AcquirableImpl.enter(owner, tickThread);
+        TickThread tickThread = acquirable.assignedThread();
+        TickThread acquiredThread = AcquirableImpl.enter(owner, tickThread);
+        // The element may have been moved to another thread while waiting
+        TickThread currentThread;
+        while ((currentThread = acquirable.assignedThread()) != tickThread) {
+            AcquirableImpl.leave(acquiredThread);
+            tickThread = currentThread;
+            acquiredThread = AcquirableImpl.enter(owner, tickThread);
+        }
+        this.acquiredThread = acquiredThread;
     }
 
     public @NotNull T get() {
@@ -33,7 +40,7 @@ public final class Acquired<T> {
     public void unlock() {
         safeCheck();
         this.unlocked = true;
-        AcquirableImpl.leave(lock);
+        AcquirableImpl.leave(acquiredThread);
     }
 
     private void safeCheck() {
@@ -0,0 +1,90 @@
+package net.minestom.server.thread;
+
+import net.minestom.server.utils.validate.Check;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Assigns new partitions in round-robin, then periodically moves them from the most to the least loaded threads
+ * using their measured {@link ThreadDispatcher.Partition#cost()}, most expensive first.
+ *
+ * @see ThreadProvider#balanced(int, int)
+ */
+final class BalancedThreadProvider<T> implements ThreadProvider<T> {
+    private static final Comparator<ThreadDispatcher.Partition> COST_ORDER =
+            Comparator.comparingLong(ThreadDispatcher.Partition::estimatedCost).reversed();
+
+    private final AtomicInteger counter = new AtomicInteger();
+    private final int interval;
+    private final int maxMigrations;
+    private int ticks;
+
+    BalancedThreadProvider(int interval, int maxMigrations) {
+        Check.argCondition(interval <= 0, "The rebalance interval must be positive");
+        Check.argCondition(maxMigrations <= 0, "The number of migrations must be positive");
+        this.interval = interval;
+        this.maxMigrations = maxMigrations;
+    }
+
+    @Override
+    public int findThread(@NotNull T partition) {
+        return counter.getAndIncrement();
+    }
+
+    /**
+     * Moves the partitions to balance the thread costs, called between ticks.
+     *
+     * @param threads the dispatcher threads
+     */
+    void rebalance(@NotNull List<@NotNull TickThread> threads) {
+        if (++ticks < interval) return;
+        this.ticks = 0;
+        final int threadCount = threads.size();
+        if (threadCount < 2) return;
+
+        long[] loads = new long[threadCount];
+        Map<TickThread, Integer> threadIndexes = new IdentityHashMap<>(threadCount);
+        List<ThreadDispatcher.Partition> partitions = new ArrayList<>();
+        long maxLoad = 0, totalLoad = 0;
+        for (int i = 0; i < threadCount; i++) {
+            final TickThread thread = threads.get(i);
+            threadIndexes.put(thread, i);
+            long load = 0;
+            for (ThreadDispatcher.Partition partition : thread.entries()) {
+                partitions.add(partition);
+                load += partition.estimatedCost();
+            }
+            loads[i] = load;
+            maxLoad = Math.max(maxLoad, load);
+            totalLoad += load;
+        }
+        // Ignore imbalances lower than 10%, avoiding migrations caused by noise
+        final long slack = totalLoad / threadCount / 10;
+        if (maxLoad <= totalLoad / threadCount + slack) return;
+
+        // Most expensive first, so that a limited number of migrations moves as much cost as possible
+        partitions.sort(COST_ORDER);
+        int migrations = 0;
+        for (ThreadDispatcher.Partition partition : partitions) {
+            if (migrations >= maxMigrations) break;
+            final int current = threadIndexes.get(partition.thread());
+            int least = 0;
+            for (int i = 1; i < threadCount; i++) {
+                if (loads[i] < loads[least]) least = i;
+            }
+            // Only move when both threads end up below the current load
+            final long cost = partition.estimatedCost();
+            if (loads[current] - loads[least] <= cost) continue;
+            partition.moveTo(threads.get(least));
+            loads[current] -= cost;
+            loads[least] += cost;
+            migrations++;
+        }
+    }
+}
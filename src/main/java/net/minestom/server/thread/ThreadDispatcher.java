@@ -1,11 +1,13 @@
 package net.minestom.server.thread;
 
+import net.minestom.server.MinecraftServer;
 import net.minestom.server.Tickable;
 import net.minestom.server.entity.Entity;
 import org.jctools.queues.MessagePassingQueue;
 import org.jctools.queues.MpscUnboundedArrayQueue;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.*;
@@ -29,17 +31,36 @@ public final class ThreadDispatcher<P> {
 
     // Requests consumed at the end of each tick
     private final MessagePassingQueue<DispatchUpdate<P>> updates = new MpscUnboundedArrayQueue<>(1024);
+    // Messages drained from the updates, routed once sorted by sender
+    private final List<DispatchUpdate.Message<P>> pendingMessages = new ArrayList<>();
 
-    private ThreadDispatcher(ThreadProvider<P> provider, int threadCount) {
+    private ThreadDispatcher(ThreadProvider<P> provider, int threadCount, boolean workStealing) {
         this.provider = provider;
         TickThread[] threads = new TickThread[threadCount];
         Arrays.setAll(threads, TickThread::new);
         this.threads = List.of(threads);
+        if (workStealing) this.threads.forEach(thread -> thread.enableWorkStealing(this.threads));
         this.threads.forEach(Thread::start);
     }
 
     public static <P> @NotNull ThreadDispatcher<P> of(@NotNull ThreadProvider<P> provider, int threadCount) {
-        return new ThreadDispatcher<>(provider, threadCount);
+        return new ThreadDispatcher<>(provider, threadCount, false);
+    }
+
+    /**
+     * Creates a dispatcher where threads done with their partitions tick the remaining ones of the busiest threads.
+     * <p>
+     * Partitions are ticked from the most to the least {@link Partition#cost() expensive},
+     * a stolen partition is moved to the thief thread along with its elements, until its next refresh.
+     *
+     * @param provider    the provider of the initial partition threads
+     * @param threadCount the number of tick threads
+     * @param <P>         the partition type
+     * @return a new work stealing dispatcher
+     */
+    @ApiStatus.Experimental
+    public static <P> @NotNull ThreadDispatcher<P> workStealing(@NotNull ThreadProvider<P> provider, int threadCount) {
+        return new ThreadDispatcher<>(provider, threadCount, true);
     }
 
     public static <P> @NotNull ThreadDispatcher<P> singleThread() {
@@ -67,11 +88,15 @@ public final class ThreadDispatcher<P> {
                 processUpdatedElement(elementUpdate.tickable(), elementUpdate.partition());
             } else if (update instanceof DispatchUpdate.ElementRemove elementRemove) {
                 processRemovedElement(elementRemove.tickable());
+            } else if (update instanceof DispatchUpdate.Message<P> message) {
+                this.pendingMessages.add(message);
             } else {
                 throw new IllegalStateException("Unknown update type: " + update.getClass().getSimpleName());
             }
         });
+        processMessages();
         // Tick all partitions
+        for (TickThread thread : threads) thread.prepareTick();
         CountDownLatch latch = new CountDownLatch(threads.size());
         for (TickThread thread : threads) thread.startTick(latch, time);
         try {
@@ -83,11 +108,16 @@ public final class ThreadDispatcher<P> {
 
     /**
      * Called at the end of each tick to clear removed entities,
-     * refresh the chunk linked to an entity, and chunk threads based on {@link ThreadProvider#findThread(Object)}.
+     * refresh the chunk linked to an entity, and chunk threads based on {@link ThreadProvider#findThread(Object)}
+     * (or their cost for {@link ThreadProvider#balanced(int, int)}).
      *
      * @param nanoTimeout max time in nanoseconds to update partitions
      */
     public void refreshThreads(long nanoTimeout) {
+        if (provider instanceof BalancedThreadProvider<P> balanced) {
+            balanced.rebalance(threads);
+            return;
+        }
         switch (provider.refreshType()) {
             case NEVER -> {
                 // Do nothing
@@ -101,13 +131,7 @@ public final class ThreadDispatcher<P> {
                     // Update chunk's thread
                     Partition partitionEntry = partitions.get(partition);
                     assert partitionEntry != null;
-                    final TickThread previous = partitionEntry.thread;
-                    final TickThread next = retrieveThread(partition);
-                    if (next != previous) {
-                        partitionEntry.thread = next;
-                        previous.entries().remove(partitionEntry);
-                        next.entries().add(partitionEntry);
-                    }
+                    partitionEntry.moveTo(retrieveThread(partition));
                     this.partitionUpdateQueue.addLast(partition);
                     if (--counter <= 0 || System.nanoTime() - currentTime >= nanoTimeout) {
                         break;
@@ -137,6 +161,31 @@ public final class ThreadDispatcher<P> {
         signalUpdate(new DispatchUpdate.ElementRemove<>(tickable));
     }
 
+    /**
+     * Posts a task to the thread ticking {@code partition}.
+     * <p>
+     * The task runs in the next {@link #updateAndAwait(long)}, before the partition elements are ticked
+     * and without any acquisition. Tasks of a partition are ordered by the {@link TickThread#index()} of their sender
+     * (non-tick threads last), then by posting order. Tasks targeting a deleted partition are discarded.
+     *
+     * @param partition the partition to run the task in
+     * @param task      the task to run
+     */
+    public void postToPartition(@NotNull P partition, @NotNull Runnable task) {
+        signalUpdate(new DispatchUpdate.Message<>(partition, null, senderIndex(), task));
+    }
+
+    /**
+     * Posts a task to the thread ticking {@code tickable}, in its partition.
+     *
+     * @param tickable the element to run the task next to
+     * @param task     the task to run
+     * @see #postToPartition(Object, Runnable)
+     */
+    public void postToElement(@NotNull Tickable tickable, @NotNull Runnable task) {
+        signalUpdate(new DispatchUpdate.Message<>(null, tickable, senderIndex(), task));
+    }
+
     /**
      * Shutdowns all the {@link TickThread tick threads}.
      * <p>
@@ -156,6 +205,23 @@ public final class ThreadDispatcher<P> {
         this.updates.relaxedOffer(update);
     }
 
+    private static int senderIndex() {
+        return Thread.currentThread() instanceof TickThread tickThread ? tickThread.index() : Integer.MAX_VALUE;
+    }
+
+    private void processMessages() {
+        final List<DispatchUpdate.Message<P>> messages = this.pendingMessages;
+        if (messages.isEmpty()) return;
+        // Stable sort, keeps the posting order of each sender
+        messages.sort(Comparator.comparingInt(DispatchUpdate.Message::sender));
+        for (DispatchUpdate.Message<P> message : messages) {
+            final Partition partitionEntry = message.partition() != null ?
+                    partitions.get(message.partition()) : elements.get(message.tickable());
+            if (partitionEntry != null) partitionEntry.messages.add(message.task());
+        }
+        messages.clear();
+    }
+
     private void processLoadedPartition(P partition) {
         if (partitions.containsKey(partition)) return;
         final TickThread thread = retrieveThread(partition);
@@ -209,6 +275,8 @@ public final class ThreadDispatcher<P> {
     public static final class Partition {
         private TickThread thread;
         private final List<Tickable> elements = new ArrayList<>();
+        private final List<Runnable> messages = new ArrayList<>();
+        private volatile long cost;
 
         private Partition(TickThread thread) {
             this.thread = thread;
@@ -218,15 +286,66 @@ public final class ThreadDispatcher<P> {
             return thread;
         }
 
+        /**
+         * Gets the moving average of the time spent ticking this partition and its elements.
+         *
+         * @return the partition tick time in nanoseconds, 0 if never ticked
+         */
+        public long cost() {
+            return cost;
+        }
+
+        long estimatedCost() {
+            // Never ticked partitions are not free
+            return Math.max(1, cost);
+        }
+
+        void updateCost(long nanos) {
+            final long cost = this.cost;
+            this.cost = cost == 0 ? nanos : cost + ((nanos - cost) >> 3);
+        }
+
+        /**
+         * Moves the partition and its elements to another thread, which must not be ticking.
+         */
+        void moveTo(@NotNull TickThread thread) {
+            final TickThread previous = this.thread;
+            if (previous == thread) return;
+            this.thread = thread;
+            previous.entries().remove(this);
+            thread.entries().add(this);
+            for (Tickable element : elements) {
+                if (element instanceof Entity entity) {
+                    ((AcquirableImpl<?>) entity.getAcquirable()).updateThread(thread);
+                }
+            }
+        }
+
         public @NotNull List<Tickable> elements() {
             return elements;
         }
+
+        /**
+         * Runs the tasks posted to this partition, called by its thread before ticking the elements.
+         */
+        void runMessages() {
+            final List<Runnable> messages = this.messages;
+            if (messages.isEmpty()) return;
+            for (Runnable message : messages) {
+                try {
+                    message.run();
+                } catch (Throwable e) {
+                    MinecraftServer.getExceptionManager().handleException(e);
+                }
+            }
+            messages.clear();
+        }
     }
 
     @ApiStatus.Internal
     sealed interface DispatchUpdate<P> permits
             DispatchUpdate.PartitionLoad, DispatchUpdate.PartitionUnload,
-            DispatchUpdate.ElementUpdate, DispatchUpdate.ElementRemove {
+            DispatchUpdate.ElementUpdate, DispatchUpdate.ElementRemove, DispatchUpdate.Message {
         record PartitionLoad<P>(@NotNull P partition) implements DispatchUpdate<P> {
         }
 
@@ -238,5 +357,9 @@ public final class ThreadDispatcher<P> {
 
         record ElementRemove<P>(@NotNull Tickable tickable) implements DispatchUpdate<P> {
         }
+
+        record Message<P>(@Nullable P partition, @Nullable Tickable tickable,
+                          int sender, @NotNull Runnable task) implements DispatchUpdate<P> {
+        }
     }
 }
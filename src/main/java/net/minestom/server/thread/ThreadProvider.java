@@ -19,6 +19,22 @@ public interface ThreadProvider<T> {
         };
     }
 
+    /**
+     * Creates a provider moving partitions between threads based on their measured tick time.
+     * <p>
+     * Every {@code interval} ticks, partitions are moved from the most to the least
+     * {@link ThreadDispatcher.Partition#cost() expensive} to the least loaded thread, as long as the move
+     * lowers the load of their current thread without overloading the other one. Imbalances under 10% are ignored.
+     *
+     * @param interval      the number of ticks between two rebalances
+     * @param maxMigrations the maximum number of partitions moved per rebalance
+     * @param <T>           the partition type
+     * @return a new cost-aware provider
+     */
+    static <T> @NotNull ThreadProvider<T> balanced(int interval, int maxMigrations) {
+        return new BalancedThreadProvider<>(interval, maxMigrations);
+    }
+
     /**
      * Performs a server tick for all chunks based on their linked thread.
      *
@@ -8,9 +8,12 @@ import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -21,6 +24,11 @@ import java.util.concurrent.locks.ReentrantLock;
  */
 @ApiStatus.Internal
 public final class TickThread extends MinestomThread {
+    private static final AtomicInteger INDEX_COUNTER = new AtomicInteger();
+    private static final Comparator<ThreadDispatcher.Partition> COST_ORDER =
+            Comparator.comparingLong(ThreadDispatcher.Partition::estimatedCost).reversed();
+
+    private final int index = INDEX_COUNTER.getAndIncrement();
     private final ReentrantLock lock = new ReentrantLock();
     private volatile boolean stop;
 
@@ -28,6 +36,15 @@ public final class TickThread extends MinestomThread {
     private long tickTime;
     private final List<ThreadDispatcher.Partition> entries = new ArrayList<>();
 
+    // Partitions left to tick, claimed from the head by this thread and from the tail by thieves
+    // Guarded by the thread lock
+    private ThreadDispatcher.Partition[] work = new ThreadDispatcher.Partition[0];
+    private int workHead, workTail;
+    // Estimated cost of the unclaimed partitions, used by thieves to find the busiest thread
+    private volatile long remainingCost;
+    // Threads to steal partitions from once done, null if work stealing is disabled
+    private List<TickThread> victims;
+
     public TickThread(int number) {
         super(MinecraftServer.THREAD_NAME_TICK + "-" + number);
     }
@@ -50,29 +67,95 @@ public final class TickThread extends MinestomThread {
     }
 
     private void tick() {
+        while (workHead < workTail) {
+            final ThreadDispatcher.Partition entry = work[workHead];
+            work[workHead++] = null;
+            this.remainingCost -= entry.estimatedCost();
+            tickPartition(entry);
+        }
+        final List<TickThread> victims = this.victims;
+        if (victims != null) steal(victims);
+    }
+
+    private void tickPartition(ThreadDispatcher.Partition entry) {
+        assert entry.thread() == this;
         final ReentrantLock lock = this.lock;
         final long tickTime = this.tickTime;
-        for (ThreadDispatcher.Partition entry : entries) {
-            assert entry.thread() == this;
-            final List<Tickable> elements = entry.elements();
-            if (elements.isEmpty()) continue;
-            for (Tickable element : elements) {
-                if (lock.hasQueuedThreads()) {
-                    lock.unlock();
-                    // #acquire() callbacks should be called here
-                    lock.lock();
-                }
-                try {
-                    element.tick(tickTime);
-                } catch (Throwable e) {
-                    MinecraftServer.getExceptionManager().handleException(e);
+        final long start = System.nanoTime();
+        entry.runMessages();
+        for (Tickable element : entry.elements()) {
+            if (lock.hasQueuedThreads()) {
+                // #acquire() callbacks should be called here
+                AcquirableImpl.yieldLock(lock);
+            }
+            try {
+                element.tick(tickTime);
+            } catch (Throwable e) {
+                MinecraftServer.getExceptionManager().handleException(e);
+            }
+        }
+        entry.updateCost(System.nanoTime() - start);
+    }
+
+    /**
+     * Ticks the unclaimed partitions of the busiest threads until none is left.
+     */
+    private void steal(List<TickThread> victims) {
+        while (true) {
+            TickThread victim = null;
+            long maxCost = 0;
+            for (TickThread thread : victims) {
+                final long cost = thread.remainingCost;
+                if (thread != this && cost > maxCost) {
+                    victim = thread;
+                    maxCost = cost;
                 }
             }
+            if (victim == null) return;
+            // The victim is paused between two elements, no acquisition of its partitions is in progress
+            final ThreadDispatcher.Partition stolen;
+            final TickThread acquired = AcquirableImpl.enter(this, victim);
+            try {
+                stolen = victim.giveWork(this);
+            } finally {
+                AcquirableImpl.leave(acquired);
+            }
+            if (stolen != null) tickPartition(stolen);
+        }
+    }
+
+    private ThreadDispatcher.Partition giveWork(TickThread thief) {
+        if (workHead >= workTail) {
+            this.remainingCost = 0;
+            return null;
         }
+        // Cheapest remaining partition, the owner keeps the most expensive ones
+        final ThreadDispatcher.Partition entry = work[--workTail];
+        work[workTail] = null;
+        this.remainingCost -= entry.estimatedCost();
+        entry.moveTo(thief);
+        return entry;
+    }
+
+    /**
+     * Prepares the partitions to tick, called before any thread of the dispatcher is started.
+     */
+    void prepareTick() {
+        final List<ThreadDispatcher.Partition> entries = this.entries;
+        final int size = entries.size();
+        if (work.length < size) this.work = new ThreadDispatcher.Partition[Math.max(size, work.length * 2)];
+        final ThreadDispatcher.Partition[] work = entries.toArray(this.work);
+        // Most expensive first, leaving the cheap partitions to the thieves
+        if (victims != null) Arrays.sort(work, 0, size, COST_ORDER);
+        long cost = 0;
+        for (int i = 0; i < size; i++) cost += work[i].estimatedCost();
+        this.workHead = 0;
+        this.workTail = size;
+        this.remainingCost = cost;
     }
 
     void startTick(CountDownLatch latch, long tickTime) {
-        if (entries.isEmpty()) {
+        if (entries.isEmpty() && victims == null) {
             // Nothing to tick
             latch.countDown();
             return;
@@ -83,6 +166,10 @@ public final class TickThread extends MinestomThread {
         LockSupport.unpark(this);
     }
 
+    void enableWorkStealing(List<TickThread> victims) {
+        this.victims = victims;
+    }
+
     public Collection<ThreadDispatcher.Partition> entries() {
         return entries;
     }
@@ -96,6 +183,15 @@ public final class TickThread extends MinestomThread {
         return lock;
     }
 
+    /**
+     * Gets the unique index of this thread, defining the order in which thread locks are acquired.
+     *
+     * @return the thread index
+     */
+    public int index() {
+        return index;
+    }
+
     void shutdown() {
         this.stop = true;
         LockSupport.unpark(this);
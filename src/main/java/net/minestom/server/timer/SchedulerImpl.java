@@ -1,17 +1,18 @@
 package net.minestom.server.timer;
 
-import it.unimi.dsi.fastutil.ints.Int2ObjectAVLTreeMap;
+import net.minestom.server.utils.async.BlockingExecutor;
+import org.jctools.queues.MessagePassingQueue;
 import org.jctools.queues.MpscUnboundedArrayQueue;
+import org.jctools.queues.MpscUnboundedXaddArrayQueue;
 import org.jetbrains.annotations.NotNull;
 
 import java.time.Duration;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 final class SchedulerImpl implements Scheduler {
@@ -21,13 +22,19 @@ final class SchedulerImpl implements Scheduler {
         thread.setDaemon(true);
         return thread;
     });
-    private static final ForkJoinPool EXECUTOR = ForkJoinPool.commonPool();
+    private static final Executor EXECUTOR = BlockingExecutor.get();
 
     private final MpscUnboundedArrayQueue<TaskImpl> taskQueue = new MpscUnboundedArrayQueue<>(64);
-    // Tasks scheduled on a certain tick
-    private final Int2ObjectAVLTreeMap<List<TaskImpl>> tickTaskQueue = new Int2ObjectAVLTreeMap<>();
+    // Tasks scheduled on a certain tick, submitted lock-free and moved to the wheel by the processing thread
+    private final MessagePassingQueue<TaskImpl> tickTaskQueue = new MpscUnboundedXaddArrayQueue<>(64);
+    private final TickWheel tickWheel = new TickWheel();
 
-    private int tickState;
+    // Allocated once to keep processing allocation-free
+    private final MessagePassingQueue.Consumer<TaskImpl> scheduleTick = this::scheduleTick;
+    private final Consumer<TaskImpl> expireTick = taskQueue::relaxedOffer;
+    private final MessagePassingQueue.Consumer<TaskImpl> runTask = this::runTask;
+
+    private volatile int tickState;
 
     @Override
     public void process() {
@@ -40,23 +47,27 @@ final class SchedulerImpl implements Scheduler {
     }
 
     private void processTick(int tickDelta) {
-        synchronized (this) {
-            this.tickState += tickDelta;
-            int tickToProcess;
-            while (!tickTaskQueue.isEmpty() && (tickToProcess = tickTaskQueue.firstIntKey()) <= tickState) {
-                final List<TaskImpl> tickScheduledTasks = tickTaskQueue.remove(tickToProcess);
-                if (tickScheduledTasks != null) tickScheduledTasks.forEach(taskQueue::relaxedOffer);
-            }
+        if (!tickTaskQueue.isEmpty()) this.tickTaskQueue.drain(scheduleTick);
+        if (tickDelta > 0) {
+            this.tickWheel.advance(expireTick);
+            this.tickState = tickWheel.tick();
         }
         // Run all tasks lock-free, either in the current thread or pool
-        if (!taskQueue.isEmpty()) {
-            this.taskQueue.drain(task -> {
-                if (!task.isAlive()) return;
-                switch (task.executionType()) {
-                    case SYNC -> handleTask(task);
-                    case ASYNC -> EXECUTOR.submit(() -> handleTask(task));
-                }
-            });
+        if (!taskQueue.isEmpty()) this.taskQueue.drain(runTask);
+    }
+
+    private void scheduleTick(TaskImpl task) {
+        if (!tickWheel.add(task, task.wheelTarget)) {
+            // Already due
+            this.taskQueue.relaxedOffer(task);
+        }
+    }
+
+    private void runTask(TaskImpl task) {
+        if (!task.isAlive()) return;
+        switch (task.executionType()) {
+            case SYNC -> handleTask(task);
+            case ASYNC -> EXECUTOR.execute(() -> handleTask(task));
         }
     }
 
@@ -79,7 +90,7 @@ final class SchedulerImpl implements Scheduler {
         // By either adding the task to the execution queue or submitting it to the pool
         switch (task.executionType()) {
             case SYNC -> taskQueue.offer(task);
-            case ASYNC -> EXECUTOR.submit(() -> {
+            case ASYNC -> EXECUTOR.execute(() -> {
                 if (!task.isAlive()) {
                     return;
                 }
@@ -94,10 +105,8 @@ final class SchedulerImpl implements Scheduler {
             final Duration duration = durationSchedule.duration();
             SCHEDULER.schedule(() -> safeExecute(task), duration.toMillis(), TimeUnit.MILLISECONDS);
         } else if (schedule instanceof TaskScheduleImpl.TickSchedule tickSchedule) {
-            synchronized (this) {
-                final int target = tickState + tickSchedule.tick();
-                this.tickTaskQueue.computeIfAbsent(target, i -> new ArrayList<>()).add(task);
-            }
+            task.wheelTarget = tickState + tickSchedule.tick();
+            this.tickTaskQueue.relaxedOffer(task);
         } else if (schedule instanceof TaskScheduleImpl.FutureSchedule futureSchedule) {
             futureSchedule.future().thenRun(() -> safeExecute(task));
         } else if (schedule instanceof TaskScheduleImpl.Park) {
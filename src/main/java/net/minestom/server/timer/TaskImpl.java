@@ -26,6 +26,10 @@ final class TaskImpl implements Task {
     volatile boolean alive;
     volatile boolean parked;
 
+    // Tick scheduling, target written before submission to the scheduler
+    int wheelTarget;
+    TaskImpl wheelNext;
+
     TaskImpl(int id,
              @NotNull Supplier<TaskSchedule> task,
              @NotNull ExecutionType executionType,
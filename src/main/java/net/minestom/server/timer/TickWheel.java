@@ -0,0 +1,157 @@
+package net.minestom.server.timer;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel holding the tasks scheduled on a future tick.
+ * <p>
+ * Four levels of 64 slots cover up to 64, 4096, 262144 and 16777216 ticks ahead, further tasks wait in an overflow list.
+ * Slots of the higher levels are cascaded to the lower ones once reached.
+ * Slots are intrusive lists linked through {@link TaskImpl}, adding and expiring tasks is O(1) without allocation.
+ * Tasks expiring on the same tick keep their insertion order.
+ * <p>
+ * Not thread-safe, only used by the thread processing the scheduler.
+ */
+final class TickWheel {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOT_COUNT = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOT_COUNT - 1;
+    private static final int LEVEL_COUNT = 4;
+
+    // Heads and tails of the slot lists, the last slot is the overflow
+    private final TaskImpl[] heads = new TaskImpl[LEVEL_COUNT * SLOT_COUNT + 1];
+    private final TaskImpl[] tails = new TaskImpl[LEVEL_COUNT * SLOT_COUNT + 1];
+    // Lower level lists put aside while cascading
+    private final TaskImpl[] cascadeHeads = new TaskImpl[LEVEL_COUNT * SLOT_COUNT];
+    private final TaskImpl[] cascadeTails = new TaskImpl[LEVEL_COUNT * SLOT_COUNT];
+    private int tick;
+    private int size;
+
+    /**
+     * Adds a task to expire once {@code target} is reached.
+     *
+     * @param task   the task to add, must not already be in the wheel
+     * @param target the tick to expire on
+     * @return false if {@code target} is not in the future, in which case the task is not added
+     */
+    boolean add(@NotNull TaskImpl task, int target) {
+        final int delta = target - tick;
+        if (delta <= 0) return false;
+        task.wheelTarget = target;
+        link(task, target, delta);
+        this.size++;
+        return true;
+    }
+
+    /**
+     * Moves to the next tick.
+     *
+     * @param expired consumer of the tasks whose target is the new tick
+     */
+    void advance(@NotNull Consumer<TaskImpl> expired) {
+        final int tick = ++this.tick;
+        if ((tick & SLOT_MASK) == 0) {
+            // Find the highest level entering a new slot, and cascade down from it
+            int level = 1;
+            while (level < LEVEL_COUNT - 1 && slotIndex(tick, level) == 0) level++;
+            if (level == LEVEL_COUNT - 1 && slotIndex(tick, level) == 0) level = LEVEL_COUNT;
+            cascade(tick, level);
+        }
+        TaskImpl task = detach(tick & SLOT_MASK);
+        while (task != null) {
+            final TaskImpl next = task.wheelNext;
+            task.wheelNext = null;
+            this.size--;
+            expired.accept(task);
+            task = next;
+        }
+    }
+
+    int tick() {
+        return tick;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private TaskImpl detach(int index) {
+        final TaskImpl head = heads[index];
+        if (head != null) {
+            this.heads[index] = null;
+            this.tails[index] = null;
+        }
+        return head;
+    }
+
+    /**
+     * Moves the tasks of the slots reached by {@code tick} to the levels below, from {@code highestLevel} down to 1.
+     * <p>
+     * For a given target, tasks of a higher level were added before the ones of a lower level.
+     * Cascaded tasks are therefore put before the tasks already present in the lower levels.
+     */
+    private void cascade(int tick, int highestLevel) {
+        final int lowerSlots = highestLevel * SLOT_COUNT;
+        System.arraycopy(heads, 0, cascadeHeads, 0, lowerSlots);
+        System.arraycopy(tails, 0, cascadeTails, 0, lowerSlots);
+        Arrays.fill(heads, 0, lowerSlots, null);
+        Arrays.fill(tails, 0, lowerSlots, null);
+        // The reached slots are now in the cascade arrays, relink them from the highest level
+        if (highestLevel == LEVEL_COUNT) relink(detach(LEVEL_COUNT * SLOT_COUNT));
+        for (int level = Math.min(highestLevel, LEVEL_COUNT - 1); level > 0; level--) {
+            final int index = level * SLOT_COUNT + slotIndex(tick, level);
+            if (index < lowerSlots) {
+                final TaskImpl task = cascadeHeads[index];
+                this.cascadeHeads[index] = null;
+                this.cascadeTails[index] = null;
+                relink(task);
+            } else {
+                relink(detach(index));
+            }
+        }
+        for (int i = 0; i < lowerSlots; i++) {
+            final TaskImpl head = cascadeHeads[i];
+            if (head == null) continue;
+            final TaskImpl tail = tails[i];
+            if (tail == null) {
+                this.heads[i] = head;
+            } else {
+                tail.wheelNext = head;
+            }
+            this.tails[i] = cascadeTails[i];
+            this.cascadeHeads[i] = null;
+            this.cascadeTails[i] = null;
+        }
+    }
+
+    private void relink(TaskImpl task) {
+        while (task != null) {
+            final TaskImpl next = task.wheelNext;
+            final int target = task.wheelTarget;
+            task.wheelNext = null;
+            link(task, target, target - tick);
+            task = next;
+        }
+    }
+
+    private void link(TaskImpl task, int target, int delta) {
+        int level = 0;
+        while (level < LEVEL_COUNT && (delta >>> (SLOT_BITS * (level + 1))) != 0) level++;
+        final int index = level == LEVEL_COUNT ?
+                LEVEL_COUNT * SLOT_COUNT : level * SLOT_COUNT + slotIndex(target, level);
+        final TaskImpl tail = tails[index];
+        if (tail == null) {
+            this.heads[index] = task;
+        } else {
+            tail.wheelNext = task;
+        }
+        this.tails[index] = task;
+    }
+
+    private static int slotIndex(int tick, int level) {
+        return (tick >>> (SLOT_BITS * level)) & SLOT_MASK;
+    }
+}
@@ -22,6 +22,7 @@ import net.minestom.server.network.player.PlayerSocketConnection;
 import net.minestom.server.utils.binary.BinaryBuffer;
 import net.minestom.server.utils.binary.BinaryWriter;
 import net.minestom.server.utils.binary.PooledBuffers;
+import net.minestom.server.utils.binary.SharedBuffer;
 import net.minestom.server.utils.binary.Writeable;
 import net.minestom.server.utils.cache.LocalCache;
 import org.jetbrains.annotations.ApiStatus;
@@ -30,8 +31,11 @@ import org.jetbrains.annotations.Nullable;
 
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 import java.util.zip.DataFormatException;
@@ -52,6 +56,8 @@ public final class PacketUtils {
     public static final boolean GROUPED_PACKET = PropertyUtils.getBoolean("minestom.grouped-packet", true);
     public static final boolean CACHED_PACKET = PropertyUtils.getBoolean("minestom.cached-packet", true);
     public static final boolean VIEWABLE_PACKET = PropertyUtils.getBoolean("minestom.viewable-packet", true);
+    // Grouped packets are framed eagerly in both formats from a single serialization, instead of lazily by a worker
+    public static final boolean COMPRESS_ONCE = PropertyUtils.getBoolean("minestom.compress-once", true);
 
     // Viewable packets
     private static final Cache<Viewable, ViewableStorage> VIEWABLE_STORAGE_MAP = Caffeine.newBuilder().weakKeys().build();
@@ -103,7 +109,16 @@ public final class PacketUtils {
      */
     public static void sendGroupedPacket(@NotNull Collection<Player> players, @NotNull ServerPacket packet,
                                          @NotNull Predicate<Player> predicate) {
-        final SendablePacket sendablePacket = GROUPED_PACKET ? new CachedPacket(packet) : packet;
+        if (players.isEmpty()) return;
+        final SendablePacket sendablePacket;
+        if (!GROUPED_PACKET) {
+            sendablePacket = packet;
+        } else if (COMPRESS_ONCE) {
+            // Serialized and compressed once for all the players, whatever their compression state
+            sendablePacket = allocateGroupedPacket(packet);
+        } else {
+            sendablePacket = new CachedPacket(packet);
+        }
         players.forEach(player -> {
             if (predicate.test(player)) player.sendPacket(sendablePacket);
         });
@@ -261,18 +276,70 @@ public final class PacketUtils {
         return createFramedPacket(packet, MinecraftServer.getCompressionThreshold() > 0);
     }
 
+    /**
+     * Frames a packet using the server compression settings, in a buffer of the exact size.
+     * <p>
+     * The packet is only serialized and compressed once,
+     * connections where compression is not enabled yet frame it again with {@link FramedPacket#body(boolean)}.
+     */
     @ApiStatus.Internal
     public static FramedPacket allocateTrimmedPacket(@NotNull ServerPacket packet) {
-        final ByteBuffer temp = PacketUtils.createFramedPacket(packet);
-        final int size = temp.remaining();
-        final ByteBuffer buffer = ByteBuffer.allocateDirect(size).put(0, temp, 0, size);
-        return new FramedPacket(packet, buffer);
+        return new FramedPacket(packet, trim(createFramedPacket(packet)));
+    }
+
+    /**
+     * Frames a packet sent to many connections at once, in buffers of the exact size.
+     * <p>
+     * The packet is only serialized once, the compressed frame is deflated from the uncompressed one.
+     * Both are kept so that no connection has to frame the packet again, unlike {@link #allocateTrimmedPacket(ServerPacket)}
+     * which is meant for long-lived caches.
+     */
+    @ApiStatus.Internal
+    public static FramedPacket allocateGroupedPacket(@NotNull ServerPacket packet) {
+        final ByteBuffer uncompressed = trim(createFramedPacket(packet, false));
+        final int compressionThreshold = MinecraftServer.getCompressionThreshold();
+        if (compressionThreshold <= 0) return new FramedPacket(packet, uncompressed);
+        final ByteBuffer compressed = trim(compressFramedPacket(uncompressed, compressionThreshold));
+        return new FramedPacket(packet, compressed, uncompressed);
+    }
+
+    private static ByteBuffer compressFramedPacket(ByteBuffer uncompressedFrame, int compressionThreshold) {
+        // Skip the length header, the content is the packet id followed by its payload
+        ByteBuffer content = uncompressedFrame.duplicate();
+        Utils.readVarInt(content);
+        content = content.slice();
+        final int packetSize = content.remaining();
+
+        ByteBuffer buffer = PooledBuffers.packetBuffer();
+        final int compressedIndex = Utils.writeEmptyVarIntHeader(buffer);
+        final int uncompressedIndex = Utils.writeEmptyVarIntHeader(buffer);
+        final boolean compressed = packetSize >= compressionThreshold;
+        if (compressed) {
+            Deflater deflater = LOCAL_DEFLATER.get();
+            deflater.setInput(content);
+            deflater.finish();
+            deflater.deflate(buffer);
+            deflater.reset();
+        } else {
+            buffer.put(content);
+        }
+        Utils.writeVarIntHeader(buffer, compressedIndex, buffer.position() - uncompressedIndex);
+        Utils.writeVarIntHeader(buffer, uncompressedIndex, compressed ? packetSize : 0);
+        return buffer.flip();
+    }
+
+    private static ByteBuffer trim(ByteBuffer buffer) {
+        final int size = buffer.remaining();
+        return ByteBuffer.allocateDirect(size).put(0, buffer, buffer.position(), size);
     }
 
     private static final class ViewableStorage {
         // Player id -> list of offsets to ignore (32:32 bits)
         private final Int2ObjectMap<LongArrayList> entityIdMap = new Int2ObjectOpenHashMap<>();
-        private final BinaryBuffer buffer = PooledBuffers.get();
+        private final AtomicReference<BinaryBuffer> buffer = new AtomicReference<>(PooledBuffers.get());
+        // Packets of the buffer with their excluded player, sent as-is to the connections without socket (e.g. fake players)
+        private final List<ServerPacket> packets = new ArrayList<>();
+        private final List<Player> packetExceptions = new ArrayList<>();
 
         {
             PooledBuffers.registerBuffer(this, buffer);
@@ -281,19 +348,29 @@ public final class PacketUtils {
         private synchronized void append(Viewable viewable, ServerPacket serverPacket, Player player) {
             final ByteBuffer framedPacket = createFramedPacket(serverPacket);
             final int packetSize = framedPacket.limit();
+            BinaryBuffer buffer = this.buffer.getPlain();
             if (packetSize >= buffer.capacity()) {
                 process(viewable);
                 for (Player viewer : viewable.getViewers()) {
-                    if (!Objects.equals(player, viewer)) {
-                        writeTo(viewer.getPlayerConnection(), framedPacket, 0, packetSize);
+                    if (Objects.equals(player, viewer)) continue;
+                    final PlayerConnection connection = viewer.getPlayerConnection();
+                    if (connection instanceof PlayerSocketConnection socketConnection) {
+                        socketConnection.write(framedPacket, 0, packetSize);
+                    } else {
+                        connection.sendPacket(serverPacket);
                     }
                 }
                 return;
             }
-            if (!buffer.canWrite(packetSize)) process(viewable);
+            if (!buffer.canWrite(packetSize)) {
+                process(viewable);
+                buffer = this.buffer.getPlain();
+            }
             final int start = buffer.writerOffset();
-            this.buffer.write(framedPacket);
+            buffer.write(framedPacket);
             final int end = buffer.writerOffset();
+            this.packets.add(serverPacket);
+            this.packetExceptions.add(player);
             if (player != null) {
                 final long offsets = (long) start << 32 | end & 0xFFFFFFFFL;
                 LongList list = entityIdMap.computeIfAbsent(player.getEntityId(), id -> new LongArrayList());
@@ -302,17 +379,28 @@ public final class PacketUtils {
         }
 
         private synchronized void process(Viewable viewable) {
+            final BinaryBuffer buffer = this.buffer.getPlain();
             if (buffer.writerOffset() == 0) return;
-            ByteBuffer copy = ByteBuffer.allocateDirect(buffer.writerOffset());
-            copy.put(buffer.asByteBuffer(0, copy.capacity()));
-            viewable.getViewers().forEach(player -> processPlayer(player, copy));
-            this.buffer.clear();
+            // Hand the buffer to the viewers, it goes back to the pool once written to all of them
+            this.buffer.setPlain(PooledBuffers.get());
+            final SharedBuffer sharedBuffer = new SharedBuffer(buffer);
+            viewable.getViewers().forEach(player -> processPlayer(player, sharedBuffer));
+            sharedBuffer.release();
             this.entityIdMap.clear();
+            this.packets.clear();
+            this.packetExceptions.clear();
         }
 
-        private void processPlayer(Player player, ByteBuffer buffer) {
-            final int size = buffer.limit();
-            final PlayerConnection connection = player.getPlayerConnection();
+        private void processPlayer(Player player, SharedBuffer buffer) {
+            final PlayerConnection playerConnection = player.getPlayerConnection();
+            if (!(playerConnection instanceof PlayerSocketConnection connection)) {
+                // Cannot write raw data, send the packets
+                for (int i = 0; i < packets.size(); i++) {
+                    if (!Objects.equals(player, packetExceptions.get(i))) playerConnection.sendPacket(packets.get(i));
+                }
+                return;
+            }
+            final int size = buffer.size();
             final LongArrayList pairs = entityIdMap.get(player.getEntityId());
             if (pairs != null) {
                 // Ensure that we skip the specified parts of the buffer
@@ -321,22 +409,14 @@ public final class PacketUtils {
                 for (int i = 0; i < pairs.size(); ++i) {
                     final long offsets = elements[i];
                     final int start = (int) (offsets >> 32);
-                    if (start != lastWrite) writeTo(connection, buffer, lastWrite, start - lastWrite);
+                    if (start != lastWrite) connection.write(buffer, lastWrite, start - lastWrite);
                     lastWrite = (int) offsets; // End = last 32 bits
                 }
-                if (size != lastWrite) writeTo(connection, buffer, lastWrite, size - lastWrite);
+                if (size != lastWrite) connection.write(buffer, lastWrite, size - lastWrite);
             } else {
                 // Write all
-                writeTo(connection, buffer, 0, size);
-            }
-        }
-
-        private static void writeTo(PlayerConnection connection, ByteBuffer buffer, int offset, int length) {
-            if (connection instanceof PlayerSocketConnection socketConnection) {
-                socketConnection.write(buffer, offset, length);
-                return;
+                connection.write(buffer, 0, size);
             }
-            // TODO for non-socket connection
         }
     }
 }
@@ -22,6 +22,6 @@ public final class AsyncUtils {
             } catch (Exception e) {
                 MinecraftServer.getExceptionManager().handleException(e);
             }
-        });
+        }, BlockingExecutor.get());
     }
 }
@@ -0,0 +1,240 @@
+package net.minestom.server.utils.async;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.thread.MinestomThread;
+import net.minestom.server.utils.cache.LocalCache;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Executor of the work which may block: {@link net.minestom.server.timer.ExecutionType#ASYNC ASYNC} scheduler tasks,
+ * chunk loader I/O and {@link AsyncUtils#runAsync(Runnable)} (e.g. Mojang API lookups).
+ * <p>
+ * Defaults to {@link ForkJoinPool#commonPool()}, the {@code minestom.blocking-executor} property can isolate
+ * blocking work from the CPU-bound users of the common pool (parallel streams, {@link java.util.concurrent.CompletableFuture}):
+ * <ul>
+ *     <li>{@code platform}: a pool of {@code minestom.blocking-threads} daemon threads</li>
+ *     <li>{@code virtual}: a virtual thread per task, requires Java 21. The carrier pool is bounded by
+ *     {@code minestom.virtual-thread-carriers} (the {@code jdk.virtualThreadScheduler.parallelism} JDK property)</li>
+ * </ul>
+ */
+@ApiStatus.Experimental
+public final class BlockingExecutor implements Executor {
+    public static final String PROPERTY = "minestom.blocking-executor";
+    private static final BlockingExecutor INSTANCE = load();
+
+    private final Mode mode;
+    private final Executor executor;
+    // Caches borrowed by virtual threads, which cannot keep their own. Null if the threads have their own caches
+    private final ArrayBlockingQueue<LocalCache.Storage> storages;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final AtomicInteger active = new AtomicInteger();
+
+    private BlockingExecutor(Mode mode, Executor executor, int pooledStorages) {
+        this.mode = mode;
+        this.executor = executor;
+        this.storages = pooledStorages > 0 ? new ArrayBlockingQueue<>(pooledStorages) : null;
+    }
+
+    /**
+     * Gets the executor configured by the {@link #PROPERTY} property.
+     */
+    public static @NotNull BlockingExecutor get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Creates an executor running the tasks in the common pool.
+     */
+    public static @NotNull BlockingExecutor commonPool() {
+        return new BlockingExecutor(Mode.COMMON_POOL, ForkJoinPool.commonPool(), 0);
+    }
+
+    /**
+     * Creates an executor running the tasks in a pool of platform threads.
+     *
+     * @param threads the maximum number of threads
+     */
+    public static @NotNull BlockingExecutor platform(int threads) {
+        final AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new MinestomThread(MinecraftServer.THREAD_NAME_BLOCKING + "-" + counter.getAndIncrement()) {
+                @Override
+                public void run() {
+                    runnable.run();
+                }
+            };
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return new BlockingExecutor(Mode.PLATFORM, executor, 0);
+    }
+
+    /**
+     * Creates an executor running each task in a new virtual thread.
+     * <p>
+     * The tasks borrow the {@link LocalCache} storages of the previous ones, at most one storage per carrier thread
+     * is kept between tasks.
+     *
+     * @throws UnsupportedOperationException if virtual threads are not supported by the runtime
+     */
+    public static @NotNull BlockingExecutor virtual() {
+        final ThreadFactory factory = VirtualThreads.FACTORY;
+        if (factory == null) throw new UnsupportedOperationException("Virtual threads require Java 21");
+        final int carriers = Integer.getInteger("jdk.virtualThreadScheduler.parallelism",
+                Runtime.getRuntime().availableProcessors());
+        return borrowing(runnable -> factory.newThread(runnable).start(), carriers);
+    }
+
+    /**
+     * Creates an executor whose tasks borrow their {@link LocalCache} storage from a pool.
+     *
+     * @param executor       the executor creating a thread per task
+     * @param pooledStorages the maximum number of storages kept between tasks
+     */
+    static @NotNull BlockingExecutor borrowing(@NotNull Executor executor, int pooledStorages) {
+        return new BlockingExecutor(Mode.VIRTUAL, executor, Math.max(1, pooledStorages));
+    }
+
+    /**
+     * Gets if {@link #virtual()} is supported by the runtime.
+     */
+    public static boolean isVirtualSupported() {
+        return VirtualThreads.FACTORY != null;
+    }
+
+    @Override
+    public void execute(@NotNull Runnable command) {
+        this.submitted.increment();
+        this.executor.execute(() -> {
+            this.active.incrementAndGet();
+            try {
+                if (storages != null) {
+                    runBorrowing(command);
+                } else {
+                    command.run();
+                }
+            } catch (Throwable e) {
+                this.failed.increment();
+                MinecraftServer.getExceptionManager().handleException(e);
+            } finally {
+                this.active.decrementAndGet();
+                this.completed.increment();
+            }
+        });
+    }
+
+    public @NotNull Mode mode() {
+        return mode;
+    }
+
+    /**
+     * Gets the number of tasks submitted since the executor creation.
+     */
+    public long submittedTasks() {
+        return submitted.sum();
+    }
+
+    /**
+     * Gets the number of tasks which completed, normally or not, since the executor creation.
+     */
+    public long completedTasks() {
+        return completed.sum();
+    }
+
+    /**
+     * Gets the number of tasks which threw an exception since the executor creation.
+     */
+    public long failedTasks() {
+        return failed.sum();
+    }
+
+    /**
+     * Gets the number of tasks currently running, blocked ones included.
+     */
+    public int activeTasks() {
+        return active.get();
+    }
+
+    /**
+     * Gets the number of submitted tasks not yet completed, running or waiting for a thread.
+     */
+    public long pendingTasks() {
+        return submitted.sum() - completed.sum();
+    }
+
+    /**
+     * Gets the number of {@link LocalCache} storages kept for the next tasks.
+     */
+    int pooledStorages() {
+        return storages != null ? storages.size() : 0;
+    }
+
+    private void runBorrowing(Runnable command) {
+        LocalCache.Storage storage = storages.poll();
+        if (storage == null) storage = new LocalCache.Storage();
+        try {
+            LocalCache.runWith(storage, command);
+        } finally {
+            // Dropped if the pool is full, the storages of more concurrent tasks would only waste memory
+            this.storages.offer(storage);
+        }
+    }
+
+    private static BlockingExecutor load() {
+        final String mode = System.getProperty(PROPERTY, "common");
+        final int threads = Integer.getInteger("minestom.blocking-threads", Math.max(4, Runtime.getRuntime().availableProcessors()));
+        return switch (mode) {
+            case "platform" -> platform(threads);
+            case "virtual" -> {
+                if (isVirtualSupported()) yield virtual();
+                LoggerFactory.getLogger(BlockingExecutor.class).warn("Virtual threads are not supported, using platform threads");
+                yield platform(threads);
+            }
+            default -> commonPool();
+        };
+    }
+
+    public enum Mode {
+        COMMON_POOL, PLATFORM, VIRTUAL
+    }
+
+    private static final class VirtualThreads {
+        private static final ThreadFactory FACTORY = createFactory();
+
+        private static ThreadFactory createFactory() {
+            final Integer carriers = Integer.getInteger("minestom.virtual-thread-carriers");
+            if (carriers != null && System.getProperty("jdk.virtualThreadScheduler.parallelism") == null) {
+                // Read by the JDK once the first virtual thread is created
+                System.setProperty("jdk.virtualThreadScheduler.parallelism", carriers.toString());
+                System.setProperty("jdk.virtualThreadScheduler.maxPoolSize", carriers.toString());
+            }
+            try {
+                // Compiled against Java 17, Thread.ofVirtual().name(prefix, 0).factory()
+                final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+                Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+                builder = builderClass.getMethod("name", String.class, long.class)
+                        .invoke(builder, MinecraftServer.THREAD_NAME_BLOCKING + "-virtual-", 0L);
+                return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        }
+    }
+}
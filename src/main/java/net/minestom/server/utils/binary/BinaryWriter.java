@@ -238,9 +238,10 @@ public class BinaryWriter extends OutputStream {
             return;
         }
         writeVarInt(array.length);
-        for (long element : array) {
-            writeLong(element);
-        }
+        final int length = array.length * Long.BYTES;
+        ensureSize(length);
+        buffer.asLongBuffer().put(array);
+        buffer.position(buffer.position() + length);
     }
 
     public void writeByteArray(byte[] array) {
@@ -73,6 +73,10 @@ public final class PooledBuffers {
         CLEANER.register(ref, new BuffersCleaner(buffers));
     }
 
+    public static void registerCleaner(Object ref, Runnable cleaner) {
+        CLEANER.register(ref, cleaner);
+    }
+
     private record BufferRefCleaner(AtomicReference<BinaryBuffer> bufferRef) implements Runnable {
         @Override
         public void run() {
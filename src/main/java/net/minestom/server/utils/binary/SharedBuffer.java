@@ -0,0 +1,57 @@
+package net.minestom.server.utils.binary;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read-only view of a pooled buffer, shared between multiple connections.
+ * <p>
+ * Each user must {@link #retain()} the buffer and {@link #release()} it once written,
+ * the buffer goes back to the pool after the last release.
+ */
+@ApiStatus.Internal
+public final class SharedBuffer {
+    private final BinaryBuffer buffer;
+    private final int size;
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    /**
+     * Creates a shared buffer with a single reference, owned by the caller.
+     *
+     * @param buffer the buffer to share, must not be modified anymore
+     */
+    public SharedBuffer(@NotNull BinaryBuffer buffer) {
+        this.buffer = buffer;
+        this.size = buffer.writerOffset();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public @NotNull ByteBuffer slice(int index, int length) {
+        return buffer.asByteBuffer(index, length);
+    }
+
+    public @NotNull SharedBuffer retain() {
+        final int previous = references.getAndIncrement();
+        if (previous <= 0) throw new IllegalStateException("Buffer has already been released");
+        return this;
+    }
+
+    public void release() {
+        final int remaining = references.decrementAndGet();
+        if (remaining == 0) {
+            PooledBuffers.add(buffer);
+        } else if (remaining < 0) {
+            throw new IllegalStateException("Buffer has already been released");
+        }
+    }
+
+    public int references() {
+        return references.get();
+    }
+}
@@ -5,6 +5,7 @@ import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.function.Supplier;
 
 /**
@@ -18,6 +19,8 @@ import java.util.function.Supplier;
  */
 @ApiStatus.Internal
 public final class LocalCache<T> {
+    private static final ThreadLocal<Storage> BORROWED_STORAGE = new ThreadLocal<>();
+
     private final int tickIndex = MinestomThread.LOCAL_COUNT.getAndIncrement();
     private final Supplier<T> supplier;
     private final ThreadLocal<T> fallback;
@@ -40,6 +43,52 @@ public final class LocalCache<T> {
         if (current instanceof MinestomThread minestomThread) {
             return minestomThread.localCache(tickIndex, supplier);
         }
+        final Storage storage = BORROWED_STORAGE.get();
+        if (storage != null) return storage.get(tickIndex, supplier);
         return fallback.get();
     }
+
+    /**
+     * Runs a task with the caches of {@code storage} instead of the ones of the current thread.
+     * <p>
+     * Meant for short-lived threads (e.g. virtual threads), which would otherwise allocate new caches every time.
+     *
+     * @param storage  the storage to use, must not be used by another thread concurrently
+     * @param runnable the task to run
+     */
+    public static void runWith(@NotNull Storage storage, @NotNull Runnable runnable) {
+        final Storage previous = BORROWED_STORAGE.get();
+        BORROWED_STORAGE.set(storage);
+        try {
+            runnable.run();
+        } finally {
+            if (previous != null) {
+                BORROWED_STORAGE.set(previous);
+            } else {
+                BORROWED_STORAGE.remove();
+            }
+        }
+    }
+
+    /**
+     * Cached values of a task, reused by the tasks borrowing it one at a time.
+     */
+    public static final class Storage {
+        private Object[] locals = new Object[0];
+
+        <T> T get(int index, Supplier<T> supplier) {
+            Object[] array = locals;
+            if (array.length <= index) {
+                array = Arrays.copyOf(array, index + 1);
+                this.locals = array;
+            }
+            //noinspection unchecked
+            T value = (T) array[index];
+            if (value == null) {
+                value = supplier.get();
+                array[index] = value;
+            }
+            return value;
+        }
+    }
 }
@@ -11,6 +11,7 @@ import net.minestom.server.entity.metadata.other.SlimeMeta;
 import net.minestom.server.instance.block.Block;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -698,4 +699,26 @@ public class EntityBlockPhysicsIntegrationTest {
         PhysicsResult res = CollisionUtils.handlePhysics(entity, Vec.ZERO);
         assertEqualsPoint(new Pos(5, 42, 5), res.newPosition());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void entityPhysicsBatch(Env env) {
+        var instance = env.createFlatInstance();
+        instance.setBlock(0, 43, 1, Block.STONE);
+        instance.setBlock(17, 42, 0, Block.STONE_SLAB);
+
+        var zombie = new Entity(EntityType.ZOMBIE);
+        zombie.setInstance(instance, new Pos(0, 42, 0)).join();
+        var item = new Entity(EntityType.ITEM);
+        item.setInstance(instance, new Pos(17, 44, 0)).join();
+        var entities = List.of(zombie, item);
+
+        final double[] velocities = {0, 0, 10, 0, -10, 0};
+        PhysicsResult[] lastResults = new PhysicsResult[2];
+        PhysicsResult[] results = new PhysicsResult[2];
+        CollisionUtils.handlePhysics(instance, entities, velocities, lastResults, results);
+        assertEquals(CollisionUtils.handlePhysics(zombie, new Vec(0, 0, 10)), results[0]);
+        assertEquals(CollisionUtils.handlePhysics(item, new Vec(0, -10, 0)), results[1]);
+        assertEqualsPoint(new Pos(0, 42, 0.7), results[0].newPosition());
+        assertEqualsPoint(new Pos(17, 42.5, 0), results[1].newPosition());
+    }
+}
@@ -16,8 +16,7 @@ import org.junit.jupiter.api.Test;
 import java.util.HashSet;
 import java.util.Set;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
 @EnvTest
 public class EntityBlockTouchTickIntegrationTest {
@@ -195,4 +194,38 @@ public class EntityBlockTouchTickIntegrationTest {
 
         assertEquals(instance, entity.getInstance());
     }
+
+    @Test
+    public void touchHandlerTracking(Env env) {
+        var instance = env.createFlatInstance();
+        var chunk = instance.loadChunk(0, 0).join();
+        var touchHandler = new BlockHandler() {
+            @Override
+            public void onTouch(@NotNull Touch touch) {
+            }
+
+            @Override
+            public @NotNull NamespaceID getNamespaceId() {
+                return NamespaceID.from("minestom:test");
+            }
+        };
+        BlockHandler otherHandler = () -> NamespaceID.from("minestom:other");
+        assertFalse(chunk.hasTouchHandlers());
+
+        instance.setBlock(0, 42, 0, Block.STONE.withHandler(otherHandler));
+        assertFalse(chunk.hasTouchHandlers());
+        instance.setBlock(0, 42, 0, Block.STONE.withHandler(touchHandler));
+        assertTrue(chunk.hasTouchHandlers());
+        instance.setBlock(0, 43, 0, Block.STONE.withHandler(touchHandler));
+        instance.setBlock(0, 42, 0, Block.STONE);
+        assertTrue(chunk.hasTouchHandlers());
+        instance.setBlock(0, 43, 0, Block.AIR);
+        assertFalse(chunk.hasTouchHandlers());
+
+        assertTrue(BlockShapes.isFullCube(Block.STONE.stateId()));
+        assertTrue(BlockShapes.isCollidable(Block.STONE.stateId()));
+        assertTrue(BlockShapes.isEmpty(Block.AIR.stateId()));
+        assertFalse(BlockShapes.isFullCube(Block.STONE_SLAB.stateId()));
+        assertSame(Block.STONE_SLAB.registry().collisionShape(), BlockShapes.shape(Block.STONE_SLAB.stateId()));
+    }
 }
@@ -34,8 +34,9 @@ public class EventNodeMapTest {
     public void lazyRegistration() {
         var item = ItemStack.of(Material.DIAMOND);
         var node = (EventNodeImpl<Event>) EventNode.all("main");
+        assertNull(node.mappedNodeCache);
         var itemNode = node.map(item, EventFilter.ITEM);
-        assertFalse(node.registeredMappedNode.containsKey(item));
+        assertNull(node.registeredMappedNode);
         itemNode.addListener(EventNodeTest.ItemTestEvent.class, event -> {
         });
         assertTrue(node.registeredMappedNode.containsKey(item));
@@ -75,6 +76,27 @@ public class EventNodeMapTest {
         assertFalse(result.get());
     }
 
+    @Test
+    public void identityMapping() {
+        var item = ItemStack.of(Material.DIAMOND);
+        var equalItem = ItemStack.of(Material.DIAMOND);
+        assertEquals(item, equalItem);
+        assertNotSame(item, equalItem);
+        var node = EventNode.all("main");
+
+        AtomicBoolean result = new AtomicBoolean(false);
+        var itemNode = node.map(item, EventFilter.ITEM);
+        assertNotSame(itemNode, node.map(equalItem, EventFilter.ITEM));
+        itemNode.addListener(EventNodeTest.ItemTestEvent.class, event -> result.set(true));
+
+        // Equal items are not mapped to the same node
+        node.call(new EventNodeTest.ItemTestEvent(equalItem));
+        assertFalse(result.get());
+
+        node.call(new EventNodeTest.ItemTestEvent(item));
+        assertTrue(result.get());
+    }
+
     @Test
     public void entityLocal() {
         var process = MinecraftServer.updateProcess();
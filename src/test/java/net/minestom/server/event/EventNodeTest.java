@@ -10,6 +10,7 @@ import net.minestom.server.item.Material;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -81,6 +82,60 @@ public class EventNodeTest {
         assertSame(handle1, node.getHandle(CancellableTest.class));
     }
 
+    @Test
+    public void handleGraphUpdate() {
+        var node = EventNode.all("main");
+        var handle = node.getHandle(EventTest.class);
+        assertFalse(handle.hasListener());
+
+        AtomicBoolean filter = new AtomicBoolean(false);
+        AtomicInteger result = new AtomicInteger(0);
+        var child = EventNode.event("child", EventFilter.ALL, event -> filter.get())
+                .addListener(EventTest.class, event -> result.incrementAndGet());
+        node.addChild(child);
+        assertTrue(handle.hasListener(), "The handle should be updated after adding a child");
+        handle.call(new EventTest());
+        assertEquals(0, result.get(), "The child filter should be applied");
+
+        filter.set(true);
+        child.addChild(EventNode.all("grandchild").addListener(EventTest.class, event -> result.incrementAndGet()));
+        handle.call(new EventTest());
+        assertEquals(2, result.get(), "Both the child and grandchild listeners should be called");
+
+        node.removeChild(child);
+        assertFalse(handle.hasListener(), "The handle should be updated after removing a child");
+        handle.call(new EventTest());
+        assertEquals(2, result.get());
+    }
+
+    @Test
+    public void concurrentGraphMutation() throws InterruptedException {
+        var node = EventNode.all("main");
+        var handle = node.getHandle(EventTest.class);
+        AtomicInteger result = new AtomicInteger(0);
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    var child = EventNode.all("child").addListener(EventTest.class, event -> result.incrementAndGet());
+                    node.addChild(child);
+                    node.removeChild(child);
+                }
+            });
+            threads[i].start();
+        }
+        // Dispatch must not be affected by the concurrent mutations
+        while (Arrays.stream(threads).anyMatch(Thread::isAlive)) handle.call(new EventTest());
+        for (Thread thread : threads) thread.join();
+
+        assertFalse(handle.hasListener(), "All the children have been removed");
+        final int count = result.get();
+        node.addChild(EventNode.all("child").addListener(EventTest.class, event -> result.incrementAndGet()));
+        assertTrue(handle.hasListener());
+        handle.call(new EventTest());
+        assertEquals(count + 1, result.get());
+    }
+
     @Test
     public void testCancellable() {
         var node = EventNode.all("main");
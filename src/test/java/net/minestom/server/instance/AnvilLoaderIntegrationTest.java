@@ -0,0 +1,209 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.api.Env;
+import net.minestom.server.api.EnvTest;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.block.BlockHandler;
+import net.minestom.server.instance.storage.RegionFile;
+import net.minestom.server.utils.NamespaceID;
+import net.minestom.server.world.biomes.Biome;
+import org.jetbrains.annotations.NotNull;
+import org.jglrxavpok.hephaistos.nbt.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class AnvilLoaderIntegrationTest {
+    private static final BlockHandler HANDLER = () -> NamespaceID.from("minecraft:chest");
+    private static final Block SLAB = Block.STONE_SLAB.withProperty("type", "top");
+    private static final NBTCompound CHEST_NBT = NBT.Compound(Map.of("CustomName", NBT.String("{\"text\":\"Box\"}")));
+    private static final NBTCompound SIGN_NBT = NBT.Compound(Map.of("Text1", NBT.String("{\"text\":\"Hi\"}")));
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void roundTrip(Env env) throws Exception {
+        var manager = env.process().instance();
+        var biomeManager = env.process().biome();
+        env.process().block().registerHandler(HANDLER.getNamespaceId(), () -> HANDLER);
+        final Biome biome = Biome.builder().name(NamespaceID.from("minestom:anvil_biome")).build();
+        biomeManager.addBiome(biome);
+        try {
+            writeFixture(biome);
+
+            List<Chunk> saved = new ArrayList<>();
+            var loader = new AnvilLoader(directory) {
+                @Override
+                public @NotNull CompletableFuture<Void> saveChunks(@NotNull Collection<Chunk> chunks) {
+                    saved.addAll(chunks);
+                    return super.saveChunks(chunks);
+                }
+            };
+            var instance = manager.createInstanceContainer(loader);
+            final Chunk chunk = instance.loadChunk(0, 0).join();
+            assertFixture(instance, biome);
+
+            // Unmodified chunks are not saved again, timestamps are in milliseconds
+            final long changeTime = chunk.getLastChangeTime();
+            while (System.currentTimeMillis() <= changeTime) Thread.onSpinWait();
+            instance.saveChunksToStorage().join();
+            saved.clear();
+            instance.saveChunksToStorage().join();
+            assertEquals(List.of(), saved);
+
+            instance.setBlock(1, 0, 1, Block.GRASS_BLOCK);
+            instance.saveChunksToStorage().join();
+            assertEquals(List.of(chunk), saved);
+
+            // Tags unknown to Minestom are kept as they were
+            final NBTCompound chunkData = readChunk();
+            assertEquals(1234L, chunkData.getLong("InhabitedTime"));
+            assertEquals(5678L, chunkData.getLong("LastUpdate"));
+            assertEquals(NBT.Compound(Map.of("References", NBT.Compound(Map.of()))), chunkData.getCompound("structures"));
+
+            var loaded = manager.createInstanceContainer(new AnvilLoader(directory));
+            loaded.loadChunk(0, 0).join();
+            assertEquals(Block.GRASS_BLOCK, loaded.getBlock(1, 0, 1));
+            loaded.setBlock(1, 0, 1, Block.STONE);
+            assertFixture(loaded, biome);
+        } finally {
+            biomeManager.removeBiome(biome);
+        }
+    }
+
+    private static void assertFixture(Instance instance, Biome biome) {
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                // Single value section
+                for (int y = -64; y < -48; y++) {
+                    assertEquals(Block.STONE, instance.getBlock(x, y, z));
+                }
+                // Mixed section
+                assertEquals(Block.STONE, instance.getBlock(x, 0, z));
+                assertEquals(Block.AIR, instance.getBlock(x, 16, z));
+            }
+        }
+        assertEquals(SLAB, instance.getBlock(3, 1, 4));
+        final Block chest = instance.getBlock(5, 2, 6);
+        assertEquals(Block.CHEST.stateId(), chest.stateId());
+        assertSame(HANDLER, chest.handler());
+        assertEquals(CHEST_NBT, chest.nbt());
+        final Block sign = instance.getBlock(7, 2, 8);
+        assertEquals(Block.OAK_SIGN.stateId(), sign.stateId());
+        assertEquals(SIGN_NBT, sign.nbt());
+
+        final Chunk chunk = instance.getChunk(0, 0);
+        assertNotNull(chunk);
+        final Section bottom = chunk.getSection(-4);
+        final Section mixed = chunk.getSection(0);
+        assertEquals(Biome.PLAINS.id(), bottom.biomePalette().get(0, 0, 0));
+        assertEquals(biome.id(), mixed.biomePalette().get(0, 0, 0));
+        assertEquals(Biome.PLAINS.id(), mixed.biomePalette().get(1, 0, 0));
+        assertArrayEquals(light(0x12), bottom.getBlockLight());
+        assertArrayEquals(light(0xF0), mixed.getSkyLight());
+        assertEquals(0, mixed.getBlockLight().length);
+    }
+
+    /**
+     * Writes a chunk the way vanilla stores it, with tags unknown to Minestom.
+     */
+    private void writeFixture(Biome biome) throws Exception {
+        // Bottom section, single values without data
+        final NBTCompound bottom = NBT.Compound(Map.of(
+                "Y", NBT.Byte(-4),
+                "block_states", NBT.Compound(Map.of("palette", NBT.List(NBTType.TAG_Compound, List.of(paletteEntry(Block.STONE))))),
+                "biomes", NBT.Compound(Map.of("palette", NBT.List(NBTType.TAG_String, List.of(NBT.String("minecraft:plains"))))),
+                "BlockLight", NBT.ByteArray(light(0x12))));
+        // Mixed section
+        final int[] blocks = new int[4096];
+        for (int i = 0; i < 256; i++) blocks[i] = 1;
+        blocks[1 << 8 | 4 << 4 | 3] = 2;
+        blocks[2 << 8 | 6 << 4 | 5] = 3;
+        blocks[2 << 8 | 8 << 4 | 7] = 4;
+        final int[] biomes = new int[64];
+        biomes[0] = 1;
+        final NBTCompound mixed = NBT.Compound(Map.of(
+                "Y", NBT.Byte(0),
+                "block_states", NBT.Compound(Map.of(
+                        "palette", NBT.List(NBTType.TAG_Compound, List.of(paletteEntry(Block.AIR), paletteEntry(Block.STONE),
+                                paletteEntry(SLAB), paletteEntry(Block.CHEST), paletteEntry(Block.OAK_SIGN))),
+                        "data", NBT.LongArray(pack(blocks, 4)))),
+                "biomes", NBT.Compound(Map.of(
+                        "palette", NBT.List(NBTType.TAG_String, List.of(NBT.String("minecraft:plains"), NBT.String(biome.name().asString()))),
+                        "data", NBT.LongArray(pack(biomes, 1)))),
+                "SkyLight", NBT.ByteArray(light(0xF0))));
+        final NBTCompound chest = NBT.Compound(Map.of("id", NBT.String("minecraft:chest"),
+                "x", NBT.Int(5), "y", NBT.Int(2), "z", NBT.Int(6), "keepPacked", NBT.Byte(0),
+                "CustomName", CHEST_NBT.get("CustomName")));
+        final NBTCompound sign = NBT.Compound(Map.of("id", NBT.String("minecraft:sign"),
+                "x", NBT.Int(7), "y", NBT.Int(2), "z", NBT.Int(8), "keepPacked", NBT.Byte(0),
+                "Text1", SIGN_NBT.get("Text1")));
+        Map<String, NBT> chunkData = new HashMap<>();
+        chunkData.put("DataVersion", NBT.Int(MinecraftServer.DATA_VERSION));
+        chunkData.put("xPos", NBT.Int(0));
+        chunkData.put("zPos", NBT.Int(0));
+        chunkData.put("yPos", NBT.Int(-4));
+        chunkData.put("Status", NBT.String("minecraft:full"));
+        chunkData.put("InhabitedTime", NBT.Long(1234L));
+        chunkData.put("LastUpdate", NBT.Long(5678L));
+        chunkData.put("structures", NBT.Compound(Map.of("References", NBT.Compound(Map.of()))));
+        chunkData.put("sections", NBT.List(NBTType.TAG_Compound, List.of(bottom, mixed)));
+        chunkData.put("block_entities", NBT.List(NBTType.TAG_Compound, List.of(chest, sign)));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (NBTWriter writer = new NBTWriter(output, CompressedProcesser.GZIP)) {
+            writer.writeNamed("", NBT.Compound(chunkData));
+        }
+        Files.createDirectories(directory.resolve("region"));
+        try (RegionFile region = new RegionFile(directory.resolve("region").resolve("r.0.0.mca"), 0, 0)) {
+            region.write(new RegionFile.Entry(0, 0, RegionFile.COMPRESSION_GZIP, output.toByteArray()));
+        }
+    }
+
+    private NBTCompound readChunk() throws Exception {
+        try (RegionFile region = new RegionFile(directory.resolve("region").resolve("r.0.0.mca"), 0, 0)) {
+            final RegionFile.Entry entry = region.read(0, 0);
+            assertNotNull(entry);
+            assertEquals(RegionFile.COMPRESSION_ZLIB, entry.compression());
+            try (NBTReader reader = new NBTReader(entry.data(), CompressedProcesser.ZLIB)) {
+                return (NBTCompound) reader.read();
+            }
+        }
+    }
+
+    private static NBTCompound paletteEntry(Block block) {
+        final Map<String, String> properties = block.properties();
+        if (properties.isEmpty()) return NBT.Compound(Map.of("Name", NBT.String(block.name())));
+        Map<String, NBT> propertiesNBT = new HashMap<>();
+        properties.forEach((key, value) -> propertiesNBT.put(key, NBT.String(value)));
+        return NBT.Compound(Map.of("Name", NBT.String(block.name()), "Properties", NBT.Compound(propertiesNBT)));
+    }
+
+    /**
+     * Packs the indices without spanning longs, as stored since 1.16.
+     */
+    private static long[] pack(int[] indices, int bitsPerEntry) {
+        final int valuesPerLong = 64 / bitsPerEntry;
+        long[] data = new long[(indices.length + valuesPerLong - 1) / valuesPerLong];
+        for (int i = 0; i < indices.length; i++) {
+            data[i / valuesPerLong] |= (long) indices[i] << (i % valuesPerLong * bitsPerEntry);
+        }
+        return data;
+    }
+
+    private static byte[] light(int value) {
+        byte[] light = new byte[2048];
+        Arrays.fill(light, (byte) value);
+        return light;
+    }
+}
@@ -6,7 +6,9 @@ import net.minestom.server.entity.EntityType;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -216,6 +218,83 @@ public class EntityTrackerTest {
         assertEquals(0, entities.size());
     }
 
+    @Test
+    public void intersecting() {
+        var ent1 = new Entity(EntityType.ZOMBIE);
+        var ent2 = new Entity(EntityType.ZOMBIE);
+        EntityTracker tracker = EntityTracker.newTracker();
+        tracker.register(ent1, Vec.ZERO, EntityTracker.Target.ENTITIES, null);
+        tracker.register(ent2, new Vec(40, 0, 40), EntityTracker.Target.ENTITIES, null);
+
+        Set<Entity> entities = new HashSet<>();
+        // The bounding box extends beyond the position
+        tracker.intersectingEntities(new Vec(0.1, 1, 0.1), new Vec(2, 2, 2), EntityTracker.Target.ENTITIES, entities::add);
+        assertEquals(Set.of(ent1), entities);
+
+        entities.clear();
+        tracker.intersectingEntities(new Vec(-50, -50, -50), new Vec(50, 50, 50), EntityTracker.Target.ENTITIES, entities::add);
+        assertEquals(Set.of(ent1, ent2), entities);
+
+        entities.clear();
+        tracker.move(ent1, new Vec(20, 0, 20), EntityTracker.Target.ENTITIES, null);
+        tracker.intersectingEntities(new Vec(-1, -1, -1), new Vec(1, 1, 1), EntityTracker.Target.ENTITIES, entities::add);
+        assertTrue(entities.isEmpty());
+
+        tracker.unregister(ent2, EntityTracker.Target.ENTITIES, null);
+        tracker.intersectingEntities(new Vec(-50, -50, -50), new Vec(50, 50, 50), EntityTracker.Target.ENTITIES, entities::add);
+        assertEquals(Set.of(ent1), entities);
+    }
+
+    @Test
+    public void raycast() {
+        var ent1 = new Entity(EntityType.ZOMBIE);
+        var ent2 = new Entity(EntityType.ZOMBIE);
+        EntityTracker tracker = EntityTracker.newTracker();
+        tracker.register(ent1, new Vec(10, 0, 0), EntityTracker.Target.ENTITIES, null);
+        tracker.register(ent2, new Vec(10, 0, 10), EntityTracker.Target.ENTITIES, null);
+
+        Set<Entity> entities = new HashSet<>();
+        tracker.raycastEntities(new Vec(0, 1, 0), new Vec(1, 0, 0), 20, EntityTracker.Target.ENTITIES, entities::add);
+        assertEquals(Set.of(ent1), entities);
+
+        entities.clear();
+        // Too short
+        tracker.raycastEntities(new Vec(0, 1, 0), new Vec(1, 0, 0), 5, EntityTracker.Target.ENTITIES, entities::add);
+        assertTrue(entities.isEmpty());
+
+        // Diagonal, not normalized
+        tracker.raycastEntities(new Vec(0, 1, 0), new Vec(1, 0, 1), 20, EntityTracker.Target.ENTITIES, entities::add);
+        assertEquals(Set.of(ent2), entities);
+    }
+
+    @Test
+    public void chunkChurn() {
+        EntityTracker tracker = EntityTracker.newTracker();
+        var chunkEntities = tracker.chunkEntities(Vec.ZERO, EntityTracker.Target.ENTITIES);
+        List<Entity> entities = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            var entity = new Entity(EntityType.ITEM);
+            entities.add(entity);
+            tracker.register(entity, Vec.ZERO, EntityTracker.Target.ENTITIES, null);
+        }
+        assertEquals(50, chunkEntities.size());
+        // Move every other entity to the next chunk
+        for (int i = 0; i < 50; i += 2) {
+            tracker.move(entities.get(i), new Vec(16, 0, 0), EntityTracker.Target.ENTITIES, null);
+        }
+        assertEquals(25, chunkEntities.size());
+        assertEquals(25, tracker.chunkEntities(1, 0, EntityTracker.Target.ENTITIES).size());
+        Set<Entity> remaining = new HashSet<>(chunkEntities);
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i % 2 == 1, remaining.contains(entities.get(i)));
+        }
+        // Back
+        for (int i = 0; i < 50; i += 2) {
+            tracker.move(entities.get(i), Vec.ZERO, EntityTracker.Target.ENTITIES, null);
+        }
+        assertEquals(Set.copyOf(entities), Set.copyOf(chunkEntities));
+    }
+
     @Test
     public void collectionView() {
         var ent1 = new Entity(EntityType.ZOMBIE);
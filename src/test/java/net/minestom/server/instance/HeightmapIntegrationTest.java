@@ -0,0 +1,58 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.api.Env;
+import net.minestom.server.api.EnvTest;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.heightmap.Heightmap;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@EnvTest
+public class HeightmapIntegrationTest {
+
+    @Test
+    public void placeAndRemove(Env env) {
+        var instance = env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        var chunk = (DynamicChunk) instance.getChunk(0, 0);
+        final int minY = instance.getDimensionType().getMinY();
+        final Heightmap motionBlocking = chunk.motionBlockingHeightmap();
+        final Heightmap worldSurface = chunk.worldSurfaceHeightmap();
+        final int initialMotion = motionBlocking.getHeight(0, 0);
+        final int initialSurface = worldSurface.getHeight(0, 0);
+
+        instance.setBlock(0, 100, 0, Block.STONE);
+        assertEquals(100 - minY + 1, motionBlocking.getHeight(0, 0));
+        assertEquals(100 - minY + 1, worldSurface.getHeight(0, 0));
+
+        // Non-solid blocks only affect the world surface
+        instance.setBlock(0, 101, 0, Block.TORCH);
+        assertEquals(100 - minY + 1, motionBlocking.getHeight(0, 0));
+        assertEquals(101 - minY + 1, worldSurface.getHeight(0, 0));
+
+        instance.setBlock(0, 101, 0, Block.AIR);
+        instance.setBlock(0, 100, 0, Block.AIR);
+        assertEquals(initialMotion, motionBlocking.getHeight(0, 0));
+        assertEquals(initialSurface, worldSurface.getHeight(0, 0));
+        // Other columns are untouched
+        assertEquals(initialSurface, worldSurface.getHeight(1, 0));
+    }
+
+    @Test
+    public void refreshMatchesIncremental(Env env) {
+        var instance = env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        var chunk = (DynamicChunk) instance.getChunk(0, 0);
+        instance.setBlock(3, 80, 5, Block.STONE);
+        instance.setBlock(15, 60, 15, Block.WATER);
+        final long[] motion = chunk.motionBlockingHeightmap().getNBT().clone();
+        final long[] surface = chunk.worldSurfaceHeightmap().getNBT().clone();
+        synchronized (chunk) {
+            chunk.invalidate();
+        }
+        assertArrayEquals(motion, chunk.motionBlockingHeightmap().getNBT());
+        assertArrayEquals(surface, chunk.worldSurfaceHeightmap().getNBT());
+    }
+}
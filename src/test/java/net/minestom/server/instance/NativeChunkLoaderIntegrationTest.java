@@ -0,0 +1,167 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.api.Env;
+import net.minestom.server.api.EnvTest;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.block.BlockHandler;
+import net.minestom.server.instance.storage.CompressionCodec;
+import net.minestom.server.instance.storage.RegionFile;
+import net.minestom.server.utils.NamespaceID;
+import net.minestom.server.world.biomes.Biome;
+import org.jetbrains.annotations.NotNull;
+import org.jglrxavpok.hephaistos.nbt.NBT;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class NativeChunkLoaderIntegrationTest {
+    private static final BlockHandler HANDLER = () -> NamespaceID.from("minestom:test");
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void roundTrip(boolean compressed, Env env) {
+        var manager = env.process().instance();
+        env.process().block().registerHandler("minestom:test", () -> HANDLER);
+        final CompressionCodec codec = compressed ? CompressionCodec.deflate(6) : CompressionCodec.none();
+
+        var instance = manager.createInstanceContainer(new NativeChunkLoader(directory, codec));
+        instance.loadChunk(0, 0).join();
+        instance.loadChunk(-1, 3).join();
+        // Filled section
+        for (int x = 0; x < 16; x++) {
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    instance.setBlock(x, y, z, Block.STONE);
+                }
+            }
+        }
+        // Mixed section
+        instance.setBlock(1, 20, 2, Block.GRASS_BLOCK);
+        instance.setBlock(3, 21, 4, Block.STONE_SLAB.withProperty("type", "top"));
+        instance.setBlock(5, -60, 6, Block.CHEST.withHandler(HANDLER)
+                .withNbt(NBT.Compound(Map.of("key", NBT.String("value")))));
+        instance.setBlock(-10, 100, 50, Block.OAK_SIGN.withNbt(NBT.Compound(Map.of("number", NBT.Int(5)))));
+        final byte[] skyLight = new byte[2048];
+        Arrays.fill(skyLight, (byte) 0xF0);
+        instance.getChunk(0, 0).getSection(2).setSkyLight(skyLight);
+        instance.saveChunksToStorage().join();
+
+        var loaded = manager.createInstanceContainer(new NativeChunkLoader(directory));
+        loaded.loadChunk(0, 0).join();
+        loaded.loadChunk(-1, 3).join();
+        for (int x = 0; x < 16; x++) {
+            for (int y = -64; y < 320; y++) {
+                for (int z = 0; z < 16; z++) {
+                    assertEquals(instance.getBlock(x, y, z), loaded.getBlock(x, y, z));
+                }
+            }
+        }
+        assertEquals(Block.STONE_SLAB.withProperty("type", "top"), loaded.getBlock(3, 21, 4));
+        final Block chest = loaded.getBlock(5, -60, 6);
+        assertSame(HANDLER, chest.handler());
+        assertEquals(NBT.Compound(Map.of("key", NBT.String("value"))), chest.nbt());
+        assertEquals(instance.getBlock(-10, 100, 50), loaded.getBlock(-10, 100, 50));
+        assertNull(loaded.getBlock(-10, 100, 50).handler());
+        // Empty sections stay empty
+        assertEquals(0, loaded.getChunk(0, 0).getSection(10).blockPalette().count());
+        assertArrayEquals(skyLight, loaded.getChunk(0, 0).getSection(2).getSkyLight());
+        assertEquals(0, loaded.getChunk(0, 0).getSection(3).getSkyLight().length);
+    }
+
+    @Test
+    public void biomesAcrossRegistrations(Env env) {
+        var manager = env.process().instance();
+        var biomeManager = env.process().biome();
+        final NamespaceID name = NamespaceID.from("minestom:test_biome");
+        final Biome biome = Biome.builder().name(name).build();
+        final Biome unknown = Biome.builder().name(NamespaceID.from("minestom:unknown_biome")).build();
+        biomeManager.addBiome(biome);
+        biomeManager.addBiome(unknown);
+
+        var instance = manager.createInstanceContainer(new NativeChunkLoader(directory));
+        instance.setGenerator(unit -> {
+            unit.modifier().setBiome(0, 0, 0, biome);
+            unit.modifier().setBiome(0, 16, 0, unknown);
+        });
+        instance.loadChunk(0, 0).join();
+        instance.saveChunksToStorage().join();
+
+        // Same name, registered with another id
+        biomeManager.removeBiome(biome);
+        biomeManager.removeBiome(unknown);
+        final Biome reregistered = Biome.builder().name(name).build();
+        biomeManager.addBiome(reregistered);
+        assertNotEquals(biome.id(), reregistered.id());
+        try {
+            var loaded = manager.createInstanceContainer(new NativeChunkLoader(directory));
+            loaded.loadChunk(0, 0).join();
+            final Section section = loaded.getChunk(0, 0).getSection(0);
+            assertEquals(reregistered.id(), section.biomePalette().get(0, 0, 0));
+            assertEquals(Biome.PLAINS.id(), loaded.getChunk(0, 0).getSection(1).biomePalette().get(0, 0, 0));
+        } finally {
+            biomeManager.removeBiome(reregistered);
+        }
+    }
+
+    @Test
+    public void invalidChunk(Env env) throws Exception {
+        var manager = env.process().instance();
+        var exception = new AtomicReference<Throwable>();
+        env.process().exception().setExceptionHandler(exception::set);
+        try (RegionFile region = new RegionFile(directory.resolve("r.0.0." + NativeChunkLoader.EXTENSION), 0, 0)) {
+            region.write(new RegionFile.Entry(0, 0, RegionFile.COMPRESSION_NONE, new byte[]{1, 2, 3}));
+        }
+
+        var instance = manager.createInstanceContainer(new NativeChunkLoader(directory));
+        // Not generated again, which would overwrite the stored chunk on save
+        assertThrows(CompletionException.class, () -> instance.loadChunk(0, 0).join());
+        assertNull(instance.getChunk(0, 0));
+        assertNotNull(exception.get());
+        // Chunks absent from the region are still generated
+        assertNotNull(instance.loadChunk(1, 0).join());
+    }
+
+    @Test
+    public void reservedCodecId() {
+        assertDoesNotThrow(() -> new NativeChunkLoader(directory, CompressionCodec.deflate(6)));
+        assertDoesNotThrow(() -> new NativeChunkLoader(directory, CompressionCodec.none()));
+        assertDoesNotThrow(() -> new NativeChunkLoader(directory, codec((byte) 4)));
+        // Read back as the built-in compressions
+        assertThrows(IllegalArgumentException.class, () -> new NativeChunkLoader(directory, codec(RegionFile.COMPRESSION_GZIP)));
+        assertThrows(IllegalArgumentException.class, () -> new NativeChunkLoader(directory, codec(RegionFile.COMPRESSION_ZLIB)));
+        assertThrows(IllegalArgumentException.class, () -> new NativeChunkLoader(directory, codec(RegionFile.COMPRESSION_NONE)));
+        assertThrows(IllegalArgumentException.class, () -> new NativeChunkLoader(directory, codec((byte) -1)));
+    }
+
+    private static CompressionCodec codec(byte id) {
+        return new CompressionCodec() {
+            @Override
+            public byte id() {
+                return id;
+            }
+
+            @Override
+            public byte @NotNull [] compress(byte @NotNull [] data) {
+                return data;
+            }
+
+            @Override
+            public byte @NotNull [] decompress(byte @NotNull [] data) {
+                return data;
+            }
+        };
+    }
+}
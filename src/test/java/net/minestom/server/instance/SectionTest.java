@@ -0,0 +1,56 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.utils.binary.BinaryWriter;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class SectionTest {
+
+    @Test
+    public void paletteCache() {
+        Section section = new Section();
+        final byte[] empty = BinaryWriter.makeArray(section::write);
+        assertArrayEquals(empty, BinaryWriter.makeArray(section::write));
+
+        // Direct palette writes are visible in the next serialization
+        section.blockPalette().set(0, 0, 0, 1);
+        final byte[] block = BinaryWriter.makeArray(section::write);
+        assertFalse(Arrays.equals(empty, block));
+        assertArrayEquals(encode(section), block);
+
+        section.biomePalette().set(0, 0, 0, 2);
+        final byte[] biome = BinaryWriter.makeArray(section::write);
+        assertFalse(Arrays.equals(block, biome));
+        assertArrayEquals(encode(section), biome);
+
+        // Copies keep the cache until either side is modified
+        Section copy = section.clone();
+        assertArrayEquals(biome, BinaryWriter.makeArray(copy::write));
+        copy.blockPalette().set(1, 0, 0, 3);
+        assertArrayEquals(encode(copy), BinaryWriter.makeArray(copy::write));
+        assertArrayEquals(biome, BinaryWriter.makeArray(section::write));
+
+        section.clear();
+        assertArrayEquals(empty, BinaryWriter.makeArray(section::write));
+    }
+
+    @Test
+    public void uncachedEncoding() {
+        Section section = new Section();
+        section.blockPalette().set(1, 2, 3, 5);
+        section.biomePalette().set(0, 0, 0, 2);
+        assertArrayEquals(encode(section), BinaryWriter.makeArray(section::write));
+    }
+
+    private static byte[] encode(Section section) {
+        return BinaryWriter.makeArray(writer -> {
+            writer.writeShort((short) section.blockPalette().count());
+            writer.write(section.blockPalette());
+            writer.write(section.biomePalette());
+        });
+    }
+}
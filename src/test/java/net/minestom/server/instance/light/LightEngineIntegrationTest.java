@@ -0,0 +1,63 @@
+package net.minestom.server.instance.light;
+
+import net.minestom.server.api.Env;
+import net.minestom.server.api.EnvTest;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EnvTest
+public class LightEngineIntegrationTest {
+
+    @Test
+    public void skyColumn(Env env) {
+        var instance = env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        var lightEngine = new LightEngine(instance, Runnable::run);
+        instance.setLightEngine(lightEngine);
+        lightEngine.relight(instance.getChunk(0, 0)).join();
+        assertEquals(15, skyLight(instance, 8, 200, 8));
+
+        // Cover the column, light now comes from the sides
+        instance.setBlock(8, 201, 8, Block.STONE);
+        assertEquals(14, skyLight(instance, 8, 200, 8));
+
+        instance.setBlock(8, 201, 8, Block.AIR);
+        assertEquals(15, skyLight(instance, 8, 200, 8));
+    }
+
+    @Test
+    public void enclosed(Env env) {
+        var instance = env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        var lightEngine = new LightEngine(instance, Runnable::run);
+        instance.setLightEngine(lightEngine);
+        for (int x = 3; x <= 5; x++) {
+            for (int y = 99; y <= 101; y++) {
+                for (int z = 3; z <= 5; z++) {
+                    instance.setBlock(x, y, z, Block.STONE);
+                }
+            }
+        }
+        instance.setBlock(4, 100, 4, Block.AIR);
+        lightEngine.relight(instance.getChunk(0, 0)).join();
+        assertEquals(0, skyLight(instance, 4, 100, 4));
+        assertTrue(skyLight(instance, 4, 102, 4) > 0);
+
+        // Opening the top lets the sky in
+        instance.setBlock(4, 101, 4, Block.AIR);
+        assertEquals(15, skyLight(instance, 4, 100, 4));
+    }
+
+    private static int skyLight(Instance instance, int x, int y, int z) {
+        final Chunk chunk = instance.getChunkAt(x, z);
+        final byte[] light = chunk.getSectionAt(y).getSkyLight();
+        if (light.length == 0) return 0;
+        final int index = (y & 0xF) << 8 | (z & 0xF) << 4 | (x & 0xF);
+        return light[index >> 1] >> ((index & 1) << 2) & 0xF;
+    }
+}
@@ -1,11 +1,16 @@
 package net.minestom.server.instance.palette;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.coordinate.Vec;
+import net.minestom.server.utils.MathUtils;
+import net.minestom.server.utils.binary.BinaryWriter;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -264,6 +269,98 @@ public class PaletteTest {
         }
     }
 
+    @Test
+    public void setPacked() {
+        Random random = new Random(12345);
+        for (int size : new int[]{1, 2, 5, 40}) {
+            for (boolean airFirst : new boolean[]{true, false}) {
+                int[] paletteValues = new int[size];
+                for (int i = 0; i < size; i++) paletteValues[i] = i + (airFirst ? 0 : 1) * 100;
+                if (size > 1 && !airFirst) paletteValues[size - 1] = 0;
+                final int requiredBits = size > 1 ? MathUtils.bitsToRepresent(size - 1) : 1;
+                for (int bitsPerEntry : new int[]{requiredBits, 4, 8}) {
+                    if (bitsPerEntry < requiredBits) continue;
+                    for (Palette palette : testPalettes()) {
+                        final int maxSize = palette.maxSize();
+                        final int valuesPerLong = 64 / bitsPerEntry;
+                        long[] indices = new long[(maxSize + valuesPerLong - 1) / valuesPerLong];
+                        int[] expected = new int[maxSize];
+                        int count = 0;
+                        for (int i = 0; i < maxSize; i++) {
+                            final int paletteIndex = size > 1 ? random.nextInt(size) : 0;
+                            indices[i / valuesPerLong] |= (long) paletteIndex << (i % valuesPerLong) * bitsPerEntry;
+                            expected[i] = paletteValues[paletteIndex];
+                            if (expected[i] != 0) count++;
+                        }
+                        palette.setPacked(paletteValues, indices, bitsPerEntry);
+                        assertEquals(count, palette.count());
+                        AtomicInteger index = new AtomicInteger();
+                        palette.getAll((x, y, z, value) -> assertEquals(expected[index.getAndIncrement()], value));
+                        assertEquals(maxSize, index.get());
+                    }
+                }
+            }
+        }
+        var palette = Palette.blocks();
+        assertThrows(IllegalArgumentException.class, () -> palette.setPacked(new int[]{0, 1}, new long[10], 4));
+        assertThrows(IllegalArgumentException.class, () -> palette.setPacked(new int[]{0, 1}, new long[256], 0));
+        long[] outOfBounds = new long[256];
+        outOfBounds[0] = 2;
+        assertThrows(IllegalArgumentException.class, () -> palette.setPacked(new int[]{0, 1}, outOfBounds, 4));
+    }
+
+    @Test
+    public void getPacked() {
+        Random random = new Random(12345);
+        for (int valueCount : new int[]{1, 2, 7, 100}) {
+            for (Palette palette : testPalettes()) {
+                palette.setAll((x, y, z) -> random.nextInt(valueCount) * 3);
+                IntList paletteValues = new IntArrayList();
+                final long[] indices = palette.getPacked(paletteValues, 4);
+                assertEquals(paletteValues.size(), new HashSet<>(paletteValues).size(), "Values must be distinct");
+                if (paletteValues.size() == 1) {
+                    assertEquals(0, indices.length);
+                    continue;
+                }
+                final int bitsPerEntry = Math.max(4, MathUtils.bitsToRepresent(paletteValues.size() - 1));
+                Palette result = Palette.newPalette(palette.dimension(), 5, 3);
+                result.setPacked(paletteValues.toIntArray(), indices, bitsPerEntry);
+                assertEquals(palette.count(), result.count());
+                palette.getAll((x, y, z, value) -> assertEquals(value, result.get(x, y, z)));
+            }
+        }
+        var palette = Palette.blocks();
+        IntList paletteValues = new IntArrayList();
+        assertEquals(0, palette.getPacked(paletteValues, 4).length);
+        assertEquals(List.of(0), paletteValues);
+    }
+
+    @Test
+    public void cloneCopyOnWrite() {
+        for (Palette palette : testPalettes()) {
+            palette.setAll((x, y, z) -> x + y * 2 + z * 4);
+            Palette copy = palette.clone();
+            copy.set(0, 0, 0, 100);
+            assertEquals(0, palette.get(0, 0, 0));
+            assertEquals(100, copy.get(0, 0, 0));
+            palette.replaceAll((x, y, z, value) -> value + 1);
+            assertEquals(1, palette.get(0, 0, 0));
+            assertEquals(100, copy.get(0, 0, 0));
+            assertEquals(2, palette.get(1, 0, 0));
+            assertEquals(1, copy.get(1, 0, 0));
+        }
+        // Optimized when written, without affecting the other palette
+        Palette palette = Palette.newPalette(16, 8, 2);
+        palette.setAll((x, y, z) -> (x + y * 16) % 100);
+        Palette copy = palette.clone();
+        copy.write(new BinaryWriter());
+        palette.getAll((x, y, z, value) -> assertEquals(value, copy.get(x, y, z)));
+        palette.set(0, 0, 0, 50);
+        copy.set(1, 0, 0, 60);
+        assertEquals(0, copy.get(0, 0, 0));
+        assertEquals(1, palette.get(1, 0, 0));
+    }
+
     @Test
     public void dimension() {
         assertThrows(Exception.class, () -> Palette.newPalette(-4, 5, 3));
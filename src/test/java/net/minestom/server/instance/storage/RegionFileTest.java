@@ -0,0 +1,211 @@
+package net.minestom.server.instance.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegionFileTest {
+
+    @Test
+    public void readWrite(@TempDir Path directory) throws IOException {
+        final Path path = directory.resolve("r.0.-1.mca");
+        final byte[] small = random(100, 1);
+        final byte[] large = random(3 * RegionFile.SECTOR_SIZE, 2);
+        try (RegionFile region = new RegionFile(path, 0, -1)) {
+            assertFalse(region.hasChunk(0, -1));
+            assertNull(region.read(0, -1));
+            region.write(List.of(
+                    new RegionFile.Entry(0, -1, RegionFile.COMPRESSION_NONE, small),
+                    new RegionFile.Entry(31, -32, RegionFile.COMPRESSION_ZLIB, large)));
+            assertEntry(region.read(0, -1), RegionFile.COMPRESSION_NONE, small);
+            assertEntry(region.read(31, -32), RegionFile.COMPRESSION_ZLIB, large);
+            assertThrows(IllegalArgumentException.class,
+                    () -> region.write(new RegionFile.Entry(32, -1, RegionFile.COMPRESSION_NONE, small)));
+        }
+        // Reopen
+        try (RegionFile region = new RegionFile(path, 0, -1)) {
+            assertTrue(region.hasChunk(0, -1));
+            assertEntry(region.read(0, -1), RegionFile.COMPRESSION_NONE, small);
+            assertEntry(region.read(31, -32), RegionFile.COMPRESSION_ZLIB, large);
+        }
+    }
+
+    @Test
+    public void sectorReuse(@TempDir Path directory) throws IOException {
+        final Path path = directory.resolve("r.0.0.mca");
+        try (RegionFile region = new RegionFile(path, 0, 0)) {
+            for (int i = 0; i < 100; i++) {
+                final byte[] data = filled(2 * RegionFile.SECTOR_SIZE, i);
+                region.write(List.of(
+                        new RegionFile.Entry(0, 0, RegionFile.COMPRESSION_NONE, data),
+                        new RegionFile.Entry(1, 0, RegionFile.COMPRESSION_NONE, data)));
+                assertEntry(region.read(0, 0), RegionFile.COMPRESSION_NONE, data);
+                assertEntry(region.read(1, 0), RegionFile.COMPRESSION_NONE, data);
+            }
+        }
+        // Freed sectors are reused instead of growing the file
+        assertTrue(Files.size(path) < 100 * RegionFile.SECTOR_SIZE);
+    }
+
+    @Test
+    public void externalChunk(@TempDir Path directory) throws IOException {
+        final byte[] data = random(2 * 1024 * 1024, 3);
+        try (RegionFile region = new RegionFile(directory.resolve("r.0.0.mca"), 0, 0)) {
+            region.write(new RegionFile.Entry(2, 3, RegionFile.COMPRESSION_ZLIB, data));
+            assertTrue(Files.exists(directory.resolve("c.2.3.mcc")));
+            assertEntry(region.read(2, 3), RegionFile.COMPRESSION_ZLIB, data);
+
+            region.write(new RegionFile.Entry(2, 3, RegionFile.COMPRESSION_ZLIB, filled(10, 4)));
+            assertFalse(Files.exists(directory.resolve("c.2.3.mcc")));
+            assertEntry(region.read(2, 3), RegionFile.COMPRESSION_ZLIB, filled(10, 4));
+        }
+    }
+
+    @Test
+    public void concurrentReads(@TempDir Path directory) throws Exception {
+        try (RegionFile region = new RegionFile(directory.resolve("r.0.0.mca"), 0, 0)) {
+            region.write(new RegionFile.Entry(0, 0, RegionFile.COMPRESSION_NONE, filled(5000, 0)));
+            final CompletableFuture<Void> writes = CompletableFuture.runAsync(() -> {
+                try {
+                    for (int i = 1; i < 500; i++) {
+                        // Different sizes to move the chunk and reuse its sectors
+                        region.write(List.of(new RegionFile.Entry(0, 0, RegionFile.COMPRESSION_NONE, filled(5000 + (i % 3) * 4096, i)),
+                                new RegionFile.Entry(1, 0, RegionFile.COMPRESSION_NONE, filled(5000, i))));
+                    }
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            while (!writes.isDone()) {
+                final RegionFile.Entry entry = region.read(0, 0);
+                assertNotNull(entry);
+                assertConsistent(entry.data());
+            }
+            writes.join();
+        }
+    }
+
+    @Test
+    public void concurrentExternalReads(@TempDir Path directory) throws Exception {
+        final int externalSize = 2 * 1024 * 1024;
+        try (RegionFile region = new RegionFile(directory.resolve("r.0.0.mca"), 0, 0)) {
+            region.write(new RegionFile.Entry(0, 0, RegionFile.COMPRESSION_NONE, filled(externalSize, 0)));
+            final CompletableFuture<Void> writes = CompletableFuture.runAsync(() -> {
+                try {
+                    for (int i = 1; i < 50; i++) {
+                        // Replace the external file, or move the chunk back into the region
+                        region.write(new RegionFile.Entry(0, 0, RegionFile.COMPRESSION_NONE, filled(i % 3 == 0 ? 5000 : externalSize, i)));
+                    }
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            while (!writes.isDone()) {
+                final RegionFile.Entry entry = region.read(0, 0);
+                assertNotNull(entry);
+                assertConsistent(entry.data());
+            }
+            writes.join();
+        }
+    }
+
+    @Test
+    public void concurrentAcquire(@TempDir Path directory) throws Exception {
+        try (RegionFileCache cache = new RegionFileCache(directory, "mca", 1)) {
+            final List<CompletableFuture<RegionFile>> futures = IntStream.range(0, 16)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                        try {
+                            return cache.acquire(i % 2, 0, true);
+                        } catch (IOException e) {
+                            throw new RuntimeException(e);
+                        }
+                    })).toList();
+            final List<RegionFile> files = futures.stream().map(CompletableFuture::join).toList();
+            // Opened once per region, even when evicted
+            assertEquals(2, files.stream().distinct().count());
+            assertEquals(2, cache.openFiles());
+            for (RegionFile file : files) cache.release(file);
+            assertEquals(1, cache.openFiles());
+        }
+    }
+
+    @Test
+    public void cacheEviction(@TempDir Path directory) throws IOException {
+        try (RegionFileCache cache = new RegionFileCache(directory, "mca", 2)) {
+            assertNull(cache.acquire(0, 0, false));
+            final RegionFile first = cache.acquire(0, 0, true);
+            assertNotNull(first);
+            first.write(new RegionFile.Entry(0, 0, RegionFile.COMPRESSION_NONE, filled(10, 0)));
+            cache.release(first);
+
+            final RegionFile second = cache.acquire(1, 0, true);
+            final RegionFile third = cache.acquire(2, 0, true);
+            assertNotNull(second);
+            assertNotNull(third);
+            cache.release(third);
+            // The first region is the least recently used
+            assertEquals(2, cache.openFiles());
+            // Evicted while in use, given back instead of being opened twice
+            final RegionFile fourth = cache.acquire(3, 0, true);
+            assertNotNull(fourth);
+            cache.release(fourth);
+            assertEquals(3, cache.openFiles());
+            assertSame(second, cache.acquire(1, 0, false));
+            cache.release(second);
+            cache.release(second);
+
+            final RegionFile reopened = cache.acquire(0, 0, false);
+            assertNotNull(reopened);
+            assertNotSame(first, reopened);
+            assertEntry(reopened.read(0, 0), RegionFile.COMPRESSION_NONE, filled(10, 0));
+            cache.release(reopened);
+            assertEquals(2, cache.openFiles());
+            assertThrows(IllegalStateException.class, () -> cache.release(reopened));
+        }
+    }
+
+    @Test
+    public void compressionCodecs() throws IOException {
+        final byte[] data = filled(100_000, 7);
+        for (CompressionCodec codec : List.of(CompressionCodec.none(), CompressionCodec.deflate(0), CompressionCodec.deflate(9))) {
+            assertArrayEquals(data, codec.decompress(codec.compress(data)), codec.toString());
+        }
+        assertTrue(CompressionCodec.deflate(9).compress(data).length < data.length);
+        assertThrows(IOException.class, () -> CompressionCodec.deflate(9).decompress(random(100, 5)));
+        assertThrows(IllegalArgumentException.class, () -> CompressionCodec.deflate(10));
+    }
+
+    private static void assertEntry(RegionFile.Entry entry, byte compression, byte[] data) {
+        assertNotNull(entry);
+        assertEquals(compression, entry.compression());
+        assertArrayEquals(data, entry.data());
+    }
+
+    private static void assertConsistent(byte[] data) {
+        for (int i = 1; i < data.length; i++) {
+            if (data[i] != data[0]) fail("Torn read at " + i);
+        }
+    }
+
+    private static byte[] random(int length, int seed) {
+        byte[] data = new byte[length];
+        new Random(seed).nextBytes(data);
+        return data;
+    }
+
+    private static byte[] filled(int length, int value) {
+        byte[] data = new byte[length];
+        Arrays.fill(data, (byte) value);
+        return data;
+    }
+}
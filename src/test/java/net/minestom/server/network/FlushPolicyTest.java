@@ -0,0 +1,25 @@
+package net.minestom.server.network;
+
+import net.minestom.server.network.player.FlushPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlushPolicyTest {
+
+    @Test
+    public void create() {
+        assertSame(FlushPolicy.immediate(), FlushPolicy.immediate());
+        assertSame(FlushPolicy.endOfTick(), FlushPolicy.endOfTick());
+        assertEquals(new FlushPolicy.Bytes(1024), FlushPolicy.bytes(1024));
+        assertEquals(new FlushPolicy.Interval(2_000_000), FlushPolicy.interval(Duration.ofMillis(2)));
+    }
+
+    @Test
+    public void invalid() {
+        assertThrows(IllegalArgumentException.class, () -> FlushPolicy.bytes(0));
+        assertThrows(IllegalArgumentException.class, () -> FlushPolicy.interval(Duration.ofMillis(-1)));
+    }
+}
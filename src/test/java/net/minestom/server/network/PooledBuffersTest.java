@@ -2,6 +2,7 @@ package net.minestom.server.network;
 
 import net.minestom.server.utils.binary.BinaryBuffer;
 import net.minestom.server.utils.binary.PooledBuffers;
+import net.minestom.server.utils.binary.SharedBuffer;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashSet;
@@ -30,4 +31,26 @@ public class PooledBuffersTest {
         assertEquals(0, PooledBuffers.count());
         assertFalse(pooledBuffers.add(buffer));
     }
+
+    @Test
+    public void sharedBuffer() {
+        PooledBuffers.clear();
+        var buffer = PooledBuffers.get();
+        buffer.writeBytes(new byte[]{1, 2, 3, 4});
+
+        var shared = new SharedBuffer(buffer);
+        assertEquals(4, shared.size());
+        assertEquals(3, shared.slice(2, 2).get(0));
+
+        shared.retain();
+        shared.retain();
+        shared.release();
+        shared.release();
+        assertEquals(0, PooledBuffers.count(), "Buffer should not be pooled while referenced");
+        shared.release();
+        assertEquals(1, PooledBuffers.count());
+        assertSame(buffer, PooledBuffers.get());
+
+        assertThrows(IllegalStateException.class, shared::retain);
+    }
 }
@@ -5,9 +5,12 @@ import net.minestom.server.message.ChatPosition;
 import net.minestom.server.network.packet.server.CachedPacket;
 import net.minestom.server.network.packet.server.LazyPacket;
 import net.minestom.server.network.packet.server.play.ChatMessagePacket;
+import net.minestom.server.network.packet.server.play.PluginMessagePacket;
 import net.minestom.server.utils.PacketUtils;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -43,4 +46,38 @@ public class SendablePacketTest {
 
         assertSame(packet, cached.packet());
     }
+
+    @Test
+    public void framedCompression() {
+        var packet = new PluginMessagePacket("minestom:test", "Hello World!".repeat(100).getBytes(StandardCharsets.UTF_8));
+        var framedPacket = PacketUtils.allocateTrimmedPacket(packet);
+        // Framed in a temporary buffer, reused by the next framing
+        final ByteBuffer uncompressed = copy(PacketUtils.createFramedPacket(packet, false));
+        assertEquals(PacketUtils.createFramedPacket(packet, true), framedPacket.body(true));
+        assertEquals(uncompressed, framedPacket.body(false));
+        assertSame(framedPacket.body(), framedPacket.body(true));
+        assertTrue(framedPacket.body(true).limit() < uncompressed.limit(), "Packet should be compressed");
+
+        var cached = new CachedPacket(packet);
+        assertEquals(uncompressed, cached.body(false));
+        assertEquals(framedPacket.body(true), cached.body(true));
+    }
+
+    @Test
+    public void groupedFrames() {
+        var packet = new PluginMessagePacket("minestom:test", "Hello World!".repeat(100).getBytes(StandardCharsets.UTF_8));
+        var groupedPacket = PacketUtils.allocateGroupedPacket(packet);
+        final ByteBuffer uncompressed = copy(PacketUtils.createFramedPacket(packet, false));
+        assertEquals(PacketUtils.createFramedPacket(packet, true), groupedPacket.body(true));
+        assertEquals(uncompressed, groupedPacket.body(false));
+        // Both frames are kept
+        assertSame(groupedPacket.uncompressedBody(), groupedPacket.body(false));
+        assertSame(groupedPacket.body(), groupedPacket.body(true));
+        // Cached packets only keep the compressed frame
+        assertNull(PacketUtils.allocateTrimmedPacket(packet).uncompressedBody());
+    }
+
+    private static ByteBuffer copy(ByteBuffer buffer) {
+        return ByteBuffer.allocate(buffer.remaining()).put(buffer.duplicate()).flip();
+    }
 }
@@ -0,0 +1,100 @@
+package net.minestom.server.network;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.Viewable;
+import net.minestom.server.entity.Player;
+import net.minestom.server.network.packet.server.SendablePacket;
+import net.minestom.server.network.packet.server.ServerPacket;
+import net.minestom.server.network.packet.server.play.PluginMessagePacket;
+import net.minestom.server.network.player.PlayerConnection;
+import net.minestom.server.utils.PacketUtils;
+import net.minestom.server.utils.binary.PooledBuffers;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ViewablePacketTest {
+    static {
+        // Required to create players
+        MinecraftServer.init();
+    }
+
+    @Test
+    public void nonSocketConnection() {
+        var connection1 = new RecordingConnection();
+        var connection2 = new RecordingConnection();
+        var player1 = new Player(UUID.randomUUID(), "Player1", connection1);
+        var player2 = new Player(UUID.randomUUID(), "Player2", connection2);
+        var viewable = new TestViewable(Set.of(player1, player2));
+
+        var packet1 = new PluginMessagePacket("test", new byte[]{1});
+        var packet2 = new PluginMessagePacket("test", new byte[]{2});
+        PacketUtils.prepareViewablePacket(viewable, packet1, player1);
+        PacketUtils.prepareViewablePacket(viewable, packet2);
+        assertEquals(List.of(), connection2.packets);
+
+        PacketUtils.flush();
+        // Excluded player does not receive its own packet
+        assertEquals(List.of(packet2), connection1.packets);
+        assertEquals(List.of(packet1, packet2), connection2.packets);
+
+        // Not sent twice
+        PacketUtils.flush();
+        assertEquals(List.of(packet1, packet2), connection2.packets);
+    }
+
+    @Test
+    public void nonSocketConnectionLargePacket() {
+        var connection1 = new RecordingConnection();
+        var connection2 = new RecordingConnection();
+        var player1 = new Player(UUID.randomUUID(), "Player1", connection1);
+        var player2 = new Player(UUID.randomUUID(), "Player2", connection2);
+        var viewable = new TestViewable(Set.of(player1, player2));
+
+        var packet = new PluginMessagePacket("test", new byte[]{1});
+        // Random to not be compressed below the buffer size
+        final byte[] largeData = new byte[PooledBuffers.bufferSize()];
+        new Random(0).nextBytes(largeData);
+        var largePacket = new PluginMessagePacket("test", largeData);
+        PacketUtils.prepareViewablePacket(viewable, packet);
+        PacketUtils.prepareViewablePacket(viewable, largePacket, player1);
+        // Pending packets are sent first
+        assertEquals(List.of(packet), connection1.packets);
+        assertEquals(List.of(packet, largePacket), connection2.packets);
+    }
+
+    private static final class RecordingConnection extends PlayerConnection {
+        final List<ServerPacket> packets = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void sendPacket(@NotNull SendablePacket packet) {
+            packets.add(SendablePacket.extractServerPacket(packet));
+        }
+
+        @Override
+        public @NotNull SocketAddress getRemoteAddress() {
+            return new InetSocketAddress(0);
+        }
+    }
+
+    private record TestViewable(Set<Player> getViewers) implements Viewable {
+        @Override
+        public boolean addViewer(@NotNull Player player) {
+            return false;
+        }
+
+        @Override
+        public boolean removeViewer(@NotNull Player player) {
+            return false;
+        }
+    }
+}
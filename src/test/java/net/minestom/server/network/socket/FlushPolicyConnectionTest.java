@@ -0,0 +1,166 @@
+package net.minestom.server.network.socket;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.network.PacketProcessor;
+import net.minestom.server.network.player.FlushPolicy;
+import net.minestom.server.network.player.PlayerSocketConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlushPolicyConnectionTest {
+    static {
+        // Required by the connection outgoing event handle
+        MinecraftServer.init();
+    }
+
+    private Server server;
+    private Worker worker;
+    private SocketChannel client;
+    private PlayerSocketConnection connection;
+
+    @BeforeEach
+    public void init() throws IOException {
+        this.server = new Server(new PacketProcessor());
+        server.init(new InetSocketAddress("localhost", 0));
+        this.worker = new Worker(server);
+        worker.start();
+        // Loopback pair, the connection is not registered to the worker selector
+        try (ServerSocketChannel listener = ServerSocketChannel.open()) {
+            listener.bind(new InetSocketAddress("localhost", 0));
+            this.client = SocketChannel.open(listener.getLocalAddress());
+            final SocketChannel channel = listener.accept();
+            channel.configureBlocking(false);
+            this.connection = new PlayerSocketConnection(worker, channel, channel.getRemoteAddress());
+        }
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        server.stop();
+        worker.selector.wakeup();
+        client.close();
+        connection.getChannel().close();
+    }
+
+    @Test
+    public void immediate() throws Exception {
+        connection.write(bytes(0, 10));
+        waitUntil(() -> connection.getWriteCount() == 1);
+        assertEquals(10, connection.getWrittenBytes());
+        assertEquals(10, connection.getBytesPerWrite());
+        assertReceived(0, 10);
+
+        connection.write(bytes(10, 10));
+        waitUntil(() -> connection.getWriteCount() == 2);
+        assertEquals(20, connection.getWrittenBytes());
+        assertReceived(10, 10);
+    }
+
+    @Test
+    public void endOfTick() throws Exception {
+        connection.setFlushPolicy(FlushPolicy.endOfTick());
+        connection.write(bytes(0, 10));
+        connection.write(bytes(10, 10));
+        connection.write(bytes(20, 10));
+        assertFalse(connection.flushDue(System.nanoTime(), false), "Due before the end of the tick");
+        assertTrue(connection.flushDue(System.nanoTime(), true));
+        assertEquals(0, connection.getWriteCount());
+
+        worker.tickEnd();
+        waitUntil(() -> connection.getWriteCount() == 1);
+        // Coalesced in a single write
+        assertEquals(30, connection.getWrittenBytes());
+        assertEquals(30, connection.getBytesPerWrite());
+        assertReceived(0, 30);
+    }
+
+    @Test
+    public void bytes() throws Exception {
+        connection.setFlushPolicy(FlushPolicy.bytes(25));
+        connection.write(bytes(0, 10));
+        connection.write(bytes(10, 10));
+        assertFalse(connection.flushDue(System.nanoTime(), false), "Due below the threshold");
+        assertEquals(0, connection.getWriteCount());
+
+        connection.write(bytes(20, 10));
+        waitUntil(() -> connection.getWriteCount() == 1);
+        assertEquals(30, connection.getWrittenBytes());
+        assertReceived(0, 30);
+
+        // Also flushed at the end of the tick
+        connection.write(bytes(30, 10));
+        assertFalse(connection.flushDue(System.nanoTime(), false), "Due below the threshold");
+        assertTrue(connection.flushDue(System.nanoTime(), true));
+        assertEquals(1, connection.getWriteCount());
+        worker.tickEnd();
+        waitUntil(() -> connection.getWriteCount() == 2);
+        assertEquals(40, connection.getWrittenBytes());
+        assertEquals(20, connection.getBytesPerWrite());
+        assertReceived(30, 10);
+    }
+
+    @Test
+    public void interval() throws Exception {
+        final Duration interval = Duration.ofMillis(300);
+        connection.setFlushPolicy(FlushPolicy.interval(interval));
+        final long start = System.nanoTime();
+        connection.write(bytes(0, 10));
+        connection.write(bytes(10, 10));
+        // The tick does not matter
+        worker.tickEnd();
+        waitUntil(() -> connection.getWriteCount() == 1);
+        assertTrue(System.nanoTime() - start >= interval.toNanos(), "Flushed before the interval");
+        assertEquals(20, connection.getWrittenBytes());
+        assertReceived(0, 20);
+    }
+
+    @Test
+    public void writesPerSecond() throws Exception {
+        assertEquals(0, connection.getWritesPerSecond());
+        final long start = System.nanoTime();
+        connection.write(bytes(0, 10));
+        waitUntil(() -> connection.getWriteCount() == 1);
+        connection.write(bytes(10, 10));
+        waitUntil(() -> connection.getWriteCount() == 2);
+        final long end = System.nanoTime();
+        // The window started with the first write, between start and end
+        assertEquals(0, connection.getWritesPerSecond(end));
+        assertEquals(2, connection.getWritesPerSecond(end + 1_000_000_000L));
+        // Idle since then
+        assertEquals(0, connection.getWritesPerSecond(start + 2_000_000_000L + (end - start)));
+        assertReceived(0, 20);
+    }
+
+    private void assertReceived(int start, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (client.read(buffer) == -1) fail("Connection closed");
+        }
+        assertEquals(bytes(start, length), buffer.flip());
+    }
+
+    private static ByteBuffer bytes(int start, int length) {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        for (int i = 0; i < length; i++) buffer.put((byte) (start + i));
+        return buffer.flip();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out");
+            Thread.sleep(5);
+        }
+    }
+}
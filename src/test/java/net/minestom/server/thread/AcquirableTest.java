@@ -4,10 +4,17 @@ import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.EntityType;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 
-import static org.junit.jupiter.api.Assertions.assertNotEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class AcquirableTest {
 
@@ -41,4 +48,113 @@ public class AcquirableTest {
 
         assertNotEquals(firstThread, secondThread);
     }
+
+    @Test
+    public void crossAcquisition() {
+        final int threadCount = 4;
+        ThreadDispatcher<Integer> dispatcher = ThreadDispatcher.of(ThreadProvider.counter(), threadCount);
+        List<TickThread> threads = dispatcher.threads();
+        AtomicInteger[] counters = new AtomicInteger[threadCount];
+        Acquirable<AtomicInteger>[] acquirables = new Acquirable[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            counters[i] = new AtomicInteger();
+            var acquirable = (AcquirableImpl<AtomicInteger>) Acquirable.of(counters[i]);
+            acquirable.updateThread(threads.get(i));
+            acquirables[i] = acquirable;
+        }
+        for (int i = 0; i < threadCount; i++) {
+            dispatcher.createPartition(i);
+            final int index = i;
+            // Every thread acquires all the others, and the last one nested (highest index)
+            dispatcher.updateElement(time -> {
+                for (int j = 0; j < threadCount; j++) {
+                    final int other = (index + j) % threadCount;
+                    acquirables[other].sync(counter -> {
+                        counter.incrementAndGet();
+                        acquirables[threadCount - 1].sync(AtomicInteger::incrementAndGet);
+                    });
+                }
+            }, i);
+        }
+        dispatcher.refreshThreads();
+        for (int i = 0; i < 100; i++) {
+            dispatcher.updateAndAwait(System.currentTimeMillis());
+        }
+        for (int i = 0; i < threadCount - 1; i++) {
+            assertEquals(100 * threadCount, counters[i].get());
+        }
+        assertEquals(100 * threadCount * (threadCount + 1), counters[threadCount - 1].get());
+        final List<Integer> indexes = threads.stream().map(TickThread::index).toList();
+        Acquirable.resetPairAcquiringTime().keySet().forEach(pair -> {
+            assertTrue(indexes.contains(pair.acquirer()), pair.toString());
+            assertTrue(indexes.contains(pair.target()), pair.toString());
+        });
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void crossNestedAcquisition() throws Exception {
+        ThreadDispatcher<Integer> dispatcher = ThreadDispatcher.of(ThreadProvider.counter(), 2);
+        List<TickThread> threads = dispatcher.threads();
+        var first = (AcquirableImpl<AtomicInteger>) Acquirable.of(new AtomicInteger());
+        var second = (AcquirableImpl<AtomicInteger>) Acquirable.of(new AtomicInteger());
+        first.updateThread(threads.get(0));
+        second.updateThread(threads.get(1));
+        final int iterations = 1000;
+        for (int i = 0; i < iterations; i++) {
+            // Both threads hold one element while acquiring the other
+            CyclicBarrier barrier = new CyclicBarrier(2);
+            var forward = CompletableFuture.runAsync(() -> first.sync(value -> {
+                await(barrier);
+                value.incrementAndGet();
+                second.sync(AtomicInteger::incrementAndGet);
+            }));
+            var backward = CompletableFuture.runAsync(() -> second.sync(value -> {
+                await(barrier);
+                value.incrementAndGet();
+                first.sync(AtomicInteger::incrementAndGet);
+            }));
+            CompletableFuture.allOf(forward, backward).get(10, TimeUnit.SECONDS);
+        }
+        assertEquals(2 * iterations, first.unwrap().get());
+        assertEquals(2 * iterations, second.unwrap().get());
+        assertFalse(threads.get(0).lock().isLocked());
+        assertFalse(threads.get(1).lock().isLocked());
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void pairWaitTime() throws InterruptedException {
+        ThreadDispatcher<Integer> dispatcher = ThreadDispatcher.of(ThreadProvider.counter(), 1);
+        final TickThread thread = dispatcher.threads().get(0);
+        var acquirable = (AcquirableImpl<Object>) Acquirable.of(new Object());
+        acquirable.updateThread(thread);
+        CountDownLatch ticking = new CountDownLatch(1);
+        dispatcher.createPartition(0);
+        dispatcher.updateElement(time -> {
+            ticking.countDown();
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+        }, 0);
+        dispatcher.refreshThreads();
+        Acquirable.resetPairAcquiringTime();
+
+        var tick = CompletableFuture.runAsync(() -> dispatcher.updateAndAwait(System.currentTimeMillis()));
+        ticking.await();
+        // Blocked until the end of the tick
+        acquirable.sync(value -> {
+        });
+        tick.join();
+        final Long time = Acquirable.resetPairAcquiringTime().get(new Acquirable.ThreadPair(Acquirable.ThreadPair.OTHER, thread.index()));
+        assertNotNull(time);
+        assertTrue(time > 0);
+        dispatcher.shutdown();
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (InterruptedException | BrokenBarrierException e) {
+            throw new RuntimeException(e);
+        }
+    }
 }
@@ -4,11 +4,15 @@ import net.minestom.server.Tickable;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -167,4 +171,130 @@ public class ThreadDispatcherTest {
 
         dispatcher.shutdown();
     }
+
+    @Test
+    public void messages() {
+        ThreadDispatcher<Object> dispatcher = ThreadDispatcher.of(ThreadProvider.counter(), 2);
+        List<String> received = new CopyOnWriteArrayList<>();
+        var first = new Object();
+        var second = new Object();
+        Tickable element = (time) -> received.add("tick");
+        dispatcher.createPartition(first);
+        dispatcher.createPartition(second);
+        dispatcher.updateElement(element, first);
+
+        // Messages run before the partition elements, in the thread ticking them
+        dispatcher.postToElement(element, () -> {
+            assertInstanceOf(TickThread.class, Thread.currentThread());
+            received.add("element");
+        });
+        dispatcher.postToPartition(first, () -> received.add("partition"));
+        assertEquals(List.of(), received);
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+        assertEquals(List.of("element", "partition", "tick"), received);
+
+        // Messages posted from a tick run in the next one, sorted by sender
+        received.clear();
+        Tickable poster = (time) -> {
+            for (int i = 0; i < 3; i++) {
+                final int value = i;
+                dispatcher.postToElement(element, () -> received.add("tick-thread-" + value));
+            }
+        };
+        dispatcher.updateElement(poster, second);
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+        dispatcher.postToPartition(first, () -> received.add("external"));
+        received.clear();
+        dispatcher.removeElement(poster);
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+        assertEquals(List.of("tick-thread-0", "tick-thread-1", "tick-thread-2", "external", "tick"), received);
+
+        // Messages to deleted partitions are discarded
+        received.clear();
+        dispatcher.postToPartition(second, () -> received.add("deleted"));
+        dispatcher.deletePartition(second);
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+        assertEquals(List.of("tick"), received);
+
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void workStealing() {
+        // All the partitions are assigned to the first thread, idle threads should take some
+        final int partitionCount = 8;
+        ThreadDispatcher<Object> dispatcher = ThreadDispatcher.workStealing(partition -> 0, 4);
+        Set<Thread> threads = new CopyOnWriteArraySet<>();
+        AtomicInteger counter = new AtomicInteger();
+        for (int i = 0; i < partitionCount; i++) {
+            var partition = new Object();
+            dispatcher.createPartition(partition);
+            dispatcher.updateElement((time) -> {
+                threads.add(Thread.currentThread());
+                counter.incrementAndGet();
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(2));
+            }, partition);
+        }
+        for (int i = 0; i < 5; i++) {
+            dispatcher.updateAndAwait(System.currentTimeMillis());
+            assertEquals((i + 1) * partitionCount, counter.get());
+        }
+        assertTrue(threads.size() > 1);
+        assertEquals(partitionCount, dispatcher.threads().stream().mapToInt(thread -> thread.entries().size()).sum());
+        for (TickThread thread : dispatcher.threads()) {
+            for (ThreadDispatcher.Partition entry : thread.entries()) {
+                assertSame(thread, entry.thread());
+                assertTrue(entry.cost() > 0);
+            }
+        }
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void balancedProvider() {
+        // Round-robin puts the expensive partition with two cheap ones, the cheap ones should move away
+        ThreadDispatcher<Object> dispatcher = ThreadDispatcher.of(ThreadProvider.balanced(1, 8), 2);
+        final long[] costs = {4, 1, 1, 1, 1};
+        for (long cost : costs) {
+            var partition = new Object();
+            dispatcher.createPartition(partition);
+            dispatcher.updateElement((time) -> LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(cost)), partition);
+        }
+        for (int i = 0; i < 5; i++) {
+            dispatcher.updateAndAwait(System.currentTimeMillis());
+            dispatcher.refreshThreads();
+        }
+        var threads = dispatcher.threads();
+        var heavyThread = threads.stream().filter(thread -> thread.entries().stream()
+                .anyMatch(entry -> entry.cost() > TimeUnit.MILLISECONDS.toNanos(3))).findFirst().orElseThrow();
+        assertEquals(1, heavyThread.entries().size());
+        assertEquals(costs.length, threads.stream().mapToInt(thread -> thread.entries().size()).sum());
+
+        assertThrows(IllegalArgumentException.class, () -> ThreadProvider.balanced(0, 1));
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void balancedProviderMigrationLimit() {
+        // Round-robin puts the expensive partition with 12ms of cheap ones against 14ms on the other thread,
+        // two cheap partitions must leave it but a single one is moved per rebalance
+        ThreadDispatcher<Object> dispatcher = ThreadDispatcher.of(ThreadProvider.balanced(1, 1), 2);
+        final long[] costs = {16, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2};
+        for (long cost : costs) {
+            var partition = new Object();
+            dispatcher.createPartition(partition);
+            dispatcher.updateElement((time) -> LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(cost)), partition);
+        }
+        var threads = dispatcher.threads();
+        final int[] heavySizes = {6, 5};
+        for (int heavySize : heavySizes) {
+            dispatcher.updateAndAwait(System.currentTimeMillis());
+            dispatcher.refreshThreads();
+            var heavyThread = threads.stream().filter(thread -> thread.entries().stream()
+                    .anyMatch(entry -> entry.cost() > TimeUnit.MILLISECONDS.toNanos(8))).findFirst().orElseThrow();
+            assertEquals(heavySize, heavyThread.entries().size());
+            assertEquals(costs.length, threads.stream().mapToInt(thread -> thread.entries().size()).sum());
+        }
+        dispatcher.shutdown();
+    }
 }
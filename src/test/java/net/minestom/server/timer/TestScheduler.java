@@ -3,8 +3,12 @@ package net.minestom.server.timer;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -139,4 +143,36 @@ public class TestScheduler {
         Thread.sleep(250);
         assertTrue(result.get(), "Async task didn't get executed");
     }
+
+    @Test
+    public void longTickTask() {
+        // Delays around the timing wheel levels
+        Scheduler scheduler = Scheduler.newScheduler();
+        final int[] delays = {1, 63, 64, 65, 4095, 4096, 4097, 262_144, 300_000};
+        List<Integer> executions = new ArrayList<>();
+        AtomicInteger tick = new AtomicInteger();
+        for (int delay : delays) {
+            scheduler.buildTask(() -> executions.add(tick.get()))
+                    .delay(TaskSchedule.tick(delay))
+                    .schedule();
+        }
+        for (int i = 1; i <= 300_000; i++) {
+            tick.set(i);
+            scheduler.processTick();
+        }
+        assertEquals(Arrays.stream(delays).boxed().toList(), executions);
+    }
+
+    @Test
+    public void tickTaskOrder() {
+        // Tasks scheduled on the same tick run in scheduling order
+        Scheduler scheduler = Scheduler.newScheduler();
+        List<Integer> executions = new ArrayList<>();
+        scheduler.buildTask(() -> executions.add(0)).delay(TaskSchedule.tick(100)).schedule();
+        for (int i = 0; i < 90; i++) scheduler.processTick();
+        scheduler.buildTask(() -> executions.add(1)).delay(TaskSchedule.tick(10)).schedule();
+        scheduler.buildTask(() -> executions.add(2)).delay(TaskSchedule.tick(10)).schedule();
+        for (int i = 0; i < 10; i++) scheduler.processTick();
+        assertEquals(List.of(0, 1, 2), executions);
+    }
 }
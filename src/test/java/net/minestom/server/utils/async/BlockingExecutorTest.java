@@ -0,0 +1,103 @@
+package net.minestom.server.utils.async;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.thread.MinestomThread;
+import net.minestom.server.utils.cache.LocalCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class BlockingExecutorTest {
+
+    @Test
+    public void platform() throws InterruptedException {
+        BlockingExecutor executor = BlockingExecutor.platform(2);
+        assertEquals(BlockingExecutor.Mode.PLATFORM, executor.mode());
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch latch = new CountDownLatch(10);
+        for (int i = 0; i < 10; i++) {
+            executor.execute(() -> {
+                threads.add(Thread.currentThread());
+                latch.countDown();
+            });
+        }
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(10, executor.submittedTasks());
+        assertTrue(threads.size() <= 2);
+        for (Thread thread : threads) {
+            assertInstanceOf(MinestomThread.class, thread);
+            assertTrue(thread.getName().startsWith(MinecraftServer.THREAD_NAME_BLOCKING));
+        }
+    }
+
+    @Test
+    public void virtual() throws InterruptedException {
+        assumeTrue(BlockingExecutor.isVirtualSupported());
+        BlockingExecutor executor = BlockingExecutor.virtual();
+        assertEquals(BlockingExecutor.Mode.VIRTUAL, executor.mode());
+        LocalCache<Object> cache = LocalCache.of(Object::new);
+        Set<Object> values = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < 10; i++) {
+            CountDownLatch latch = new CountDownLatch(1);
+            executor.execute(() -> {
+                values.add(cache.get());
+                latch.countDown();
+            });
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            // The storage is released after the task
+            while (executor.completedTasks() != i + 1) Thread.onSpinWait();
+        }
+        // Sequential tasks reuse the same cache
+        assertEquals(1, values.size());
+        assertEquals(1, executor.pooledStorages());
+    }
+
+    @Test
+    public void storageReuse() {
+        BlockingExecutor executor = BlockingExecutor.borrowing(Runnable::run, 2);
+        LocalCache<Object> cache = LocalCache.of(Object::new);
+        Object[] values = new Object[2];
+        executor.execute(() -> values[0] = cache.get());
+        executor.execute(() -> values[1] = cache.get());
+        assertSame(values[0], values[1]);
+        // Borrowed, not the cache of the submitting thread
+        assertNotSame(values[0], cache.get());
+        assertEquals(1, executor.pooledStorages());
+    }
+
+    @Test
+    public void storagePoolBound() {
+        BlockingExecutor executor = BlockingExecutor.borrowing(Runnable::run, 2);
+        LocalCache<Object> cache = LocalCache.of(Object::new);
+        Set<Object> values = new HashSet<>();
+        // Nested tasks run at the same time, each with its own storage
+        executor.execute(() -> {
+            values.add(cache.get());
+            executor.execute(() -> {
+                values.add(cache.get());
+                executor.execute(() -> values.add(cache.get()));
+            });
+        });
+        assertEquals(3, values.size());
+        // Only as many storages as allowed are kept
+        assertEquals(2, executor.pooledStorages());
+    }
+
+    @Test
+    public void borrowedCache() {
+        LocalCache<Object> cache = LocalCache.of(Object::new);
+        LocalCache.Storage storage = new LocalCache.Storage();
+        Object[] values = new Object[2];
+        LocalCache.runWith(storage, () -> values[0] = cache.get());
+        LocalCache.runWith(storage, () -> values[1] = cache.get());
+        assertSame(values[0], values[1]);
+        assertNotSame(values[0], cache.get());
+    }
+}